@@ -0,0 +1,118 @@
+package com.bailaconsarabackend.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bailaconsarabackend.dto.PostDto;
+
+/**
+ * Compara {@link ValidadorSeo} con la validación anterior, que compilaba las
+ * expresiones regulares de los enlaces en cada llamada y pasaba la frase clave a
+ * minúsculas en cada comparación.
+ *
+ * Se ejecuta con el perfil jmh:
+ *
+ * <pre>
+ * mvn -Pjmh -DskipTests test-compile exec:exec
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidadorSeoBenchmark {
+
+	/*
+	 * Longitud aproximada del texto informativo en caracteres
+	 */
+	@Param({ "2000", "20000" })
+	private int longitud;
+
+	private PostDto postDto;
+
+	@Setup
+	public void preparar() {
+		StringBuilder texto = new StringBuilder(longitud + 200);
+		while (texto.length() < longitud) {
+			texto.append("La salsa cubana se baila en rueda y en pareja, con giros y figuras que se aprenden ")
+					.append("poco a poco en cada clase del taller. ");
+		}
+		texto.append("Más información en /blog/salsa-cubana y en https://www.bailaconsara.com/talleres.");
+
+		postDto = new PostDto();
+		postDto.setTextoinfo(texto.toString());
+		postDto.setFraseclave("Salsa Cubana");
+		postDto.setTituloseo("Clases de salsa cubana en Madrid");
+		postDto.setTitle("Aprende salsa cubana");
+		postDto.setSlug("aprende-salsa-cubana");
+		postDto.setAltportada("Pareja bailando salsa cubana");
+	}
+
+	@Benchmark
+	public Object validadorSeo() {
+		return ValidadorSeo.validar(postDto);
+	}
+
+	@Benchmark
+	public Object validacionAnterior() {
+		List<String> errores = new ArrayList<>();
+		if (!contieneEnlaceInterno(postDto.getTextoinfo())) {
+			errores.add("textoinfo");
+		}
+		if (!contieneEnlaceExterno(postDto.getTextoinfo())) {
+			errores.add("textoinfo");
+		}
+		if (!contieneTexto(postDto.getTituloseo(), postDto.getFraseclave())) {
+			errores.add("tituloseo");
+		}
+		if (!contieneTexto(postDto.getTitle(), postDto.getFraseclave())) {
+			errores.add("title");
+		}
+		if (!contieneTexto(postDto.getSlug(), postDto.getFraseclave())) {
+			errores.add("slug");
+		}
+		if (!contieneTexto(postDto.getAltportada(), postDto.getFraseclave())) {
+			errores.add("altportada");
+		}
+		return errores;
+	}
+
+	private static boolean contieneEnlaceExterno(String texto) {
+		String regex = "\\b(https?|ftp|file)://[-a-zA-Z0-9+&@#/%?=~_|!:,.;]*[-a-zA-Z0-9+&@#/%=~_|]";
+		Pattern pattern = Pattern.compile(regex);
+		Matcher matcher = pattern.matcher(texto);
+		return matcher.find();
+	}
+
+	private static boolean contieneEnlaceInterno(String texto) {
+		String regex = "\\/[a-zA-Z0-9\\-._~:/?#@!$&'()*+,;=]+";
+		Pattern pattern = Pattern.compile(regex);
+		Matcher matcher = pattern.matcher(texto);
+		return matcher.find();
+	}
+
+	private static boolean contieneTexto(String texto, String textoBuscado) {
+		if (texto == null || textoBuscado == null) {
+			return false;
+		}
+		return texto.toLowerCase().contains(textoBuscado.toLowerCase());
+	}
+
+}
@@ -3,6 +3,7 @@ package com.bailaconsarabackend;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * La clase principal de la aplicación Bailaconsara.
@@ -16,9 +17,13 @@ import org.springframework.scheduling.annotation.EnableAsync;
  * {@link org.springframework.scheduling.annotation.Async} se ejecuten de 
  * forma asíncrona, lo que permite mejorar la eficiencia y el rendimiento 
  * de la aplicación al realizar tareas en segundo plano.
+ * 
+ * La anotación {@link EnableScheduling} habilita las tareas periódicas
+ * anotadas con {@link org.springframework.scheduling.annotation.Scheduled}.
  */
 @SpringBootApplication
 @EnableAsync
+@EnableScheduling
 public class BailaconsaraBackendApplication {
 
     /**
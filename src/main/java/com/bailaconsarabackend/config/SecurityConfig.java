@@ -103,7 +103,11 @@ public class SecurityConfig {
 				new AntPathRequestMatcher("/home"), new AntPathRequestMatcher("/auth/**"),
 				new AntPathRequestMatcher("/forgotPassword/**"), new AntPathRequestMatcher("/posts/getPosts"),
 				new AntPathRequestMatcher("/media/{filename:.+}"), new AntPathRequestMatcher("/salas/horarios/**"),
-				new AntPathRequestMatcher("/posts/post/{title}")
+				new AntPathRequestMatcher("/posts/post/{title}"), new AntPathRequestMatcher("/salas/abiertas"),
+				new AntPathRequestMatcher("/posts/resumenes"), new AntPathRequestMatcher("/posts/search"),
+				new AntPathRequestMatcher("/posts/search/autocompletar"), new AntPathRequestMatcher("/sitemap.xml"),
+				new AntPathRequestMatcher("/rss.xml"), new AntPathRequestMatcher("/posts/relacionados/{id}"),
+				new AntPathRequestMatcher("/posts/populares"), new AntPathRequestMatcher("/posts/{slug}", "GET")
 
 		);
 	}
@@ -115,7 +119,7 @@ public class SecurityConfig {
 	 */
 	private RequestMatcher adminEndpoints() {
 		return new OrRequestMatcher(new AntPathRequestMatcher("/admin/**"), new AntPathRequestMatcher("/posts/**"),
-				new AntPathRequestMatcher("/talleres/admin/**"));
+				new AntPathRequestMatcher("/talleres/admin/**"), new AntPathRequestMatcher("/salas/admin/**"));
 	}
 
 	/**
@@ -0,0 +1,68 @@
+package com.bailaconsarabackend.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.bailaconsarabackend.service.FeedPostsService;
+import com.bailaconsarabackend.service.FeedPostsService.DocumentoFeed;
+
+/**
+ * Controlador REST que sirve el sitemap y el canal RSS de las publicaciones
+ * para buscadores y lectores de feeds.
+ */
+@RestController
+public class FeedPostsController {
+
+	private static final MediaType RSS = MediaType.parseMediaType("application/rss+xml;charset=UTF-8");
+
+	private final FeedPostsService feedPostsService;
+
+	/**
+	 * Constructor de la clase FeedPostsController.
+	 *
+	 * @param feedPostsService el servicio del sitemap y el canal RSS
+	 */
+	public FeedPostsController(FeedPostsService feedPostsService) {
+		this.feedPostsService = feedPostsService;
+	}
+
+	/**
+	 * Obtiene el sitemap con la URL de todas las publicaciones. Si el cliente
+	 * tiene la versión actual se responde 304 sin cuerpo.
+	 *
+	 * @param webRequest La solicitud, para comprobar las cabeceras If-None-Match
+	 *                   e If-Modified-Since.
+	 * @return el sitemap en XML.
+	 */
+	@GetMapping("/sitemap.xml")
+	public ResponseEntity<byte[]> getSitemap(WebRequest webRequest) {
+		return responder(feedPostsService.getSitemap(), MediaType.APPLICATION_XML, webRequest);
+	}
+
+	/**
+	 * Obtiene el canal RSS con las publicaciones más recientes. Si el cliente
+	 * tiene la versión actual se responde 304 sin cuerpo.
+	 *
+	 * @param webRequest La solicitud, para comprobar las cabeceras If-None-Match
+	 *                   e If-Modified-Since.
+	 * @return el canal RSS en XML.
+	 */
+	@GetMapping("/rss.xml")
+	public ResponseEntity<byte[]> getRss(WebRequest webRequest) {
+		return responder(feedPostsService.getRss(), RSS, webRequest);
+	}
+
+	private static ResponseEntity<byte[]> responder(DocumentoFeed documento, MediaType tipo, WebRequest webRequest) {
+		if (webRequest.checkNotModified(documento.etag(), documento.ultimaModificacion())) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(documento.etag())
+					.lastModified(documento.ultimaModificacion()).build();
+		}
+		return ResponseEntity.ok().contentType(tipo).eTag(documento.etag())
+				.lastModified(documento.ultimaModificacion()).body(documento.contenido());
+	}
+
+}
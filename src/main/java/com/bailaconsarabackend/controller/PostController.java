@@ -1,27 +1,43 @@
 package com.bailaconsarabackend.controller;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.regex.Pattern;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.bailaconsarabackend.dto.BasicResponseDto;
 import com.bailaconsarabackend.dto.GeneralResponseDto;
+import com.bailaconsarabackend.dto.PaginaPostsDto;
 import com.bailaconsarabackend.dto.PostDto;
+import com.bailaconsarabackend.dto.PostResumenDto;
 import com.bailaconsarabackend.dto.UpdatePostDto;
 import com.bailaconsarabackend.exception.PostNotFoundException;
 import com.bailaconsarabackend.model.Post;
+import com.bailaconsarabackend.service.BusquedaPostsService;
+import com.bailaconsarabackend.service.PostSerializadoService;
+import com.bailaconsarabackend.service.PostSerializadoService.PostSerializado;
 import com.bailaconsarabackend.service.PostService;
+import com.bailaconsarabackend.service.RelacionadosPostsService;
+import com.bailaconsarabackend.service.VisitasPostService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -35,19 +51,39 @@ import jakarta.servlet.http.HttpServletRequest;
 @RequestMapping("/posts")
 public class PostController {
 
+	private static final Pattern PESO_CERO = Pattern.compile("0(\\.0*)?");
+
+	private static final int LIMITE_MAXIMO_BUSQUEDA = 50;
+
 	private final PostService postService;
 	private final ObjectMapper objectMapper;
+	private final PostSerializadoService postSerializadoService;
+	private final BusquedaPostsService busquedaPostsService;
+	private final RelacionadosPostsService relacionadosPostsService;
+	private final VisitasPostService visitasPostService;
 
 	/**
 	 * Constructor de la clase PostController.
 	 *
-	 * @param postService  el servicio encargado de la lógica de negocio relacionada
-	 *                     con las publicaciones
-	 * @param objectMapper el objeto para mapear JSON a objetos Java y viceversa
+	 * @param postService              el servicio encargado de la lógica de
+	 *                                 negocio relacionada con las publicaciones
+	 * @param objectMapper             el objeto para mapear JSON a objetos Java
+	 *                                 y viceversa
+	 * @param postSerializadoService   el servicio de los posts ya serializados
+	 *                                 por slug
+	 * @param busquedaPostsService     el servicio de búsqueda de posts
+	 * @param relacionadosPostsService el servicio de los posts relacionados
+	 * @param visitasPostService       el servicio de las visitas de los posts
 	 */
-	public PostController(PostService postService, ObjectMapper objectMapper) {
+	public PostController(PostService postService, ObjectMapper objectMapper,
+			PostSerializadoService postSerializadoService, BusquedaPostsService busquedaPostsService,
+			RelacionadosPostsService relacionadosPostsService, VisitasPostService visitasPostService) {
 		this.postService = postService;
 		this.objectMapper = objectMapper;
+		this.postSerializadoService = postSerializadoService;
+		this.busquedaPostsService = busquedaPostsService;
+		this.relacionadosPostsService = relacionadosPostsService;
+		this.visitasPostService = visitasPostService;
 	}
 
 	/**
@@ -102,6 +138,20 @@ public class PostController {
 		return new ResponseEntity<>(basicResponseDto, HttpStatus.OK);
 	}
 
+	/**
+	 * Comprueba las reglas SEO de un post sin guardarlo y devuelve todas las que
+	 * incumple, para validarlo mientras se escribe.
+	 *
+	 * @param postDto Los datos del post a validar.
+	 * @return Una respuesta con la lista de reglas incumplidas, vacía si el post
+	 *         es válido.
+	 */
+	@PostMapping("/validate")
+	public ResponseEntity<BasicResponseDto> validarPost(@RequestBody PostDto postDto) {
+		BasicResponseDto response = postService.validarPost(postDto);
+		return new ResponseEntity<>(response, response.getStatus());
+	}
+
 	/**
 	 * Obtiene una lista de todos los posts.
 	 *
@@ -112,6 +162,88 @@ public class PostController {
 		return postService.listarPosts();
 	}
 
+	/**
+	 * Obtiene una página del índice del blog con el resumen de cada post. Para
+	 * pedir la siguiente página se envían como fecha e id los valores
+	 * siguienteFecha y siguienteId de la página anterior.
+	 *
+	 * @param fecha  la fecha de creación del último post de la página anterior.
+	 * @param id     el ID del último post de la página anterior; si se omite se
+	 *               devuelve la primera página.
+	 * @param tamano el número de posts por página, como máximo 50.
+	 * @return la página con los resúmenes y el cursor de la siguiente.
+	 */
+	@GetMapping("/resumenes")
+	public PaginaPostsDto listarResumenes(
+			@RequestParam(name = "fecha", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate fecha,
+			@RequestParam(name = "id", required = false) Long id,
+			@RequestParam(name = "tamano", defaultValue = "10") int tamano) {
+		return postService.listarResumenes(fecha, id, tamano);
+	}
+
+	/**
+	 * Busca posts por su texto sin distinguir mayúsculas ni acentos, del más al
+	 * menos relevante.
+	 *
+	 * @param q      el texto buscado.
+	 * @param limite el número máximo de resultados, como máximo 50.
+	 * @return los resúmenes de los posts encontrados.
+	 */
+	@GetMapping("/search")
+	public List<PostResumenDto> buscarPosts(@RequestParam("q") String q,
+			@RequestParam(name = "limite", defaultValue = "10") int limite) {
+		return busquedaPostsService.buscar(q, limitar(limite));
+	}
+
+	/**
+	 * Sugiere palabras de los posts que empiezan por el texto escrito.
+	 *
+	 * @param q      el prefijo escrito por el usuario.
+	 * @param limite el número máximo de sugerencias, como máximo 50.
+	 * @return las palabras sugeridas, de la más a la menos frecuente.
+	 */
+	@GetMapping("/search/autocompletar")
+	public List<String> autocompletar(@RequestParam("q") String q,
+			@RequestParam(name = "limite", defaultValue = "10") int limite) {
+		return busquedaPostsService.autocompletar(q, limitar(limite));
+	}
+
+	/**
+	 * Obtiene los posts más parecidos a uno por su texto, ya calculados de
+	 * antemano.
+	 *
+	 * @param id ID del post.
+	 * @return los resúmenes de los posts relacionados, del más al menos parecido.
+	 */
+	@GetMapping("/relacionados/{id}")
+	public List<PostResumenDto> getRelacionados(@PathVariable("id") Long id) {
+		return relacionadosPostsService.getRelacionados(id);
+	}
+
+	/**
+	 * Obtiene los posts más visitados.
+	 *
+	 * @param limite el número máximo de posts, como máximo los que indica la
+	 *               propiedad posts.visitas.populares.
+	 * @return los resúmenes de los posts, del más al menos visitado.
+	 */
+	@GetMapping("/populares")
+	public List<PostResumenDto> getPopulares(@RequestParam(name = "limite", defaultValue = "10") int limite) {
+		return visitasPostService.getPopulares(limitar(limite));
+	}
+
+	/**
+	 * Obtiene el número de visitas de un post, incluidas las que aún no se han
+	 * guardado en la base de datos.
+	 *
+	 * @param id ID del post.
+	 * @return el número de visitas.
+	 */
+	@GetMapping("/visitas/{id}")
+	public long getVisitas(@PathVariable("id") Long id) {
+		return visitasPostService.getVisitas(id);
+	}
+
 	/**
 	 * Busca un post por su ID.
 	 *
@@ -139,17 +271,37 @@ public class PostController {
 	}
 
 	/**
-	 * Busca un post usando su slug.
+	 * Busca un post usando su slug y cuenta una visita. La respuesta se sirve ya
+	 * serializada y, si el cliente acepta gzip, ya comprimida; si el cliente
+	 * tiene la versión actual se responde 304 sin cuerpo.
 	 *
-	 * @param slug Slug del post a buscar.
-	 * @return El post asociado al slug.
+	 * @param slug           Slug del post a buscar.
+	 * @param acceptEncoding Cabecera Accept-Encoding de la solicitud.
+	 * @param webRequest     La solicitud, para comprobar la cabecera
+	 *                       If-None-Match.
+	 * @return El post asociado al slug en JSON.
 	 * @throws PostNotFoundException Si no se encuentra ningún post con el slug
 	 *                               especificado.
 	 */
 	@GetMapping("/{slug}")
-	public Post findByUrl(@PathVariable("slug") String slug) throws PostNotFoundException {
-		System.out.println(slug);
-		return postService.findByUrl(slug);
+	public ResponseEntity<byte[]> findByUrl(@PathVariable("slug") String slug,
+			@RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+			WebRequest webRequest) throws PostNotFoundException {
+		PostSerializado post = postSerializadoService.getPost(slug);
+		visitasPostService.registrarVisita(post.id());
+		boolean gzip = aceptaGzip(acceptEncoding);
+		String etag = gzip ? post.etagGzip() : post.etag();
+		if (webRequest.checkNotModified(etag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT_ENCODING)
+					.build();
+		}
+
+		ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).eTag(etag)
+				.varyBy(HttpHeaders.ACCEPT_ENCODING);
+		if (gzip) {
+			return respuesta.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(post.gzip());
+		}
+		return respuesta.body(post.json());
 	}
 
 	/**
@@ -165,4 +317,35 @@ public class PostController {
 		return postService.findByTitle(title);
 	}
 
+	/**
+	 * Comprueba si la cabecera Accept-Encoding admite gzip con un peso mayor que
+	 * cero.
+	 *
+	 * @param acceptEncoding la cabecera, o null
+	 * @return true si se puede responder con gzip
+	 */
+	private static boolean aceptaGzip(String acceptEncoding) {
+		if (acceptEncoding == null) {
+			return false;
+		}
+		for (String codificacion : acceptEncoding.split(",")) {
+			String[] partes = codificacion.split(";");
+			String nombre = partes[0].trim();
+			if (nombre.equalsIgnoreCase("gzip") || nombre.equals("*")) {
+				for (int i = 1; i < partes.length; i++) {
+					String parametro = partes[i].trim();
+					if (parametro.startsWith("q=") && PESO_CERO.matcher(parametro.substring(2).trim()).matches()) {
+						return false;
+					}
+				}
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static int limitar(int limite) {
+		return Math.max(1, Math.min(limite, LIMITE_MAXIMO_BUSQUEDA));
+	}
+
 }
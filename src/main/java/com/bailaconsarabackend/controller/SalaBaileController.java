@@ -1,8 +1,16 @@
 package com.bailaconsarabackend.controller;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalTime;
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.crossstore.ChangeSetPersister.NotFoundException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,13 +19,23 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
+import com.bailaconsarabackend.dto.ActualizacionSalaDto;
+import com.bailaconsarabackend.dto.BasicResponseDto;
 import com.bailaconsarabackend.dto.GeneralResponseDto;
 import com.bailaconsarabackend.dto.HorarioResponseDTO;
+import com.bailaconsarabackend.dto.SalaAbiertaDto;
 import com.bailaconsarabackend.dto.SalaBaileRequestDTO;
+import com.bailaconsarabackend.dto.SalaCercanaDto;
 import com.bailaconsarabackend.model.Dias;
+import com.bailaconsarabackend.model.GenerosMusicales;
 import com.bailaconsarabackend.model.SalaBaile;
+import com.bailaconsarabackend.service.HorarioSemanalService;
+import com.bailaconsarabackend.service.ImportacionSalasService;
 import com.bailaconsarabackend.service.SalaBaileService;
 
 /**
@@ -31,15 +49,31 @@ import com.bailaconsarabackend.service.SalaBaileService;
 public class SalaBaileController {
 
 	private final SalaBaileService salaBaileService;
+	private final ImportacionSalasService importacionSalasService;
+	private final HorarioSemanalService horarioSemanalService;
+
+	/*
+	 * Cabecera Cache-Control de las lecturas públicas de salas y horarios
+	 */
+	private final CacheControl cacheControl;
 
 	/**
 	 * Constructor de SalaBaileController que inyecta el servicio SalaBaileService.
 	 *
-	 * @param salaBaileService el servicio que contiene la lógica de negocio para
-	 *                         las salas de baile.
+	 * @param salaBaileService        el servicio que contiene la lógica de negocio
+	 *                                para las salas de baile.
+	 * @param importacionSalasService el servicio de importación masiva de salas.
+	 * @param horarioSemanalService   el servicio del horario semanal, que da la
+	 *                                versión de los datos de las salas.
+	 * @param maxAge                  segundos que un cliente puede reutilizar una
+	 *                                respuesta sin revalidarla.
 	 */
-	public SalaBaileController(SalaBaileService salaBaileService) {
+	public SalaBaileController(SalaBaileService salaBaileService, ImportacionSalasService importacionSalasService,
+			HorarioSemanalService horarioSemanalService, @Value("${salas.cache.max-age:60}") long maxAge) {
 		this.salaBaileService = salaBaileService;
+		this.importacionSalasService = importacionSalasService;
+		this.horarioSemanalService = horarioSemanalService;
+		this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAge)).cachePublic();
 	}
 
 	/**
@@ -60,25 +94,90 @@ public class SalaBaileController {
 	 * específico.
 	 *
 	 * @param dia el día para el cual se quieren obtener los horarios.
+	 * @param webRequest la solicitud, para comprobar la cabecera If-None-Match.
 	 * @return una lista de DTOs que representan los horarios disponibles en las
-	 *         salas de baile para el día especificado.
+	 *         salas de baile para el día especificado, o 304 si el cliente ya
+	 *         tiene la versión actual.
 	 */
 	@GetMapping("/horarios/{dia}")
-	public List<HorarioResponseDTO> getHorariosPorDia(@PathVariable Dias dia) {
-		return salaBaileService.getHorariosPorDia(dia);
+	public ResponseEntity<List<HorarioResponseDTO>> getHorariosPorDia(@PathVariable Dias dia,
+			WebRequest webRequest) {
+		String etag = etag("horarios-" + dia);
+		if (webRequest.checkNotModified(etag)) {
+			return noModificado(etag);
+		}
+		return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(salaBaileService.getHorariosPorDia(dia));
+	}
+
+	/**
+	 * Filtra las salas de baile por localidad y por los días y géneros en los que
+	 * abren, por ejemplo las salas de una localidad con BACHATA el VIERNES o el
+	 * SABADO.
+	 *
+	 * @param localidad la localidad de las salas, opcional.
+	 * @param dias      los días buscados, opcional; si se omite valen todos.
+	 * @param generos   los géneros buscados, opcional; si se omite valen todos.
+	 * @return la lista de salas que cumplen el filtro con sus días y géneros.
+	 */
+	@GetMapping("/horarios/filtrar")
+	public List<SalaBaileRequestDTO> filtrarSalas(@RequestParam(name = "localidad", required = false) String localidad,
+			@RequestParam(name = "dias", required = false) List<Dias> dias,
+			@RequestParam(name = "generos", required = false) List<GenerosMusicales> generos) {
+		return salaBaileService.filtrarSalas(localidad, dias, generos);
+	}
+
+	/**
+	 * Busca las salas de baile que abren un día cerca de una posición, por ejemplo
+	 * las salas abiertas el VIERNES a menos de 10 km del usuario.
+	 *
+	 * @param dia      el día de la semana.
+	 * @param latitud  la latitud de la posición, en grados.
+	 * @param longitud la longitud de la posición, en grados.
+	 * @param radioKm  el radio de búsqueda en kilómetros, 10 si se omite.
+	 * @return la lista de salas encontradas, de la más cercana a la más lejana.
+	 */
+	@GetMapping("/horarios/cercanas")
+	public List<SalaCercanaDto> buscarSalasCercanas(@RequestParam("dia") Dias dia,
+			@RequestParam("latitud") double latitud, @RequestParam("longitud") double longitud,
+			@RequestParam(name = "radioKm", defaultValue = "10") double radioKm) {
+		return salaBaileService.buscarSalasCercanas(dia, latitud, longitud, radioKm);
+	}
+
+	/**
+	 * Obtiene las salas de baile que están abiertas en un momento, por ejemplo las
+	 * que ponen SALSA ahora mismo o el SABADO a las 23:30.
+	 *
+	 * @param genero el género musical, opcional; si se omite valen todos.
+	 * @param dia    el día de la semana, opcional; si se omite, el actual.
+	 * @param hora   la hora en formato HH:mm, opcional; si se omite, la actual.
+	 * @return la lista de sesiones en curso con su sala y su horario.
+	 */
+	@GetMapping("/abiertas")
+	public List<SalaAbiertaDto> getSalasAbiertas(
+			@RequestParam(name = "genero", required = false) GenerosMusicales genero,
+			@RequestParam(name = "dia", required = false) Dias dia,
+			@RequestParam(name = "hora", required = false) @DateTimeFormat(iso = ISO.TIME) LocalTime hora) {
+		return salaBaileService.getSalasAbiertas(dia, hora, genero);
 	}
 
 	/**
 	 * Encuentra y devuelve una sala de baile por su ID.
 	 *
-	 * @param id el ID único de la sala de baile a buscar.
-	 * @return el DTO de la sala de baile encontrada por su ID.
+	 * @param id         el ID único de la sala de baile a buscar.
+	 * @param webRequest la solicitud, para comprobar la cabecera If-None-Match.
+	 * @return el DTO de la sala de baile encontrada por su ID, o 304 si el
+	 *         cliente ya tiene la versión actual.
 	 * @throws NotFoundException si no se encuentra ninguna sala con el ID
 	 *                           proporcionado.
 	 */
 	@GetMapping("horarios/getSala/{id}")
-	public SalaBaileRequestDTO findPostById(@PathVariable("id") Long id) throws NotFoundException {
-		return salaBaileService.findBySalaBaileId(id);
+	public ResponseEntity<SalaBaileRequestDTO> findPostById(@PathVariable("id") Long id, WebRequest webRequest)
+			throws NotFoundException {
+		String etag = etag("sala-" + id);
+		if (webRequest.checkNotModified(etag)) {
+			return noModificado(etag);
+		}
+		return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(salaBaileService.findBySalaBaileId(id));
 	}
 
 	/**
@@ -87,13 +186,14 @@ public class SalaBaileController {
 	 * @param salaBaileDTO el objeto DTO con la nueva información de la sala y sus
 	 *                     horarios.
 	 * @param id           el ID único de la sala de baile a actualizar.
-	 * @return la sala de baile actualizada con sus nuevos horarios asociados.
+	 * @return la sala de baile actualizada con sus horarios y el resumen de los
+	 *         cambios aplicados.
 	 * @throws NotFoundException si no se encuentra ninguna sala con el ID
 	 *                           proporcionado.
 	 */
 	@PutMapping("/updateSala/{id}")
-	public SalaBaile updateSalaConHorarios(@RequestBody SalaBaileRequestDTO salaBaileDTO, @PathVariable("id") Long id)
-			throws NotFoundException {
+	public ActualizacionSalaDto updateSalaConHorarios(@RequestBody SalaBaileRequestDTO salaBaileDTO,
+			@PathVariable("id") Long id) throws NotFoundException {
 		return salaBaileService.updateSalaConHorarios(id, salaBaileDTO);
 	}
 
@@ -112,4 +212,47 @@ public class SalaBaileController {
 		return salaBaileService.deleteSalaConHorarios(id);
 	}
 
+	/**
+	 * Importa salas de baile con sus horarios desde un fichero CSV o JSON. Se
+	 * trata como JSON si su nombre termina en .json o su tipo de contenido es
+	 * JSON, y como CSV en otro caso.
+	 *
+	 * @param file el fichero con las salas.
+	 * @return ResponseEntity con el resumen de la importación y los errores por
+	 *         fila o elemento.
+	 * @throws IOException si no se puede leer el fichero.
+	 */
+	@PostMapping("/admin/importar")
+	public ResponseEntity<BasicResponseDto> importarSalas(@RequestParam("file") MultipartFile file)
+			throws IOException {
+		String nombre = file.getOriginalFilename();
+		String tipo = file.getContentType();
+		if ((nombre != null && nombre.toLowerCase().endsWith(".json")) || (tipo != null && tipo.contains("json"))) {
+			return importacionSalasService.importarJson(file.getInputStream());
+		}
+		return importacionSalasService.importarCsv(file.getInputStream());
+	}
+
+	/**
+	 * Construye un ETag fuerte con la versión actual de los datos de las salas.
+	 * Solo lee el hash de la instantánea en memoria, sin acceder a la base de
+	 * datos.
+	 *
+	 * @param recurso el recurso solicitado
+	 * @return el ETag entre comillas
+	 */
+	private String etag(String recurso) {
+		return "\"" + recurso + "-" + horarioSemanalService.getVersion() + "\"";
+	}
+
+	/**
+	 * Construye la respuesta 304 para un cliente que ya tiene la versión actual.
+	 *
+	 * @param etag el ETag actual
+	 * @return la respuesta sin cuerpo
+	 */
+	private <T> ResponseEntity<T> noModificado(String etag) {
+		return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+	}
+
 }
@@ -1,8 +1,13 @@
 package com.bailaconsarabackend.controller;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -10,16 +15,29 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
 import com.bailaconsarabackend.dto.BasicResponseDto;
+import com.bailaconsarabackend.dto.CheckInResultadoDto;
 import com.bailaconsarabackend.dto.GeneralResponseDto;
+import com.bailaconsarabackend.dto.PosicionListaEsperaDto;
+import com.bailaconsarabackend.dto.SerieTallerDto;
 import com.bailaconsarabackend.dto.TallerDto;
 import com.bailaconsarabackend.dto.UserTallerDto;
 import com.bailaconsarabackend.exception.TallerNotFoundException;
 import com.bailaconsarabackend.exception.UserAlreadyExistsException;
 import com.bailaconsarabackend.exception.UserNotFoundException;
+import com.bailaconsarabackend.model.EventoInscripcion;
 import com.bailaconsarabackend.model.Taller;
+import com.bailaconsarabackend.model.TallerHistorico;
+import com.bailaconsarabackend.model.User;
+import com.bailaconsarabackend.model.UserTallerHistorico;
+import com.bailaconsarabackend.service.ArchivoTalleresService;
+import com.bailaconsarabackend.service.CheckInService;
+import com.bailaconsarabackend.service.EventoInscripcionService;
+import com.bailaconsarabackend.service.ImportacionAsistentesService;
 import com.bailaconsarabackend.service.TallerService;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -34,9 +52,19 @@ import jakarta.servlet.http.HttpServletRequest;
 public class TallerController {
 
 	private final TallerService tallerService;
+	private final CheckInService checkInService;
+	private final ImportacionAsistentesService importacionAsistentesService;
+	private final EventoInscripcionService eventoInscripcionService;
+	private final ArchivoTalleresService archivoTalleresService;
 
-	public TallerController(TallerService tallerService) {
+	public TallerController(TallerService tallerService, CheckInService checkInService,
+			ImportacionAsistentesService importacionAsistentesService,
+			EventoInscripcionService eventoInscripcionService, ArchivoTalleresService archivoTalleresService) {
 		this.tallerService = tallerService;
+		this.checkInService = checkInService;
+		this.importacionAsistentesService = importacionAsistentesService;
+		this.eventoInscripcionService = eventoInscripcionService;
+		this.archivoTalleresService = archivoTalleresService;
 	}
 
 	/**
@@ -77,6 +105,47 @@ public class TallerController {
 		return tallerService.deleteTaller(tallerId);
 	}
 
+	/**
+	 * Crea una serie de talleres recurrentes.
+	 *
+	 * @param serieTallerDto los datos comunes y la regla de recurrencia de la serie
+	 * @return ResponseEntity con la serie creada y su estado correspondiente
+	 */
+	@PostMapping("/admin/addSerie")
+	public ResponseEntity<BasicResponseDto> addSerie(@RequestBody SerieTallerDto serieTallerDto) {
+		return tallerService.addSerieTalleres(serieTallerDto);
+	}
+
+	/**
+	 * Actualiza los talleres de una serie a partir de una fecha.
+	 *
+	 * @param serieId   el ID de la serie
+	 * @param desde     la primera fecha afectada, hoy si no se indica
+	 * @param tallerDto los datos a modificar
+	 * @return ResponseEntity con el resultado de la operación y su estado
+	 *         correspondiente
+	 */
+	@PutMapping("/admin/updateSerie/{serieId}")
+	public ResponseEntity<BasicResponseDto> updateSerie(@PathVariable("serieId") String serieId,
+			@RequestParam(name = "desde", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate desde,
+			@RequestBody TallerDto tallerDto) {
+		return tallerService.updateSerieTalleres(serieId, tallerDto, desde != null ? desde : LocalDate.now());
+	}
+
+	/**
+	 * Cancela los talleres de una serie a partir de una fecha.
+	 *
+	 * @param serieId el ID de la serie
+	 * @param desde   la primera fecha cancelada, hoy si no se indica
+	 * @return ResponseEntity con el resultado de la operación y su estado
+	 *         correspondiente
+	 */
+	@DeleteMapping("/admin/deleteSerie/{serieId}")
+	public ResponseEntity<BasicResponseDto> deleteSerie(@PathVariable("serieId") String serieId,
+			@RequestParam(name = "desde", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate desde) {
+		return tallerService.deleteSerieTalleres(serieId, desde != null ? desde : LocalDate.now());
+	}
+
 	/**
 	 * Registra un usuario en un taller.
 	 *
@@ -210,4 +279,133 @@ public class TallerController {
 		return tallerService.isUserHasPartner(tallerId, userId);
 	}
 
+	/**
+	 * Obtiene la posición de un usuario en la lista de espera de su rol en un
+	 * taller, es decir, cuántas personas tiene delante.
+	 *
+	 * @param tallerId el ID único del taller.
+	 * @param userId   el ID único del usuario.
+	 * @return ResponseEntity con la posición del usuario en la lista de espera.
+	 * @throws TallerNotFoundException si el taller no existe o ya está archivado.
+	 * @throws UserNotFoundException   si el usuario no está inscrito en el taller.
+	 */
+	@GetMapping("/user/posicionListaEspera/{tallerId}/{userId}")
+	public ResponseEntity<PosicionListaEsperaDto> getPosicionListaEspera(@PathVariable("tallerId") Long tallerId,
+			@PathVariable("userId") Long userId) throws TallerNotFoundException, UserNotFoundException {
+		return tallerService.getPosicionListaEspera(tallerId, userId);
+	}
+
+	/**
+	 * Obtiene el token de check-in de un usuario con pareja confirmada en un
+	 * taller, para mostrarlo en la puerta del evento. El usuario autenticado debe
+	 * ser el del token o un administrador.
+	 *
+	 * @param tallerId    el ID único del taller.
+	 * @param userId      el ID único del usuario.
+	 * @param solicitante el usuario autenticado.
+	 * @return ResponseEntity con el token de check-in en el campo data.
+	 * @throws UserNotFoundException si el usuario no está inscrito en el taller.
+	 */
+	@GetMapping("/user/checkInToken/{tallerId}/{userId}")
+	public ResponseEntity<BasicResponseDto> getCheckInToken(@PathVariable("tallerId") Long tallerId,
+			@PathVariable("userId") Long userId, @AuthenticationPrincipal User solicitante)
+			throws UserNotFoundException {
+		return checkInService.generarToken(tallerId, userId, solicitante);
+	}
+
+	/**
+	 * Registra la llegada de los asistentes a un taller a partir de los tokens de
+	 * check-in escaneados en la puerta. Los tokens se verifican sin acceder a la
+	 * base de datos, rechazando los revocados, y se pueden enviar varios a la vez.
+	 *
+	 * @param tallerId el ID único del taller.
+	 * @param tokens   los tokens escaneados.
+	 * @return ResponseEntity con el resultado de cada token.
+	 */
+	@PostMapping("/admin/checkIn/{tallerId}")
+	public ResponseEntity<List<CheckInResultadoDto>> checkIn(@PathVariable("tallerId") Long tallerId,
+			@RequestBody List<String> tokens) {
+		return checkInService.registrarLlegadas(tallerId, tokens);
+	}
+
+	/**
+	 * Importa los asistentes de un taller desde un fichero CSV con las columnas
+	 * email y rol (lider o follower), y forma las parejas posibles.
+	 *
+	 * @param tallerId       el ID único del taller.
+	 * @param file           el fichero CSV con los asistentes.
+	 * @param servletRequest la solicitud HTTP
+	 * @return ResponseEntity con el resumen de la importación y los errores por
+	 *         fila.
+	 * @throws TallerNotFoundException si el taller no existe.
+	 * @throws IOException             si no se puede leer el fichero.
+	 */
+	@PostMapping("/admin/importarAsistentes/{tallerId}")
+	public ResponseEntity<BasicResponseDto> importarAsistentes(@PathVariable("tallerId") Long tallerId,
+			@RequestParam("file") MultipartFile file, final HttpServletRequest servletRequest)
+			throws TallerNotFoundException, IOException {
+		return importacionAsistentesService.importarAsistentes(tallerId, file.getInputStream(), servletRequest);
+	}
+
+	/**
+	 * Obtiene el historial de inscripciones, bajas y parejas de un taller.
+	 *
+	 * @param tallerId el ID único del taller.
+	 * @return ResponseEntity con los eventos del taller en el orden en que se
+	 *         produjeron.
+	 */
+	@GetMapping("/admin/historial/{tallerId}")
+	public ResponseEntity<List<EventoInscripcion>> getHistorial(@PathVariable("tallerId") Long tallerId) {
+		return eventoInscripcionService.getHistorial(tallerId);
+	}
+
+	/**
+	 * Reconstruye las inscripciones y parejas de un taller a partir de su
+	 * historial.
+	 *
+	 * @param tallerId el ID único del taller.
+	 * @return ResponseEntity con el resumen de la reconstrucción.
+	 */
+	@PostMapping("/admin/reconstruirInscripciones/{tallerId}")
+	public ResponseEntity<BasicResponseDto> reconstruirInscripciones(@PathVariable("tallerId") Long tallerId) {
+		return eventoInscripcionService.reconstruirInscripciones(tallerId);
+	}
+
+	/**
+	 * Obtiene una página de talleres archivados, del más reciente al más antiguo.
+	 *
+	 * @param page el número de página, empezando en 0.
+	 * @param size el tamaño de la página.
+	 * @return ResponseEntity con los talleres archivados.
+	 */
+	@GetMapping("/admin/archivo")
+	public ResponseEntity<List<TallerHistorico>> getTalleresArchivados(
+			@RequestParam(name = "page", defaultValue = "0") int page,
+			@RequestParam(name = "size", defaultValue = "50") int size) {
+		return archivoTalleresService.getTalleresArchivados(page, size);
+	}
+
+	/**
+	 * Obtiene las inscripciones de un taller archivado.
+	 *
+	 * @param tallerId el ID único del taller archivado.
+	 * @return ResponseEntity con las inscripciones del taller.
+	 */
+	@GetMapping("/admin/archivo/{tallerId}/inscripciones")
+	public ResponseEntity<List<UserTallerHistorico>> getInscripcionesArchivadas(
+			@PathVariable("tallerId") Long tallerId) {
+		return archivoTalleresService.getInscripcionesArchivadas(tallerId);
+	}
+
+	/**
+	 * Archiva inmediatamente los talleres antiguos, sin esperar a la tarea
+	 * programada.
+	 *
+	 * @return ResponseEntity con el número de talleres archivados.
+	 */
+	@PostMapping("/admin/archivar")
+	public ResponseEntity<BasicResponseDto> archivar() {
+		return archivoTalleresService.archivar();
+	}
+
 }
@@ -0,0 +1,105 @@
+package com.bailaconsarabackend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clase DTO (Data Transfer Object) que representa el resultado de actualizar
+ * una sala de baile: la sala tal como queda y los cambios aplicados.
+ */
+public class ActualizacionSalaDto {
+
+	private SalaBaileRequestDTO sala;
+
+	private List<String> camposActualizados = new ArrayList<>();
+
+	private List<DiaGeneroDTO> horariosAnadidos = new ArrayList<>();
+
+	private List<DiaGeneroDTO> horariosEliminados = new ArrayList<>();
+
+	private int horariosSinCambios;
+
+	private int horasModificadas;
+
+	/**
+	 * Constructor vacío de ActualizacionSalaDto.
+	 */
+	public ActualizacionSalaDto() {
+	}
+
+	/**
+	 * Constructor de ActualizacionSalaDto que inicializa el objeto con todos los
+	 * atributos necesarios.
+	 *
+	 * @param sala               la sala de baile con sus horarios tras la
+	 *                           actualización.
+	 * @param camposActualizados nombres de los campos de la sala que han cambiado.
+	 * @param horariosAnadidos   combinaciones de día y género añadidas.
+	 * @param horariosEliminados combinaciones de día y género eliminadas.
+	 * @param horariosSinCambios número de combinaciones que se han conservado.
+	 * @param horasModificadas   número de combinaciones conservadas a las que se
+	 *                           les ha cambiado la hora.
+	 */
+	public ActualizacionSalaDto(SalaBaileRequestDTO sala, List<String> camposActualizados,
+			List<DiaGeneroDTO> horariosAnadidos, List<DiaGeneroDTO> horariosEliminados, int horariosSinCambios,
+			int horasModificadas) {
+		this.sala = sala;
+		this.camposActualizados = camposActualizados;
+		this.horariosAnadidos = horariosAnadidos;
+		this.horariosEliminados = horariosEliminados;
+		this.horariosSinCambios = horariosSinCambios;
+		this.horasModificadas = horasModificadas;
+	}
+
+	/*
+	 * Getters y Setters
+	 */
+	public SalaBaileRequestDTO getSala() {
+		return sala;
+	}
+
+	public void setSala(SalaBaileRequestDTO sala) {
+		this.sala = sala;
+	}
+
+	public List<String> getCamposActualizados() {
+		return camposActualizados;
+	}
+
+	public void setCamposActualizados(List<String> camposActualizados) {
+		this.camposActualizados = camposActualizados;
+	}
+
+	public List<DiaGeneroDTO> getHorariosAnadidos() {
+		return horariosAnadidos;
+	}
+
+	public void setHorariosAnadidos(List<DiaGeneroDTO> horariosAnadidos) {
+		this.horariosAnadidos = horariosAnadidos;
+	}
+
+	public List<DiaGeneroDTO> getHorariosEliminados() {
+		return horariosEliminados;
+	}
+
+	public void setHorariosEliminados(List<DiaGeneroDTO> horariosEliminados) {
+		this.horariosEliminados = horariosEliminados;
+	}
+
+	public int getHorariosSinCambios() {
+		return horariosSinCambios;
+	}
+
+	public void setHorariosSinCambios(int horariosSinCambios) {
+		this.horariosSinCambios = horariosSinCambios;
+	}
+
+	public int getHorasModificadas() {
+		return horasModificadas;
+	}
+
+	public void setHorasModificadas(int horasModificadas) {
+		this.horasModificadas = horasModificadas;
+	}
+
+}
@@ -0,0 +1,88 @@
+package com.bailaconsarabackend.dto;
+
+/**
+ * Clase DTO (Data Transfer Object) que representa el resultado de verificar un
+ * token de check-in en la puerta de un taller.
+ */
+public class CheckInResultadoDto {
+
+	private String token;
+
+	private boolean aceptado;
+
+	private Long userId;
+
+	private Long userTallerId;
+
+	private String message;
+
+	/**
+	 * Constructor vacío de CheckInResultadoDto.
+	 */
+	public CheckInResultadoDto() {
+	}
+
+	/**
+	 * Constructor de CheckInResultadoDto que inicializa el objeto con todos los
+	 * atributos necesarios.
+	 *
+	 * @param token        token escaneado.
+	 * @param aceptado     true si la llegada se ha registrado.
+	 * @param userId       identificador del usuario, o null si el token no es
+	 *                     válido.
+	 * @param userTallerId identificador de la inscripción, o null si el token no
+	 *                     es válido.
+	 * @param message      mensaje con el resultado de la verificación.
+	 */
+	public CheckInResultadoDto(String token, boolean aceptado, Long userId, Long userTallerId, String message) {
+		this.token = token;
+		this.aceptado = aceptado;
+		this.userId = userId;
+		this.userTallerId = userTallerId;
+		this.message = message;
+	}
+
+	/*
+	 * Getters y Setters
+	 */
+	public String getToken() {
+		return token;
+	}
+
+	public void setToken(String token) {
+		this.token = token;
+	}
+
+	public boolean isAceptado() {
+		return aceptado;
+	}
+
+	public void setAceptado(boolean aceptado) {
+		this.aceptado = aceptado;
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public void setUserId(Long userId) {
+		this.userId = userId;
+	}
+
+	public Long getUserTallerId() {
+		return userTallerId;
+	}
+
+	public void setUserTallerId(Long userTallerId) {
+		this.userTallerId = userTallerId;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public void setMessage(String message) {
+		this.message = message;
+	}
+
+}
@@ -0,0 +1,78 @@
+package com.bailaconsarabackend.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Clase DTO (Data Transfer Object) que representa el token de check-in firmado
+ * de un usuario con pareja confirmada en un taller. El token se muestra en la
+ * puerta (por ejemplo como código QR) y se verifica sin acceder a la base de
+ * datos.
+ */
+public class CheckInTokenDto {
+
+	private Long tallerId;
+
+	private Long userId;
+
+	private String token;
+
+	private LocalDate validoHasta;
+
+	/**
+	 * Constructor vacío de CheckInTokenDto.
+	 */
+	public CheckInTokenDto() {
+	}
+
+	/**
+	 * Constructor de CheckInTokenDto que inicializa el objeto con todos los
+	 * atributos necesarios.
+	 *
+	 * @param tallerId    identificador del taller.
+	 * @param userId      identificador del usuario.
+	 * @param token       token firmado en Base64 URL.
+	 * @param validoHasta último día en el que el token es válido.
+	 */
+	public CheckInTokenDto(Long tallerId, Long userId, String token, LocalDate validoHasta) {
+		this.tallerId = tallerId;
+		this.userId = userId;
+		this.token = token;
+		this.validoHasta = validoHasta;
+	}
+
+	/*
+	 * Getters y Setters
+	 */
+	public Long getTallerId() {
+		return tallerId;
+	}
+
+	public void setTallerId(Long tallerId) {
+		this.tallerId = tallerId;
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public void setUserId(Long userId) {
+		this.userId = userId;
+	}
+
+	public String getToken() {
+		return token;
+	}
+
+	public void setToken(String token) {
+		this.token = token;
+	}
+
+	public LocalDate getValidoHasta() {
+		return validoHasta;
+	}
+
+	public void setValidoHasta(LocalDate validoHasta) {
+		this.validoHasta = validoHasta;
+	}
+
+}
@@ -1,5 +1,6 @@
 package com.bailaconsarabackend.dto;
 
+import java.time.LocalTime;
 import java.util.List;
 
 import com.bailaconsarabackend.model.Dias;
@@ -14,6 +15,13 @@ public class DiaGeneroDTO {
 	private Dias dia;
 	private List<GenerosMusicales> generos;
 
+	/*
+	 * Horario de los géneros de ese día, opcional. Si la hora de fin es anterior o
+	 * igual a la de inicio, termina al día siguiente
+	 */
+	private LocalTime horaInicio;
+	private LocalTime horaFin;
+
 	/**
 	 * Constructor por defecto de DiaGeneroDTO sin parámetros.
 	 */
@@ -50,4 +58,20 @@ public class DiaGeneroDTO {
 		this.generos = generos;
 	}
 
+	public LocalTime getHoraInicio() {
+		return horaInicio;
+	}
+
+	public void setHoraInicio(LocalTime horaInicio) {
+		this.horaInicio = horaInicio;
+	}
+
+	public LocalTime getHoraFin() {
+		return horaFin;
+	}
+
+	public void setHoraFin(LocalTime horaFin) {
+		this.horaFin = horaFin;
+	}
+
 }
@@ -0,0 +1,90 @@
+package com.bailaconsarabackend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clase DTO (Data Transfer Object) que representa el resultado de importar un
+ * listado de asistentes a un taller.
+ */
+public class ImportacionAsistentesDto {
+
+	private Long tallerId;
+
+	private int filasLeidas;
+
+	private int inscritos;
+
+	private int parejasFormadas;
+
+	private List<String> errores = new ArrayList<>();
+
+	/**
+	 * Constructor vacío de ImportacionAsistentesDto.
+	 */
+	public ImportacionAsistentesDto() {
+	}
+
+	/**
+	 * Constructor de ImportacionAsistentesDto que inicializa el objeto con todos
+	 * los atributos necesarios.
+	 *
+	 * @param tallerId        identificador del taller.
+	 * @param filasLeidas     número de filas de asistentes leídas del fichero.
+	 * @param inscritos       número de usuarios inscritos en el taller.
+	 * @param parejasFormadas número de parejas formadas tras la importación.
+	 * @param errores         errores encontrados, uno por fila rechazada.
+	 */
+	public ImportacionAsistentesDto(Long tallerId, int filasLeidas, int inscritos, int parejasFormadas,
+			List<String> errores) {
+		this.tallerId = tallerId;
+		this.filasLeidas = filasLeidas;
+		this.inscritos = inscritos;
+		this.parejasFormadas = parejasFormadas;
+		this.errores = errores;
+	}
+
+	/*
+	 * Getters y Setters
+	 */
+	public Long getTallerId() {
+		return tallerId;
+	}
+
+	public void setTallerId(Long tallerId) {
+		this.tallerId = tallerId;
+	}
+
+	public int getFilasLeidas() {
+		return filasLeidas;
+	}
+
+	public void setFilasLeidas(int filasLeidas) {
+		this.filasLeidas = filasLeidas;
+	}
+
+	public int getInscritos() {
+		return inscritos;
+	}
+
+	public void setInscritos(int inscritos) {
+		this.inscritos = inscritos;
+	}
+
+	public int getParejasFormadas() {
+		return parejasFormadas;
+	}
+
+	public void setParejasFormadas(int parejasFormadas) {
+		this.parejasFormadas = parejasFormadas;
+	}
+
+	public List<String> getErrores() {
+		return errores;
+	}
+
+	public void setErrores(List<String> errores) {
+		this.errores = errores;
+	}
+
+}
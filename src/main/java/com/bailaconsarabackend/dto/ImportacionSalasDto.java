@@ -0,0 +1,78 @@
+package com.bailaconsarabackend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clase DTO (Data Transfer Object) que representa el resultado de importar un
+ * listado de salas de baile.
+ */
+public class ImportacionSalasDto {
+
+	private int filasLeidas;
+
+	private int salasCreadas;
+
+	private int horariosCreados;
+
+	private List<String> errores = new ArrayList<>();
+
+	/**
+	 * Constructor vacío de ImportacionSalasDto.
+	 */
+	public ImportacionSalasDto() {
+	}
+
+	/**
+	 * Constructor de ImportacionSalasDto que inicializa el objeto con todos los
+	 * atributos necesarios.
+	 *
+	 * @param filasLeidas     número de filas del CSV o elementos del JSON leídos.
+	 * @param salasCreadas    número de salas de baile creadas.
+	 * @param horariosCreados número de combinaciones de día y género creadas.
+	 * @param errores         errores encontrados, uno por fila o elemento
+	 *                        rechazado.
+	 */
+	public ImportacionSalasDto(int filasLeidas, int salasCreadas, int horariosCreados, List<String> errores) {
+		this.filasLeidas = filasLeidas;
+		this.salasCreadas = salasCreadas;
+		this.horariosCreados = horariosCreados;
+		this.errores = errores;
+	}
+
+	/*
+	 * Getters y Setters
+	 */
+	public int getFilasLeidas() {
+		return filasLeidas;
+	}
+
+	public void setFilasLeidas(int filasLeidas) {
+		this.filasLeidas = filasLeidas;
+	}
+
+	public int getSalasCreadas() {
+		return salasCreadas;
+	}
+
+	public void setSalasCreadas(int salasCreadas) {
+		this.salasCreadas = salasCreadas;
+	}
+
+	public int getHorariosCreados() {
+		return horariosCreados;
+	}
+
+	public void setHorariosCreados(int horariosCreados) {
+		this.horariosCreados = horariosCreados;
+	}
+
+	public List<String> getErrores() {
+		return errores;
+	}
+
+	public void setErrores(List<String> errores) {
+		this.errores = errores;
+	}
+
+}
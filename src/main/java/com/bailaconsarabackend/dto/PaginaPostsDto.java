@@ -0,0 +1,81 @@
+package com.bailaconsarabackend.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clase DTO (Data Transfer Object) que representa una página del índice del
+ * blog y el cursor para pedir la siguiente.
+ */
+public class PaginaPostsDto {
+
+	private List<PostResumenDto> posts = new ArrayList<>();
+
+	private boolean hayMas;
+
+	private LocalDate siguienteFecha;
+
+	private Long siguienteId;
+
+	/**
+	 * Constructor vacío de PaginaPostsDto.
+	 */
+	public PaginaPostsDto() {
+	}
+
+	/**
+	 * Constructor de PaginaPostsDto que inicializa el objeto con todos los
+	 * atributos necesarios.
+	 *
+	 * @param posts          los resúmenes de la página, del más reciente al más
+	 *                       antiguo.
+	 * @param hayMas         true si hay más publicaciones después de esta página.
+	 * @param siguienteFecha fecha de creación de la última publicación de la
+	 *                       página, que se envía como cursor de la siguiente.
+	 * @param siguienteId    ID de la última publicación de la página, que se
+	 *                       envía como cursor de la siguiente.
+	 */
+	public PaginaPostsDto(List<PostResumenDto> posts, boolean hayMas, LocalDate siguienteFecha, Long siguienteId) {
+		this.posts = posts;
+		this.hayMas = hayMas;
+		this.siguienteFecha = siguienteFecha;
+		this.siguienteId = siguienteId;
+	}
+
+	/*
+	 * Getters y Setters
+	 */
+	public List<PostResumenDto> getPosts() {
+		return posts;
+	}
+
+	public void setPosts(List<PostResumenDto> posts) {
+		this.posts = posts;
+	}
+
+	public boolean isHayMas() {
+		return hayMas;
+	}
+
+	public void setHayMas(boolean hayMas) {
+		this.hayMas = hayMas;
+	}
+
+	public LocalDate getSiguienteFecha() {
+		return siguienteFecha;
+	}
+
+	public void setSiguienteFecha(LocalDate siguienteFecha) {
+		this.siguienteFecha = siguienteFecha;
+	}
+
+	public Long getSiguienteId() {
+		return siguienteId;
+	}
+
+	public void setSiguienteId(Long siguienteId) {
+		this.siguienteId = siguienteId;
+	}
+
+}
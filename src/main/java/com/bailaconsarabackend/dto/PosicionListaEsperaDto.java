@@ -0,0 +1,114 @@
+package com.bailaconsarabackend.dto;
+
+/**
+ * Clase DTO (Data Transfer Object) que representa la posición de un usuario en
+ * la lista de espera de un taller para su rol de baile.
+ */
+public class PosicionListaEsperaDto {
+
+	private Long tallerId;
+
+	private Long userId;
+
+	private String bailerol;
+
+	private boolean enEspera;
+
+	private int posicion;
+
+	private int personasDelante;
+
+	private int totalEnEspera;
+
+	/**
+	 * Constructor vacío de PosicionListaEsperaDto.
+	 */
+	public PosicionListaEsperaDto() {
+	}
+
+	/**
+	 * Constructor de PosicionListaEsperaDto que inicializa el objeto con todos los
+	 * atributos necesarios.
+	 *
+	 * @param tallerId        identificador del taller.
+	 * @param userId          identificador del usuario.
+	 * @param bailerol        rol de baile del usuario en el taller (lider o
+	 *                        follower).
+	 * @param enEspera        true si el usuario sigue esperando pareja.
+	 * @param posicion        posición en la lista de espera empezando en 1, o 0 si
+	 *                        no está en espera.
+	 * @param personasDelante número de personas del mismo rol que esperan desde
+	 *                        antes.
+	 * @param totalEnEspera   número total de personas del mismo rol en espera.
+	 */
+	public PosicionListaEsperaDto(Long tallerId, Long userId, String bailerol, boolean enEspera, int posicion,
+			int personasDelante, int totalEnEspera) {
+		this.tallerId = tallerId;
+		this.userId = userId;
+		this.bailerol = bailerol;
+		this.enEspera = enEspera;
+		this.posicion = posicion;
+		this.personasDelante = personasDelante;
+		this.totalEnEspera = totalEnEspera;
+	}
+
+	/*
+	 * Getters y Setters
+	 */
+	public Long getTallerId() {
+		return tallerId;
+	}
+
+	public void setTallerId(Long tallerId) {
+		this.tallerId = tallerId;
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public void setUserId(Long userId) {
+		this.userId = userId;
+	}
+
+	public String getBailerol() {
+		return bailerol;
+	}
+
+	public void setBailerol(String bailerol) {
+		this.bailerol = bailerol;
+	}
+
+	public boolean isEnEspera() {
+		return enEspera;
+	}
+
+	public void setEnEspera(boolean enEspera) {
+		this.enEspera = enEspera;
+	}
+
+	public int getPosicion() {
+		return posicion;
+	}
+
+	public void setPosicion(int posicion) {
+		this.posicion = posicion;
+	}
+
+	public int getPersonasDelante() {
+		return personasDelante;
+	}
+
+	public void setPersonasDelante(int personasDelante) {
+		this.personasDelante = personasDelante;
+	}
+
+	public int getTotalEnEspera() {
+		return totalEnEspera;
+	}
+
+	public void setTotalEnEspera(int totalEnEspera) {
+		this.totalEnEspera = totalEnEspera;
+	}
+
+}
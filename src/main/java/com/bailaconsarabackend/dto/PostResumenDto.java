@@ -0,0 +1,127 @@
+package com.bailaconsarabackend.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Clase DTO (Data Transfer Object) que representa el resumen de una
+ * publicación para el índice del blog, sin los textos largos. Se construye
+ * directamente en la consulta, así que los textos nunca se leen.
+ */
+public class PostResumenDto {
+
+	private Long id;
+
+	private String title;
+
+	private String slug;
+
+	private String imagenportada;
+
+	private String altportada;
+
+	private String miniaturaportada;
+
+	private String metadescripcion;
+
+	private LocalDate created_at;
+
+	/**
+	 * Constructor vacío de PostResumenDto.
+	 */
+	public PostResumenDto() {
+	}
+
+	/**
+	 * Constructor de PostResumenDto que inicializa el objeto con todos los
+	 * atributos necesarios.
+	 *
+	 * @param id               identificador único de la publicación.
+	 * @param title            título de la publicación.
+	 * @param slug             slug para la URL.
+	 * @param imagenportada    URL de la imagen de portada.
+	 * @param altportada       ALT de la imagen de portada.
+	 * @param miniaturaportada URL de la miniatura de la portada, o null.
+	 * @param metadescripcion  meta descripción.
+	 * @param created_at       fecha de creación.
+	 */
+	public PostResumenDto(Long id, String title, String slug, String imagenportada, String altportada,
+			String miniaturaportada, String metadescripcion, LocalDate created_at) {
+		this.id = id;
+		this.title = title;
+		this.slug = slug;
+		this.imagenportada = imagenportada;
+		this.altportada = altportada;
+		this.miniaturaportada = miniaturaportada;
+		this.metadescripcion = metadescripcion;
+		this.created_at = created_at;
+	}
+
+	/*
+	 * Getters y Setters
+	 */
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public void setTitle(String title) {
+		this.title = title;
+	}
+
+	public String getSlug() {
+		return slug;
+	}
+
+	public void setSlug(String slug) {
+		this.slug = slug;
+	}
+
+	public String getImagenportada() {
+		return imagenportada;
+	}
+
+	public void setImagenportada(String imagenportada) {
+		this.imagenportada = imagenportada;
+	}
+
+	public String getAltportada() {
+		return altportada;
+	}
+
+	public void setAltportada(String altportada) {
+		this.altportada = altportada;
+		this.miniaturaportada = miniaturaportada;
+	}
+
+	public String getMiniaturaportada() {
+		return miniaturaportada;
+	}
+
+	public void setMiniaturaportada(String miniaturaportada) {
+		this.miniaturaportada = miniaturaportada;
+	}
+
+	public String getMetadescripcion() {
+		return metadescripcion;
+	}
+
+	public void setMetadescripcion(String metadescripcion) {
+		this.metadescripcion = metadescripcion;
+	}
+
+	public LocalDate getCreated_at() {
+		return created_at;
+	}
+
+	public void setCreated_at(LocalDate created_at) {
+		this.created_at = created_at;
+	}
+
+}
@@ -0,0 +1,129 @@
+package com.bailaconsarabackend.dto;
+
+import java.time.LocalTime;
+
+import com.bailaconsarabackend.model.Dias;
+import com.bailaconsarabackend.model.GenerosMusicales;
+
+/**
+ * Clase DTO (Data Transfer Object) que representa una sesión de una sala de
+ * baile: el día, el género musical y el horario en que la sala lo pone.
+ */
+public class SalaAbiertaDto {
+
+	private Long salaId;
+
+	private String nombreSala;
+
+	private String localidad;
+
+	private String address;
+
+	private Dias dia;
+
+	private GenerosMusicales genero;
+
+	private LocalTime horaInicio;
+
+	private LocalTime horaFin;
+
+	/**
+	 * Constructor vacío de SalaAbiertaDto.
+	 */
+	public SalaAbiertaDto() {
+	}
+
+	/**
+	 * Constructor de SalaAbiertaDto que inicializa el objeto con todos los
+	 * atributos necesarios.
+	 *
+	 * @param salaId     identificador de la sala de baile.
+	 * @param nombreSala nombre de la sala de baile.
+	 * @param localidad  localidad de la sala de baile.
+	 * @param address    dirección de la sala de baile.
+	 * @param dia        día en que empieza la sesión.
+	 * @param genero     género musical de la sesión.
+	 * @param horaInicio hora de inicio de la sesión.
+	 * @param horaFin    hora de fin de la sesión; si es anterior o igual a la de
+	 *                   inicio, la sesión termina al día siguiente.
+	 */
+	public SalaAbiertaDto(Long salaId, String nombreSala, String localidad, String address, Dias dia,
+			GenerosMusicales genero, LocalTime horaInicio, LocalTime horaFin) {
+		this.salaId = salaId;
+		this.nombreSala = nombreSala;
+		this.localidad = localidad;
+		this.address = address;
+		this.dia = dia;
+		this.genero = genero;
+		this.horaInicio = horaInicio;
+		this.horaFin = horaFin;
+	}
+
+	/*
+	 * Getters y Setters
+	 */
+	public Long getSalaId() {
+		return salaId;
+	}
+
+	public void setSalaId(Long salaId) {
+		this.salaId = salaId;
+	}
+
+	public String getNombreSala() {
+		return nombreSala;
+	}
+
+	public void setNombreSala(String nombreSala) {
+		this.nombreSala = nombreSala;
+	}
+
+	public String getLocalidad() {
+		return localidad;
+	}
+
+	public void setLocalidad(String localidad) {
+		this.localidad = localidad;
+	}
+
+	public String getAddress() {
+		return address;
+	}
+
+	public void setAddress(String address) {
+		this.address = address;
+	}
+
+	public Dias getDia() {
+		return dia;
+	}
+
+	public void setDia(Dias dia) {
+		this.dia = dia;
+	}
+
+	public GenerosMusicales getGenero() {
+		return genero;
+	}
+
+	public void setGenero(GenerosMusicales genero) {
+		this.genero = genero;
+	}
+
+	public LocalTime getHoraInicio() {
+		return horaInicio;
+	}
+
+	public void setHoraInicio(LocalTime horaInicio) {
+		this.horaInicio = horaInicio;
+	}
+
+	public LocalTime getHoraFin() {
+		return horaFin;
+	}
+
+	public void setHoraFin(LocalTime horaFin) {
+		this.horaFin = horaFin;
+	}
+
+}
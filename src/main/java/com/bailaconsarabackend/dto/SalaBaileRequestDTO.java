@@ -13,6 +13,8 @@ public class SalaBaileRequestDTO {
 	private String nombreSala;
 	private String localidad;
 	private String address;
+	private Double latitud;
+	private Double longitud;
 	private List<DiaGeneroDTO> diasGeneros;
 
 	/**
@@ -85,6 +87,22 @@ public class SalaBaileRequestDTO {
 		this.address = address;
 	}
 
+	public Double getLatitud() {
+		return latitud;
+	}
+
+	public void setLatitud(Double latitud) {
+		this.latitud = latitud;
+	}
+
+	public Double getLongitud() {
+		return longitud;
+	}
+
+	public void setLongitud(Double longitud) {
+		this.longitud = longitud;
+	}
+
 	public List<DiaGeneroDTO> getDiasGeneros() {
 		return diasGeneros;
 	}
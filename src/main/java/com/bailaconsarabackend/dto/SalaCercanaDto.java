@@ -0,0 +1,128 @@
+package com.bailaconsarabackend.dto;
+
+import java.util.List;
+
+import com.bailaconsarabackend.model.GenerosMusicales;
+
+/**
+ * Clase DTO (Data Transfer Object) que representa una sala de baile encontrada
+ * en una búsqueda por proximidad, con su distancia a la posición buscada y los
+ * géneros musicales que pone el día consultado.
+ */
+public class SalaCercanaDto {
+
+	private Long salaId;
+
+	private String nombreSala;
+
+	private String localidad;
+
+	private String address;
+
+	private Double latitud;
+
+	private Double longitud;
+
+	private double distanciaKm;
+
+	private List<GenerosMusicales> generos;
+
+	/**
+	 * Constructor vacío de SalaCercanaDto.
+	 */
+	public SalaCercanaDto() {
+	}
+
+	/**
+	 * Constructor de SalaCercanaDto que inicializa el objeto con todos los
+	 * atributos necesarios.
+	 *
+	 * @param salaId      identificador de la sala de baile.
+	 * @param nombreSala  nombre de la sala de baile.
+	 * @param localidad   localidad de la sala de baile.
+	 * @param address     dirección de la sala de baile.
+	 * @param latitud     latitud de la sala de baile, en grados.
+	 * @param longitud    longitud de la sala de baile, en grados.
+	 * @param distanciaKm distancia a la posición buscada, en kilómetros.
+	 * @param generos     géneros musicales que pone la sala el día consultado.
+	 */
+	public SalaCercanaDto(Long salaId, String nombreSala, String localidad, String address, Double latitud,
+			Double longitud, double distanciaKm, List<GenerosMusicales> generos) {
+		this.salaId = salaId;
+		this.nombreSala = nombreSala;
+		this.localidad = localidad;
+		this.address = address;
+		this.latitud = latitud;
+		this.longitud = longitud;
+		this.distanciaKm = distanciaKm;
+		this.generos = generos;
+	}
+
+	/*
+	 * Getters y Setters
+	 */
+	public Long getSalaId() {
+		return salaId;
+	}
+
+	public void setSalaId(Long salaId) {
+		this.salaId = salaId;
+	}
+
+	public String getNombreSala() {
+		return nombreSala;
+	}
+
+	public void setNombreSala(String nombreSala) {
+		this.nombreSala = nombreSala;
+	}
+
+	public String getLocalidad() {
+		return localidad;
+	}
+
+	public void setLocalidad(String localidad) {
+		this.localidad = localidad;
+	}
+
+	public String getAddress() {
+		return address;
+	}
+
+	public void setAddress(String address) {
+		this.address = address;
+	}
+
+	public Double getLatitud() {
+		return latitud;
+	}
+
+	public void setLatitud(Double latitud) {
+		this.latitud = latitud;
+	}
+
+	public Double getLongitud() {
+		return longitud;
+	}
+
+	public void setLongitud(Double longitud) {
+		this.longitud = longitud;
+	}
+
+	public double getDistanciaKm() {
+		return distanciaKm;
+	}
+
+	public void setDistanciaKm(double distanciaKm) {
+		this.distanciaKm = distanciaKm;
+	}
+
+	public List<GenerosMusicales> getGeneros() {
+		return generos;
+	}
+
+	public void setGeneros(List<GenerosMusicales> generos) {
+		this.generos = generos;
+	}
+
+}
@@ -0,0 +1,178 @@
+package com.bailaconsarabackend.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.bailaconsarabackend.model.Dias;
+
+/**
+ * Clase DTO (Data Transfer Object) que representa una serie de talleres
+ * recurrentes, por ejemplo una clase semanal durante una temporada. Contiene
+ * los datos comunes de los talleres y la regla de recurrencia: los días de la
+ * semana, cada cuántas semanas se repite y hasta cuándo (fecha de fin o número
+ * de repeticiones).
+ */
+public class SerieTallerDto {
+
+	private String serieId;
+
+	private String nombre;
+
+	private String modalidad;
+
+	private String profesores;
+
+	private String hora;
+
+	private String lugar;
+
+	private LocalDate fechaInicio;
+
+	private LocalDate fechaFin;
+
+	private Integer repeticiones;
+
+	private Integer intervaloSemanas;
+
+	private List<Dias> dias;
+
+	private List<LocalDate> fechas;
+
+	/**
+	 * Constructor vacío de SerieTallerDto.
+	 */
+	public SerieTallerDto() {
+	}
+
+	/**
+	 * Constructor de SerieTallerDto que inicializa el objeto con todos los
+	 * atributos de la regla de recurrencia.
+	 *
+	 * @param nombre           nombre de los talleres de la serie.
+	 * @param modalidad        modalidad o estilo de los talleres.
+	 * @param profesores       profesores de los talleres.
+	 * @param hora             hora de inicio de los talleres.
+	 * @param lugar            lugar donde se realizan los talleres.
+	 * @param fechaInicio      primera fecha posible de la serie.
+	 * @param fechaFin         última fecha posible de la serie, puede ser nula si
+	 *                         se indican repeticiones.
+	 * @param repeticiones     número máximo de talleres a crear, puede ser nulo si
+	 *                         se indica fecha de fin.
+	 * @param intervaloSemanas cada cuántas semanas se repite la serie (1 si es
+	 *                         nulo).
+	 * @param dias             días de la semana en los que hay taller.
+	 */
+	public SerieTallerDto(String nombre, String modalidad, String profesores, String hora, String lugar,
+			LocalDate fechaInicio, LocalDate fechaFin, Integer repeticiones, Integer intervaloSemanas, List<Dias> dias) {
+		this.nombre = nombre;
+		this.modalidad = modalidad;
+		this.profesores = profesores;
+		this.hora = hora;
+		this.lugar = lugar;
+		this.fechaInicio = fechaInicio;
+		this.fechaFin = fechaFin;
+		this.repeticiones = repeticiones;
+		this.intervaloSemanas = intervaloSemanas;
+		this.dias = dias;
+	}
+
+	/*
+	 * Getters y Setters
+	 */
+	public String getSerieId() {
+		return serieId;
+	}
+
+	public void setSerieId(String serieId) {
+		this.serieId = serieId;
+	}
+
+	public String getNombre() {
+		return nombre;
+	}
+
+	public void setNombre(String nombre) {
+		this.nombre = nombre;
+	}
+
+	public String getModalidad() {
+		return modalidad;
+	}
+
+	public void setModalidad(String modalidad) {
+		this.modalidad = modalidad;
+	}
+
+	public String getProfesores() {
+		return profesores;
+	}
+
+	public void setProfesores(String profesores) {
+		this.profesores = profesores;
+	}
+
+	public String getHora() {
+		return hora;
+	}
+
+	public void setHora(String hora) {
+		this.hora = hora;
+	}
+
+	public String getLugar() {
+		return lugar;
+	}
+
+	public void setLugar(String lugar) {
+		this.lugar = lugar;
+	}
+
+	public LocalDate getFechaInicio() {
+		return fechaInicio;
+	}
+
+	public void setFechaInicio(LocalDate fechaInicio) {
+		this.fechaInicio = fechaInicio;
+	}
+
+	public LocalDate getFechaFin() {
+		return fechaFin;
+	}
+
+	public void setFechaFin(LocalDate fechaFin) {
+		this.fechaFin = fechaFin;
+	}
+
+	public Integer getRepeticiones() {
+		return repeticiones;
+	}
+
+	public void setRepeticiones(Integer repeticiones) {
+		this.repeticiones = repeticiones;
+	}
+
+	public Integer getIntervaloSemanas() {
+		return intervaloSemanas;
+	}
+
+	public void setIntervaloSemanas(Integer intervaloSemanas) {
+		this.intervaloSemanas = intervaloSemanas;
+	}
+
+	public List<Dias> getDias() {
+		return dias;
+	}
+
+	public void setDias(List<Dias> dias) {
+		this.dias = dias;
+	}
+
+	public List<LocalDate> getFechas() {
+		return fechas;
+	}
+
+	public void setFechas(List<LocalDate> fechas) {
+		this.fechas = fechas;
+	}
+
+}
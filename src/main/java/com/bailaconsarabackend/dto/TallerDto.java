@@ -28,6 +28,8 @@ public class TallerDto {
 
 	private String lugar;
 
+	private String serieId;
+
 	private List<User_Taller> usuarios_talleres;
 
 	/**
@@ -87,6 +89,7 @@ public class TallerDto {
 		this.fecha = taller.getFecha();
 		this.hora = taller.getHora();
 		this.lugar = taller.getLugar();
+		this.serieId = taller.getSerieId();
 		this.usuarios_talleres = taller.getUsuarios_talleres();
 	}
 
@@ -157,4 +160,12 @@ public class TallerDto {
 		this.lugar = lugar;
 	}
 
+	public String getSerieId() {
+		return serieId;
+	}
+
+	public void setSerieId(String serieId) {
+		this.serieId = serieId;
+	}
+
 }
@@ -0,0 +1,50 @@
+package com.bailaconsarabackend.dto;
+
+/**
+ * Clase DTO (Data Transfer Object) que representa una regla SEO que no cumple
+ * una publicación: el campo afectado y el mensaje para el editor.
+ */
+public class ViolacionSeoDto {
+
+	private String campo;
+
+	private String mensaje;
+
+	/**
+	 * Constructor vacío de ViolacionSeoDto.
+	 */
+	public ViolacionSeoDto() {
+	}
+
+	/**
+	 * Constructor de ViolacionSeoDto que inicializa el objeto con todos los
+	 * atributos necesarios.
+	 *
+	 * @param campo   nombre del campo del post que incumple la regla.
+	 * @param mensaje mensaje que explica cómo corregirlo.
+	 */
+	public ViolacionSeoDto(String campo, String mensaje) {
+		this.campo = campo;
+		this.mensaje = mensaje;
+	}
+
+	/*
+	 * Getters y Setters
+	 */
+	public String getCampo() {
+		return campo;
+	}
+
+	public void setCampo(String campo) {
+		this.campo = campo;
+	}
+
+	public String getMensaje() {
+		return mensaje;
+	}
+
+	public void setMensaje(String mensaje) {
+		this.mensaje = mensaje;
+	}
+
+}
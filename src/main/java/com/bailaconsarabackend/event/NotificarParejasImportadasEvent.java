@@ -0,0 +1,50 @@
+package com.bailaconsarabackend.event;
+
+import java.util.List;
+
+import org.springframework.context.ApplicationEvent;
+
+import com.bailaconsarabackend.model.ParejaTaller;
+
+/**
+ * Evento que se dispara una sola vez al terminar la importación de asistentes
+ * de un taller. Contiene todas las parejas formadas para que las
+ * notificaciones se envíen en bloque y fuera de la petición de importación.
+ */
+public class NotificarParejasImportadasEvent extends ApplicationEvent {
+
+	private List<ParejaTaller> parejas; // Las parejas formadas en la importación
+	private String applicationUrl; // La URL de la aplicación
+
+	/**
+	 * Constructor de la clase NotificarParejasImportadasEvent.
+	 *
+	 * @param parejas        las parejas formadas en la importación
+	 * @param applicationUrl la URL de la aplicación
+	 */
+	public NotificarParejasImportadasEvent(List<ParejaTaller> parejas, String applicationUrl) {
+		super(parejas);
+		this.parejas = parejas;
+		this.applicationUrl = applicationUrl;
+	}
+
+	/*
+	 * Getters y Setters
+	 */
+	public List<ParejaTaller> getParejas() {
+		return parejas;
+	}
+
+	public void setParejas(List<ParejaTaller> parejas) {
+		this.parejas = parejas;
+	}
+
+	public String getApplicationUrl() {
+		return applicationUrl;
+	}
+
+	public void setApplicationUrl(String applicationUrl) {
+		this.applicationUrl = applicationUrl;
+	}
+
+}
@@ -0,0 +1,67 @@
+package com.bailaconsarabackend.event.listener;
+
+import java.io.UnsupportedEncodingException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import com.bailaconsarabackend.event.NotificarParejasImportadasEvent;
+import com.bailaconsarabackend.model.ParejaTaller;
+import com.bailaconsarabackend.service.EmailService;
+
+import jakarta.mail.MessagingException;
+
+/**
+ * Clase que escucha los eventos de NotificarParejasImportadasEvent y avisa por
+ * correo electrónico a los dos miembros de cada pareja formada. Se ejecuta de
+ * forma asíncrona para que la importación no espere al envío de los correos.
+ */
+@Component
+public class NotificarParejasImportadasEventListener
+		implements ApplicationListener<NotificarParejasImportadasEvent> {
+
+	/**
+	 * Logger para registrar eventos y errores.
+	 */
+	private static final Logger log = LoggerFactory.getLogger(NotificarParejasImportadasEventListener.class);
+
+	private final EmailService emailService;
+
+	/**
+	 * Constructor de la clase NotificarParejasImportadasEventListener.
+	 *
+	 * @param emailService el servicio de correo electrónico a utilizar
+	 */
+	public NotificarParejasImportadasEventListener(EmailService emailService) {
+		this.emailService = emailService;
+	}
+
+	/**
+	 * Maneja el evento de NotificarParejasImportadasEvent y envía una notificación
+	 * a cada miembro de cada pareja. Un fallo en un envío no impide los demás.
+	 *
+	 * @param event el evento de NotificarParejasImportadasEvent
+	 */
+	@Async
+	@Override
+	public void onApplicationEvent(NotificarParejasImportadasEvent event) {
+		String urlLogin = event.getApplicationUrl() + "/auth";
+		int enviados = 0;
+
+		for (ParejaTaller pareja : event.getParejas()) {
+			try {
+				emailService.sendNewPartnerNotification(pareja.getLider(), pareja.getFollower().getUser(), urlLogin);
+				enviados++;
+				emailService.sendNewPartnerNotification(pareja.getFollower(), pareja.getLider().getUser(), urlLogin);
+				enviados++;
+			} catch (UnsupportedEncodingException | MessagingException e) {
+				log.error("Error al notificar la pareja {}: {}", pareja.getId(), e.getMessage());
+			}
+		}
+		log.info("Enviadas {} notificaciones de parejas importadas", enviados);
+	}
+
+}
@@ -0,0 +1,104 @@
+package com.bailaconsarabackend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Clase que representa la llegada de un usuario inscrito a un taller, registrada
+ * en la puerta al escanear su token de check-in. Las llegadas se escriben por
+ * lotes, por lo que se guardan solo los identificadores y no las relaciones.
+ */
+@Entity
+@Table(name = "asistencias_taller", uniqueConstraints = @UniqueConstraint(columnNames = "user_taller_id"),
+		indexes = @Index(columnList = "taller_id"))
+public class AsistenciaTaller {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	private Long tallerId;
+
+	/*
+	 * Inscripción del usuario. Cada inscripción solo puede registrar una llegada.
+	 */
+	private Long userTallerId;
+
+	private Long userId;
+
+	private LocalDateTime fechaLlegada;
+
+	/**
+	 * Constructor por defecto de la clase AsistenciaTaller.
+	 */
+	public AsistenciaTaller() {
+	}
+
+	/**
+	 * Constructor de la clase AsistenciaTaller con todos los atributos.
+	 *
+	 * @param id           el identificador de la asistencia
+	 * @param tallerId     el identificador del taller
+	 * @param userTallerId el identificador de la inscripción
+	 * @param userId       el identificador del usuario
+	 * @param fechaLlegada la fecha y hora de llegada en UTC
+	 */
+	public AsistenciaTaller(Long id, Long tallerId, Long userTallerId, Long userId, LocalDateTime fechaLlegada) {
+		this.id = id;
+		this.tallerId = tallerId;
+		this.userTallerId = userTallerId;
+		this.userId = userId;
+		this.fechaLlegada = fechaLlegada;
+	}
+
+	/*
+	 * Getters Y setters
+	 */
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Long getTallerId() {
+		return tallerId;
+	}
+
+	public void setTallerId(Long tallerId) {
+		this.tallerId = tallerId;
+	}
+
+	public Long getUserTallerId() {
+		return userTallerId;
+	}
+
+	public void setUserTallerId(Long userTallerId) {
+		this.userTallerId = userTallerId;
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public void setUserId(Long userId) {
+		this.userId = userId;
+	}
+
+	public LocalDateTime getFechaLlegada() {
+		return fechaLlegada;
+	}
+
+	public void setFechaLlegada(LocalDateTime fechaLlegada) {
+		this.fechaLlegada = fechaLlegada;
+	}
+
+}
@@ -7,6 +7,7 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -32,9 +33,10 @@ public class DiaApertura {
 	private Long id;
 
 	/*
-	 * Día de la semana que la sala abre
+	 * Día de la semana que la sala abre. Es único: cada día existe una sola vez
 	 */
 	@Enumerated(EnumType.STRING)
+	@Column(unique = true)
 	private Dias dia;
 
 	/*
@@ -0,0 +1,156 @@
+package com.bailaconsarabackend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Clase que representa un evento del historial de inscripciones de un taller.
+ * El historial solo admite inserciones: cada inscripción, baja, pareja o
+ * separación añade una fila y nunca se modifica. Las inscripciones y parejas
+ * vivas de {@link User_Taller} y {@link ParejaTaller} se pueden reconstruir
+ * reproduciendo los eventos en orden. Se guardan solo identificadores, sin
+ * claves ajenas, para que el historial sobreviva a los borrados.
+ */
+@Entity
+@Table(name = "eventos_inscripcion", indexes = @Index(columnList = "taller_id, id"))
+public class EventoInscripcion {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Enumerated(EnumType.STRING)
+	@Column(length = 16, nullable = false)
+	private TipoEventoInscripcion tipo;
+
+	private Long tallerId;
+
+	/*
+	 * Inscripción afectada. En los eventos de pareja es la inscripción del líder.
+	 */
+	private Long userTallerId;
+
+	private Long userId;
+
+	/*
+	 * Rol con el que se inscribe el usuario (estado WAITING), solo en los eventos
+	 * de inscripción
+	 */
+	@Enumerated(EnumType.ORDINAL)
+	private UserTallerEstado userTallerEstado;
+
+	/*
+	 * Inscripción de la pareja en los eventos de pareja y separación
+	 */
+	private Long parejaUserTallerId;
+
+	private LocalDateTime fecha;
+
+	/**
+	 * Constructor por defecto de la clase EventoInscripcion.
+	 */
+	public EventoInscripcion() {
+	}
+
+	/**
+	 * Constructor de la clase EventoInscripcion con todos los atributos.
+	 *
+	 * @param id                 el identificador del evento
+	 * @param tipo               el tipo de evento
+	 * @param tallerId           el identificador del taller
+	 * @param userTallerId       el identificador de la inscripción afectada
+	 * @param userId             el identificador del usuario de la inscripción
+	 * @param userTallerEstado   el rol de la inscripción, en los eventos de
+	 *                           inscripción
+	 * @param parejaUserTallerId el identificador de la inscripción de la pareja
+	 * @param fecha              la fecha y hora del evento en UTC
+	 */
+	public EventoInscripcion(Long id, TipoEventoInscripcion tipo, Long tallerId, Long userTallerId, Long userId,
+			UserTallerEstado userTallerEstado, Long parejaUserTallerId, LocalDateTime fecha) {
+		this.id = id;
+		this.tipo = tipo;
+		this.tallerId = tallerId;
+		this.userTallerId = userTallerId;
+		this.userId = userId;
+		this.userTallerEstado = userTallerEstado;
+		this.parejaUserTallerId = parejaUserTallerId;
+		this.fecha = fecha;
+	}
+
+	/*
+	 * Getters Y setters
+	 */
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public TipoEventoInscripcion getTipo() {
+		return tipo;
+	}
+
+	public void setTipo(TipoEventoInscripcion tipo) {
+		this.tipo = tipo;
+	}
+
+	public Long getTallerId() {
+		return tallerId;
+	}
+
+	public void setTallerId(Long tallerId) {
+		this.tallerId = tallerId;
+	}
+
+	public Long getUserTallerId() {
+		return userTallerId;
+	}
+
+	public void setUserTallerId(Long userTallerId) {
+		this.userTallerId = userTallerId;
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public void setUserId(Long userId) {
+		this.userId = userId;
+	}
+
+	public UserTallerEstado getUserTallerEstado() {
+		return userTallerEstado;
+	}
+
+	public void setUserTallerEstado(UserTallerEstado userTallerEstado) {
+		this.userTallerEstado = userTallerEstado;
+	}
+
+	public Long getParejaUserTallerId() {
+		return parejaUserTallerId;
+	}
+
+	public void setParejaUserTallerId(Long parejaUserTallerId) {
+		this.parejaUserTallerId = parejaUserTallerId;
+	}
+
+	public LocalDateTime getFecha() {
+		return fecha;
+	}
+
+	public void setFecha(LocalDateTime fecha) {
+		this.fecha = fecha;
+	}
+
+}
@@ -6,6 +6,7 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -32,7 +33,11 @@ public class GeneroMusical {
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
 
+	/*
+	 * Género musical. Es único: cada género existe una sola vez
+	 */
 	@Enumerated(EnumType.STRING)
+	@Column(unique = true)
 	private GenerosMusicales genero;
 
 	/**
@@ -1,5 +1,7 @@
 package com.bailaconsarabackend.model;
 
+import java.time.LocalTime;
+
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 
@@ -10,6 +12,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 
 /**
  * Representa un día específico en el que se abre una sala incluyendo los
@@ -22,8 +25,19 @@ import jakarta.persistence.Table;
 @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
 public class HorarioSala {
 
+	/*
+	 * Número de IDs que reserva cada acceso a la tabla de generadores
+	 */
+	public static final int BLOQUE_IDS = 50;
+
+	/*
+	 * Los IDs se reservan en bloques desde una tabla de generadores para que
+	 * Hibernate pueda insertar los horarios en lotes JDBC, cosa que IDENTITY impide
+	 */
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "horarios_sala_id")
+	@TableGenerator(name = "horarios_sala_id", table = "generadores_id", pkColumnName = "nombre",
+			valueColumnName = "siguiente_valor", pkColumnValue = "horarios_sala", allocationSize = BLOQUE_IDS)
 	private Long id;
 
 	/**
@@ -47,6 +61,17 @@ public class HorarioSala {
 	@JoinColumn(name = "genero_musical_id")
 	private GeneroMusical generoMusical;
 
+	/**
+	 * Hora de inicio de la actividad, o null si no se ha indicado.
+	 */
+	private LocalTime horaInicio;
+
+	/**
+	 * Hora de fin de la actividad, o null si no se ha indicado. Si es anterior o
+	 * igual a la hora de inicio, la actividad termina al día siguiente.
+	 */
+	private LocalTime horaFin;
+
 	/**
 	 * Constructor vacío de HorarioSala.
 	 */
@@ -106,4 +131,20 @@ public class HorarioSala {
 		this.generoMusical = generoMusical;
 	}
 
+	public LocalTime getHoraInicio() {
+		return horaInicio;
+	}
+
+	public void setHoraInicio(LocalTime horaInicio) {
+		this.horaInicio = horaInicio;
+	}
+
+	public LocalTime getHoraFin() {
+		return horaFin;
+	}
+
+	public void setHoraFin(LocalTime horaFin) {
+		this.horaFin = horaFin;
+	}
+
 }
@@ -0,0 +1,109 @@
+package com.bailaconsarabackend.model;
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+
+/**
+ * Clase que representa una pareja de baile formada en un taller. Cada pareja se
+ * guarda en un único registro que une la inscripción del líder con la del
+ * follower, de modo que formar o deshacer una pareja es una sola inserción o
+ * un solo borrado. El partnerId y el estado CONFIRMED de {@link User_Taller} se
+ * derivan de este registro.
+ */
+@Entity
+@Table(name = "parejas_taller")
+public class ParejaTaller {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	/*
+	 * Taller en el que baila la pareja
+	 */
+	@ManyToOne
+	@JoinColumn(name = "taller_id")
+	@OnDelete(action = OnDeleteAction.CASCADE)
+	private Taller taller;
+
+	/*
+	 * Inscripción del líder. Una inscripción solo puede formar parte de una pareja.
+	 */
+	@OneToOne
+	@JoinColumn(name = "lider_id", unique = true)
+	@OnDelete(action = OnDeleteAction.CASCADE)
+	private User_Taller lider;
+
+	/*
+	 * Inscripción del follower. Una inscripción solo puede formar parte de una
+	 * pareja.
+	 */
+	@OneToOne
+	@JoinColumn(name = "follower_id", unique = true)
+	@OnDelete(action = OnDeleteAction.CASCADE)
+	private User_Taller follower;
+
+	/**
+	 * Constructor por defecto de la clase ParejaTaller.
+	 */
+	public ParejaTaller() {
+	}
+
+	/**
+	 * Constructor de la clase ParejaTaller a partir de las dos inscripciones.
+	 *
+	 * @param taller   el taller en el que se forma la pareja
+	 * @param lider    la inscripción del líder
+	 * @param follower la inscripción del follower
+	 */
+	public ParejaTaller(Taller taller, User_Taller lider, User_Taller follower) {
+		this.taller = taller;
+		this.lider = lider;
+		this.follower = follower;
+	}
+
+	/*
+	 * Getters Y setters
+	 */
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Taller getTaller() {
+		return taller;
+	}
+
+	public void setTaller(Taller taller) {
+		this.taller = taller;
+	}
+
+	public User_Taller getLider() {
+		return lider;
+	}
+
+	public void setLider(User_Taller lider) {
+		this.lider = lider;
+	}
+
+	public User_Taller getFollower() {
+		return follower;
+	}
+
+	public void setFollower(User_Taller follower) {
+		this.follower = follower;
+	}
+
+}
@@ -7,15 +7,31 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import com.bailaconsarabackend.util.TextoUtil;
 
 /**
  * Entidad para almacenar detalles de publicaciones.
  */
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = @Index(columnList = "created_at, id"), uniqueConstraints = {
+		@UniqueConstraint(name = Post.UNICO_SLUG, columnNames = "slugnormalizado"),
+		@UniqueConstraint(name = Post.UNICO_TITULO, columnNames = "titulonormalizado"),
+		@UniqueConstraint(name = Post.UNICO_FRASE_CLAVE, columnNames = "fraseclave") })
 public class Post {
 
+	/*
+	 * Nombres de las restricciones de unicidad, para saber cuál ha fallado
+	 */
+	public static final String UNICO_SLUG = "uk_posts_slug";
+	public static final String UNICO_TITULO = "uk_posts_titulo";
+	public static final String UNICO_FRASE_CLAVE = "uk_posts_fraseclave";
+
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
@@ -43,7 +59,6 @@ public class Post {
 
 	private LocalDate created_at;
 
-	@Column(unique = true)
 	private String fraseclave;
 	private String tituloseo;
 	private String slug;
@@ -51,6 +66,21 @@ public class Post {
 	private String imagenportada;
 	private String altportada;
 
+	/*
+	 * Versiones reducidas de la portada en formato srcset ("url 640w, ...") y
+	 * miniatura cuadrada, o null si no se han podido generar
+	 */
+	@Column(length = 2000)
+	private String srcsetportada;
+	private String miniaturaportada;
+
+	/*
+	 * Slug y título normalizados con TextoUtil.normalizar. Se calculan al
+	 * guardar, son únicos y son los que se usan para buscar por slug y título
+	 */
+	private String slugnormalizado;
+	private String titulonormalizado;
+
 	/**
 	 * Constructor predeterminado.
 	 */
@@ -232,4 +262,45 @@ public class Post {
 		this.altportada = altportada;
 	}
 
+	public String getSrcsetportada() {
+		return srcsetportada;
+	}
+
+	public void setSrcsetportada(String srcsetportada) {
+		this.srcsetportada = srcsetportada;
+	}
+
+	public String getMiniaturaportada() {
+		return miniaturaportada;
+	}
+
+	public void setMiniaturaportada(String miniaturaportada) {
+		this.miniaturaportada = miniaturaportada;
+	}
+
+	public String getSlugnormalizado() {
+		return slugnormalizado;
+	}
+
+	public String getTitulonormalizado() {
+		return titulonormalizado;
+	}
+
+	/**
+	 * Calcula el slug y el título normalizados antes de insertar o actualizar la
+	 * publicación. Un slug o un título vacío se guarda como null para que no
+	 * choque con otros vacíos.
+	 */
+	@PrePersist
+	@PreUpdate
+	public void normalizarClaves() {
+		slugnormalizado = normalizarClave(slug);
+		titulonormalizado = normalizarClave(title);
+	}
+
+	private static String normalizarClave(String texto) {
+		String normalizado = TextoUtil.normalizar(texto);
+		return normalizado.isEmpty() ? null : normalizado;
+	}
+
 }
@@ -31,6 +31,12 @@ public class SalaBaile {
 	private String localidad;
 	private String address;
 
+	/*
+	 * Coordenadas de la sala en grados, o null si no se han indicado
+	 */
+	private Double latitud;
+	private Double longitud;
+
 	/**
 	 * Lista de días en los que la sala de baile abre.
 	 */
@@ -97,6 +103,22 @@ public class SalaBaile {
 		this.address = address;
 	}
 
+	public Double getLatitud() {
+		return latitud;
+	}
+
+	public void setLatitud(Double latitud) {
+		this.latitud = latitud;
+	}
+
+	public Double getLongitud() {
+		return longitud;
+	}
+
+	public void setLongitud(Double longitud) {
+		this.longitud = longitud;
+	}
+
 	public List<HorarioSala> getHorariosSala() {
 		return horariosSala;
 	}
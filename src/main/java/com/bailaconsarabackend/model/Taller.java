@@ -7,10 +7,12 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 
@@ -18,7 +20,7 @@ import jakarta.persistence.Table;
  * Clase que representa un taller.
  */
 @Entity
-@Table(name = "talleres")
+@Table(name = "talleres", indexes = { @Index(columnList = "serie_id, fecha"), @Index(columnList = "fecha") })
 @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
 public class Taller {
 
@@ -38,6 +40,13 @@ public class Taller {
 
 	private String lugar;
 
+	/*
+	 * Identificador de la serie de talleres recurrentes a la que pertenece, o null
+	 * si es un taller suelto
+	 */
+	@Column(length = 36)
+	private String serieId;
+
 	/*
 	 * lista de usuarios de un taller
 	 */
@@ -138,4 +147,12 @@ public class Taller {
 		this.lugar = lugar;
 	}
 
+	public String getSerieId() {
+		return serieId;
+	}
+
+	public void setSerieId(String serieId) {
+		this.serieId = serieId;
+	}
+
 }
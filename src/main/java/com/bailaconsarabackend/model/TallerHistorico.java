@@ -0,0 +1,92 @@
+package com.bailaconsarabackend.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Clase que representa un taller archivado. Los talleres pasados se mueven a
+ * esta tabla, con su ID original, para que la tabla de talleres solo contenga
+ * los talleres recientes. Es de solo lectura.
+ */
+@Entity
+@Immutable
+@Table(name = "talleres_historico", indexes = @Index(columnList = "fecha"))
+public class TallerHistorico {
+
+	@Id
+	private Long id;
+
+	private String nombre;
+
+	private String modalidad;
+
+	private String profesores;
+
+	private LocalDate fecha;
+
+	private String hora;
+
+	private String lugar;
+
+	@Column(length = 36)
+	private String serieId;
+
+	/*
+	 * Fecha y hora en UTC en la que se archivó el taller
+	 */
+	private LocalDateTime fechaArchivado;
+
+	/**
+	 * Constructor por defecto de la clase TallerHistorico.
+	 */
+	public TallerHistorico() {
+	}
+
+	/*
+	 * Getters Y setters
+	 */
+	public Long getId() {
+		return id;
+	}
+
+	public String getNombre() {
+		return nombre;
+	}
+
+	public String getModalidad() {
+		return modalidad;
+	}
+
+	public String getProfesores() {
+		return profesores;
+	}
+
+	public LocalDate getFecha() {
+		return fecha;
+	}
+
+	public String getHora() {
+		return hora;
+	}
+
+	public String getLugar() {
+		return lugar;
+	}
+
+	public String getSerieId() {
+		return serieId;
+	}
+
+	public LocalDateTime getFechaArchivado() {
+		return fechaArchivado;
+	}
+
+}
@@ -0,0 +1,20 @@
+package com.bailaconsarabackend.model;
+
+/**
+ * Enumeración que representa los tipos de evento del historial de
+ * inscripciones de los talleres.
+ */
+public enum TipoEventoInscripcion {
+
+	/** Un usuario se inscribe en el taller. */
+	INSCRIPCION,
+
+	/** Un usuario anula su inscripción en el taller. */
+	BAJA,
+
+	/** Se forma una pareja entre un líder y un follower. */
+	PAREJA,
+
+	/** Se deshace una pareja. */
+	SEPARACION
+}
@@ -0,0 +1,88 @@
+package com.bailaconsarabackend.model;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Clase que representa la inscripción de un usuario en un taller archivado. Se
+ * guarda una copia de los datos del usuario y el estado final de la inscripción
+ * en el momento de archivarla, de modo que el archivo se puede consultar sin
+ * joins. Es de solo lectura.
+ */
+@Entity
+@Immutable
+@Table(name = "user_taller_historico", indexes = @Index(columnList = "taller_id"))
+public class UserTallerHistorico {
+
+	@Id
+	private Long id;
+
+	private Long tallerId;
+
+	private Long userId;
+
+	private String nombre;
+
+	private String apellidos;
+
+	private String email;
+
+	/*
+	 * Estado final de la inscripción, incluido CONFIRMED si tenía pareja
+	 */
+	@Enumerated(EnumType.ORDINAL)
+	private UserTallerEstado userTallerEstado;
+
+	/*
+	 * Id de la inscripción de la pareja, si la tenía
+	 */
+	private Long partnerId;
+
+	/**
+	 * Constructor por defecto de la clase UserTallerHistorico.
+	 */
+	public UserTallerHistorico() {
+	}
+
+	/*
+	 * Getters Y setters
+	 */
+	public Long getId() {
+		return id;
+	}
+
+	public Long getTallerId() {
+		return tallerId;
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public String getNombre() {
+		return nombre;
+	}
+
+	public String getApellidos() {
+		return apellidos;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+	public UserTallerEstado getUserTallerEstado() {
+		return userTallerEstado;
+	}
+
+	public Long getPartnerId() {
+		return partnerId;
+	}
+
+}
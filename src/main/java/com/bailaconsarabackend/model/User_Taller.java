@@ -1,5 +1,7 @@
 package com.bailaconsarabackend.model;
 
+import org.hibernate.annotations.Formula;
+
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -28,8 +30,13 @@ public class User_Taller {
 	private User user;
 
 	/*
-	 * Id de la pareja del usuario del taller
+	 * Id de la pareja del usuario del taller. No se guarda en esta tabla: se
+	 * calcula a partir del registro de {@link ParejaTaller} en la misma consulta
+	 * que carga la inscripción. Las parejas de la antigua columna partner_id se
+	 * migran al arrancar en TallerServiceImpl.migrarParejasExistentes.
 	 */
+	@Formula("(select case when p.lider_id = id then p.follower_id else p.lider_id end"
+			+ " from parejas_taller p where p.lider_id = id or p.follower_id = id)")
 	private Long partnerId;
 
 	/*
@@ -41,7 +48,8 @@ public class User_Taller {
 
 	/*
 	 * Estado en el que se encuentra el usuario Se usa para saber si es lider en
-	 * espera o con pareja, o follower en espera o con pareja.
+	 * espera o con pareja, o follower en espera o con pareja. Solo se guarda el
+	 * rol (estado WAITING); el estado CONFIRMED se deriva de si existe pareja.
 	 */
 	@Enumerated(EnumType.ORDINAL)
 	private UserTallerEstado userTallerEstado;
@@ -66,7 +74,7 @@ public class User_Taller {
 		this.user = user;
 		this.partnerId = partnerId;
 		this.taller = taller;
-		this.userTallerEstado = userTallerEstado;
+		setUserTallerEstado(userTallerEstado);
 	}
 
 	/*
@@ -76,16 +84,58 @@ public class User_Taller {
 		return partnerId;
 	}
 
+	/**
+	 * Actualiza el id de la pareja solo en memoria. El valor persistido se deriva
+	 * del registro de {@link ParejaTaller}.
+	 *
+	 * @param partnerId el id de la inscripción de la pareja o null si no tiene
+	 */
 	public void setPartnerId(Long partnerId) {
 		this.partnerId = partnerId;
 	}
 
+	/**
+	 * Devuelve el estado del usuario en el taller derivado de su rol y de si tiene
+	 * pareja registrada.
+	 *
+	 * @return LIDERCONFIRMED o FOLLOWERCONFIRMED si tiene pareja, LIDERWAITING o
+	 *         FOLLOWERWAITING en caso contrario
+	 */
 	public UserTallerEstado getUserTallerEstado() {
-		return userTallerEstado;
+		if (userTallerEstado == null) {
+			return null;
+		}
+		if (esLider()) {
+			return partnerId != null ? UserTallerEstado.LIDERCONFIRMED : UserTallerEstado.LIDERWAITING;
+		}
+		return partnerId != null ? UserTallerEstado.FOLLOWERCONFIRMED : UserTallerEstado.FOLLOWERWAITING;
 	}
 
+	/**
+	 * Guarda el rol del usuario en el taller. Los estados CONFIRMED se almacenan
+	 * como su estado WAITING equivalente, ya que la confirmación depende de la
+	 * pareja registrada.
+	 *
+	 * @param userTallerEstado el estado del que se toma el rol
+	 */
 	public void setUserTallerEstado(UserTallerEstado userTallerEstado) {
-		this.userTallerEstado = userTallerEstado;
+		if (userTallerEstado == UserTallerEstado.LIDERCONFIRMED) {
+			this.userTallerEstado = UserTallerEstado.LIDERWAITING;
+		} else if (userTallerEstado == UserTallerEstado.FOLLOWERCONFIRMED) {
+			this.userTallerEstado = UserTallerEstado.FOLLOWERWAITING;
+		} else {
+			this.userTallerEstado = userTallerEstado;
+		}
+	}
+
+	/**
+	 * Indica si el usuario baila como líder en el taller.
+	 *
+	 * @return true si es líder, false si es follower
+	 */
+	public boolean esLider() {
+		return userTallerEstado == UserTallerEstado.LIDERWAITING
+				|| userTallerEstado == UserTallerEstado.LIDERCONFIRMED;
 	}
 
 	public Long getId() {
@@ -0,0 +1,58 @@
+package com.bailaconsarabackend.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Clase que representa el número de visitas de una publicación. Las visitas se
+ * acumulan en memoria y se suman a esta tabla por lotes, por lo que se guarda
+ * solo el identificador de la publicación y no la relación.
+ */
+@Entity
+@Table(name = "visitas_post", indexes = @Index(columnList = "visitas"))
+public class VisitasPost {
+
+	@Id
+	private Long postId;
+
+	private long visitas;
+
+	/**
+	 * Constructor por defecto de la clase VisitasPost.
+	 */
+	public VisitasPost() {
+	}
+
+	/**
+	 * Constructor de la clase VisitasPost con todos los atributos.
+	 *
+	 * @param postId  el identificador de la publicación
+	 * @param visitas el número de visitas
+	 */
+	public VisitasPost(Long postId, long visitas) {
+		this.postId = postId;
+		this.visitas = visitas;
+	}
+
+	/*
+	 * Getters Y setters
+	 */
+	public Long getPostId() {
+		return postId;
+	}
+
+	public void setPostId(Long postId) {
+		this.postId = postId;
+	}
+
+	public long getVisitas() {
+		return visitas;
+	}
+
+	public void setVisitas(long visitas) {
+		this.visitas = visitas;
+	}
+
+}
@@ -0,0 +1,23 @@
+package com.bailaconsarabackend.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.bailaconsarabackend.model.EventoInscripcion;
+
+/**
+ * Repositorio de consulta del historial de inscripciones de los talleres. Los
+ * eventos se insertan directamente con JDBC y nunca se modifican.
+ */
+public interface EventoInscripcionRepository extends JpaRepository<EventoInscripcion, Long> {
+
+	/**
+	 * Busca los eventos de un taller en el orden en que se produjeron.
+	 *
+	 * @param tallerId el identificador del taller
+	 * @return los eventos del taller ordenados por ID
+	 */
+	List<EventoInscripcion> findByTallerIdOrderByIdAsc(Long tallerId);
+
+}
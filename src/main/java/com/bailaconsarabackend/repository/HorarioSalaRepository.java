@@ -3,6 +3,9 @@ package com.bailaconsarabackend.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.bailaconsarabackend.model.Dias;
 import com.bailaconsarabackend.model.HorarioSala;
@@ -35,4 +38,25 @@ public interface HorarioSalaRepository extends JpaRepository<HorarioSala, Long>
 	 *         encuentran.
 	 */
 	List<HorarioSala> findBysalaBaileId(Long id);
+
+	/**
+	 * Devuelve todos los HorarioSala con su sala, día y género cargados en la
+	 * misma consulta, ordenados por sala.
+	 *
+	 * @return la lista de todos los HorarioSala
+	 */
+	@Query("select h from HorarioSala h join fetch h.salaBaile s join fetch h.diaApertura join fetch h.generoMusical"
+			+ " order by s.id, h.id")
+	List<HorarioSala> findAllConSalaDiaYGenero();
+
+	/**
+	 * Elimina con una sola sentencia todos los horarios de una sala de baile, sin
+	 * cargarlos ni tocar los días y géneros que comparten con otras salas.
+	 *
+	 * @param salaId el ID de la sala de baile
+	 * @return el número de horarios eliminados
+	 */
+	@Modifying
+	@Query("delete from HorarioSala h where h.salaBaile.id = :salaId")
+	int deleteBySalaBaileId(@Param("salaId") Long salaId);
 }
@@ -0,0 +1,27 @@
+package com.bailaconsarabackend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.bailaconsarabackend.model.ParejaTaller;
+
+/**
+ * Repositorio para gestionar operaciones CRUD de las parejas formadas en los
+ * talleres.
+ */
+public interface ParejaTallerRepository extends JpaRepository<ParejaTaller, Long> {
+
+	/**
+	 * Deshace la pareja en la que participa una inscripción con un único borrado,
+	 * sin cargar la pareja previamente.
+	 *
+	 * @param userTallerId el ID de la inscripción del líder o del follower
+	 * @return el número de parejas eliminadas (0 o 1)
+	 */
+	@Modifying
+	@Query("delete from ParejaTaller p where p.lider.id = :userTallerId or p.follower.id = :userTallerId")
+	int deleteByUserTallerId(@Param("userTallerId") Long userTallerId);
+
+}
@@ -1,9 +1,15 @@
 package com.bailaconsarabackend.repository;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.bailaconsarabackend.dto.PostResumenDto;
 import com.bailaconsarabackend.model.Post;
 
 /**
@@ -12,18 +18,71 @@ import com.bailaconsarabackend.model.Post;
 public interface PostRepository extends JpaRepository<Post, Long> {
 
 	/**
-	 * Busca una publicación por su slug.
+	 * Busca una publicación por su slug normalizado, usando su índice único.
 	 *
-	 * @param slug el slug de la publicación a buscar
+	 * @param slugnormalizado el slug normalizado con TextoUtil.normalizar
 	 * @return un Optional que puede contener la publicación si se encuentra
 	 */
-	Optional<Post> findBySlug(String slug);
+	Optional<Post> findBySlugnormalizado(String slugnormalizado);
 
 	/**
-	 * Busca una publicación por su título.
+	 * Busca una publicación por su título normalizado, usando su índice único.
 	 *
-	 * @param title el título de la publicación a buscar
+	 * @param titulonormalizado el título normalizado con TextoUtil.normalizar
 	 * @return un Optional que puede contener la publicación si se encuentra
 	 */
-	Optional<Post> findByTitle(String title);
+	Optional<Post> findByTitulonormalizado(String titulonormalizado);
+
+	/**
+	 * Obtiene las publicaciones guardadas antes de que existieran el slug y el
+	 * título normalizados, que aún no los tienen calculados.
+	 *
+	 * @return las publicaciones sin normalizar
+	 */
+	@Query("select p from Post p where (p.slugnormalizado is null and p.slug is not null) "
+			+ "or (p.titulonormalizado is null and p.title is not null)")
+	List<Post> findSinNormalizar();
+
+	/**
+	 * Obtiene la primera página de resúmenes, del post más reciente al más
+	 * antiguo. Los posts sin fecha van al final.
+	 *
+	 * @param pageable el tamaño de la página
+	 * @return los resúmenes de la página
+	 */
+	@Query("select new com.bailaconsarabackend.dto.PostResumenDto(p.id, p.title, p.slug, p.imagenportada, "
+			+ "p.altportada, p.miniaturaportada, p.metadescripcion, p.created_at) from Post p "
+			+ "order by p.created_at desc, p.id desc")
+	List<PostResumenDto> findResumenes(Pageable pageable);
+
+	/**
+	 * Obtiene la página de resúmenes siguiente al cursor (fecha, id): los posts
+	 * más antiguos que la fecha, los de la misma fecha con un ID menor y los que
+	 * no tienen fecha.
+	 *
+	 * @param fecha    la fecha de creación del último post de la página anterior
+	 * @param id       el ID del último post de la página anterior
+	 * @param pageable el tamaño de la página
+	 * @return los resúmenes de la página
+	 */
+	@Query("select new com.bailaconsarabackend.dto.PostResumenDto(p.id, p.title, p.slug, p.imagenportada, "
+			+ "p.altportada, p.miniaturaportada, p.metadescripcion, p.created_at) from Post p "
+			+ "where p.created_at < :fecha or (p.created_at = :fecha and p.id < :id) or p.created_at is null "
+			+ "order by p.created_at desc, p.id desc")
+	List<PostResumenDto> findResumenesDespuesDe(@Param("fecha") LocalDate fecha, @Param("id") Long id,
+			Pageable pageable);
+
+	/**
+	 * Obtiene la página de resúmenes siguiente a un post sin fecha: los posts sin
+	 * fecha con un ID menor.
+	 *
+	 * @param id       el ID del último post de la página anterior
+	 * @param pageable el tamaño de la página
+	 * @return los resúmenes de la página
+	 */
+	@Query("select new com.bailaconsarabackend.dto.PostResumenDto(p.id, p.title, p.slug, p.imagenportada, "
+			+ "p.altportada, p.miniaturaportada, p.metadescripcion, p.created_at) from Post p "
+			+ "where p.created_at is null and p.id < :id order by p.id desc")
+	List<PostResumenDto> findResumenesSinFechaDespuesDe(@Param("id") Long id, Pageable pageable);
+
 }
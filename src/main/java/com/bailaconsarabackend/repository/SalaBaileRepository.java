@@ -1,6 +1,9 @@
 package com.bailaconsarabackend.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import com.bailaconsarabackend.model.SalaBaile;
 
 /**
@@ -8,4 +11,15 @@ import com.bailaconsarabackend.model.SalaBaile;
  */
 public interface SalaBaileRepository extends JpaRepository<SalaBaile, Long> {
 
+	/**
+	 * Elimina una sala de baile con una sola sentencia. Sus horarios deben
+	 * eliminarse antes.
+	 *
+	 * @param id el ID de la sala de baile
+	 * @return el número de salas eliminadas, 0 si no existía
+	 */
+	@Modifying
+	@Query("delete from SalaBaile s where s.id = :id")
+	int deleteSalaById(@Param("id") Long id);
+
 }
@@ -0,0 +1,23 @@
+package com.bailaconsarabackend.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.bailaconsarabackend.model.TallerHistorico;
+
+/**
+ * Repositorio de consulta de los talleres archivados.
+ */
+public interface TallerHistoricoRepository extends JpaRepository<TallerHistorico, Long> {
+
+	/**
+	 * Obtiene una página de talleres archivados, del más reciente al más antiguo.
+	 *
+	 * @param pageable la página a obtener
+	 * @return los talleres archivados de la página
+	 */
+	List<TallerHistorico> findAllByOrderByFechaDescIdDesc(Pageable pageable);
+
+}
@@ -1,6 +1,12 @@
 package com.bailaconsarabackend.repository;
 
+import java.time.LocalDate;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.bailaconsarabackend.model.Taller;
 
@@ -9,4 +15,47 @@ import com.bailaconsarabackend.model.Taller;
  */
 public interface TallerRepository extends JpaRepository<Taller, Long> {
 
+	/**
+	 * Obtiene los IDs de los talleres de una serie a partir de una fecha.
+	 *
+	 * @param serieId el identificador de la serie
+	 * @param desde   la primera fecha incluida
+	 * @return los IDs de los talleres
+	 */
+	@Query("select t.id from Taller t where t.serieId = :serieId and t.fecha >= :desde")
+	List<Long> findIdsBySerie(@Param("serieId") String serieId, @Param("desde") LocalDate desde);
+
+	/**
+	 * Actualiza con una sola sentencia los talleres de una serie a partir de una
+	 * fecha. Los valores nulos conservan el valor actual de cada taller.
+	 *
+	 * @param serieId    el identificador de la serie
+	 * @param desde      la primera fecha afectada
+	 * @param nombre     el nuevo nombre, o null para no modificarlo
+	 * @param modalidad  la nueva modalidad, o null para no modificarla
+	 * @param profesores los nuevos profesores, o null para no modificarlos
+	 * @param hora       la nueva hora, o null para no modificarla
+	 * @param lugar      el nuevo lugar, o null para no modificarlo
+	 * @return el número de talleres actualizados
+	 */
+	@Modifying
+	@Query("update Taller t set t.nombre = coalesce(:nombre, t.nombre), t.modalidad = coalesce(:modalidad, t.modalidad),"
+			+ " t.profesores = coalesce(:profesores, t.profesores), t.hora = coalesce(:hora, t.hora),"
+			+ " t.lugar = coalesce(:lugar, t.lugar) where t.serieId = :serieId and t.fecha >= :desde")
+	int updateSerie(@Param("serieId") String serieId, @Param("desde") LocalDate desde, @Param("nombre") String nombre,
+			@Param("modalidad") String modalidad, @Param("profesores") String profesores, @Param("hora") String hora,
+			@Param("lugar") String lugar);
+
+	/**
+	 * Elimina con una sola sentencia los talleres de una serie a partir de una
+	 * fecha. Las inscripciones deben eliminarse antes.
+	 *
+	 * @param serieId el identificador de la serie
+	 * @param desde   la primera fecha afectada
+	 * @return el número de talleres eliminados
+	 */
+	@Modifying
+	@Query("delete from Taller t where t.serieId = :serieId and t.fecha >= :desde")
+	int deleteSerie(@Param("serieId") String serieId, @Param("desde") LocalDate desde);
+
 }
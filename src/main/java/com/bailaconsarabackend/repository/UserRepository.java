@@ -1,5 +1,6 @@
 package com.bailaconsarabackend.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,4 +32,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
 	 */
 	List<User> findByRole(Role role);
 
+	/**
+	 * Busca con una sola consulta los usuarios de una lista de correos
+	 * electrónicos.
+	 *
+	 * @param emails las direcciones de correo electrónico a buscar
+	 * @return los usuarios encontrados
+	 */
+	List<User> findByEmailIn(Collection<String> emails);
+
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.bailaconsarabackend.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.bailaconsarabackend.model.UserTallerHistorico;
+
+/**
+ * Repositorio de consulta de las inscripciones de los talleres archivados.
+ */
+public interface UserTallerHistoricoRepository extends JpaRepository<UserTallerHistorico, Long> {
+
+	/**
+	 * Busca las inscripciones archivadas de un taller.
+	 *
+	 * @param tallerId el identificador del taller archivado
+	 * @return las inscripciones del taller ordenadas por ID
+	 */
+	List<UserTallerHistorico> findByTallerIdOrderByIdAsc(Long tallerId);
+
+}
@@ -1,9 +1,13 @@
 package com.bailaconsarabackend.repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.bailaconsarabackend.model.User_Taller;
 
@@ -22,6 +26,16 @@ public interface User_TallerRepository extends JpaRepository<User_Taller, Long>
 	 */
 	List<User_Taller> findByTallerId(Long tallerId);
 
+	/**
+	 * Busca todas las relaciones usuario-taller de un taller en orden de
+	 * inscripción.
+	 *
+	 * @param tallerId el ID del taller para el que se buscan las relaciones
+	 *                 usuario-taller
+	 * @return una lista de relaciones usuario-taller ordenada por ID ascendente
+	 */
+	List<User_Taller> findByTallerIdOrderByIdAsc(Long tallerId);
+
 	/**
 	 * Busca una relación usuario-taller por el ID del usuario.
 	 *
@@ -43,4 +57,27 @@ public interface User_TallerRepository extends JpaRepository<User_Taller, Long>
 	 */
 	Optional<User_Taller> findByTallerIdAndUserId(Long tallerId, Long userId);
 
+	/**
+	 * Busca las relaciones usuario-taller de los talleres de una serie a partir de
+	 * una fecha.
+	 *
+	 * @param serieId el identificador de la serie
+	 * @param desde   la primera fecha de taller incluida
+	 * @return una lista de relaciones usuario-taller encontradas
+	 */
+	List<User_Taller> findByTaller_SerieIdAndTaller_FechaGreaterThanEqual(String serieId, LocalDate desde);
+
+	/**
+	 * Elimina con una sola sentencia las inscripciones de los talleres de una
+	 * serie a partir de una fecha. Las parejas se eliminan en cascada.
+	 *
+	 * @param serieId el identificador de la serie
+	 * @param desde   la primera fecha de taller afectada
+	 * @return el número de inscripciones eliminadas
+	 */
+	@Modifying
+	@Query("delete from User_Taller ut where ut.taller.id in"
+			+ " (select t.id from Taller t where t.serieId = :serieId and t.fecha >= :desde)")
+	int deleteBySerie(@Param("serieId") String serieId, @Param("desde") LocalDate desde);
+
 }
@@ -0,0 +1,29 @@
+package com.bailaconsarabackend.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.bailaconsarabackend.dto.PostResumenDto;
+import com.bailaconsarabackend.model.VisitasPost;
+
+/**
+ * Repositorio de las visitas de las publicaciones.
+ */
+public interface VisitasPostRepository extends JpaRepository<VisitasPost, Long> {
+
+	/**
+	 * Obtiene los resúmenes de las publicaciones más visitadas, de más a menos
+	 * visitas. Las visitas de publicaciones eliminadas se descartan.
+	 *
+	 * @param pageable el número de publicaciones
+	 * @return los resúmenes de las publicaciones
+	 */
+	@Query("select new com.bailaconsarabackend.dto.PostResumenDto(p.id, p.title, p.slug, p.imagenportada, "
+			+ "p.altportada, p.miniaturaportada, p.metadescripcion, p.created_at) from VisitasPost v, Post p "
+			+ "where p.id = v.postId order by v.visitas desc, p.id desc")
+	List<PostResumenDto> findMasVisitados(Pageable pageable);
+
+}
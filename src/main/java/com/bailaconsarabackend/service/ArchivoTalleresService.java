@@ -0,0 +1,49 @@
+package com.bailaconsarabackend.service;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+
+import com.bailaconsarabackend.dto.BasicResponseDto;
+import com.bailaconsarabackend.model.TallerHistorico;
+import com.bailaconsarabackend.model.UserTallerHistorico;
+
+/**
+ * Interfaz de servicio para archivar los talleres pasados y sus inscripciones
+ * en tablas históricas, y consultar el archivo.
+ */
+public interface ArchivoTalleresService {
+
+	/**
+	 * Mueve al archivo los talleres más antiguos que la antigüedad configurada,
+	 * junto con sus inscripciones y parejas.
+	 *
+	 * @return el número de talleres archivados
+	 */
+	int archivarTalleresAntiguos();
+
+	/**
+	 * Archiva inmediatamente los talleres antiguos.
+	 *
+	 * @return ResponseEntity con el número de talleres archivados
+	 */
+	ResponseEntity<BasicResponseDto> archivar();
+
+	/**
+	 * Obtiene una página de talleres archivados, del más reciente al más antiguo.
+	 *
+	 * @param page el número de página, empezando en 0
+	 * @param size el tamaño de la página
+	 * @return ResponseEntity con los talleres archivados
+	 */
+	ResponseEntity<List<TallerHistorico>> getTalleresArchivados(int page, int size);
+
+	/**
+	 * Obtiene las inscripciones de un taller archivado.
+	 *
+	 * @param tallerId el ID del taller archivado
+	 * @return ResponseEntity con las inscripciones del taller
+	 */
+	ResponseEntity<List<UserTallerHistorico>> getInscripcionesArchivadas(Long tallerId);
+
+}
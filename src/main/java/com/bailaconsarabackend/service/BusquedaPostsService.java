@@ -0,0 +1,47 @@
+package com.bailaconsarabackend.service;
+
+import java.util.List;
+
+import com.bailaconsarabackend.dto.PostResumenDto;
+import com.bailaconsarabackend.model.Post;
+
+/**
+ * Interfaz de servicio para buscar publicaciones por su texto sin consultar la
+ * base de datos, con un índice en memoria que se mantiene de forma incremental.
+ */
+public interface BusquedaPostsService {
+
+	/**
+	 * Busca las publicaciones que contienen alguna palabra de la consulta, sin
+	 * distinguir mayúsculas ni acentos, de más a menos relevante.
+	 *
+	 * @param consulta el texto buscado
+	 * @param limite   el número máximo de resultados
+	 * @return los resúmenes de las publicaciones encontradas
+	 */
+	List<PostResumenDto> buscar(String consulta, int limite);
+
+	/**
+	 * Sugiere palabras de las publicaciones que empiezan por un prefijo.
+	 *
+	 * @param prefijo el prefijo escrito por el usuario
+	 * @param limite  el número máximo de sugerencias
+	 * @return las palabras sugeridas, de la más a la menos frecuente
+	 */
+	List<String> autocompletar(String prefijo, int limite);
+
+	/**
+	 * Indexa una publicación recién creada o actualizada.
+	 *
+	 * @param post la publicación, ya guardada
+	 */
+	void indexar(Post post);
+
+	/**
+	 * Retira del índice una publicación eliminada.
+	 *
+	 * @param id el ID de la publicación
+	 */
+	void eliminar(Long id);
+
+}
@@ -0,0 +1,71 @@
+package com.bailaconsarabackend.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+
+import com.bailaconsarabackend.dto.BasicResponseDto;
+import com.bailaconsarabackend.dto.CheckInResultadoDto;
+import com.bailaconsarabackend.exception.UserNotFoundException;
+import com.bailaconsarabackend.model.User;
+
+/**
+ * Interfaz de servicio para el check-in en la puerta de los talleres. Genera
+ * tokens firmados para los usuarios con pareja confirmada y registra las
+ * llegadas verificando los tokens sin acceder a la base de datos. Los tokens de
+ * las inscripciones que pierden la pareja o se anulan se revocan en memoria.
+ */
+public interface CheckInService {
+
+	/**
+	 * Genera el token de check-in de un usuario con pareja confirmada en un
+	 * taller. Solo el propio usuario o un administrador pueden obtenerlo.
+	 *
+	 * @param tallerId    el ID del taller
+	 * @param userId      el ID del usuario
+	 * @param solicitante el usuario autenticado que pide el token
+	 * @return ResponseEntity con el token en el campo data si el usuario tiene
+	 *         pareja confirmada, o un mensaje de error en caso contrario
+	 * @throws UserNotFoundException si el usuario no está inscrito en el taller
+	 */
+	ResponseEntity<BasicResponseDto> generarToken(Long tallerId, Long userId, User solicitante)
+			throws UserNotFoundException;
+
+	/**
+	 * Verifica una lista de tokens escaneados en la puerta de un taller y registra
+	 * las llegadas válidas. Las llegadas se guardan por lotes en segundo plano.
+	 *
+	 * @param tallerId el ID del taller en cuya puerta se escanean los tokens
+	 * @param tokens   los tokens escaneados
+	 * @return ResponseEntity con el resultado de cada token, en el mismo orden
+	 */
+	ResponseEntity<List<CheckInResultadoDto>> registrarLlegadas(Long tallerId, List<String> tokens);
+
+	/**
+	 * Revoca los tokens de una inscripción que se ha anulado o se ha quedado sin
+	 * pareja. Si hay una transacción en curso, se revoca al confirmarse.
+	 *
+	 * @param userTallerId el ID de la inscripción
+	 * @param fecha        la fecha del taller, o null si no se conoce
+	 */
+	void revocar(Long userTallerId, LocalDate fecha);
+
+	/**
+	 * Vuelve a aceptar los tokens de una inscripción que ha recuperado pareja. Si
+	 * hay una transacción en curso, se aplica al confirmarse.
+	 *
+	 * @param userTallerId el ID de la inscripción
+	 */
+	void restituir(Long userTallerId);
+
+	/**
+	 * Revoca los tokens de todas las inscripciones de un taller borrado o
+	 * archivado. Si hay una transacción en curso, se revoca al confirmarse.
+	 *
+	 * @param tallerId el ID del taller
+	 * @param fecha    la fecha del taller, o null si no se conoce
+	 */
+	void revocarTaller(Long tallerId, LocalDate fecha);
+
+}
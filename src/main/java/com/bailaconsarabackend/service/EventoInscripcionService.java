@@ -0,0 +1,83 @@
+package com.bailaconsarabackend.service;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+
+import com.bailaconsarabackend.dto.BasicResponseDto;
+import com.bailaconsarabackend.model.EventoInscripcion;
+import com.bailaconsarabackend.model.ParejaTaller;
+import com.bailaconsarabackend.model.User_Taller;
+
+/**
+ * Interfaz de servicio para el historial de inscripciones de los talleres. Los
+ * cambios en las inscripciones se añaden al historial dentro de la misma
+ * transacción que los aplica, y a partir del historial se pueden reconstruir
+ * las inscripciones y parejas de un taller.
+ */
+public interface EventoInscripcionService {
+
+	/**
+	 * Añade al historial la inscripción de un usuario.
+	 *
+	 * @param userTaller la inscripción, ya guardada
+	 */
+	void registrarInscripcion(User_Taller userTaller);
+
+	/**
+	 * Añade al historial varias inscripciones con una sola operación por lotes.
+	 *
+	 * @param inscripciones las inscripciones, ya guardadas
+	 */
+	void registrarInscripciones(List<User_Taller> inscripciones);
+
+	/**
+	 * Añade al historial la baja de un usuario.
+	 *
+	 * @param userTaller la inscripción anulada
+	 */
+	void registrarBaja(User_Taller userTaller);
+
+	/**
+	 * Añade al historial la formación de una pareja.
+	 *
+	 * @param lider    la inscripción del líder
+	 * @param follower la inscripción del follower
+	 */
+	void registrarPareja(User_Taller lider, User_Taller follower);
+
+	/**
+	 * Añade al historial varias parejas con una sola operación por lotes.
+	 *
+	 * @param parejas las parejas formadas
+	 */
+	void registrarParejas(List<ParejaTaller> parejas);
+
+	/**
+	 * Añade al historial la separación de una pareja.
+	 *
+	 * @param userTaller         la inscripción que deshace la pareja
+	 * @param parejaUserTallerId el ID de la inscripción de su pareja
+	 */
+	void registrarSeparacion(User_Taller userTaller, Long parejaUserTallerId);
+
+	/**
+	 * Obtiene el historial de inscripciones de un taller.
+	 *
+	 * @param tallerId el ID del taller
+	 * @return ResponseEntity con los eventos del taller en orden
+	 */
+	ResponseEntity<List<EventoInscripcion>> getHistorial(Long tallerId);
+
+	/**
+	 * Reconstruye las inscripciones y parejas de un taller reproduciendo su
+	 * historial.
+	 *
+	 * @param tallerId el ID del taller
+	 * @return ResponseEntity con el número de inscripciones y parejas
+	 *         reconstruidas, o un conflicto si el historial no cubre todas las
+	 *         inscripciones actuales
+	 */
+	ResponseEntity<BasicResponseDto> reconstruirInscripciones(Long tallerId);
+
+}
@@ -0,0 +1,51 @@
+package com.bailaconsarabackend.service;
+
+import com.bailaconsarabackend.model.Post;
+
+/**
+ * Interfaz de servicio para el sitemap y el canal RSS de las publicaciones,
+ * que se mantienen en memoria ya generados.
+ */
+public interface FeedPostsService {
+
+	/**
+	 * Documento XML listo para enviar.
+	 *
+	 * @param contenido          el XML en UTF-8
+	 * @param etag               ETag fuerte calculado sobre el contenido, entre
+	 *                           comillas
+	 * @param ultimaModificacion el instante de la última modificación, en
+	 *                           milisegundos redondeados al segundo
+	 */
+	record DocumentoFeed(byte[] contenido, String etag, long ultimaModificacion) {
+	}
+
+	/**
+	 * Obtiene el sitemap con la URL de todas las publicaciones.
+	 *
+	 * @return el sitemap
+	 */
+	DocumentoFeed getSitemap();
+
+	/**
+	 * Obtiene el canal RSS con las publicaciones más recientes.
+	 *
+	 * @return el canal RSS
+	 */
+	DocumentoFeed getRss();
+
+	/**
+	 * Añade o actualiza una publicación en el sitemap y el canal RSS.
+	 *
+	 * @param post la publicación, ya guardada
+	 */
+	void actualizar(Post post);
+
+	/**
+	 * Retira una publicación del sitemap y del canal RSS.
+	 *
+	 * @param id el ID de la publicación
+	 */
+	void eliminar(Long id);
+
+}
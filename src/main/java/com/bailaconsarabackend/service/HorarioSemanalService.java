@@ -0,0 +1,84 @@
+package com.bailaconsarabackend.service;
+
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+
+import com.bailaconsarabackend.dto.HorarioResponseDTO;
+import com.bailaconsarabackend.dto.SalaAbiertaDto;
+import com.bailaconsarabackend.dto.SalaBaileRequestDTO;
+import com.bailaconsarabackend.dto.SalaCercanaDto;
+import com.bailaconsarabackend.model.Dias;
+import com.bailaconsarabackend.model.GenerosMusicales;
+
+/**
+ * Interfaz de servicio que mantiene en memoria el horario semanal de todas las
+ * salas de baile. El horario cambia pocas veces al mes y se consulta
+ * constantemente, por lo que se sirve desde una instantánea inmutable que se
+ * reconstruye después de cada cambio en las salas.
+ */
+public interface HorarioSemanalService {
+
+	/**
+	 * Obtiene las salas abiertas un día de la semana con sus géneros musicales.
+	 *
+	 * @param dia el día de la semana
+	 * @return la lista inmutable de horarios del día, vacía si no abre ninguna
+	 *         sala
+	 */
+	List<HorarioResponseDTO> getHorarios(Dias dia);
+
+	/**
+	 * Filtra las salas por localidad y por los días y géneros en los que abren.
+	 * Una sala cumple el filtro si abre alguno de los días indicados con alguno
+	 * de los géneros indicados.
+	 *
+	 * @param localidad la localidad, sin distinguir mayúsculas ni acentos, o null
+	 *                  para todas
+	 * @param dias      los días buscados, o null o vacío para todos
+	 * @param generos   los géneros buscados, o null o vacío para todos
+	 * @return las salas que cumplen el filtro con sus días y géneros
+	 */
+	List<SalaBaileRequestDTO> filtrarSalas(String localidad, Collection<Dias> dias,
+			Collection<GenerosMusicales> generos);
+
+	/**
+	 * Busca las salas que abren un día y están dentro de un radio alrededor de una
+	 * posición. Solo se consideran las salas con coordenadas.
+	 *
+	 * @param dia      el día de la semana
+	 * @param latitud  la latitud de la posición, en grados
+	 * @param longitud la longitud de la posición, en grados
+	 * @param radioKm  el radio de búsqueda, en kilómetros
+	 * @return las salas encontradas, de la más cercana a la más lejana
+	 */
+	List<SalaCercanaDto> buscarCercanas(Dias dia, double latitud, double longitud, double radioKm);
+
+	/**
+	 * Obtiene las sesiones de las salas que están en curso un día a una hora,
+	 * incluidas las que empezaron el día anterior y terminan pasada la medianoche.
+	 *
+	 * @param dia    el día de la semana
+	 * @param hora   la hora
+	 * @param genero el género musical, o null para todos
+	 * @return las sesiones en curso
+	 */
+	List<SalaAbiertaDto> getAbiertas(Dias dia, LocalTime hora, GenerosMusicales genero);
+
+	/**
+	 * Marca el horario como modificado. Si hay una transacción en curso la
+	 * instantánea se reconstruye cuando se confirma; si no, inmediatamente.
+	 */
+	void invalidar();
+
+	/**
+	 * Devuelve la versión de los datos de las salas. Se calcula a partir del
+	 * contenido de las salas y horarios, así que cambia con cada modificación
+	 * confirmada y es la misma en todas las instancias para los mismos datos,
+	 * y sirve para construir ETags.
+	 *
+	 * @return la versión actual
+	 */
+	long getVersion();
+
+}
@@ -0,0 +1,42 @@
+package com.bailaconsarabackend.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import com.bailaconsarabackend.model.Post;
+
+/**
+ * Interfaz de servicio para generar y almacenar las versiones reducidas de las
+ * imágenes de portada de las publicaciones.
+ */
+public interface ImagenesPostService {
+
+	/**
+	 * URLs de las versiones reducidas de una imagen.
+	 *
+	 * @param srcset    las versiones por ancho en formato srcset ("url 640w,
+	 *                  ..."), o null si no se ha generado ninguna
+	 * @param miniatura la miniatura cuadrada, o null si no se ha generado
+	 */
+	record VariantesImagen(String srcset, String miniatura) {
+	}
+
+	/**
+	 * Genera las versiones reducidas de una imagen de portada y las almacena
+	 * junto al original. Si la imagen no se puede procesar o almacenar se devuelven
+	 * las variantes vacías y el post usa solo el original.
+	 *
+	 * @param imagen        la imagen subida
+	 * @param nombrePortada el nombre con el que se ha almacenado el original, único
+	 *                      por post, del que se derivan los de las variantes
+	 * @return las URLs de las variantes almacenadas
+	 */
+	VariantesImagen generarVariantes(MultipartFile imagen, String nombrePortada);
+
+	/**
+	 * Elimina del almacenamiento las variantes de la portada de un post.
+	 *
+	 * @param post el post
+	 */
+	void eliminarVariantes(Post post);
+
+}
@@ -0,0 +1,35 @@
+package com.bailaconsarabackend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.http.ResponseEntity;
+
+import com.bailaconsarabackend.dto.BasicResponseDto;
+import com.bailaconsarabackend.exception.TallerNotFoundException;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Interfaz de servicio para importar de forma masiva los asistentes de un
+ * taller a partir de un listado en CSV.
+ */
+public interface ImportacionAsistentesService {
+
+	/**
+	 * Importa los asistentes de un taller. Cada fila del CSV contiene el email del
+	 * usuario y su rol (lider o follower); si el rol está vacío se usa el rol del
+	 * perfil del usuario. Tras inscribir a todos se forman las parejas posibles.
+	 *
+	 * @param tallerId       el ID del taller
+	 * @param csv            el contenido del CSV
+	 * @param servletRequest la solicitud HTTP
+	 * @return ResponseEntity con el resumen de la importación y los errores por
+	 *         fila
+	 * @throws TallerNotFoundException si el taller no existe
+	 * @throws IOException             si no se puede leer el CSV
+	 */
+	ResponseEntity<BasicResponseDto> importarAsistentes(Long tallerId, InputStream csv,
+			HttpServletRequest servletRequest) throws TallerNotFoundException, IOException;
+
+}
@@ -0,0 +1,40 @@
+package com.bailaconsarabackend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.http.ResponseEntity;
+
+import com.bailaconsarabackend.dto.BasicResponseDto;
+
+/**
+ * Interfaz de servicio para importar de forma masiva salas de baile con sus
+ * horarios a partir de un fichero CSV o JSON.
+ */
+public interface ImportacionSalasService {
+
+	/**
+	 * Importa las salas de un fichero CSV. Cada fila contiene, separados por punto
+	 * y coma, nombreSala, localidad, address, latitud, longitud, dia, generos
+	 * (separados por |), horaInicio y horaFin. Las filas seguidas con el mismo
+	 * nombre, localidad y dirección son días de la misma sala.
+	 *
+	 * @param csv el contenido del CSV
+	 * @return ResponseEntity con el resumen de la importación y los errores por
+	 *         fila
+	 * @throws IOException si no se puede leer el fichero
+	 */
+	ResponseEntity<BasicResponseDto> importarCsv(InputStream csv) throws IOException;
+
+	/**
+	 * Importa las salas de un fichero JSON con un array de salas en el mismo
+	 * formato que el alta individual.
+	 *
+	 * @param json el contenido del JSON
+	 * @return ResponseEntity con el resumen de la importación y los errores por
+	 *         elemento
+	 * @throws IOException si no se puede leer el fichero
+	 */
+	ResponseEntity<BasicResponseDto> importarJson(InputStream json) throws IOException;
+
+}
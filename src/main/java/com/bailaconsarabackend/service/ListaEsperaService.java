@@ -0,0 +1,55 @@
+package com.bailaconsarabackend.service;
+
+import com.bailaconsarabackend.dto.PosicionListaEsperaDto;
+import com.bailaconsarabackend.exception.TallerNotFoundException;
+import com.bailaconsarabackend.exception.UserNotFoundException;
+import com.bailaconsarabackend.model.User_Taller;
+
+/**
+ * Interfaz de servicio para mantener las listas de espera de los talleres por
+ * rol de baile y consultar la posición de un usuario en ellas sin recorrer las
+ * inscripciones del taller.
+ */
+public interface ListaEsperaService {
+
+	/**
+	 * Registra una inscripción o actualiza su estado en la lista de espera de su
+	 * taller cuando se confirme la transacción en curso. Una inscripción que
+	 * vuelve a estar en espera recupera su posición original según el orden de
+	 * inscripción.
+	 *
+	 * @param userTaller la inscripción, ya guardada, con su estado actual
+	 */
+	void actualizar(User_Taller userTaller);
+
+	/**
+	 * Elimina una inscripción de la lista de espera de su taller cuando se
+	 * confirme la transacción en curso.
+	 *
+	 * @param userTaller la inscripción que se ha anulado
+	 */
+	void eliminar(User_Taller userTaller);
+
+	/**
+	 * Descarta la lista de espera de un taller para que se reconstruya desde la
+	 * base de datos en la siguiente consulta. Si hay una transacción en curso,
+	 * se descarta al confirmarse.
+	 *
+	 * @param tallerId el ID del taller
+	 */
+	void invalidar(Long tallerId);
+
+	/**
+	 * Obtiene la posición de un usuario en la lista de espera de su rol en un
+	 * taller.
+	 *
+	 * @param tallerId el ID del taller
+	 * @param userId   el ID del usuario
+	 * @return la posición del usuario y el total de personas en espera
+	 * @throws TallerNotFoundException si el taller no existe o ya está archivado
+	 * @throws UserNotFoundException   si el usuario no está inscrito en el taller
+	 */
+	PosicionListaEsperaDto getPosicion(Long tallerId, Long userId)
+			throws TallerNotFoundException, UserNotFoundException;
+
+}
@@ -0,0 +1,49 @@
+package com.bailaconsarabackend.service;
+
+import com.bailaconsarabackend.exception.PostNotFoundException;
+
+/**
+ * Interfaz de servicio para servir las publicaciones por slug ya serializadas
+ * a JSON y comprimidas, sin volver a leerlas ni serializarlas en cada
+ * petición.
+ */
+public interface PostSerializadoService {
+
+	/**
+	 * Respuesta de una publicación lista para enviar.
+	 *
+	 * @param id   el ID de la publicación
+	 * @param json el JSON en UTF-8
+	 * @param gzip el mismo JSON comprimido con gzip
+	 * @param etag ETag fuerte calculado sobre el JSON, entre comillas
+	 */
+	record PostSerializado(Long id, byte[] json, byte[] gzip, String etag) {
+
+		/**
+		 * ETag de la versión gzip. Un validador fuerte tiene que distinguir cada
+		 * codificación, así que es el del JSON con el sufijo "-gz".
+		 *
+		 * @return el ETag, entre comillas
+		 */
+		public String etagGzip() {
+			return etag.substring(0, etag.length() - 1) + "-gz\"";
+		}
+	}
+
+	/**
+	 * Obtiene la respuesta de una publicación por su slug. Solo la primera
+	 * petición tras una modificación consulta la base de datos.
+	 *
+	 * @param slug el slug de la publicación
+	 * @return la publicación serializada
+	 * @throws PostNotFoundException si no hay ninguna publicación con ese slug
+	 */
+	PostSerializado getPost(String slug) throws PostNotFoundException;
+
+	/**
+	 * Descarta todas las respuestas guardadas. Se llama al crear, actualizar o
+	 * eliminar una publicación, ya que la modificación puede cambiar el slug.
+	 */
+	void invalidar();
+
+}
@@ -1,6 +1,7 @@
 package com.bailaconsarabackend.service;
 
 import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
 
 import org.springframework.http.ResponseEntity;
@@ -8,6 +9,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import com.bailaconsarabackend.dto.BasicResponseDto;
 import com.bailaconsarabackend.dto.GeneralResponseDto;
+import com.bailaconsarabackend.dto.PaginaPostsDto;
 import com.bailaconsarabackend.dto.PostDto;
 import com.bailaconsarabackend.dto.UpdatePostDto;
 import com.bailaconsarabackend.exception.PostNotFoundException;
@@ -53,6 +55,19 @@ public interface PostService {
 	 */
 	List<Post> listarPosts();
 
+	/**
+	 * Obtiene una página de resúmenes de publicaciones, de la más reciente a la
+	 * más antigua, a partir del cursor de la página anterior.
+	 *
+	 * @param fecha  la fecha de creación del último post de la página anterior, o
+	 *               null
+	 * @param id     el ID del último post de la página anterior, o null para la
+	 *               primera página
+	 * @param tamano el número de publicaciones por página
+	 * @return la página con los resúmenes y el cursor de la siguiente
+	 */
+	PaginaPostsDto listarResumenes(LocalDate fecha, Long id, int tamano);
+
 	/**
 	 * Busca una publicación por su identificador único.
 	 * 
@@ -90,6 +105,14 @@ public interface PostService {
 	 */
 	boolean validarDatosPost(PostDto postDto);
 
+	/**
+	 * Comprueba todas las reglas SEO de una publicación sin guardarla.
+	 *
+	 * @param postDto Los datos del post a validar.
+	 * @return BasicResponseDto con la lista de reglas incumplidas.
+	 */
+	BasicResponseDto validarPost(PostDto postDto);
+
 	/**
 	 * Busca una publicación por su título.
 	 *
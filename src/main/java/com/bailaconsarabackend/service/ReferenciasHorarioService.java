@@ -0,0 +1,34 @@
+package com.bailaconsarabackend.service;
+
+import com.bailaconsarabackend.model.DiaApertura;
+import com.bailaconsarabackend.model.Dias;
+import com.bailaconsarabackend.model.GeneroMusical;
+import com.bailaconsarabackend.model.GenerosMusicales;
+
+/**
+ * Interfaz de servicio que proporciona los datos de referencia de los horarios
+ * de las salas: los días de apertura y los géneros musicales. Solo hay siete
+ * días y tres géneros, y sus filas no cambian nunca, por lo que se cargan una
+ * sola vez en memoria.
+ */
+public interface ReferenciasHorarioService {
+
+	/**
+	 * Obtiene el día de apertura correspondiente a un día de la semana.
+	 *
+	 * @param dia el día de la semana
+	 * @return una referencia al {@link DiaApertura} persistido, válida para
+	 *         asociarla a un horario
+	 */
+	DiaApertura getDiaApertura(Dias dia);
+
+	/**
+	 * Obtiene el género musical correspondiente a un valor del enumerado.
+	 *
+	 * @param genero el género musical
+	 * @return una referencia al {@link GeneroMusical} persistido, válida para
+	 *         asociarla a un horario
+	 */
+	GeneroMusical getGeneroMusical(GenerosMusicales genero);
+
+}
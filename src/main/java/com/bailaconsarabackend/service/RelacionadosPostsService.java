@@ -0,0 +1,45 @@
+package com.bailaconsarabackend.service;
+
+import java.util.List;
+
+import com.bailaconsarabackend.dto.PostResumenDto;
+import com.bailaconsarabackend.model.Post;
+
+/**
+ * Interfaz de servicio para las publicaciones relacionadas con cada
+ * publicación, que se calculan de antemano a partir de su texto.
+ */
+public interface RelacionadosPostsService {
+
+	/**
+	 * Obtiene las publicaciones relacionadas con una publicación.
+	 *
+	 * @param id el ID de la publicación
+	 * @return los resúmenes de las publicaciones relacionadas, de más a menos
+	 *         parecida, o una lista vacía si no hay ninguna
+	 */
+	List<PostResumenDto> getRelacionados(Long id);
+
+	/**
+	 * Recalcula las relacionadas de una publicación y de las que comparten texto
+	 * con ella.
+	 *
+	 * @param post la publicación, ya guardada
+	 */
+	void actualizar(Post post);
+
+	/**
+	 * Retira una publicación y recalcula las relacionadas de las que compartían
+	 * texto con ella.
+	 *
+	 * @param id el ID de la publicación
+	 */
+	void eliminar(Long id);
+
+	/**
+	 * Vuelve a calcular desde la base de datos las relacionadas de todas las
+	 * publicaciones.
+	 */
+	void reconstruir();
+
+}
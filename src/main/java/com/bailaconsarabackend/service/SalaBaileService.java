@@ -1,14 +1,19 @@
 package com.bailaconsarabackend.service;
 
+import java.time.LocalTime;
 import java.util.List;
 
 import org.springframework.data.crossstore.ChangeSetPersister.NotFoundException;
 import org.springframework.http.ResponseEntity;
 
+import com.bailaconsarabackend.dto.ActualizacionSalaDto;
 import com.bailaconsarabackend.dto.GeneralResponseDto;
 import com.bailaconsarabackend.dto.HorarioResponseDTO;
+import com.bailaconsarabackend.dto.SalaAbiertaDto;
 import com.bailaconsarabackend.dto.SalaBaileRequestDTO;
+import com.bailaconsarabackend.dto.SalaCercanaDto;
 import com.bailaconsarabackend.model.Dias;
+import com.bailaconsarabackend.model.GenerosMusicales;
 import com.bailaconsarabackend.model.SalaBaile;
 
 /**
@@ -35,6 +40,42 @@ public interface SalaBaileService {
 	 */
 	List<HorarioResponseDTO> getHorariosPorDia(Dias dia);
 
+	/**
+	 * Filtra las salas de baile por localidad y por los días y géneros en los que
+	 * abren.
+	 *
+	 * @param localidad Localidad de las salas, o null para todas.
+	 * @param dias      Días buscados, o null o vacío para todos.
+	 * @param generos   Géneros buscados, o null o vacío para todos.
+	 * @return Lista de salas que abren alguno de los días con alguno de los
+	 *         géneros indicados.
+	 */
+	List<SalaBaileRequestDTO> filtrarSalas(String localidad, List<Dias> dias, List<GenerosMusicales> generos);
+
+	/**
+	 * Busca las salas de baile que abren un día dentro de un radio alrededor de
+	 * una posición.
+	 *
+	 * @param dia      El día de la semana.
+	 * @param latitud  Latitud de la posición, en grados.
+	 * @param longitud Longitud de la posición, en grados.
+	 * @param radioKm  Radio de búsqueda, en kilómetros.
+	 * @return Lista de salas encontradas, de la más cercana a la más lejana.
+	 */
+	List<SalaCercanaDto> buscarSalasCercanas(Dias dia, double latitud, double longitud, double radioKm);
+
+	/**
+	 * Obtiene las sesiones de las salas de baile que están en curso en un
+	 * momento, incluidas las que empezaron el día anterior y siguen pasada la
+	 * medianoche.
+	 *
+	 * @param dia    El día de la semana, o null para el actual.
+	 * @param hora   La hora, o null para la actual.
+	 * @param genero El género musical, o null para todos.
+	 * @return Lista de sesiones en curso.
+	 */
+	List<SalaAbiertaDto> getSalasAbiertas(Dias dia, LocalTime hora, GenerosMusicales genero);
+
 	/**
 	 * Encuentra un DTO de solicitud de sala de baile por su ID.
 	 *
@@ -46,15 +87,17 @@ public interface SalaBaileService {
 	SalaBaileRequestDTO findBySalaBaileId(Long id) throws NotFoundException;
 
 	/**
-	 * Actualiza una sala de baile existente con nuevos datos y horarios.
+	 * Actualiza una sala de baile existente con nuevos datos y horarios. Solo se
+	 * insertan y eliminan las combinaciones de día y género que cambian.
 	 *
 	 * @param id           El ID de la sala de baile a actualizar.
-	 * @param salaBaileDTO Los nuevos datos de la sala de baile y horarios.
-	 * @return La sala de baile actualizada con sus nuevos horarios.
+	 * @param salaBaileDTO Los nuevos datos de la sala de baile y horarios. Si no
+	 *                     incluye días, los horarios no se modifican.
+	 * @return La sala actualizada con sus horarios y el resumen de los cambios.
 	 * @throws NotFoundException Si no se encuentra ninguna sala de baile con el ID
 	 *                           proporcionado.
 	 */
-	SalaBaile updateSalaConHorarios(Long id, SalaBaileRequestDTO salaBaileDTO) throws NotFoundException;
+	ActualizacionSalaDto updateSalaConHorarios(Long id, SalaBaileRequestDTO salaBaileDTO) throws NotFoundException;
 
 	/**
 	 * Elimina una sala de baile junto con todos sus horarios asociados.
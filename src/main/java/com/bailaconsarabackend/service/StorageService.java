@@ -21,6 +21,16 @@ public interface StorageService {
 	 */
 	String store(MultipartFile file) throws IOException;
 
+	/**
+	 * Almacena un contenido generado por la aplicación con el nombre indicado.
+	 *
+	 * @param filename  El nombre del archivo.
+	 * @param contenido El contenido del archivo.
+	 * @return La ruta donde se almacenó el archivo.
+	 * @throws IOException si ocurre un error al almacenar el archivo.
+	 */
+	String store(String filename, byte[] contenido) throws IOException;
+
 	/**
 	 * Carga el archivo especificado por su nombre como un recurso.
 	 *
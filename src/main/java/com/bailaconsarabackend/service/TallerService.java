@@ -1,11 +1,14 @@
 package com.bailaconsarabackend.service;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import org.springframework.http.ResponseEntity;
 
 import com.bailaconsarabackend.dto.BasicResponseDto;
 import com.bailaconsarabackend.dto.GeneralResponseDto;
+import com.bailaconsarabackend.dto.PosicionListaEsperaDto;
+import com.bailaconsarabackend.dto.SerieTallerDto;
 import com.bailaconsarabackend.dto.TallerDto;
 import com.bailaconsarabackend.dto.UserTallerDto;
 import com.bailaconsarabackend.exception.TallerNotFoundException;
@@ -128,6 +131,37 @@ public interface TallerService {
 	 */
 	ResponseEntity<GeneralResponseDto> deleteTaller(Long tallerId);
 
+	/**
+	 * Crea todos los talleres de una serie recurrente en una sola transacción.
+	 *
+	 * @param serieTallerDto los datos comunes y la regla de recurrencia de la serie
+	 * @return ResponseEntity con la serie creada, incluidas su ID y las fechas
+	 *         generadas, y su estado correspondiente
+	 */
+	ResponseEntity<BasicResponseDto> addSerieTalleres(SerieTallerDto serieTallerDto);
+
+	/**
+	 * Actualiza los talleres de una serie a partir de una fecha.
+	 *
+	 * @param serieId   el ID de la serie
+	 * @param tallerDto los datos a modificar; los campos vacíos no se modifican y
+	 *                  la fecha se ignora
+	 * @param desde     la primera fecha de taller afectada
+	 * @return ResponseEntity con el número de talleres actualizados y su estado
+	 *         correspondiente
+	 */
+	ResponseEntity<BasicResponseDto> updateSerieTalleres(String serieId, TallerDto tallerDto, LocalDate desde);
+
+	/**
+	 * Cancela los talleres de una serie a partir de una fecha.
+	 *
+	 * @param serieId el ID de la serie
+	 * @param desde   la primera fecha de taller cancelada
+	 * @return ResponseEntity con el número de talleres eliminados y su estado
+	 *         correspondiente
+	 */
+	ResponseEntity<BasicResponseDto> deleteSerieTalleres(String serieId, LocalDate desde);
+
 	/**
 	 * Obtiene una lista de todos los talleres disponibles.
 	 *
@@ -167,6 +201,20 @@ public interface TallerService {
 	 */
 	boolean isUserHasPartner(Long tallerId, Long userId);
 
+	/**
+	 * Obtiene la posición de un usuario en la lista de espera de su rol en un
+	 * taller.
+	 *
+	 * @param tallerId El ID del taller.
+	 * @param userId   El ID del usuario.
+	 * @return Un ResponseEntity con la posición del usuario, las personas que
+	 *         tiene delante y el total en espera.
+	 * @throws TallerNotFoundException Si el taller no existe o ya está archivado.
+	 * @throws UserNotFoundException   Si el usuario no está inscrito en el taller.
+	 */
+	ResponseEntity<PosicionListaEsperaDto> getPosicionListaEspera(Long tallerId, Long userId)
+			throws TallerNotFoundException, UserNotFoundException;
+
 	/**
 	 * Empareja a un usuario con otro usuario en un taller.
 	 * 
@@ -205,10 +253,9 @@ public interface TallerService {
 
 	/**
 	 * Actualiza el estado del taller del compañero después de que un usuario se
-	 * haya dado de baja del taller. Si el usuario dado de baja es un "líder", se
-	 * establece el estado del compañero como "FOLLOWERWAITING" (esperando
-	 * seguidor), de lo contrario, se establece como "LIDERWAITING" (esperando
-	 * líder). Además, se elimina la referencia a la pareja del compañero.
+	 * haya dado de baja del taller. Al quitar la referencia a la pareja, el
+	 * compañero vuelve a su estado "LIDERWAITING" o "FOLLOWERWAITING" según su
+	 * rol.
 	 *
 	 * @param userTaller    el objeto que representa al usuario que se ha dado de
 	 *                      baja del taller
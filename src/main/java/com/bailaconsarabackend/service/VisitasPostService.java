@@ -0,0 +1,50 @@
+package com.bailaconsarabackend.service;
+
+import java.util.List;
+
+import com.bailaconsarabackend.dto.PostResumenDto;
+
+/**
+ * Interfaz de servicio para contar las visitas de las publicaciones y obtener
+ * las más visitadas.
+ */
+public interface VisitasPostService {
+
+	/**
+	 * Cuenta una visita a una publicación. Solo la acumula en memoria; se guarda
+	 * en la base de datos en el siguiente volcado.
+	 *
+	 * @param postId el ID de la publicación
+	 */
+	void registrarVisita(Long postId);
+
+	/**
+	 * Obtiene el número de visitas de una publicación, incluidas las que aún no
+	 * se han guardado.
+	 *
+	 * @param postId el ID de la publicación
+	 * @return el número de visitas
+	 */
+	long getVisitas(Long postId);
+
+	/**
+	 * Obtiene las publicaciones más visitadas según el último volcado.
+	 *
+	 * @param limite el número máximo de publicaciones
+	 * @return los resúmenes de las publicaciones, de más a menos visitas
+	 */
+	List<PostResumenDto> getPopulares(int limite);
+
+	/**
+	 * Descarta las visitas de una publicación eliminada.
+	 *
+	 * @param postId el ID de la publicación
+	 */
+	void eliminar(Long postId);
+
+	/**
+	 * Suma a la base de datos las visitas acumuladas desde el último volcado.
+	 */
+	void guardarVisitasPendientes();
+
+}
@@ -0,0 +1,197 @@
+package com.bailaconsarabackend.service.impl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bailaconsarabackend.dto.BasicResponseDto;
+import com.bailaconsarabackend.model.TallerHistorico;
+import com.bailaconsarabackend.model.UserTallerHistorico;
+import com.bailaconsarabackend.repository.TallerHistoricoRepository;
+import com.bailaconsarabackend.repository.UserTallerHistoricoRepository;
+import com.bailaconsarabackend.service.ArchivoTalleresService;
+import com.bailaconsarabackend.service.CheckInService;
+import com.bailaconsarabackend.service.ListaEsperaService;
+
+/**
+ * Implementación de la interfaz ArchivoTalleresService.
+ *
+ * Los talleres se archivan por lotes de tamaño fijo. Cada lote es una
+ * transacción independiente que copia los talleres y sus inscripciones a las
+ * tablas históricas con INSERT ... SELECT y después los borra de las tablas
+ * vivas, de modo que los bloqueos duran poco y un fallo solo afecta a un lote.
+ */
+@Service
+public class ArchivoTalleresServiceImpl implements ArchivoTalleresService {
+
+	private static final Logger logger = LoggerFactory.getLogger(ArchivoTalleresServiceImpl.class);
+
+	private static final int MAX_TAMANO_PAGINA = 200;
+
+	private static final String SELECT_IDS = "SELECT id FROM talleres WHERE fecha < :limite ORDER BY id LIMIT :lote";
+	private static final String INSERT_TALLERES = "INSERT INTO talleres_historico (id, nombre, modalidad, "
+			+ "profesores, fecha, hora, lugar, serie_id, fecha_archivado) SELECT id, nombre, modalidad, profesores, "
+			+ "fecha, hora, lugar, serie_id, :ahora FROM talleres WHERE id IN (:ids)";
+	private static final String INSERT_USER_TALLER = "INSERT INTO user_taller_historico (id, taller_id, user_id, "
+			+ "nombre, apellidos, email, user_taller_estado, partner_id) SELECT ut.id, ut.taller_id, ut.user_id, "
+			+ "u.nombre, u.apellidos, u.email, MOD(ut.user_taller_estado, 2) + CASE WHEN p.id IS NULL THEN 0 ELSE 2 END, "
+			+ "CASE WHEN p.lider_id = ut.id THEN p.follower_id ELSE p.lider_id END FROM user_taller ut "
+			+ "LEFT JOIN usuarios u ON u.id = ut.user_id "
+			+ "LEFT JOIN parejas_taller p ON p.lider_id = ut.id OR p.follower_id = ut.id WHERE ut.taller_id IN (:ids)";
+	private static final String DELETE_PAREJAS = "DELETE FROM parejas_taller WHERE taller_id IN (:ids)";
+	private static final String DELETE_USER_TALLER = "DELETE FROM user_taller WHERE taller_id IN (:ids)";
+	private static final String DELETE_TALLERES = "DELETE FROM talleres WHERE id IN (:ids)";
+
+	private final TallerHistoricoRepository tallerHistoricoRepository;
+	private final UserTallerHistoricoRepository userTallerHistoricoRepository;
+	private final ListaEsperaService listaEsperaService;
+	private final CheckInService checkInService;
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final int antiguedadDias;
+	private final int tamanoLote;
+
+	/**
+	 * Constructor de la clase ArchivoTalleresServiceImpl.
+	 *
+	 * @param tallerHistoricoRepository     Repositorio de talleres archivados.
+	 * @param userTallerHistoricoRepository Repositorio de inscripciones
+	 *                                      archivadas.
+	 * @param listaEsperaService            Servicio de listas de espera de los
+	 *                                      talleres.
+	 * @param checkInService                Servicio de check-in, que revoca los
+	 *                                      tokens de los talleres archivados.
+	 * @param jdbcTemplate                  Plantilla JDBC con parámetros con
+	 *                                      nombre para mover los lotes.
+	 * @param transactionManager            Gestor de transacciones con el que se
+	 *                                      abre una transacción por lote.
+	 * @param antiguedadDias                Días desde la fecha del taller a partir
+	 *                                      de los cuales se archiva.
+	 * @param tamanoLote                    Número máximo de talleres por lote.
+	 */
+	public ArchivoTalleresServiceImpl(TallerHistoricoRepository tallerHistoricoRepository,
+			UserTallerHistoricoRepository userTallerHistoricoRepository, ListaEsperaService listaEsperaService,
+			CheckInService checkInService, NamedParameterJdbcTemplate jdbcTemplate,
+			PlatformTransactionManager transactionManager,
+			@Value("${talleres.archivo.antiguedad-dias:365}") int antiguedadDias,
+			@Value("${talleres.archivo.lote:200}") int tamanoLote) {
+		this.tallerHistoricoRepository = tallerHistoricoRepository;
+		this.userTallerHistoricoRepository = userTallerHistoricoRepository;
+		this.listaEsperaService = listaEsperaService;
+		this.checkInService = checkInService;
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.antiguedadDias = antiguedadDias;
+		this.tamanoLote = tamanoLote;
+	}
+
+	/**
+	 * Mueve al archivo, lote a lote, los talleres cuya fecha es anterior a la
+	 * antigüedad configurada. Se ejecuta periódicamente según
+	 * talleres.archivo.cron.
+	 *
+	 * @return el número de talleres archivados
+	 */
+	@Scheduled(cron = "${talleres.archivo.cron:0 0 4 * * *}")
+	@Override
+	public int archivarTalleresAntiguos() {
+		LocalDate limite = LocalDate.now(ZoneOffset.UTC).minusDays(antiguedadDias);
+		int archivados = 0;
+
+		while (true) {
+			List<Long> ids = jdbcTemplate.queryForList(SELECT_IDS, Map.of("limite", limite, "lote", tamanoLote),
+					Long.class);
+			if (ids.isEmpty()) {
+				break;
+			}
+
+			try {
+				transactionTemplate.executeWithoutResult(status -> archivarLote(ids));
+			} catch (Exception e) {
+				logger.error("Error al archivar un lote de {} talleres: {}", ids.size(), e.getMessage());
+				break;
+			}
+			ids.forEach(listaEsperaService::invalidar);
+			ids.forEach(id -> checkInService.revocarTaller(id, limite));
+			archivados += ids.size();
+
+			if (ids.size() < tamanoLote) {
+				break;
+			}
+		}
+
+		if (archivados > 0) {
+			logger.info("Archivados {} talleres anteriores a {}", archivados, limite);
+		}
+		return archivados;
+	}
+
+	/**
+	 * Archiva inmediatamente los talleres antiguos.
+	 *
+	 * @return ResponseEntity con un BasicResponseDto con el número de talleres
+	 *         archivados
+	 */
+	@Override
+	public ResponseEntity<BasicResponseDto> archivar() {
+		int archivados = archivarTalleresAntiguos();
+		BasicResponseDto response = new BasicResponseDto(HttpStatus.OK, archivados + " talleres archivados",
+				archivados);
+		return new ResponseEntity<>(response, response.getStatus());
+	}
+
+	/**
+	 * Obtiene una página de talleres archivados, del más reciente al más antiguo.
+	 *
+	 * @param page el número de página, empezando en 0
+	 * @param size el tamaño de la página, como máximo 200
+	 * @return ResponseEntity con los talleres archivados
+	 */
+	@Override
+	public ResponseEntity<List<TallerHistorico>> getTalleresArchivados(int page, int size) {
+		PageRequest pagina = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_TAMANO_PAGINA));
+		return new ResponseEntity<>(tallerHistoricoRepository.findAllByOrderByFechaDescIdDesc(pagina), HttpStatus.OK);
+	}
+
+	/**
+	 * Obtiene las inscripciones de un taller archivado.
+	 *
+	 * @param tallerId el ID del taller archivado
+	 * @return ResponseEntity con las inscripciones del taller
+	 */
+	@Override
+	public ResponseEntity<List<UserTallerHistorico>> getInscripcionesArchivadas(Long tallerId) {
+		return new ResponseEntity<>(userTallerHistoricoRepository.findByTallerIdOrderByIdAsc(tallerId),
+				HttpStatus.OK);
+	}
+
+	/**
+	 * Copia un lote de talleres y sus inscripciones a las tablas históricas y los
+	 * elimina de las tablas vivas. Debe ejecutarse dentro de una transacción.
+	 *
+	 * @param ids los IDs de los talleres del lote
+	 */
+	private void archivarLote(List<Long> ids) {
+		Map<String, Object> parametros = Map.of("ids", ids, "ahora", LocalDateTime.now(ZoneOffset.UTC));
+		jdbcTemplate.update(INSERT_TALLERES, parametros);
+		jdbcTemplate.update(INSERT_USER_TALLER, parametros);
+		jdbcTemplate.update(DELETE_PAREJAS, parametros);
+		jdbcTemplate.update(DELETE_USER_TALLER, parametros);
+		jdbcTemplate.update(DELETE_TALLERES, parametros);
+	}
+
+}
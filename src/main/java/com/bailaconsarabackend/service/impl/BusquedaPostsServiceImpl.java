@@ -0,0 +1,186 @@
+package com.bailaconsarabackend.service.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import com.bailaconsarabackend.dto.PostResumenDto;
+import com.bailaconsarabackend.model.Post;
+import com.bailaconsarabackend.repository.PostRepository;
+import com.bailaconsarabackend.service.BusquedaPostsService;
+import com.bailaconsarabackend.util.IndiceInvertido;
+
+/**
+ * Implementación de la interfaz BusquedaPostsService.
+ *
+ * Mantiene un {@link IndiceInvertido} con el título, la frase clave, la meta
+ * descripción y los textos de cada publicación, y el resumen de cada una para
+ * responder sin consultar la base de datos. El índice se construye al arrancar
+ * la aplicación y después se actualiza desde PostServiceImpl con cada alta,
+ * modificación o baja. Las búsquedas comparten un cerrojo de lectura y las
+ * escrituras toman el de escritura.
+ */
+@Service
+public class BusquedaPostsServiceImpl implements BusquedaPostsService {
+
+	private static final Logger logger = LoggerFactory.getLogger(BusquedaPostsServiceImpl.class);
+
+	/*
+	 * Peso de cada campo: el título y la frase clave cuentan más que el cuerpo
+	 */
+	private static final float[] PESOS = { 3f, 2f, 1.5f, 1f, 1f, 1f, 1f, 1f };
+
+	private final PostRepository postRepository;
+
+	private final IndiceInvertido indice = new IndiceInvertido();
+	private final Map<Long, PostResumenDto> resumenes = new HashMap<>();
+	private final ReadWriteLock cerrojo = new ReentrantReadWriteLock();
+
+	/*
+	 * Indica si el índice ya se ha construido desde la base de datos
+	 */
+	private volatile boolean construido;
+
+	/**
+	 * Constructor de la clase BusquedaPostsServiceImpl.
+	 *
+	 * @param postRepository Repositorio de publicaciones.
+	 */
+	public BusquedaPostsServiceImpl(PostRepository postRepository) {
+		this.postRepository = postRepository;
+	}
+
+	/**
+	 * Construye el índice al arrancar la aplicación. Si la base de datos no está
+	 * disponible se construirá en la primera búsqueda.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void construirAlArrancar() {
+		try {
+			construir();
+		} catch (DataAccessException e) {
+			logger.warn("No se ha podido construir el índice de búsqueda de posts al arrancar", e);
+		}
+	}
+
+	/**
+	 * Busca las publicaciones por relevancia.
+	 *
+	 * @param consulta el texto buscado
+	 * @param limite   el número máximo de resultados
+	 * @return los resúmenes de las publicaciones encontradas
+	 */
+	@Override
+	public List<PostResumenDto> buscar(String consulta, int limite) {
+		construir();
+		cerrojo.readLock().lock();
+		try {
+			List<PostResumenDto> encontrados = new ArrayList<>();
+			for (IndiceInvertido.Resultado resultado : indice.buscar(consulta, limite)) {
+				encontrados.add(resumenes.get(resultado.id()));
+			}
+			return encontrados;
+		} finally {
+			cerrojo.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Sugiere palabras que empiezan por un prefijo.
+	 *
+	 * @param prefijo el prefijo escrito por el usuario
+	 * @param limite  el número máximo de sugerencias
+	 * @return las palabras sugeridas
+	 */
+	@Override
+	public List<String> autocompletar(String prefijo, int limite) {
+		construir();
+		cerrojo.readLock().lock();
+		try {
+			return indice.autocompletar(prefijo, limite);
+		} finally {
+			cerrojo.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Indexa una publicación. Si el índice aún no se ha construido no hace nada,
+	 * ya que se construirá con el estado de la base de datos. La comprobación se
+	 * hace con el cerrojo tomado: si la construcción está en curso, se espera a
+	 * que termine y la publicación se aplica sobre el índice ya construido.
+	 *
+	 * @param post la publicación, ya guardada
+	 */
+	@Override
+	public void indexar(Post post) {
+		cerrojo.writeLock().lock();
+		try {
+			if (construido) {
+				anadir(post);
+			}
+		} finally {
+			cerrojo.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Retira una publicación del índice.
+	 *
+	 * @param id el ID de la publicación
+	 */
+	@Override
+	public void eliminar(Long id) {
+		cerrojo.writeLock().lock();
+		try {
+			if (construido) {
+				indice.eliminar(id);
+				resumenes.remove(id);
+			}
+		} finally {
+			cerrojo.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Carga todas las publicaciones en el índice si aún no se ha hecho. Una
+	 * escritura que llegue mientras tanto espera al cerrojo y se aplica después.
+	 */
+	private void construir() {
+		if (construido) {
+			return;
+		}
+		cerrojo.writeLock().lock();
+		try {
+			if (construido) {
+				return;
+			}
+			for (Post post : postRepository.findAll()) {
+				anadir(post);
+			}
+			construido = true;
+			logger.info("Índice de búsqueda de posts construido con {} posts", indice.size());
+		} finally {
+			cerrojo.writeLock().unlock();
+		}
+	}
+
+	private void anadir(Post post) {
+		String[] textos = { post.getTitle(), post.getFraseclave(), post.getMetadescripcion(), post.getTextoinfo(),
+				post.getTextoprograma1(), post.getTextoprograma2(), post.getTextoartistas(), post.getTextodjs() };
+		indice.anadir(post.getId(), textos, PESOS);
+		resumenes.put(post.getId(), new PostResumenDto(post.getId(), post.getTitle(), post.getSlug(),
+				post.getImagenportada(), post.getAltportada(), post.getMiniaturaportada(), post.getMetadescripcion(),
+				post.getCreated_at()));
+	}
+
+}
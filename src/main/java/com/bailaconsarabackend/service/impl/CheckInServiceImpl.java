@@ -0,0 +1,512 @@
+package com.bailaconsarabackend.service.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.bailaconsarabackend.dto.BasicResponseDto;
+import com.bailaconsarabackend.dto.CheckInResultadoDto;
+import com.bailaconsarabackend.dto.CheckInTokenDto;
+import com.bailaconsarabackend.exception.UserNotFoundException;
+import com.bailaconsarabackend.model.Role;
+import com.bailaconsarabackend.model.TipoEventoInscripcion;
+import com.bailaconsarabackend.model.User;
+import com.bailaconsarabackend.model.UserTallerEstado;
+import com.bailaconsarabackend.model.User_Taller;
+import com.bailaconsarabackend.repository.User_TallerRepository;
+import com.bailaconsarabackend.service.CheckInService;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Implementación de la interfaz CheckInService.
+ *
+ * El token es un bloque binario con el ID del taller, de la inscripción y del
+ * usuario, el estado de la inscripción y el último día de validez, seguido de
+ * un HMAC-SHA256 truncado a 16 bytes, todo codificado en Base64 URL. Verificarlo
+ * solo requiere recalcular el HMAC y consultar en memoria las inscripciones y
+ * talleres revocados, por lo que la puerta no depende de la base de datos. Las
+ * revocaciones llegan de las bajas, separaciones, reconstrucciones y borrados
+ * de talleres al confirmarse su transacción, y se recuperan del historial de
+ * inscripciones al arrancar. Las llegadas aceptadas se encolan y se escriben por
+ * lotes JDBC.
+ */
+@Service
+public class CheckInServiceImpl implements CheckInService {
+
+	private static final Logger logger = LoggerFactory.getLogger(CheckInServiceImpl.class);
+
+	private static final String ALGORITMO = "HmacSHA256";
+	private static final int LONGITUD_DATOS = Long.BYTES * 3 + 1 + Integer.BYTES;
+	private static final int LONGITUD_FIRMA = 16;
+	private static final int TAMANO_LOTE = 500;
+
+	private static final String INSERT_ASISTENCIA = "INSERT IGNORE INTO asistencias_taller "
+			+ "(taller_id, user_taller_id, user_id, fecha_llegada) VALUES (?, ?, ?, ?)";
+	private static final String SELECT_SEPARACIONES = "SELECT e.user_taller_id, e.pareja_user_taller_id, t.fecha "
+			+ "FROM eventos_inscripcion e JOIN talleres t ON t.id = e.taller_id WHERE t.fecha >= ? "
+			+ "AND e.tipo IN ('" + TipoEventoInscripcion.BAJA.name() + "', '" + TipoEventoInscripcion.SEPARACION.name()
+			+ "')";
+	private static final String SELECT_EMPAREJADAS = "SELECT p.lider_id, p.follower_id FROM parejas_taller p "
+			+ "JOIN talleres t ON t.id = p.taller_id WHERE t.fecha >= ?";
+
+	private final User_TallerRepository user_tallerRepository;
+	private final JdbcTemplate jdbcTemplate;
+	private final SecretKeySpec clave;
+	private final int maxIntentos;
+
+	/*
+	 * Un Mac por hilo para no sincronizar ni crear instancias en cada verificación
+	 */
+	private final ThreadLocal<Mac> macs;
+
+	private final Queue<Llegada> pendientes = new ConcurrentLinkedQueue<>();
+
+	/*
+	 * Inscripciones con la llegada ya registrada, por taller. Se olvidan cuando
+	 * caducan los tokens del taller
+	 */
+	private final Map<Long, LlegadasTaller> registradas = new ConcurrentHashMap<>();
+
+	/*
+	 * Inscripciones y talleres cuyos tokens ya no valen, con el último día de
+	 * validez de esos tokens para olvidarlos cuando caduquen
+	 */
+	private final Map<Long, Integer> inscripcionesRevocadas = new ConcurrentHashMap<>();
+	private final Map<Long, Integer> talleresRevocados = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor de la clase CheckInServiceImpl.
+	 *
+	 * @param user_tallerRepository Repositorio de relaciones entre usuarios y
+	 *                              talleres.
+	 * @param jdbcTemplate          Plantilla JDBC para escribir las llegadas por
+	 *                              lotes.
+	 * @param secretKey             Clave con la que se firman los tokens.
+	 * @param jwtSecretKey          Clave de los JWT, que no puede coincidir con
+	 *                              la de los tokens de check-in.
+	 * @param maxIntentos           Intentos de escritura de una llegada antes de
+	 *                              descartarla.
+	 */
+	public CheckInServiceImpl(User_TallerRepository user_tallerRepository, JdbcTemplate jdbcTemplate,
+			@Value("${checkin.secret.key}") String secretKey, @Value("${jwt.secret.key}") String jwtSecretKey,
+			@Value("${checkin.flush.max-intentos}") int maxIntentos) {
+		if (secretKey.isBlank() || secretKey.equals(jwtSecretKey)) {
+			throw new IllegalStateException("checkin.secret.key debe ser una clave propia, distinta de la de los JWT");
+		}
+		this.user_tallerRepository = user_tallerRepository;
+		this.jdbcTemplate = jdbcTemplate;
+		this.clave = new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), ALGORITMO);
+		this.maxIntentos = maxIntentos;
+		this.macs = ThreadLocal.withInitial(this::crearMac);
+	}
+
+	/**
+	 * Genera el token de check-in de un usuario con pareja confirmada. Solo el
+	 * propio usuario o un administrador pueden obtenerlo.
+	 *
+	 * @param tallerId    el ID del taller
+	 * @param userId      el ID del usuario
+	 * @param solicitante el usuario autenticado que pide el token
+	 * @return ResponseEntity con el token en el campo data, o un mensaje de error
+	 *         si el usuario no tiene pareja confirmada o el token es de otro
+	 *         usuario
+	 * @throws UserNotFoundException si el usuario no está inscrito en el taller
+	 */
+	@Override
+	public ResponseEntity<BasicResponseDto> generarToken(Long tallerId, Long userId, User solicitante)
+			throws UserNotFoundException {
+		BasicResponseDto response = new BasicResponseDto();
+		if (!solicitante.getId().equals(userId) && solicitante.getRole() != Role.ADMIN) {
+			response.setMessage("Solo puedes obtener tu propio token de acceso al evento");
+			response.setStatus(HttpStatus.FORBIDDEN);
+			return new ResponseEntity<>(response, response.getStatus());
+		}
+
+		User_Taller userTaller = user_tallerRepository.findByTallerIdAndUserId(tallerId, userId)
+				.orElseThrow(() -> new UserNotFoundException("No hay registro de este usuario en este taller"));
+
+		UserTallerEstado estado = userTaller.getUserTallerEstado();
+		if (estado != UserTallerEstado.LIDERCONFIRMED && estado != UserTallerEstado.FOLLOWERCONFIRMED) {
+			response.setMessage("Solo los usuarios con pareja confirmada tienen token de acceso al evento");
+			response.setStatus(HttpStatus.CONFLICT);
+		} else {
+			LocalDate validoHasta = validoHasta(userTaller.getTaller().getFecha());
+
+			ByteBuffer datos = ByteBuffer.allocate(LONGITUD_DATOS + LONGITUD_FIRMA);
+			datos.putLong(tallerId).putLong(userTaller.getId()).putLong(userId).put((byte) estado.ordinal())
+					.putInt((int) validoHasta.toEpochDay());
+			datos.put(firmar(datos.array()), 0, LONGITUD_FIRMA);
+
+			String token = Base64.getUrlEncoder().withoutPadding().encodeToString(datos.array());
+			response.setData(new CheckInTokenDto(tallerId, userId, token, validoHasta));
+			response.setMessage("Token de acceso generado");
+			response.setStatus(HttpStatus.OK);
+		}
+
+		return new ResponseEntity<>(response, response.getStatus());
+	}
+
+	/**
+	 * Verifica los tokens escaneados y encola las llegadas válidas. Todas las
+	 * comprobaciones se hacen en memoria.
+	 *
+	 * @param tallerId el ID del taller en cuya puerta se escanean los tokens
+	 * @param tokens   los tokens escaneados
+	 * @return ResponseEntity con el resultado de cada token, en el mismo orden
+	 */
+	@Override
+	public ResponseEntity<List<CheckInResultadoDto>> registrarLlegadas(Long tallerId, List<String> tokens) {
+		List<CheckInResultadoDto> resultados = new ArrayList<>(tokens.size());
+		long hoy = LocalDate.now(ZoneOffset.UTC).toEpochDay();
+
+		for (String token : tokens) {
+			ByteBuffer datos = decodificar(token);
+			if (datos == null) {
+				resultados.add(new CheckInResultadoDto(token, false, null, null, "Token no válido"));
+				continue;
+			}
+
+			long tokenTallerId = datos.getLong();
+			long userTallerId = datos.getLong();
+			long userId = datos.getLong();
+			int estado = datos.get();
+			int validoHasta = datos.getInt();
+
+			if (tokenTallerId != tallerId) {
+				resultados.add(new CheckInResultadoDto(token, false, userId, userTallerId,
+						"El token pertenece a otro evento"));
+			} else if (validoHasta < hoy) {
+				resultados.add(new CheckInResultadoDto(token, false, userId, userTallerId, "El token ha caducado"));
+			} else if (talleresRevocados.containsKey(tallerId)) {
+				resultados.add(new CheckInResultadoDto(token, false, userId, userTallerId,
+						"El evento ya no está disponible"));
+			} else if (!isConfirmado(estado) || inscripcionesRevocadas.containsKey(userTallerId)) {
+				resultados.add(new CheckInResultadoDto(token, false, userId, userTallerId,
+						"La inscripción ya no está confirmada"));
+			} else if (!marcarRegistrada(tallerId, userTallerId, validoHasta)) {
+				resultados.add(
+						new CheckInResultadoDto(token, false, userId, userTallerId, "La llegada ya estaba registrada"));
+			} else {
+				pendientes.add(new Llegada(tallerId, userTallerId, userId, LocalDateTime.now(ZoneOffset.UTC), 0));
+				resultados.add(new CheckInResultadoDto(token, true, userId, userTallerId, "Llegada registrada"));
+			}
+		}
+
+		return new ResponseEntity<>(resultados, HttpStatus.OK);
+	}
+
+	/**
+	 * Revoca los tokens de una inscripción cuando se confirme la transacción en
+	 * curso, o inmediatamente si no hay ninguna.
+	 *
+	 * @param userTallerId el ID de la inscripción
+	 * @param fecha        la fecha del taller, o null si no se conoce
+	 */
+	@Override
+	public void revocar(Long userTallerId, LocalDate fecha) {
+		int validoHasta = (int) validoHasta(fecha).toEpochDay();
+		trasConfirmar(() -> inscripcionesRevocadas.merge(userTallerId, validoHasta, Math::max));
+	}
+
+	/**
+	 * Vuelve a aceptar los tokens de una inscripción que ha recuperado pareja,
+	 * cuando se confirme la transacción en curso.
+	 *
+	 * @param userTallerId el ID de la inscripción
+	 */
+	@Override
+	public void restituir(Long userTallerId) {
+		trasConfirmar(() -> inscripcionesRevocadas.remove(userTallerId));
+	}
+
+	/**
+	 * Revoca los tokens de todas las inscripciones de un taller borrado o
+	 * archivado cuando se confirme la transacción en curso.
+	 *
+	 * @param tallerId el ID del taller
+	 * @param fecha    la fecha del taller, o null si no se conoce
+	 */
+	@Override
+	public void revocarTaller(Long tallerId, LocalDate fecha) {
+		int validoHasta = (int) validoHasta(fecha).toEpochDay();
+		trasConfirmar(() -> talleresRevocados.merge(tallerId, validoHasta, Math::max));
+	}
+
+	/**
+	 * Recupera al arrancar las revocaciones de los talleres cuyos tokens aún
+	 * valen: las inscripciones con una baja o una separación en el historial que
+	 * no forman parte ahora de ninguna pareja.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void cargarRevocaciones() {
+		LocalDate desde = LocalDate.now(ZoneOffset.UTC).minusDays(1);
+		try {
+			Map<Long, Integer> revocadas = new HashMap<>();
+			jdbcTemplate.query(SELECT_SEPARACIONES, rs -> {
+				int validoHasta = (int) validoHasta(rs.getObject(3, LocalDate.class)).toEpochDay();
+				revocadas.put(rs.getLong(1), validoHasta);
+				long pareja = rs.getLong(2);
+				if (!rs.wasNull()) {
+					revocadas.put(pareja, validoHasta);
+				}
+			}, desde);
+			jdbcTemplate.query(SELECT_EMPAREJADAS, rs -> {
+				revocadas.remove(rs.getLong(1));
+				revocadas.remove(rs.getLong(2));
+			}, desde);
+			revocadas.forEach((id, validoHasta) -> inscripcionesRevocadas.merge(id, validoHasta, Math::max));
+			logger.info("Cargadas {} inscripciones con el token de check-in revocado", revocadas.size());
+		} catch (DataAccessException e) {
+			logger.error("No se han podido cargar las revocaciones de tokens de check-in", e);
+		}
+	}
+
+	/**
+	 * Marca como registrada la llegada de una inscripción.
+	 *
+	 * @param tallerId     el ID del taller
+	 * @param userTallerId el ID de la inscripción
+	 * @param validoHasta  el último día de validez de los tokens del taller
+	 * @return true si la llegada no estaba ya registrada
+	 */
+	private boolean marcarRegistrada(Long tallerId, long userTallerId, int validoHasta) {
+		LlegadasTaller llegadas = registradas.computeIfAbsent(tallerId,
+				id -> new LlegadasTaller(validoHasta, ConcurrentHashMap.newKeySet()));
+		return llegadas.inscripciones().add(userTallerId);
+	}
+
+	/**
+	 * Olvida las llegadas registradas y las revocaciones de los talleres cuyos
+	 * tokens ya han caducado, ya que ningún token suyo se puede volver a aceptar.
+	 */
+	@Scheduled(cron = "${checkin.limpieza.cron}")
+	public void olvidarTalleresTerminados() {
+		long hoy = LocalDate.now(ZoneOffset.UTC).toEpochDay();
+		registradas.values().removeIf(llegadas -> llegadas.validoHasta() < hoy);
+		inscripcionesRevocadas.values().removeIf(validoHasta -> validoHasta < hoy);
+		talleresRevocados.values().removeIf(validoHasta -> validoHasta < hoy);
+	}
+
+	/**
+	 * Escribe las llegadas pendientes en lotes JDBC. Si un lote falla se vuelve a
+	 * encolar para el siguiente intento, salvo las llegadas que ya han agotado sus
+	 * intentos, que se descartan.
+	 */
+	@Scheduled(fixedDelayString = "${checkin.flush.delay:2000}")
+	@PreDestroy
+	public void guardarLlegadasPendientes() {
+		List<Llegada> lote = new ArrayList<>(TAMANO_LOTE);
+		Llegada llegada;
+		while ((llegada = pendientes.poll()) != null) {
+			lote.add(llegada);
+			if (lote.size() == TAMANO_LOTE) {
+				guardarLote(lote);
+				lote = new ArrayList<>(TAMANO_LOTE);
+			}
+		}
+		if (!lote.isEmpty()) {
+			guardarLote(lote);
+		}
+	}
+
+	/**
+	 * Inserta un lote de llegadas con una sola operación batch. Las llegadas
+	 * duplicadas se ignoran gracias a la restricción única sobre la inscripción.
+	 *
+	 * @param lote las llegadas a insertar
+	 */
+	private void guardarLote(List<Llegada> lote) {
+		try {
+			jdbcTemplate.batchUpdate(INSERT_ASISTENCIA, new BatchPreparedStatementSetter() {
+				@Override
+				public void setValues(PreparedStatement ps, int i) throws SQLException {
+					Llegada llegada = lote.get(i);
+					ps.setLong(1, llegada.tallerId());
+					ps.setLong(2, llegada.userTallerId());
+					ps.setLong(3, llegada.userId());
+					ps.setObject(4, llegada.fechaLlegada());
+				}
+
+				@Override
+				public int getBatchSize() {
+					return lote.size();
+				}
+			});
+			logger.info("Registradas {} llegadas a talleres", lote.size());
+		} catch (Exception e) {
+			logger.error("Error al guardar {} llegadas, se reintentará: {}", lote.size(), e.getMessage());
+			for (Llegada llegada : lote) {
+				if (llegada.intentos() + 1 < maxIntentos) {
+					pendientes.add(llegada.reintento());
+				} else {
+					descartar(llegada);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Descarta una llegada que no se ha podido guardar tras agotar sus intentos.
+	 * Se deja constancia en el log y se olvida, para que el asistente se pueda
+	 * volver a escanear en la puerta.
+	 *
+	 * @param llegada la llegada descartada
+	 */
+	private void descartar(Llegada llegada) {
+		logger.error("Descartada tras {} intentos la llegada de la inscripción {} (usuario {}) al taller {} del {}",
+				maxIntentos, llegada.userTallerId(), llegada.userId(), llegada.tallerId(), llegada.fechaLlegada());
+		LlegadasTaller llegadas = registradas.get(llegada.tallerId());
+		if (llegadas != null) {
+			llegadas.inscripciones().remove(llegada.userTallerId());
+		}
+	}
+
+	/**
+	 * Aplica un cambio en las revocaciones cuando se confirme la transacción en
+	 * curso, o inmediatamente si no hay ninguna.
+	 *
+	 * @param cambio el cambio
+	 */
+	private void trasConfirmar(Runnable cambio) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					cambio.run();
+				}
+			});
+		} else {
+			cambio.run();
+		}
+	}
+
+	/**
+	 * Calcula el último día de validez de los tokens de un taller.
+	 *
+	 * @param fecha la fecha del taller, o null si no se conoce
+	 * @return el día siguiente al taller, o mañana si no se conoce la fecha
+	 */
+	private static LocalDate validoHasta(LocalDate fecha) {
+		return (fecha != null ? fecha : LocalDate.now(ZoneOffset.UTC)).plusDays(1);
+	}
+
+	/**
+	 * Indica si el estado guardado en un token es de pareja confirmada.
+	 *
+	 * @param estado el ordinal del estado
+	 * @return true si es LIDERCONFIRMED o FOLLOWERCONFIRMED
+	 */
+	private static boolean isConfirmado(int estado) {
+		return estado == UserTallerEstado.LIDERCONFIRMED.ordinal()
+				|| estado == UserTallerEstado.FOLLOWERCONFIRMED.ordinal();
+	}
+
+	/**
+	 * Decodifica un token y comprueba su firma.
+	 *
+	 * @param token el token en Base64 URL
+	 * @return los datos del token posicionados al inicio, o null si el token no es
+	 *         válido
+	 */
+	private ByteBuffer decodificar(String token) {
+		if (token == null) {
+			return null;
+		}
+		byte[] bytes;
+		try {
+			bytes = Base64.getUrlDecoder().decode(token);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+		if (bytes.length != LONGITUD_DATOS + LONGITUD_FIRMA) {
+			return null;
+		}
+
+		byte[] firmaEsperada = firmar(bytes);
+		byte[] firma = new byte[LONGITUD_FIRMA];
+		System.arraycopy(bytes, LONGITUD_DATOS, firma, 0, LONGITUD_FIRMA);
+		byte[] firmaTruncada = new byte[LONGITUD_FIRMA];
+		System.arraycopy(firmaEsperada, 0, firmaTruncada, 0, LONGITUD_FIRMA);
+
+		return MessageDigest.isEqual(firma, firmaTruncada) ? ByteBuffer.wrap(bytes, 0, LONGITUD_DATOS) : null;
+	}
+
+	/**
+	 * Calcula el HMAC de la parte de datos de un token.
+	 *
+	 * @param bytes el token, del que solo se firman los primeros LONGITUD_DATOS
+	 *              bytes
+	 * @return el HMAC completo
+	 */
+	private byte[] firmar(byte[] bytes) {
+		Mac mac = macs.get();
+		mac.update(bytes, 0, LONGITUD_DATOS);
+		return mac.doFinal();
+	}
+
+	/**
+	 * Crea una instancia de Mac inicializada con la clave de check-in.
+	 *
+	 * @return el Mac inicializado
+	 */
+	private Mac crearMac() {
+		try {
+			Mac mac = Mac.getInstance(ALGORITMO);
+			mac.init(clave);
+			return mac;
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("No se ha podido inicializar la firma de tokens de check-in", e);
+		}
+	}
+
+	/**
+	 * Llegada pendiente de guardar, con los intentos de escritura fallidos.
+	 */
+	private record Llegada(Long tallerId, Long userTallerId, Long userId, LocalDateTime fechaLlegada, int intentos) {
+
+		Llegada reintento() {
+			return new Llegada(tallerId, userTallerId, userId, fechaLlegada, intentos + 1);
+		}
+	}
+
+	/**
+	 * Llegadas registradas de un taller y el último día de validez de sus tokens.
+	 */
+	private record LlegadasTaller(int validoHasta, Set<Long> inscripciones) {
+	}
+
+}
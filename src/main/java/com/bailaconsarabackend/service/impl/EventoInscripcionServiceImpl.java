@@ -0,0 +1,429 @@
+package com.bailaconsarabackend.service.impl;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.bailaconsarabackend.dto.BasicResponseDto;
+import com.bailaconsarabackend.model.EventoInscripcion;
+import com.bailaconsarabackend.model.ParejaTaller;
+import com.bailaconsarabackend.model.Taller;
+import com.bailaconsarabackend.model.TipoEventoInscripcion;
+import com.bailaconsarabackend.model.UserTallerEstado;
+import com.bailaconsarabackend.model.User_Taller;
+import com.bailaconsarabackend.repository.EventoInscripcionRepository;
+import com.bailaconsarabackend.repository.TallerRepository;
+import com.bailaconsarabackend.repository.User_TallerRepository;
+import com.bailaconsarabackend.service.CheckInService;
+import com.bailaconsarabackend.service.EventoInscripcionService;
+import com.bailaconsarabackend.service.ListaEsperaService;
+
+import jakarta.transaction.Transactional;
+
+/**
+ * Implementación de la interfaz EventoInscripcionService.
+ *
+ * Los eventos se añaden con un INSERT JDBC de una fila, sin cargar entidades
+ * ni leer antes la tabla, para que el coste en las operaciones de inscripción
+ * sea mínimo. La reconstrucción reproduce los eventos de un taller en orden y
+ * vuelve a escribir user_taller y parejas_taller conservando los IDs
+ * originales de las inscripciones. Las inscripciones y parejas anteriores al
+ * historial se añaden a él al arrancar a partir de las tablas actuales.
+ */
+@Service
+public class EventoInscripcionServiceImpl implements EventoInscripcionService {
+
+	private static final Logger logger = LoggerFactory.getLogger(EventoInscripcionServiceImpl.class);
+
+	private static final int TAMANO_LOTE = 500;
+
+	private static final String INSERT_EVENTO = "INSERT INTO eventos_inscripcion (tipo, taller_id, user_taller_id, "
+			+ "user_id, user_taller_estado, pareja_user_taller_id, fecha) VALUES (?, ?, ?, ?, ?, ?, ?)";
+	private static final String DELETE_PAREJAS = "DELETE FROM parejas_taller WHERE taller_id = ?";
+	private static final String DELETE_USER_TALLER = "DELETE FROM user_taller WHERE taller_id = ?";
+	private static final String INSERT_USER_TALLER = "INSERT INTO user_taller (id, user_id, taller_id, "
+			+ "user_taller_estado) VALUES (?, ?, ?, ?)";
+	private static final String INSERT_PAREJA = "INSERT INTO parejas_taller (taller_id, lider_id, follower_id) "
+			+ "VALUES (?, ?, ?)";
+	private static final String EXISTE_PARTNER_ID = "SELECT COUNT(*) FROM information_schema.columns "
+			+ "WHERE table_schema = DATABASE() AND table_name = 'user_taller' AND column_name = 'partner_id'";
+	private static final String COMPLETAR_INSCRIPCIONES = "INSERT INTO eventos_inscripcion (tipo, taller_id, "
+			+ "user_taller_id, user_id, user_taller_estado, pareja_user_taller_id, fecha) SELECT '"
+			+ TipoEventoInscripcion.INSCRIPCION.name() + "', ut.taller_id, ut.id, ut.user_id, CASE WHEN "
+			+ "ut.user_taller_estado IN (" + UserTallerEstado.LIDERWAITING.ordinal() + ", "
+			+ UserTallerEstado.LIDERCONFIRMED.ordinal() + ") THEN " + UserTallerEstado.LIDERWAITING.ordinal()
+			+ " ELSE " + UserTallerEstado.FOLLOWERWAITING.ordinal() + " END, NULL, UTC_TIMESTAMP() "
+			+ "FROM user_taller ut WHERE NOT EXISTS (SELECT 1 FROM eventos_inscripcion e WHERE e.taller_id = "
+			+ "ut.taller_id AND e.user_taller_id = ut.id AND e.tipo = '" + TipoEventoInscripcion.INSCRIPCION.name()
+			+ "') ORDER BY ut.id";
+	private static final String COMPLETAR_PAREJAS = "INSERT INTO eventos_inscripcion (tipo, taller_id, "
+			+ "user_taller_id, user_id, user_taller_estado, pareja_user_taller_id, fecha) SELECT '"
+			+ TipoEventoInscripcion.PAREJA.name() + "', p.taller_id, p.lider_id, ut.user_id, NULL, p.follower_id, "
+			+ "UTC_TIMESTAMP() FROM parejas_taller p JOIN user_taller ut ON ut.id = p.lider_id WHERE NOT EXISTS "
+			+ "(SELECT 1 FROM eventos_inscripcion e WHERE e.taller_id = p.taller_id AND e.user_taller_id = "
+			+ "p.lider_id AND e.pareja_user_taller_id = p.follower_id AND e.tipo = '"
+			+ TipoEventoInscripcion.PAREJA.name() + "') ORDER BY p.id";
+
+	private final EventoInscripcionRepository eventoInscripcionRepository;
+	private final TallerRepository tallerRepository;
+	private final User_TallerRepository user_tallerRepository;
+	private final ListaEsperaService listaEsperaService;
+	private final CheckInService checkInService;
+	private final JdbcTemplate jdbcTemplate;
+
+	/**
+	 * Constructor de la clase EventoInscripcionServiceImpl.
+	 *
+	 * @param eventoInscripcionRepository Repositorio del historial de
+	 *                                    inscripciones.
+	 * @param tallerRepository            Repositorio de talleres.
+	 * @param user_tallerRepository       Repositorio de relaciones entre usuarios
+	 *                                    y talleres.
+	 * @param listaEsperaService          Servicio de listas de espera de los
+	 *                                    talleres.
+	 * @param checkInService              Servicio de check-in, que revoca y
+	 *                                    restituye los tokens al cambiar las
+	 *                                    parejas.
+	 * @param jdbcTemplate                Plantilla JDBC para añadir eventos y
+	 *                                    reconstruir las inscripciones.
+	 */
+	public EventoInscripcionServiceImpl(EventoInscripcionRepository eventoInscripcionRepository,
+			TallerRepository tallerRepository, User_TallerRepository user_tallerRepository,
+			ListaEsperaService listaEsperaService, CheckInService checkInService, JdbcTemplate jdbcTemplate) {
+		this.eventoInscripcionRepository = eventoInscripcionRepository;
+		this.tallerRepository = tallerRepository;
+		this.user_tallerRepository = user_tallerRepository;
+		this.listaEsperaService = listaEsperaService;
+		this.checkInService = checkInService;
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	/**
+	 * Añade al arrancar los eventos de las inscripciones y parejas que existían
+	 * antes que el historial, para que sus talleres también se puedan
+	 * reconstruir. Solo se añaden las inscripciones sin evento INSCRIPCION y las
+	 * parejas actuales sin evento PAREJA, así que tras la primera ejecución no
+	 * inserta nada. Los eventos añadidos llevan la fecha del arranque, no la de
+	 * la inscripción original, que no se conoce. Se ejecuta después de migrar
+	 * las parejas de user_taller.partner_id y, si esa migración no ha terminado,
+	 * no añade nada para no registrar como desemparejadas las parejas antiguas.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	@Order(2)
+	public void completarHistorialExistente() {
+		try {
+			Integer columnas = jdbcTemplate.queryForObject(EXISTE_PARTNER_ID, Integer.class);
+			if (columnas != null && columnas > 0) {
+				logger.warn("Las parejas de user_taller.partner_id no se han migrado, no se completa el historial");
+				return;
+			}
+			int inscripciones = jdbcTemplate.update(COMPLETAR_INSCRIPCIONES);
+			int parejas = jdbcTemplate.update(COMPLETAR_PAREJAS);
+			if (inscripciones > 0 || parejas > 0) {
+				logger.info("Añadidas al historial {} inscripciones y {} parejas anteriores a él", inscripciones,
+						parejas);
+			}
+		} catch (DataAccessException e) {
+			logger.warn("No se ha podido completar el historial con las inscripciones existentes", e);
+		}
+	}
+
+	/**
+	 * Añade al historial la inscripción de un usuario con el rol de la
+	 * inscripción.
+	 *
+	 * @param userTaller la inscripción, ya guardada
+	 */
+	@Override
+	public void registrarInscripcion(User_Taller userTaller) {
+		insertar(inscripcion(userTaller));
+	}
+
+	/**
+	 * Añade al historial varias inscripciones en lotes JDBC.
+	 *
+	 * @param inscripciones las inscripciones, ya guardadas
+	 */
+	@Override
+	public void registrarInscripciones(List<User_Taller> inscripciones) {
+		List<EventoInscripcion> eventos = new ArrayList<>(inscripciones.size());
+		for (User_Taller userTaller : inscripciones) {
+			eventos.add(inscripcion(userTaller));
+		}
+		insertar(eventos);
+	}
+
+	/**
+	 * Añade al historial la baja de un usuario y revoca su token de check-in.
+	 *
+	 * @param userTaller la inscripción anulada
+	 */
+	@Override
+	public void registrarBaja(User_Taller userTaller) {
+		insertar(evento(TipoEventoInscripcion.BAJA, userTaller, null, null));
+		checkInService.revocar(userTaller.getId(), userTaller.getTaller().getFecha());
+	}
+
+	/**
+	 * Añade al historial la formación de una pareja y vuelve a aceptar los tokens
+	 * de check-in de ambos, por si se habían revocado al perder otra pareja.
+	 *
+	 * @param lider    la inscripción del líder
+	 * @param follower la inscripción del follower
+	 */
+	@Override
+	public void registrarPareja(User_Taller lider, User_Taller follower) {
+		insertar(evento(TipoEventoInscripcion.PAREJA, lider, null, follower.getId()));
+		checkInService.restituir(lider.getId());
+		checkInService.restituir(follower.getId());
+	}
+
+	/**
+	 * Añade al historial varias parejas en lotes JDBC.
+	 *
+	 * @param parejas las parejas formadas
+	 */
+	@Override
+	public void registrarParejas(List<ParejaTaller> parejas) {
+		List<EventoInscripcion> eventos = new ArrayList<>(parejas.size());
+		for (ParejaTaller pareja : parejas) {
+			eventos.add(evento(TipoEventoInscripcion.PAREJA, pareja.getLider(), null, pareja.getFollower().getId()));
+			checkInService.restituir(pareja.getLider().getId());
+			checkInService.restituir(pareja.getFollower().getId());
+		}
+		insertar(eventos);
+	}
+
+	/**
+	 * Añade al historial la separación de una pareja y revoca los tokens de
+	 * check-in de ambos.
+	 *
+	 * @param userTaller         la inscripción que deshace la pareja
+	 * @param parejaUserTallerId el ID de la inscripción de su pareja
+	 */
+	@Override
+	public void registrarSeparacion(User_Taller userTaller, Long parejaUserTallerId) {
+		insertar(evento(TipoEventoInscripcion.SEPARACION, userTaller, null, parejaUserTallerId));
+		checkInService.revocar(userTaller.getId(), userTaller.getTaller().getFecha());
+		checkInService.revocar(parejaUserTallerId, userTaller.getTaller().getFecha());
+	}
+
+	/**
+	 * Obtiene el historial de inscripciones de un taller.
+	 *
+	 * @param tallerId el ID del taller
+	 * @return ResponseEntity con los eventos del taller en orden
+	 */
+	@Override
+	public ResponseEntity<List<EventoInscripcion>> getHistorial(Long tallerId) {
+		return new ResponseEntity<>(eventoInscripcionRepository.findByTallerIdOrderByIdAsc(tallerId), HttpStatus.OK);
+	}
+
+	/**
+	 * Reconstruye las inscripciones y parejas de un taller reproduciendo su
+	 * historial. Antes de reescribir nada se comprueba que todas las
+	 * inscripciones actuales aparecen en el historial, para no perder ninguna si
+	 * el historial no se ha podido completar al arrancar. Los tokens de check-in
+	 * de las inscripciones que quedan sin pareja se revocan, y los de las que
+	 * quedan emparejadas se vuelven a aceptar.
+	 *
+	 * @param tallerId el ID del taller
+	 * @return ResponseEntity con un BasicResponseDto con el resumen de la
+	 *         reconstrucción
+	 */
+	@Transactional
+	@Override
+	public ResponseEntity<BasicResponseDto> reconstruirInscripciones(Long tallerId) {
+		BasicResponseDto response = new BasicResponseDto();
+		Taller taller = tallerRepository.findById(tallerId).orElse(null);
+		if (taller == null) {
+			response.setMessage("El taller no existe o ya está archivado");
+			response.setStatus(HttpStatus.NOT_FOUND);
+			return new ResponseEntity<>(response, response.getStatus());
+		}
+
+		List<EventoInscripcion> eventos = eventoInscripcionRepository.findByTallerIdOrderByIdAsc(tallerId);
+
+		Set<Long> conocidas = new HashSet<>();
+		Map<Long, EventoInscripcion> inscripciones = new LinkedHashMap<>();
+		Map<Long, Long> companeros = new HashMap<>();
+		for (EventoInscripcion evento : eventos) {
+			Long id = evento.getUserTallerId();
+			switch (evento.getTipo()) {
+			case INSCRIPCION:
+				conocidas.add(id);
+				inscripciones.put(id, evento);
+				break;
+			case BAJA:
+				inscripciones.remove(id);
+				separar(companeros, id);
+				break;
+			case PAREJA:
+				companeros.put(id, evento.getParejaUserTallerId());
+				companeros.put(evento.getParejaUserTallerId(), id);
+				break;
+			case SEPARACION:
+				separar(companeros, id);
+				break;
+			}
+		}
+
+		List<User_Taller> actuales = user_tallerRepository.findByTallerId(tallerId);
+		for (User_Taller userTaller : actuales) {
+			if (!conocidas.contains(userTaller.getId())) {
+				response.setMessage("El historial no incluye la inscripción " + userTaller.getId()
+						+ ", no se puede reconstruir el taller");
+				response.setStatus(HttpStatus.CONFLICT);
+				return new ResponseEntity<>(response, response.getStatus());
+			}
+		}
+
+		List<EventoInscripcion> vivas = new ArrayList<>(inscripciones.values());
+		List<Long[]> parejas = new ArrayList<>();
+		Set<Long> emparejadas = new HashSet<>();
+		for (EventoInscripcion inscripcion : vivas) {
+			Long follower = companeros.get(inscripcion.getUserTallerId());
+			if (inscripcion.getUserTallerEstado() == UserTallerEstado.LIDERWAITING && follower != null
+					&& inscripciones.containsKey(follower)) {
+				parejas.add(new Long[] { inscripcion.getUserTallerId(), follower });
+				emparejadas.add(inscripcion.getUserTallerId());
+				emparejadas.add(follower);
+			}
+		}
+
+		jdbcTemplate.update(DELETE_PAREJAS, tallerId);
+		jdbcTemplate.update(DELETE_USER_TALLER, tallerId);
+		jdbcTemplate.batchUpdate(INSERT_USER_TALLER, vivas, TAMANO_LOTE, (ps, inscripcion) -> {
+			ps.setLong(1, inscripcion.getUserTallerId());
+			ps.setLong(2, inscripcion.getUserId());
+			ps.setLong(3, tallerId);
+			ps.setInt(4, inscripcion.getUserTallerEstado().ordinal());
+		});
+		jdbcTemplate.batchUpdate(INSERT_PAREJA, parejas, TAMANO_LOTE, (ps, pareja) -> {
+			ps.setLong(1, tallerId);
+			ps.setLong(2, pareja[0]);
+			ps.setLong(3, pareja[1]);
+		});
+		listaEsperaService.invalidar(tallerId);
+		for (User_Taller userTaller : actuales) {
+			if (!emparejadas.contains(userTaller.getId())) {
+				checkInService.revocar(userTaller.getId(), taller.getFecha());
+			}
+		}
+		emparejadas.forEach(checkInService::restituir);
+
+		logger.info("Reconstruido el taller {} a partir de {} eventos: {} inscripciones y {} parejas", tallerId,
+				eventos.size(), vivas.size(), parejas.size());
+		response.setData(Map.of("eventos", eventos.size(), "inscripciones", vivas.size(), "parejas", parejas.size()));
+		response.setMessage("Inscripciones del taller reconstruidas a partir del historial");
+		response.setStatus(HttpStatus.OK);
+		return new ResponseEntity<>(response, response.getStatus());
+	}
+
+	/**
+	 * Deshace en la reproducción la pareja de una inscripción, si la tiene.
+	 *
+	 * @param companeros la pareja de cada inscripción emparejada
+	 * @param id         el ID de la inscripción
+	 */
+	private void separar(Map<Long, Long> companeros, Long id) {
+		Long companero = companeros.remove(id);
+		if (companero != null) {
+			companeros.remove(companero);
+		}
+	}
+
+	/**
+	 * Crea el evento de inscripción de un usuario. El rol se guarda siempre como
+	 * estado WAITING, ya que las parejas tienen sus propios eventos.
+	 *
+	 * @param userTaller la inscripción
+	 * @return el evento
+	 */
+	private EventoInscripcion inscripcion(User_Taller userTaller) {
+		UserTallerEstado rol = userTaller.esLider() ? UserTallerEstado.LIDERWAITING : UserTallerEstado.FOLLOWERWAITING;
+		return evento(TipoEventoInscripcion.INSCRIPCION, userTaller, rol, null);
+	}
+
+	/**
+	 * Crea un evento del historial con la fecha actual.
+	 *
+	 * @param tipo               el tipo de evento
+	 * @param userTaller         la inscripción afectada
+	 * @param rol                el rol de la inscripción, o null
+	 * @param parejaUserTallerId el ID de la inscripción de la pareja, o null
+	 * @return el evento
+	 */
+	private EventoInscripcion evento(TipoEventoInscripcion tipo, User_Taller userTaller, UserTallerEstado rol,
+			Long parejaUserTallerId) {
+		return new EventoInscripcion(null, tipo, userTaller.getTaller().getId(), userTaller.getId(),
+				userTaller.getUser().getId(), rol, parejaUserTallerId, LocalDateTime.now(ZoneOffset.UTC));
+	}
+
+	/**
+	 * Inserta un evento en el historial.
+	 *
+	 * @param evento el evento
+	 */
+	private void insertar(EventoInscripcion evento) {
+		jdbcTemplate.update(INSERT_EVENTO, ps -> asignar(ps, evento));
+	}
+
+	/**
+	 * Inserta varios eventos en el historial en lotes JDBC.
+	 *
+	 * @param eventos los eventos
+	 */
+	private void insertar(List<EventoInscripcion> eventos) {
+		if (!eventos.isEmpty()) {
+			jdbcTemplate.batchUpdate(INSERT_EVENTO, eventos, TAMANO_LOTE, this::asignar);
+		}
+	}
+
+	/**
+	 * Asigna los valores de un evento a la sentencia de inserción.
+	 *
+	 * @param ps     la sentencia
+	 * @param evento el evento
+	 * @throws SQLException si no se pueden asignar los valores
+	 */
+	private void asignar(PreparedStatement ps, EventoInscripcion evento) throws SQLException {
+		ps.setString(1, evento.getTipo().name());
+		ps.setLong(2, evento.getTallerId());
+		ps.setLong(3, evento.getUserTallerId());
+		ps.setLong(4, evento.getUserId());
+		if (evento.getUserTallerEstado() != null) {
+			ps.setInt(5, evento.getUserTallerEstado().ordinal());
+		} else {
+			ps.setNull(5, Types.INTEGER);
+		}
+		if (evento.getParejaUserTallerId() != null) {
+			ps.setLong(6, evento.getParejaUserTallerId());
+		} else {
+			ps.setNull(6, Types.BIGINT);
+		}
+		ps.setTimestamp(7, Timestamp.valueOf(evento.getFecha()));
+	}
+
+}
@@ -0,0 +1,304 @@
+package com.bailaconsarabackend.service.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import com.bailaconsarabackend.dto.PostResumenDto;
+import com.bailaconsarabackend.model.Post;
+import com.bailaconsarabackend.repository.PostRepository;
+import com.bailaconsarabackend.service.FeedPostsService;
+
+/**
+ * Implementación de la interfaz FeedPostsService.
+ *
+ * Guarda por publicación su fragmento XML del sitemap y del canal RSS, y los
+ * documentos completos ya generados. Al crear, modificar o eliminar una
+ * publicación solo se regeneran sus fragmentos y los documentos se vuelven a
+ * montar concatenando los demás, sin consultar la base de datos. Las lecturas
+ * no toman ningún cerrojo: leen los últimos documentos publicados.
+ */
+@Service
+public class FeedPostsServiceImpl implements FeedPostsService {
+
+	private static final Logger logger = LoggerFactory.getLogger(FeedPostsServiceImpl.class);
+
+	/*
+	 * Número de publicaciones más recientes que se incluyen en el canal RSS
+	 */
+	private static final int LIMITE_RSS = 50;
+
+	private static final Comparator<Entrada> MAS_RECIENTE_PRIMERO = Comparator
+			.comparing(Entrada::fecha, Comparator.nullsLast(Comparator.reverseOrder()))
+			.thenComparing(Entrada::id, Comparator.reverseOrder());
+
+	private final PostRepository postRepository;
+	private final String urlPosts;
+	private final String titulo;
+	private final String descripcion;
+
+	private final Map<Long, Entrada> entradas = new HashMap<>();
+	private final NavigableSet<Entrada> ordenadas = new TreeSet<>(MAS_RECIENTE_PRIMERO);
+
+	/*
+	 * Últimos documentos generados, o null si aún no se han construido
+	 */
+	private volatile Documentos documentos;
+
+	/**
+	 * Fragmentos XML de una publicación.
+	 */
+	private record Entrada(long id, LocalDate fecha, byte[] url, byte[] item) {
+	}
+
+	/**
+	 * Sitemap y canal RSS generados a la vez.
+	 */
+	private record Documentos(DocumentoFeed sitemap, DocumentoFeed rss) {
+	}
+
+	/**
+	 * Constructor de la clase FeedPostsServiceImpl.
+	 *
+	 * @param postRepository Repositorio de publicaciones.
+	 * @param urlPosts       la URL pública bajo la que se sirve cada publicación
+	 *                       por su slug
+	 * @param titulo         el título del canal RSS
+	 * @param descripcion    la descripción del canal RSS
+	 */
+	public FeedPostsServiceImpl(PostRepository postRepository, @Value("${posts.feed.url-posts}") String urlPosts,
+			@Value("${posts.feed.titulo:Baila con Sara}") String titulo,
+			@Value("${posts.feed.descripcion:}") String descripcion) {
+		this.postRepository = postRepository;
+		this.urlPosts = urlPosts.endsWith("/") ? urlPosts : urlPosts + "/";
+		this.titulo = titulo;
+		this.descripcion = descripcion;
+	}
+
+	/**
+	 * Construye los documentos al arrancar la aplicación. Si la base de datos no
+	 * está disponible se construirán en la primera petición.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void construirAlArrancar() {
+		try {
+			construir();
+		} catch (DataAccessException e) {
+			logger.warn("No se han podido generar el sitemap y el canal RSS al arrancar", e);
+		}
+	}
+
+	/**
+	 * Obtiene el sitemap con la URL de todas las publicaciones.
+	 *
+	 * @return el sitemap
+	 */
+	@Override
+	public DocumentoFeed getSitemap() {
+		return construir().sitemap();
+	}
+
+	/**
+	 * Obtiene el canal RSS con las publicaciones más recientes.
+	 *
+	 * @return el canal RSS
+	 */
+	@Override
+	public DocumentoFeed getRss() {
+		return construir().rss();
+	}
+
+	/**
+	 * Regenera los fragmentos de una publicación y vuelve a montar los
+	 * documentos. Si aún no se han construido no hace nada, ya que se
+	 * construirán con el estado de la base de datos.
+	 *
+	 * @param post la publicación, ya guardada
+	 */
+	@Override
+	public synchronized void actualizar(Post post) {
+		if (documentos == null) {
+			return;
+		}
+		quitar(post.getId());
+		poner(entrada(post.getId(), post.getTitle(), post.getSlug(), post.getMetadescripcion(),
+				post.getCreated_at()));
+		documentos = montar();
+	}
+
+	/**
+	 * Retira una publicación y vuelve a montar los documentos.
+	 *
+	 * @param id el ID de la publicación
+	 */
+	@Override
+	public synchronized void eliminar(Long id) {
+		if (documentos == null) {
+			return;
+		}
+		if (quitar(id)) {
+			documentos = montar();
+		}
+	}
+
+	/**
+	 * Carga todas las publicaciones si aún no se ha hecho. Solo lee de cada una
+	 * las columnas del resumen.
+	 *
+	 * @return los documentos
+	 */
+	private Documentos construir() {
+		Documentos actuales = documentos;
+		if (actuales != null) {
+			return actuales;
+		}
+		synchronized (this) {
+			if (documentos == null) {
+				for (PostResumenDto post : postRepository.findResumenes(Pageable.unpaged())) {
+					poner(entrada(post.getId(), post.getTitle(), post.getSlug(), post.getMetadescripcion(),
+							post.getCreated_at()));
+				}
+				documentos = montar();
+				logger.info("Sitemap y canal RSS generados con {} posts", entradas.size());
+			}
+			return documentos;
+		}
+	}
+
+	private void poner(Entrada entrada) {
+		entradas.put(entrada.id(), entrada);
+		ordenadas.add(entrada);
+	}
+
+	private boolean quitar(long id) {
+		Entrada anterior = entradas.remove(id);
+		if (anterior == null) {
+			return false;
+		}
+		ordenadas.remove(anterior);
+		return true;
+	}
+
+	/**
+	 * Concatena los fragmentos de todas las publicaciones en el sitemap y los de
+	 * las más recientes en el canal RSS.
+	 *
+	 * @return los nuevos documentos
+	 */
+	private Documentos montar() {
+		long ahora = System.currentTimeMillis() / 1000 * 1000;
+
+		ByteArrayOutputStream sitemap = new ByteArrayOutputStream();
+		escribir(sitemap, "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+				+ "<urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n");
+		for (Entrada entrada : ordenadas) {
+			sitemap.writeBytes(entrada.url());
+		}
+		escribir(sitemap, "</urlset>\n");
+
+		ByteArrayOutputStream rss = new ByteArrayOutputStream();
+		escribir(rss, "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+				+ "<rss version=\"2.0\">\n<channel>\n<title>"
+				+ escapar(titulo) + "</title>\n<link>" + escapar(urlPosts) + "</link>\n<description>"
+				+ escapar(descripcion) + "</description>\n<lastBuildDate>" + fechaRss(ahora) + "</lastBuildDate>\n");
+		int incluidas = 0;
+		for (Entrada entrada : ordenadas) {
+			if (incluidas++ == LIMITE_RSS) {
+				break;
+			}
+			rss.writeBytes(entrada.item());
+		}
+		escribir(rss, "</channel>\n</rss>\n");
+
+		return new Documentos(documento(sitemap.toByteArray(), ahora), documento(rss.toByteArray(), ahora));
+	}
+
+	/**
+	 * Genera los fragmentos XML de una publicación.
+	 */
+	private Entrada entrada(long id, String title, String slug, String metadescripcion, LocalDate fecha) {
+		String url = escapar(urlPosts + (slug != null ? slug : ""));
+
+		StringBuilder sitemap = new StringBuilder("<url><loc>").append(url).append("</loc>");
+		if (fecha != null) {
+			sitemap.append("<lastmod>").append(fecha).append("</lastmod>");
+		}
+		sitemap.append("</url>\n");
+
+		StringBuilder item = new StringBuilder("<item><title>").append(escapar(title)).append("</title><link>")
+				.append(url).append("</link><guid isPermaLink=\"true\">").append(url).append("</guid>");
+		if (metadescripcion != null) {
+			item.append("<description>").append(escapar(metadescripcion)).append("</description>");
+		}
+		if (fecha != null) {
+			item.append("<pubDate>")
+					.append(DateTimeFormatter.RFC_1123_DATE_TIME.format(fecha.atStartOfDay(ZoneOffset.UTC)))
+					.append("</pubDate>");
+		}
+		item.append("</item>\n");
+
+		return new Entrada(id, fecha, sitemap.toString().getBytes(StandardCharsets.UTF_8),
+				item.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static DocumentoFeed documento(byte[] contenido, long ultimaModificacion) {
+		try {
+			byte[] resumen = MessageDigest.getInstance("SHA-256").digest(contenido);
+			String etag = "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(resumen) + "\"";
+			return new DocumentoFeed(contenido, etag, ultimaModificacion);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String fechaRss(long milisegundos) {
+		return DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(milisegundos).atZone(ZoneOffset.UTC));
+	}
+
+	private static void escribir(ByteArrayOutputStream salida, String texto) {
+		salida.writeBytes(texto.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Escapa los caracteres reservados de XML.
+	 */
+	private static String escapar(String texto) {
+		if (texto == null) {
+			return "";
+		}
+		StringBuilder escapado = new StringBuilder(texto.length());
+		for (int i = 0; i < texto.length(); i++) {
+			char c = texto.charAt(i);
+			switch (c) {
+			case '&' -> escapado.append("&amp;");
+			case '<' -> escapado.append("&lt;");
+			case '>' -> escapado.append("&gt;");
+			case '"' -> escapado.append("&quot;");
+			case '\'' -> escapado.append("&apos;");
+			default -> escapado.append(c);
+			}
+		}
+		return escapado.toString();
+	}
+
+}
@@ -0,0 +1,447 @@
+package com.bailaconsarabackend.service.impl;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.bailaconsarabackend.dto.HorarioResponseDTO;
+import com.bailaconsarabackend.dto.SalaAbiertaDto;
+import com.bailaconsarabackend.dto.SalaBaileRequestDTO;
+import com.bailaconsarabackend.dto.SalaCercanaDto;
+import com.bailaconsarabackend.model.Dias;
+import com.bailaconsarabackend.model.GenerosMusicales;
+import com.bailaconsarabackend.model.HorarioSala;
+import com.bailaconsarabackend.model.SalaBaile;
+import com.bailaconsarabackend.repository.HorarioSalaRepository;
+import com.bailaconsarabackend.repository.SalaBaileRepository;
+import com.bailaconsarabackend.service.HorarioSemanalService;
+import com.bailaconsarabackend.util.ArbolIntervalos;
+import com.bailaconsarabackend.util.HorarioMascara;
+import com.bailaconsarabackend.util.RejillaGeografica;
+import com.bailaconsarabackend.util.TextoUtil;
+
+/**
+ * Implementación de la interfaz HorarioSemanalService.
+ *
+ * La instantánea contiene un EnumMap inmutable de día a lista inmutable de
+ * horarios y, para los filtros, arrays paralelos con la máscara de horario y la
+ * localidad normalizada de cada sala, más una rejilla geográfica con los mismos
+ * índices para las búsquedas por proximidad. Las sesiones con hora se indexan
+ * en un árbol de intervalos por día y género para saber qué salas están
+ * abiertas en un momento dado. Se publica en un campo volatile: las
+ * lecturas no bloquean ni consultan la base de datos, y las reconstrucciones se
+ * serializan entre sí y cargan todos los horarios con una sola consulta. Si una
+ * reconstrucción tras un cambio falla, las lecturas siguen sirviendo la
+ * instantánea anterior y una tarea programada la reintenta con espera
+ * exponencial.
+ *
+ * La versión de los ETags es un hash del contenido de las salas y horarios, de
+ * modo que todas las instancias dan el mismo ETag para los mismos datos.
+ */
+@Service
+public class HorarioSemanalServiceImpl implements HorarioSemanalService {
+
+	private static final Logger logger = LoggerFactory.getLogger(HorarioSemanalServiceImpl.class);
+
+	/*
+	 * Lado de las celdas de la rejilla geográfica, unos 11 km de latitud
+	 */
+	private static final double TAMANO_CELDA_GRADOS = 0.1;
+
+	private static final int COMBINACIONES = Dias.values().length * GenerosMusicales.values().length;
+	private static final int MINUTOS_DIA = 24 * 60;
+
+	private static final long REINTENTO_INICIAL_MS = 1000;
+	private static final long REINTENTO_MAXIMO_MS = 60_000;
+
+	private final HorarioSalaRepository horarioSalaRepository;
+	private final SalaBaileRepository salaBaileRepository;
+
+	/*
+	 * Instantánea actual, o null si todavía no se ha construido
+	 */
+	private volatile Instantanea instantanea;
+
+	/*
+	 * Indica que los datos han cambiado pero la reconstrucción ha fallado, así que
+	 * la tarea de reintento vuelve a intentarla
+	 */
+	private volatile boolean obsoleta;
+
+	/*
+	 * Reintentos fallidos seguidos y momento a partir del cual se hace el
+	 * siguiente. Solo se modifican con el monitor de la instancia
+	 */
+	private int reintentos;
+	private volatile long siguienteReintento;
+
+	/**
+	 * Constructor de la clase HorarioSemanalServiceImpl.
+	 *
+	 * @param horarioSalaRepository Repositorio de HorarioSala.
+	 * @param salaBaileRepository   Repositorio de SalaBaile, para incluir en la
+	 *                              versión las salas sin horario.
+	 */
+	public HorarioSemanalServiceImpl(HorarioSalaRepository horarioSalaRepository,
+			SalaBaileRepository salaBaileRepository) {
+		this.horarioSalaRepository = horarioSalaRepository;
+		this.salaBaileRepository = salaBaileRepository;
+	}
+
+	/**
+	 * Obtiene las salas abiertas un día de la semana desde la instantánea. Solo la
+	 * primera llamada, si la instantánea aún no existe, accede a la base de datos.
+	 *
+	 * @param dia el día de la semana
+	 * @return la lista inmutable de horarios del día
+	 */
+	@Override
+	public List<HorarioResponseDTO> getHorarios(Dias dia) {
+		return actual().porDia().get(dia);
+	}
+
+	/**
+	 * Filtra las salas recorriendo las máscaras de la instantánea: cada sala se
+	 * evalúa con un AND entre su máscara y la del filtro, sin joins.
+	 *
+	 * @param localidad la localidad, o null o vacía para todas
+	 * @param dias      los días buscados, o null o vacío para todos
+	 * @param generos   los géneros buscados, o null o vacío para todos
+	 * @return las salas que cumplen el filtro con sus días y géneros
+	 */
+	@Override
+	public List<SalaBaileRequestDTO> filtrarSalas(String localidad, Collection<Dias> dias,
+			Collection<GenerosMusicales> generos) {
+		Instantanea actual = actual();
+		int filtro = HorarioMascara.filtro(dias, generos);
+		String localidadFiltro = TextoUtil.normalizar(localidad);
+		boolean todasLasLocalidades = localidadFiltro.isEmpty();
+
+		int[] mascaras = actual.mascaras();
+		String[] localidades = actual.localidades();
+		List<SalaBaileRequestDTO> resultado = new ArrayList<>();
+		for (int i = 0; i < mascaras.length; i++) {
+			if ((mascaras[i] & filtro) != 0 && (todasLasLocalidades || localidadFiltro.equals(localidades[i]))) {
+				SalaBaileRequestDTO sala = actual.salas().get(i);
+				resultado.add(new SalaBaileRequestDTO(sala.getId(), sala.getNombreSala(), sala.getLocalidad(),
+						sala.getAddress(), HorarioMascara.decodificar(mascaras[i])));
+			}
+		}
+		return resultado;
+	}
+
+	/**
+	 * Busca las salas cercanas en la rejilla geográfica de la instantánea: solo se
+	 * calcula la distancia de las salas de las celdas que cubren el radio, y de
+	 * ellas se descartan con la máscara las que no abren ese día.
+	 *
+	 * @param dia      el día de la semana
+	 * @param latitud  la latitud de la posición, en grados
+	 * @param longitud la longitud de la posición, en grados
+	 * @param radioKm  el radio de búsqueda, en kilómetros
+	 * @return las salas encontradas, de la más cercana a la más lejana
+	 */
+	@Override
+	public List<SalaCercanaDto> buscarCercanas(Dias dia, double latitud, double longitud, double radioKm) {
+		Instantanea actual = actual();
+		int filtroDia = HorarioMascara.filtro(List.of(dia), null);
+		int[] mascaras = actual.mascaras();
+
+		List<SalaCercanaDto> resultado = new ArrayList<>();
+		actual.rejilla().buscar(latitud, longitud, radioKm, (i, distanciaKm) -> {
+			if ((mascaras[i] & filtroDia) != 0) {
+				SalaBaileRequestDTO sala = actual.salas().get(i);
+				resultado.add(new SalaCercanaDto(sala.getId(), sala.getNombreSala(), sala.getLocalidad(),
+						sala.getAddress(), sala.getLatitud(), sala.getLongitud(), distanciaKm,
+						HorarioMascara.decodificar(mascaras[i] & filtroDia).get(0).getGeneros()));
+			}
+		});
+		resultado.sort(Comparator.comparingDouble(SalaCercanaDto::getDistanciaKm));
+		return resultado;
+	}
+
+	/**
+	 * Busca las sesiones en curso un día a una hora en los árboles de intervalos
+	 * de la instantánea. Incluye las sesiones del día anterior que siguen
+	 * abiertas pasada la medianoche.
+	 *
+	 * @param dia    el día de la semana
+	 * @param hora   la hora
+	 * @param genero el género musical, o null para todos
+	 * @return las sesiones en curso
+	 */
+	@Override
+	public List<SalaAbiertaDto> getAbiertas(Dias dia, LocalTime hora, GenerosMusicales genero) {
+		Instantanea actual = actual();
+		int minuto = hora.toSecondOfDay() / 60;
+		List<SalaAbiertaDto> resultado = new ArrayList<>();
+		for (GenerosMusicales g : genero != null ? List.of(genero) : List.of(GenerosMusicales.values())) {
+			actual.arboles()[HorarioMascara.indice(dia, g)].buscar(minuto,
+					sesion -> resultado.add(actual.sesiones().get(sesion)));
+		}
+		return resultado;
+	}
+
+	/**
+	 * Reconstruye la instantánea cuando se confirme la transacción en curso, o
+	 * inmediatamente si no hay ninguna. La versión se publica junto con la
+	 * instantánea, así que un ETag nuevo nunca se sirve con datos antiguos.
+	 */
+	@Override
+	public void invalidar() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					reconstruirTrasCambio();
+				}
+			});
+		} else {
+			reconstruirTrasCambio();
+		}
+	}
+
+	/**
+	 * Devuelve la versión de los datos de las salas, que es el hash de la
+	 * instantánea publicada. Solo la primera llamada, si la instantánea aún no
+	 * existe, accede a la base de datos.
+	 *
+	 * @return la versión actual
+	 */
+	@Override
+	public long getVersion() {
+		return actual().version();
+	}
+
+	/**
+	 * Reintenta en segundo plano la reconstrucción de una instantánea obsoleta.
+	 * Tras cada fallo la espera hasta el siguiente intento se duplica, hasta un
+	 * máximo de un minuto.
+	 */
+	@Scheduled(fixedDelayString = "${salas.horario.reintento.delay:1000}")
+	public void reintentarReconstruccion() {
+		if (!obsoleta || System.currentTimeMillis() < siguienteReintento) {
+			return;
+		}
+		try {
+			reconstruir(true);
+		} catch (RuntimeException e) {
+			long espera = programarReintento();
+			logger.warn("No se ha podido reconstruir el horario semanal obsoleto, se reintentará en {} ms: {}",
+					espera, e.getMessage());
+		}
+	}
+
+	/**
+	 * Reconstruye la instantánea tras un cambio confirmado. Si falla, la
+	 * instantánea y la versión anteriores se siguen sirviendo juntas y se marca
+	 * como obsoleta para que la tarea de reintento lo vuelva a intentar.
+	 */
+	private void reconstruirTrasCambio() {
+		obsoleta = true;
+		try {
+			reconstruir(true);
+		} catch (RuntimeException e) {
+			programarReintento();
+			logger.error("No se ha podido reconstruir el horario semanal, se reintentará en segundo plano", e);
+		}
+	}
+
+	/**
+	 * Cuenta un fallo de reconstrucción y calcula cuándo toca el siguiente
+	 * intento.
+	 *
+	 * @return la espera hasta el siguiente intento, en milisegundos
+	 */
+	private synchronized long programarReintento() {
+		long espera = Math.min(REINTENTO_INICIAL_MS << Math.min(reintentos, 16), REINTENTO_MAXIMO_MS);
+		reintentos++;
+		siguienteReintento = System.currentTimeMillis() + espera;
+		return espera;
+	}
+
+	/**
+	 * Devuelve la instantánea publicada sin bloquear, aunque esté obsoleta. Solo
+	 * si aún no existe ninguna se construye en la propia lectura.
+	 *
+	 * @return la instantánea actual
+	 */
+	private Instantanea actual() {
+		Instantanea actual = instantanea;
+		return actual != null ? actual : reconstruir(false);
+	}
+
+	/**
+	 * Carga todos los horarios y publica una nueva instantánea. Las
+	 * reconstrucciones se serializan para que una lectura antigua no pueda
+	 * sustituir a una más reciente.
+	 *
+	 * @param forzar true para reconstruir aunque ya exista una instantánea
+	 * @return la instantánea publicada
+	 */
+	private synchronized Instantanea reconstruir(boolean forzar) {
+		if (!forzar && instantanea != null) {
+			return instantanea;
+		}
+
+		// Las filas llegan ordenadas por sala, así que el orden de inserción se conserva
+		Map<SalaBaile, Integer> mascarasPorSala = new LinkedHashMap<>();
+		Map<Dias, Map<SalaBaile, List<GenerosMusicales>>> porDia = new EnumMap<>(Dias.class);
+		List<SalaAbiertaDto> sesiones = new ArrayList<>();
+		List<List<int[]>> intervalos = new ArrayList<>(COMBINACIONES);
+		for (int c = 0; c < COMBINACIONES; c++) {
+			intervalos.add(new ArrayList<>());
+		}
+		long hash = 17;
+		for (SalaBaile sala : salaBaileRepository.findAll(Sort.by("id"))) {
+			hash = mezclar(hash, sala.getId(), sala.getNombreSala(), sala.getLocalidad(), sala.getAddress(),
+					sala.getLatitud(), sala.getLongitud());
+		}
+		for (HorarioSala horario : horarioSalaRepository.findAllConSalaDiaYGenero()) {
+			Dias dia = horario.getDiaApertura().getDia();
+			GenerosMusicales genero = horario.getGeneroMusical().getGenero();
+			hash = mezclar(hash, horario.getSalaBaile().getId(), horario.getId(), dia.name(), genero.name(),
+					horario.getHoraInicio(), horario.getHoraFin());
+			if (horario.getHoraInicio() != null && horario.getHoraFin() != null) {
+				indexarSesion(horario, dia, genero, sesiones, intervalos);
+			}
+			porDia.computeIfAbsent(dia, clave -> new LinkedHashMap<>())
+					.computeIfAbsent(horario.getSalaBaile(), sala -> new ArrayList<>()).add(genero);
+			mascarasPorSala.merge(horario.getSalaBaile(), HorarioMascara.bit(dia, genero), (a, b) -> a | b);
+		}
+
+		Map<Dias, List<HorarioResponseDTO>> horariosPorDia = new EnumMap<>(Dias.class);
+		for (Dias dia : Dias.values()) {
+			List<HorarioResponseDTO> delDia = new ArrayList<>();
+			for (Map.Entry<SalaBaile, List<GenerosMusicales>> entry : porDia.getOrDefault(dia, Map.of()).entrySet()) {
+				SalaBaile sala = entry.getKey();
+				List<GenerosMusicales> generos = new ArrayList<>(entry.getValue());
+				generos.sort(Comparator.naturalOrder());
+				delDia.add(new HorarioResponseDTO(sala.getId(), sala.getNombreSala(), sala.getLocalidad(),
+						sala.getAddress(), dia, List.copyOf(generos)));
+			}
+			horariosPorDia.put(dia, List.copyOf(delDia));
+		}
+
+		int total = mascarasPorSala.size();
+		int[] mascaras = new int[total];
+		String[] localidades = new String[total];
+		double[] latitudes = new double[total];
+		double[] longitudes = new double[total];
+		List<SalaBaileRequestDTO> salas = new ArrayList<>(total);
+		int i = 0;
+		for (Map.Entry<SalaBaile, Integer> entry : mascarasPorSala.entrySet()) {
+			SalaBaile sala = entry.getKey();
+			mascaras[i] = entry.getValue();
+			localidades[i] = TextoUtil.normalizar(sala.getLocalidad());
+			latitudes[i] = sala.getLatitud() != null ? sala.getLatitud() : Double.NaN;
+			longitudes[i] = sala.getLongitud() != null ? sala.getLongitud() : Double.NaN;
+			SalaBaileRequestDTO datosSala = new SalaBaileRequestDTO(sala.getId(), sala.getNombreSala(),
+					sala.getLocalidad(), sala.getAddress(), null);
+			datosSala.setLatitud(sala.getLatitud());
+			datosSala.setLongitud(sala.getLongitud());
+			salas.add(datosSala);
+			i++;
+		}
+
+		ArbolIntervalos[] arboles = new ArbolIntervalos[COMBINACIONES];
+		for (int c = 0; c < COMBINACIONES; c++) {
+			List<int[]> delArbol = intervalos.get(c);
+			arboles[c] = new ArbolIntervalos(delArbol.stream().mapToInt(intervalo -> intervalo[0]).toArray(),
+					delArbol.stream().mapToInt(intervalo -> intervalo[1]).toArray(),
+					delArbol.stream().mapToInt(intervalo -> intervalo[2]).toArray());
+		}
+
+		instantanea = new Instantanea(Collections.unmodifiableMap(horariosPorDia), mascaras, localidades,
+				List.copyOf(salas), new RejillaGeografica(latitudes, longitudes, TAMANO_CELDA_GRADOS),
+				List.copyOf(sesiones), arboles, hash & Long.MAX_VALUE);
+		obsoleta = false;
+		reintentos = 0;
+		siguienteReintento = 0;
+		logger.info("Horario semanal de salas reconstruido: {} salas con horario, {} sesiones con hora", total,
+				sesiones.size());
+		return instantanea;
+	}
+
+	/**
+	 * Combina en el hash de la instantánea los valores de una fila. Solo se usan
+	 * hashes deterministas (textos, números, horas y nombres de enumerados), para
+	 * que todas las instancias calculen el mismo.
+	 *
+	 * @param hash    el hash acumulado
+	 * @param valores los valores de la fila
+	 * @return el hash actualizado
+	 */
+	private static long mezclar(long hash, Object... valores) {
+		for (Object valor : valores) {
+			hash = hash * 1_000_003 + Objects.hashCode(valor);
+		}
+		return hash;
+	}
+
+	/**
+	 * Añade una sesión con hora a la lista de sesiones y sus intervalos, en
+	 * minutos del día, al árbol de su día y género. Si la sesión pasa de la
+	 * medianoche, la parte posterior se añade al árbol del día siguiente.
+	 *
+	 * @param horario    el horario de la sesión
+	 * @param dia        el día en que empieza la sesión
+	 * @param genero     el género de la sesión
+	 * @param sesiones   las sesiones indexadas
+	 * @param intervalos los intervalos de cada árbol como {inicio, fin, sesión}
+	 */
+	private void indexarSesion(HorarioSala horario, Dias dia, GenerosMusicales genero, List<SalaAbiertaDto> sesiones,
+			List<List<int[]>> intervalos) {
+		SalaBaile sala = horario.getSalaBaile();
+		int sesion = sesiones.size();
+		sesiones.add(new SalaAbiertaDto(sala.getId(), sala.getNombreSala(), sala.getLocalidad(), sala.getAddress(),
+				dia, genero, horario.getHoraInicio(), horario.getHoraFin()));
+
+		int inicio = horario.getHoraInicio().toSecondOfDay() / 60;
+		int fin = horario.getHoraFin().toSecondOfDay() / 60;
+		if (fin > inicio) {
+			intervalos.get(HorarioMascara.indice(dia, genero)).add(new int[] { inicio, fin, sesion });
+		} else {
+			intervalos.get(HorarioMascara.indice(dia, genero)).add(new int[] { inicio, MINUTOS_DIA, sesion });
+			if (fin > 0) {
+				Dias siguiente = Dias.values()[(dia.ordinal() + 1) % Dias.values().length];
+				intervalos.get(HorarioMascara.indice(siguiente, genero)).add(new int[] { 0, fin, sesion });
+			}
+		}
+	}
+
+	/**
+	 * Instantánea inmutable del horario semanal. Los arrays no se modifican una
+	 * vez publicada.
+	 *
+	 * @param porDia      los horarios de cada día
+	 * @param mascaras    la máscara de horario de cada sala
+	 * @param localidades la localidad normalizada de cada sala
+	 * @param salas       los datos de cada sala, en el mismo orden que los arrays
+	 * @param rejilla     el índice geográfico de las salas, con los mismos índices
+	 * @param sesiones    las sesiones con hora de inicio y de fin
+	 * @param arboles     un árbol de intervalos por combinación de día y género,
+	 *                    en minutos del día y con el índice de la sesión
+	 * @param version     el hash del contenido de las salas y horarios
+	 */
+	private record Instantanea(Map<Dias, List<HorarioResponseDTO>> porDia, int[] mascaras, String[] localidades,
+			List<SalaBaileRequestDTO> salas, RejillaGeografica rejilla, List<SalaAbiertaDto> sesiones,
+			ArbolIntervalos[] arboles, long version) {
+	}
+
+}
@@ -0,0 +1,230 @@
+package com.bailaconsarabackend.service.impl;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.bailaconsarabackend.model.Post;
+import com.bailaconsarabackend.service.ImagenesPostService;
+import com.bailaconsarabackend.service.StorageService;
+import com.bailaconsarabackend.util.EscaladorImagenes;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Implementación de la interfaz ImagenesPostService.
+ *
+ * Las imágenes se decodifican, reducen y codifican en un grupo de hilos de
+ * tamaño fijo con una cola acotada, así que el número de imágenes grandes en
+ * memoria a la vez está limitado aunque se suban muchas portadas a la vez. Si
+ * la cola está llena, el post se guarda solo con el original. Las variantes
+ * codificadas se almacenan después con el StorageService desde el hilo de la
+ * petición.
+ */
+@Service
+public class ImagenesPostServiceImpl implements ImagenesPostService {
+
+	private static final Logger logger = LoggerFactory.getLogger(ImagenesPostServiceImpl.class);
+
+	private static final int LADO_MINIATURA = 300;
+	private static final float CALIDAD_JPEG = 0.82f;
+	private static final int TAMANO_COLA = 16;
+	private static final long SEGUNDOS_ESPERA = 60;
+
+	private final StorageService storageService;
+	private final int[] anchos;
+	private final ThreadPoolExecutor executor;
+
+	/**
+	 * Variante ya codificada, pendiente de almacenar.
+	 *
+	 * @param sufijo el sufijo que se añade al nombre del original
+	 * @param ancho  el ancho de la variante, o 0 para la miniatura
+	 * @param datos  el contenido del fichero
+	 */
+	private record Variante(String sufijo, int ancho, byte[] datos) {
+	}
+
+	/**
+	 * Constructor de la clase ImagenesPostServiceImpl.
+	 *
+	 * @param storageService el servicio encargado del almacenamiento de archivos
+	 * @param anchos         los anchos de las variantes que se generan
+	 * @param hilos          el número de hilos que procesan imágenes
+	 */
+	public ImagenesPostServiceImpl(StorageService storageService,
+			@Value("${posts.imagenes.anchos:320,640,1024,1600}") int[] anchos,
+			@Value("${posts.imagenes.hilos:2}") int hilos) {
+		this.storageService = storageService;
+		this.anchos = anchos.clone();
+		Arrays.sort(this.anchos);
+		AtomicInteger contador = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(hilos, hilos, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(TAMANO_COLA), tarea -> {
+					Thread hilo = new Thread(tarea, "imagenes-post-" + contador.incrementAndGet());
+					hilo.setDaemon(true);
+					return hilo;
+				});
+	}
+
+	/**
+	 * Genera en el grupo de hilos las versiones por ancho más estrechas que el
+	 * original y una miniatura, y las almacena con el nombre del original más un
+	 * sufijo: "-640w.jpg", "-miniatura.jpg". Las imágenes con transparencia se
+	 * guardan en PNG.
+	 *
+	 * @param imagen        la imagen subida
+	 * @param nombrePortada el nombre con el que se ha almacenado el original
+	 * @return las URLs de las variantes almacenadas
+	 */
+	@Override
+	public VariantesImagen generarVariantes(MultipartFile imagen, String nombrePortada) {
+		String nombre = StringUtils.cleanPath(nombrePortada);
+		String base = StringUtils.stripFilenameExtension(nombre);
+
+		List<Variante> variantes;
+		Future<List<Variante>> futuro = null;
+		try {
+			byte[] datos = imagen.getBytes();
+			futuro = executor.submit(() -> procesar(datos));
+			variantes = futuro.get(SEGUNDOS_ESPERA, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			futuro.cancel(true);
+			Thread.currentThread().interrupt();
+			return new VariantesImagen(null, null);
+		} catch (RejectedExecutionException e) {
+			logger.warn("Cola de imágenes llena, se guarda {} sin variantes", nombre);
+			return new VariantesImagen(null, null);
+		} catch (TimeoutException e) {
+			// Se interrumpe la tarea para liberar el hilo; la tarea lo comprueba entre variantes
+			futuro.cancel(true);
+			logger.warn("Se ha agotado el tiempo para generar las variantes de {}", nombre);
+			return new VariantesImagen(null, null);
+		} catch (IOException | ExecutionException e) {
+			logger.warn("No se han podido generar las variantes de {}", nombre, e);
+			return new VariantesImagen(null, null);
+		}
+
+		StringBuilder srcset = new StringBuilder();
+		String miniatura = null;
+		try {
+			for (Variante variante : variantes) {
+				String url = storageService.store(base + variante.sufijo(), variante.datos());
+				if (variante.ancho() == 0) {
+					miniatura = url;
+				} else {
+					if (srcset.length() > 0) {
+						srcset.append(", ");
+					}
+					srcset.append(url).append(' ').append(variante.ancho()).append('w');
+				}
+			}
+		} catch (IOException e) {
+			logger.warn("No se han podido almacenar las variantes de {}", nombre, e);
+			return new VariantesImagen(null, null);
+		}
+		logger.info("Generadas {} variantes de {}", variantes.size(), nombre);
+		return new VariantesImagen(srcset.length() > 0 ? srcset.toString() : null, miniatura);
+	}
+
+	/**
+	 * Elimina las variantes de la portada de un post. Un fallo al eliminar una
+	 * variante se registra y no impide eliminar las demás.
+	 *
+	 * @param post el post
+	 */
+	@Override
+	public void eliminarVariantes(Post post) {
+		List<String> urls = new ArrayList<>();
+		if (post.getSrcsetportada() != null) {
+			for (String candidato : post.getSrcsetportada().split(",")) {
+				String url = candidato.trim().split(" ")[0];
+				if (!url.isEmpty()) {
+					urls.add(url);
+				}
+			}
+		}
+		if (post.getMiniaturaportada() != null) {
+			urls.add(post.getMiniaturaportada());
+		}
+
+		for (String url : urls) {
+			try {
+				storageService.deleteImage(Paths.get(URI.create(url).getPath()).getFileName().toString());
+			} catch (RuntimeException e) {
+				logger.warn("No se ha podido eliminar la variante {}", url, e);
+			}
+		}
+	}
+
+	/**
+	 * Detiene el grupo de hilos al cerrar la aplicación.
+	 */
+	@PreDestroy
+	public void detener() {
+		executor.shutdown();
+	}
+
+	/**
+	 * Decodifica la imagen y codifica sus variantes. Se ejecuta en el grupo de
+	 * hilos.
+	 *
+	 * @param datos el contenido de la imagen original
+	 * @return las variantes codificadas, vacía si el formato no se reconoce
+	 * @throws IOException si la imagen está dañada o la tarea se ha cancelado
+	 */
+	private List<Variante> procesar(byte[] datos) throws IOException {
+		BufferedImage original = EscaladorImagenes.leer(datos, anchos[anchos.length - 1]);
+		if (original == null) {
+			return List.of();
+		}
+		String extension = EscaladorImagenes.tieneTransparencia(original) ? ".png" : ".jpg";
+
+		List<Variante> variantes = new ArrayList<>();
+		for (int ancho : anchos) {
+			comprobarInterrupcion();
+			if (ancho < original.getWidth()) {
+				byte[] codificada = EscaladorImagenes.codificar(EscaladorImagenes.escalar(original, ancho), CALIDAD_JPEG);
+				variantes.add(new Variante("-" + ancho + "w" + extension, ancho, codificada));
+			}
+		}
+		comprobarInterrupcion();
+		byte[] miniatura = EscaladorImagenes.codificar(EscaladorImagenes.miniatura(original, LADO_MINIATURA),
+				CALIDAD_JPEG);
+		variantes.add(new Variante("-miniatura" + extension, 0, miniatura));
+		return variantes;
+	}
+
+	/**
+	 * Abandona la tarea si se ha cancelado por tiempo, para no seguir ocupando el
+	 * hilo con variantes que ya nadie espera.
+	 *
+	 * @throws InterruptedIOException si el hilo se ha interrumpido
+	 */
+	private static void comprobarInterrupcion() throws InterruptedIOException {
+		if (Thread.currentThread().isInterrupted()) {
+			throw new InterruptedIOException("Generación de variantes cancelada");
+		}
+	}
+
+}
@@ -0,0 +1,304 @@
+package com.bailaconsarabackend.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.bailaconsarabackend.dto.BasicResponseDto;
+import com.bailaconsarabackend.dto.ImportacionAsistentesDto;
+import com.bailaconsarabackend.event.NotificarParejasImportadasEvent;
+import com.bailaconsarabackend.exception.TallerNotFoundException;
+import com.bailaconsarabackend.model.ParejaTaller;
+import com.bailaconsarabackend.model.Taller;
+import com.bailaconsarabackend.model.User;
+import com.bailaconsarabackend.model.UserTallerEstado;
+import com.bailaconsarabackend.model.User_Taller;
+import com.bailaconsarabackend.repository.TallerRepository;
+import com.bailaconsarabackend.repository.UserRepository;
+import com.bailaconsarabackend.repository.User_TallerRepository;
+import com.bailaconsarabackend.service.EventoInscripcionService;
+import com.bailaconsarabackend.service.ImportacionAsistentesService;
+import com.bailaconsarabackend.service.ListaEsperaService;
+import com.bailaconsarabackend.util.ApplicationUrlUtil;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.transaction.Transactional;
+
+/**
+ * Implementación de la interfaz ImportacionAsistentesService.
+ *
+ * La importación hace un número fijo de consultas independientemente del
+ * tamaño del fichero: una consulta IN para resolver los usuarios, otra para las
+ * inscripciones existentes, inserciones por lotes JDBC de las inscripciones y
+ * de las parejas, y una relectura de las inscripciones del taller. Las parejas
+ * se forman en una sola pasada que empareja por orden de inscripción a los
+ * líderes y followers en espera, igual que haría la inscripción individual.
+ */
+@Service
+public class ImportacionAsistentesServiceImpl implements ImportacionAsistentesService {
+
+	private static final Logger logger = LoggerFactory.getLogger(ImportacionAsistentesServiceImpl.class);
+
+	private static final int TAMANO_LOTE = 500;
+	private static final Pattern SEPARADOR = Pattern.compile("[,;]");
+
+	private static final String INSERT_USER_TALLER = "INSERT INTO user_taller (user_id, taller_id, user_taller_estado) "
+			+ "VALUES (?, ?, ?)";
+	private static final String INSERT_PAREJA = "INSERT INTO parejas_taller (taller_id, lider_id, follower_id) "
+			+ "VALUES (?, ?, ?)";
+
+	private final UserRepository userRepository;
+	private final TallerRepository tallerRepository;
+	private final User_TallerRepository user_tallerRepository;
+	private final ListaEsperaService listaEsperaService;
+	private final EventoInscripcionService eventoInscripcionService;
+	private final ApplicationEventPublisher eventPublisher;
+	private final ApplicationUrlUtil applicationUrlUtil;
+	private final JdbcTemplate jdbcTemplate;
+
+	/**
+	 * Constructor de la clase ImportacionAsistentesServiceImpl.
+	 *
+	 * @param userRepository           Repositorio de usuarios.
+	 * @param tallerRepository         Repositorio de talleres.
+	 * @param user_tallerRepository    Repositorio de relaciones entre usuarios y
+	 *                                 talleres.
+	 * @param listaEsperaService       Servicio de listas de espera de los
+	 *                                 talleres.
+	 * @param eventoInscripcionService Servicio del historial de inscripciones.
+	 * @param eventPublisher           Publicador de eventos de la aplicación.
+	 * @param applicationUrlUtil       Utilidad para obtener la URL de la
+	 *                                 aplicación.
+	 * @param jdbcTemplate             Plantilla JDBC para las inserciones por
+	 *                                 lotes.
+	 */
+	public ImportacionAsistentesServiceImpl(UserRepository userRepository, TallerRepository tallerRepository,
+			User_TallerRepository user_tallerRepository, ListaEsperaService listaEsperaService,
+			EventoInscripcionService eventoInscripcionService, ApplicationEventPublisher eventPublisher,
+			ApplicationUrlUtil applicationUrlUtil, JdbcTemplate jdbcTemplate) {
+		this.userRepository = userRepository;
+		this.tallerRepository = tallerRepository;
+		this.user_tallerRepository = user_tallerRepository;
+		this.listaEsperaService = listaEsperaService;
+		this.eventoInscripcionService = eventoInscripcionService;
+		this.eventPublisher = eventPublisher;
+		this.applicationUrlUtil = applicationUrlUtil;
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	/**
+	 * Importa los asistentes de un taller a partir de un CSV con las columnas
+	 * email y rol. Las filas con errores se descartan y se informan en la
+	 * respuesta sin detener la importación del resto.
+	 *
+	 * @param tallerId       el ID del taller
+	 * @param csv            el contenido del CSV
+	 * @param servletRequest la solicitud HTTP
+	 * @return ResponseEntity con un BasicResponseDto cuyo campo data es el
+	 *         resumen de la importación
+	 * @throws TallerNotFoundException si el taller no existe
+	 * @throws IOException             si no se puede leer el CSV
+	 */
+	@Transactional
+	@Override
+	public ResponseEntity<BasicResponseDto> importarAsistentes(Long tallerId, InputStream csv,
+			HttpServletRequest servletRequest) throws TallerNotFoundException, IOException {
+		Taller taller = tallerRepository.findById(tallerId)
+				.orElseThrow(() -> new TallerNotFoundException("No se ha encontrado el taller con ID: " + tallerId));
+		List<String> errores = new ArrayList<>();
+		Map<String, String> filas = leerCsv(csv, errores);
+		int filasLeidas = filas.size() + errores.size();
+
+		// Una sola consulta para todos los usuarios y otra para los ya inscritos
+		Map<String, User> usuarios = new HashMap<>();
+		if (!filas.isEmpty()) {
+			for (User user : userRepository.findByEmailIn(filas.keySet())) {
+				usuarios.put(user.getEmail().toLowerCase(Locale.ROOT), user);
+			}
+		}
+		Set<Long> inscritos = new HashSet<>();
+		for (User_Taller userTaller : user_tallerRepository.findByTallerId(tallerId)) {
+			inscritos.add(userTaller.getUser().getId());
+		}
+
+		Set<Long> nuevosUsuarios = new HashSet<>();
+		List<Object[]> nuevasInscripciones = new ArrayList<>();
+		for (Map.Entry<String, String> fila : filas.entrySet()) {
+			User user = usuarios.get(fila.getKey());
+			if (user == null) {
+				errores.add(fila.getKey() + ": no hay ningún usuario registrado con este email");
+				continue;
+			}
+			if (!inscritos.add(user.getId())) {
+				errores.add(fila.getKey() + ": el usuario ya está inscrito en el evento");
+				continue;
+			}
+
+			String rol = fila.getValue().isEmpty() ? user.getBailerol() : fila.getValue();
+			UserTallerEstado estado = estadoInicial(rol);
+			if (estado == null) {
+				errores.add(fila.getKey() + ": el rol debe ser lider o follower");
+				inscritos.remove(user.getId());
+				continue;
+			}
+			nuevosUsuarios.add(user.getId());
+			nuevasInscripciones.add(new Object[] { user.getId(), tallerId, estado.ordinal() });
+		}
+
+		List<ParejaTaller> parejas = new ArrayList<>();
+		if (!nuevasInscripciones.isEmpty()) {
+			jdbcTemplate.batchUpdate(INSERT_USER_TALLER, nuevasInscripciones, TAMANO_LOTE, (ps, valores) -> {
+				ps.setLong(1, (Long) valores[0]);
+				ps.setLong(2, (Long) valores[1]);
+				ps.setInt(3, (Integer) valores[2]);
+			});
+
+			List<User_Taller> inscripciones = user_tallerRepository.findByTallerIdOrderByIdAsc(tallerId);
+			eventoInscripcionService.registrarInscripciones(inscripciones.stream()
+					.filter(userTaller -> nuevosUsuarios.contains(userTaller.getUser().getId())).toList());
+
+			parejas = emparejar(taller, inscripciones);
+			if (!parejas.isEmpty()) {
+				jdbcTemplate.batchUpdate(INSERT_PAREJA, parejas, TAMANO_LOTE, (ps, pareja) -> {
+					ps.setLong(1, tallerId);
+					ps.setLong(2, pareja.getLider().getId());
+					ps.setLong(3, pareja.getFollower().getId());
+				});
+				eventoInscripcionService.registrarParejas(parejas);
+				eventPublisher.publishEvent(new NotificarParejasImportadasEvent(parejas,
+						applicationUrlUtil.applicationUrl(servletRequest)));
+			}
+			listaEsperaService.invalidar(tallerId);
+		}
+
+		logger.info("Importados {} asistentes al taller {} con {} parejas nuevas", nuevasInscripciones.size(),
+				tallerId, parejas.size());
+
+		ImportacionAsistentesDto resumen = new ImportacionAsistentesDto(tallerId, filasLeidas,
+				nuevasInscripciones.size(), parejas.size(), errores);
+		BasicResponseDto response = new BasicResponseDto(HttpStatus.OK, nuevasInscripciones.size()
+				+ " asistentes inscritos y " + parejas.size() + " parejas formadas", resumen);
+		return new ResponseEntity<>(response, response.getStatus());
+	}
+
+	/**
+	 * Forma las parejas de un taller en una sola pasada. Los líderes y followers
+	 * sin pareja se recorren por orden de inscripción y se emparejan de dos en
+	 * dos.
+	 *
+	 * @param taller       el taller
+	 * @param inscripciones las inscripciones del taller ordenadas por ID
+	 * @return las parejas nuevas, aún sin guardar
+	 */
+	private List<ParejaTaller> emparejar(Taller taller, List<User_Taller> inscripciones) {
+		Deque<User_Taller> lideres = new ArrayDeque<>();
+		Deque<User_Taller> followers = new ArrayDeque<>();
+		for (User_Taller userTaller : inscripciones) {
+			UserTallerEstado estado = userTaller.getUserTallerEstado();
+			if (estado == UserTallerEstado.LIDERWAITING) {
+				lideres.add(userTaller);
+			} else if (estado == UserTallerEstado.FOLLOWERWAITING) {
+				followers.add(userTaller);
+			}
+		}
+
+		List<ParejaTaller> parejas = new ArrayList<>(Math.min(lideres.size(), followers.size()));
+		while (!lideres.isEmpty() && !followers.isEmpty()) {
+			parejas.add(new ParejaTaller(taller, lideres.poll(), followers.poll()));
+		}
+		return parejas;
+	}
+
+	/**
+	 * Lee las filas del CSV. Acepta coma o punto y coma como separador, ignora la
+	 * cabecera y las líneas vacías, y registra como error las filas sin email o
+	 * con un email repetido.
+	 *
+	 * @param csv     el contenido del CSV
+	 * @param errores la lista a la que se añaden los errores de formato
+	 * @return el rol indicado para cada email en minúsculas, en el orden del
+	 *         fichero
+	 * @throws IOException si no se puede leer el CSV
+	 */
+	private Map<String, String> leerCsv(InputStream csv, List<String> errores) throws IOException {
+		Map<String, String> filas = new LinkedHashMap<>();
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+			String linea;
+			int numeroLinea = 0;
+			while ((linea = reader.readLine()) != null) {
+				numeroLinea++;
+				if (numeroLinea == 1 && linea.startsWith("\uFEFF")) {
+					linea = linea.substring(1);
+				}
+				if (linea.isBlank()) {
+					continue;
+				}
+
+				String[] columnas = SEPARADOR.split(linea, -1);
+				String email = limpiar(columnas[0]).toLowerCase(Locale.ROOT);
+				String rol = columnas.length > 1 ? limpiar(columnas[1]).toLowerCase(Locale.ROOT) : "";
+				if (numeroLinea == 1 && email.equals("email")) {
+					continue;
+				}
+				if (email.isEmpty() || !email.contains("@")) {
+					errores.add("Línea " + numeroLinea + ": email no válido");
+				} else if (filas.putIfAbsent(email, rol) != null) {
+					errores.add("Línea " + numeroLinea + ": el email " + email + " está repetido");
+				}
+			}
+		}
+		return filas;
+	}
+
+	/**
+	 * Quita los espacios y las comillas de un valor del CSV.
+	 *
+	 * @param valor el valor leído
+	 * @return el valor limpio
+	 */
+	private String limpiar(String valor) {
+		String limpio = valor.trim();
+		if (limpio.length() >= 2 && limpio.startsWith("\"") && limpio.endsWith("\"")) {
+			limpio = limpio.substring(1, limpio.length() - 1).trim();
+		}
+		return limpio;
+	}
+
+	/**
+	 * Obtiene el estado inicial de una inscripción a partir del rol.
+	 *
+	 * @param rol el rol de baile
+	 * @return LIDERWAITING o FOLLOWERWAITING, o null si el rol no es válido
+	 */
+	private UserTallerEstado estadoInicial(String rol) {
+		if ("lider".equalsIgnoreCase(rol)) {
+			return UserTallerEstado.LIDERWAITING;
+		}
+		if ("follower".equalsIgnoreCase(rol)) {
+			return UserTallerEstado.FOLLOWERWAITING;
+		}
+		return null;
+	}
+
+}
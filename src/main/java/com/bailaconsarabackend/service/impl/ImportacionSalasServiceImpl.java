@@ -0,0 +1,520 @@
+package com.bailaconsarabackend.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bailaconsarabackend.dto.BasicResponseDto;
+import com.bailaconsarabackend.dto.DiaGeneroDTO;
+import com.bailaconsarabackend.dto.ImportacionSalasDto;
+import com.bailaconsarabackend.dto.SalaBaileRequestDTO;
+import com.bailaconsarabackend.model.DiaApertura;
+import com.bailaconsarabackend.model.Dias;
+import com.bailaconsarabackend.model.GenerosMusicales;
+import com.bailaconsarabackend.model.HorarioSala;
+import com.bailaconsarabackend.model.SalaBaile;
+import com.bailaconsarabackend.service.HorarioSemanalService;
+import com.bailaconsarabackend.service.ImportacionSalasService;
+import com.bailaconsarabackend.service.ReferenciasHorarioService;
+import com.bailaconsarabackend.util.HorarioMascara;
+import com.bailaconsarabackend.util.ValidadorSala;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+
+/**
+ * Implementación del servicio de importación masiva de salas de baile. El
+ * fichero se lee en streaming, fila a fila, y las salas válidas se acumulan en
+ * lotes de TAMANO_LOTE. Cada lote se guarda en su propia transacción: las salas
+ * con un único INSERT por lotes de JDBC y sus horarios con el batching de
+ * Hibernate, así que la memoria usada no depende del tamaño del fichero y un
+ * lote fallido no deshace los anteriores.
+ */
+@Service
+public class ImportacionSalasServiceImpl implements ImportacionSalasService {
+
+	private static final Logger logger = LoggerFactory.getLogger(ImportacionSalasServiceImpl.class);
+
+	/*
+	 * Número de salas que se guardan en cada transacción
+	 */
+	private static final int TAMANO_LOTE = 200;
+
+	private static final Pattern SEPARADOR = Pattern.compile(";");
+	private static final Pattern SEPARADOR_GENEROS = Pattern.compile("\\|");
+
+	private static final String INSERT_SALA = "INSERT INTO salas (nombre_sala, localidad, address, latitud, longitud) "
+			+ "VALUES (?, ?, ?, ?, ?)";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final EntityManager entityManager;
+	private final ObjectMapper objectMapper;
+	private final ReferenciasHorarioService referenciasHorarioService;
+	private final HorarioSemanalService horarioSemanalService;
+
+	/**
+	 * Constructor para la clase ImportacionSalasServiceImpl
+	 *
+	 * @param jdbcTemplate              Plantilla JDBC para las inserciones por
+	 *                                  lotes
+	 * @param transactionManager        Gestor de transacciones, una por lote
+	 * @param entityManager             EntityManager con el que se guardan los
+	 *                                  horarios
+	 * @param objectMapper              ObjectMapper para leer el JSON
+	 * @param referenciasHorarioService Servicio de los días y géneros en memoria
+	 * @param horarioSemanalService     Servicio del horario semanal en memoria
+	 */
+	public ImportacionSalasServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+			EntityManager entityManager, ObjectMapper objectMapper,
+			ReferenciasHorarioService referenciasHorarioService, HorarioSemanalService horarioSemanalService) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.entityManager = entityManager;
+		this.objectMapper = objectMapper;
+		this.referenciasHorarioService = referenciasHorarioService;
+		this.horarioSemanalService = horarioSemanalService;
+	}
+
+	/**
+	 * Importa las salas de un fichero CSV. Ignora la cabecera y las líneas
+	 * vacías. Una fila con errores se descarta sin descartar el resto de la sala;
+	 * una sala con errores de sala se descarta entera.
+	 *
+	 * @param csv el contenido del CSV
+	 * @return ResponseEntity con el resumen de la importación y los errores por
+	 *         fila
+	 * @throws IOException si no se puede leer el fichero
+	 */
+	@Override
+	public ResponseEntity<BasicResponseDto> importarCsv(InputStream csv) throws IOException {
+		Importacion importacion = new Importacion();
+		BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+
+		SalaPendiente actual = null;
+		String linea;
+		int numeroLinea = 0;
+		while ((linea = reader.readLine()) != null) {
+			numeroLinea++;
+			if (numeroLinea == 1 && linea.startsWith("\uFEFF")) {
+				linea = linea.substring(1);
+			}
+			if (linea.isBlank()) {
+				continue;
+			}
+			String[] columnas = SEPARADOR.split(linea, -1);
+			if (numeroLinea == 1 && columnas[0].trim().equalsIgnoreCase("nombreSala")) {
+				continue;
+			}
+			importacion.filasLeidas++;
+
+			SalaBaileRequestDTO sala;
+			DiaGeneroDTO diaGenero;
+			try {
+				sala = leerSala(columnas);
+				diaGenero = leerDiaGenero(columnas);
+			} catch (IllegalArgumentException e) {
+				importacion.errores.add("Línea " + numeroLinea + ": " + e.getMessage());
+				continue;
+			}
+
+			if (actual != null && actual.esMismaSala(sala)) {
+				actual.anadirLinea(numeroLinea, diaGenero);
+				continue;
+			}
+			if (actual != null) {
+				importacion.anadir(actual);
+			}
+			try {
+				ValidadorSala.validarCoordenadas(sala.getLatitud(), sala.getLongitud());
+				actual = new SalaPendiente(sala, numeroLinea);
+				actual.anadirLinea(numeroLinea, diaGenero);
+			} catch (IllegalArgumentException e) {
+				importacion.errores.add("Línea " + numeroLinea + ": " + e.getMessage());
+				actual = null;
+			}
+		}
+		if (actual != null) {
+			importacion.anadir(actual);
+		}
+		return terminar(importacion);
+	}
+
+	/**
+	 * Importa las salas de un fichero JSON. El array se recorre elemento a
+	 * elemento sin cargarlo entero en memoria. Si el JSON está mal formado se
+	 * guardan las salas leídas hasta ese punto y se informa del error.
+	 *
+	 * @param json el contenido del JSON
+	 * @return ResponseEntity con el resumen de la importación y los errores por
+	 *         elemento
+	 * @throws IOException si no se puede leer el fichero
+	 */
+	@Override
+	public ResponseEntity<BasicResponseDto> importarJson(InputStream json) throws IOException {
+		Importacion importacion = new Importacion();
+
+		try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+			int elemento = 0;
+			try {
+				if (parser.nextToken() != JsonToken.START_ARRAY) {
+					BasicResponseDto response = new BasicResponseDto(HttpStatus.BAD_REQUEST,
+							"El JSON debe contener un array de salas", null);
+					return new ResponseEntity<>(response, response.getStatus());
+				}
+				JsonToken token;
+				while ((token = parser.nextToken()) != null && token != JsonToken.END_ARRAY) {
+					elemento++;
+					importacion.filasLeidas++;
+					JsonNode nodo = parser.readValueAsTree();
+					try {
+						SalaBaileRequestDTO sala = objectMapper.treeToValue(nodo, SalaBaileRequestDTO.class);
+						importacion.anadir(validarSala(sala, "Elemento " + elemento));
+					} catch (JsonProcessingException e) {
+						importacion.errores.add("Elemento " + elemento + ": " + e.getOriginalMessage());
+					} catch (IllegalArgumentException e) {
+						importacion.errores.add("Elemento " + elemento + ": " + e.getMessage());
+					}
+				}
+			} catch (JsonParseException e) {
+				importacion.errores.add("JSON mal formado a partir del elemento " + Math.max(elemento, 1) + ": "
+						+ e.getOriginalMessage());
+			}
+		}
+		return terminar(importacion);
+	}
+
+	/**
+	 * Guarda el último lote, refresca el horario semanal si se ha creado alguna
+	 * sala y construye la respuesta.
+	 *
+	 * @param importacion el estado de la importación
+	 * @return ResponseEntity con el resumen de la importación
+	 */
+	private ResponseEntity<BasicResponseDto> terminar(Importacion importacion) {
+		importacion.guardarLote();
+		if (importacion.salasCreadas > 0) {
+			horarioSemanalService.invalidar();
+		}
+
+		logger.info("Importadas {} salas con {} horarios de {} filas, {} errores", importacion.salasCreadas,
+				importacion.horariosCreados, importacion.filasLeidas, importacion.errores.size());
+
+		ImportacionSalasDto resumen = new ImportacionSalasDto(importacion.filasLeidas, importacion.salasCreadas,
+				importacion.horariosCreados, importacion.errores);
+		BasicResponseDto response = new BasicResponseDto(HttpStatus.OK, importacion.salasCreadas
+				+ " salas importadas con " + importacion.horariosCreados + " horarios", resumen);
+		return new ResponseEntity<>(response, response.getStatus());
+	}
+
+	/**
+	 * Valida una sala leída del JSON.
+	 *
+	 * @param sala   la sala
+	 * @param origen la referencia al elemento para los mensajes de error
+	 * @return la sala pendiente de guardar
+	 * @throws IllegalArgumentException si la sala no es válida
+	 */
+	private SalaPendiente validarSala(SalaBaileRequestDTO sala, String origen) {
+		if (sala == null) {
+			throw new IllegalArgumentException("La sala no puede ser nula.");
+		}
+		if (sala.getNombreSala() == null || sala.getNombreSala().isBlank()) {
+			throw new IllegalArgumentException("Falta el nombre de la sala.");
+		}
+		ValidadorSala.validarCoordenadas(sala.getLatitud(), sala.getLongitud());
+		List<DiaGeneroDTO> diasGeneros = new ArrayList<>();
+		if (sala.getDiasGeneros() != null) {
+			for (DiaGeneroDTO diaGenero : sala.getDiasGeneros()) {
+				if (diaGenero == null) {
+					throw new IllegalArgumentException("Falta el día de apertura.");
+				}
+				ValidadorSala.validarDiaGenero(diaGenero);
+				diasGeneros.add(diaGenero);
+			}
+		}
+		sala.setDiasGeneros(diasGeneros);
+		return new SalaPendiente(sala, origen);
+	}
+
+	/**
+	 * Lee los datos de la sala de una fila del CSV.
+	 *
+	 * @param columnas las columnas de la fila
+	 * @return la sala, sin días de apertura
+	 * @throws IllegalArgumentException si falta el nombre o las coordenadas no son
+	 *                                  números
+	 */
+	private SalaBaileRequestDTO leerSala(String[] columnas) {
+		String nombreSala = columna(columnas, 0);
+		if (nombreSala == null) {
+			throw new IllegalArgumentException("Falta el nombre de la sala.");
+		}
+		SalaBaileRequestDTO sala = new SalaBaileRequestDTO(nombreSala, columna(columnas, 1), columna(columnas, 2),
+				new ArrayList<>());
+		sala.setLatitud(leerCoordenada(columna(columnas, 3), "latitud"));
+		sala.setLongitud(leerCoordenada(columna(columnas, 4), "longitud"));
+		return sala;
+	}
+
+	/**
+	 * Lee el día de apertura de una fila del CSV. Una fila sin día ni géneros da
+	 * de alta la sala sin ese día.
+	 *
+	 * @param columnas las columnas de la fila
+	 * @return el día con sus géneros y su horario, o null si la fila no indica día
+	 * @throws IllegalArgumentException si el día, algún género o las horas no son
+	 *                                  válidos
+	 */
+	private DiaGeneroDTO leerDiaGenero(String[] columnas) {
+		String dia = columna(columnas, 5);
+		String generos = columna(columnas, 6);
+		if (dia == null && generos == null) {
+			return null;
+		}
+
+		DiaGeneroDTO diaGenero = new DiaGeneroDTO();
+		if (dia != null) {
+			diaGenero.setDia(leerEnum(Dias.class, dia, "Día"));
+		}
+		if (generos != null) {
+			List<GenerosMusicales> lista = new ArrayList<>();
+			for (String genero : SEPARADOR_GENEROS.split(generos)) {
+				if (!genero.isBlank()) {
+					lista.add(leerEnum(GenerosMusicales.class, genero.trim(), "Género"));
+				}
+			}
+			diaGenero.setGeneros(lista);
+		}
+		diaGenero.setHoraInicio(leerHora(columna(columnas, 7), "inicio"));
+		diaGenero.setHoraFin(leerHora(columna(columnas, 8), "fin"));
+		ValidadorSala.validarDiaGenero(diaGenero);
+		return diaGenero;
+	}
+
+	/**
+	 * Devuelve una columna sin espacios, o null si no existe o está vacía.
+	 */
+	private static String columna(String[] columnas, int indice) {
+		if (indice >= columnas.length) {
+			return null;
+		}
+		String valor = columnas[indice].trim();
+		return valor.isEmpty() ? null : valor;
+	}
+
+	private static Double leerCoordenada(String valor, String nombre) {
+		if (valor == null) {
+			return null;
+		}
+		try {
+			return Double.valueOf(valor.replace(',', '.'));
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("La " + nombre + " '" + valor + "' no es un número.");
+		}
+	}
+
+	private static LocalTime leerHora(String valor, String nombre) {
+		if (valor == null) {
+			return null;
+		}
+		try {
+			return LocalTime.parse(valor);
+		} catch (DateTimeParseException e) {
+			throw new IllegalArgumentException("La hora de " + nombre + " '" + valor + "' no es válida.");
+		}
+	}
+
+	private static <E extends Enum<E>> E leerEnum(Class<E> tipo, String valor, String nombre) {
+		try {
+			return Enum.valueOf(tipo, valor.toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException(nombre + " '" + valor + "' no válido.");
+		}
+	}
+
+	/**
+	 * Guarda un lote de salas con sus horarios en una transacción.
+	 *
+	 * @param lote las salas del lote
+	 * @return el número de horarios creados
+	 */
+	private int guardar(List<SalaPendiente> lote) {
+		Integer horarios = transactionTemplate.execute(status -> {
+			long[] ids = insertarSalas(lote);
+			int creados = 0;
+			for (int i = 0; i < lote.size(); i++) {
+				SalaBaile salaBaile = entityManager.getReference(SalaBaile.class, ids[i]);
+				int guardados = 0;
+				for (DiaGeneroDTO diaGenero : lote.get(i).sala.getDiasGeneros()) {
+					DiaApertura diaApertura = referenciasHorarioService.getDiaApertura(diaGenero.getDia());
+					for (GenerosMusicales genero : diaGenero.getGeneros()) {
+						int bit = HorarioMascara.bit(diaGenero.getDia(), genero);
+						if ((guardados & bit) != 0) {
+							continue;
+						}
+						guardados |= bit;
+
+						HorarioSala horarioSala = new HorarioSala();
+						horarioSala.setSalaBaile(salaBaile);
+						horarioSala.setDiaApertura(diaApertura);
+						horarioSala.setGeneroMusical(referenciasHorarioService.getGeneroMusical(genero));
+						horarioSala.setHoraInicio(diaGenero.getHoraInicio());
+						horarioSala.setHoraFin(diaGenero.getHoraFin());
+						entityManager.persist(horarioSala);
+						creados++;
+					}
+				}
+			}
+			entityManager.flush();
+			entityManager.clear();
+			return creados;
+		});
+		return horarios == null ? 0 : horarios;
+	}
+
+	/**
+	 * Inserta las salas de un lote con un único INSERT por lotes y recupera sus
+	 * IDs generados, en el mismo orden que el lote.
+	 *
+	 * @param lote las salas del lote
+	 * @return los IDs de las salas insertadas
+	 */
+	private long[] insertarSalas(List<SalaPendiente> lote) {
+		return jdbcTemplate.execute((ConnectionCallback<long[]>) conexion -> {
+			try (PreparedStatement ps = conexion.prepareStatement(INSERT_SALA, Statement.RETURN_GENERATED_KEYS)) {
+				for (SalaPendiente pendiente : lote) {
+					SalaBaileRequestDTO sala = pendiente.sala;
+					ps.setString(1, sala.getNombreSala());
+					ps.setString(2, sala.getLocalidad());
+					ps.setString(3, sala.getAddress());
+					ps.setObject(4, sala.getLatitud(), Types.DOUBLE);
+					ps.setObject(5, sala.getLongitud(), Types.DOUBLE);
+					ps.addBatch();
+				}
+				ps.executeBatch();
+
+				long[] ids = new long[lote.size()];
+				int leidos = 0;
+				try (ResultSet claves = ps.getGeneratedKeys()) {
+					while (claves.next() && leidos < ids.length) {
+						ids[leidos++] = claves.getLong(1);
+					}
+				}
+				if (leidos != ids.length) {
+					throw new SQLException("Se esperaban " + ids.length + " IDs generados y se han recibido " + leidos);
+				}
+				return ids;
+			}
+		});
+	}
+
+	/**
+	 * Sala leída del fichero, pendiente de guardar, con la referencia a las filas
+	 * de las que procede para los mensajes de error.
+	 */
+	private static final class SalaPendiente {
+
+		private final SalaBaileRequestDTO sala;
+		private String origen;
+		private int primeraLinea;
+
+		private SalaPendiente(SalaBaileRequestDTO sala, String origen) {
+			this.sala = sala;
+			this.origen = origen;
+		}
+
+		private SalaPendiente(SalaBaileRequestDTO sala, int linea) {
+			this(sala, "Línea " + linea);
+			this.primeraLinea = linea;
+		}
+
+		private boolean esMismaSala(SalaBaileRequestDTO otra) {
+			return Objects.equals(sala.getNombreSala(), otra.getNombreSala())
+					&& Objects.equals(sala.getLocalidad(), otra.getLocalidad())
+					&& Objects.equals(sala.getAddress(), otra.getAddress());
+		}
+
+		private void anadirLinea(int linea, DiaGeneroDTO diaGenero) {
+			if (linea != primeraLinea) {
+				origen = "Líneas " + primeraLinea + "-" + linea;
+			}
+			if (diaGenero != null) {
+				sala.getDiasGeneros().add(diaGenero);
+			}
+		}
+	}
+
+	/**
+	 * Estado de una importación en curso: contadores, errores y lote actual.
+	 */
+	private final class Importacion {
+
+		private int filasLeidas;
+		private int salasCreadas;
+		private int horariosCreados;
+		private final List<String> errores = new ArrayList<>();
+		private final List<SalaPendiente> lote = new ArrayList<>(TAMANO_LOTE);
+
+		private void anadir(SalaPendiente sala) {
+			lote.add(sala);
+			if (lote.size() >= TAMANO_LOTE) {
+				guardarLote();
+			}
+		}
+
+		/**
+		 * Guarda el lote actual. Si falla, sus salas se registran como errores y la
+		 * importación continúa con el siguiente lote.
+		 */
+		private void guardarLote() {
+			if (lote.isEmpty()) {
+				return;
+			}
+			try {
+				horariosCreados += guardar(lote);
+				salasCreadas += lote.size();
+			} catch (DataAccessException | TransactionException | PersistenceException e) {
+				logger.error("Error al guardar un lote de {} salas", lote.size(), e);
+				entityManager.clear();
+				for (SalaPendiente sala : lote) {
+					errores.add(sala.origen + ": no se ha podido guardar la sala.");
+				}
+			}
+			lote.clear();
+		}
+	}
+
+}
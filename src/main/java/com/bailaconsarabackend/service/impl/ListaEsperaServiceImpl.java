@@ -0,0 +1,333 @@
+package com.bailaconsarabackend.service.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.bailaconsarabackend.dto.PosicionListaEsperaDto;
+import com.bailaconsarabackend.exception.TallerNotFoundException;
+import com.bailaconsarabackend.exception.UserNotFoundException;
+import com.bailaconsarabackend.model.UserTallerEstado;
+import com.bailaconsarabackend.model.User_Taller;
+import com.bailaconsarabackend.repository.TallerRepository;
+import com.bailaconsarabackend.repository.User_TallerRepository;
+import com.bailaconsarabackend.service.ListaEsperaService;
+import com.bailaconsarabackend.util.FenwickTree;
+
+/**
+ * Implementación de la interfaz ListaEsperaService. Cada taller tiene un número
+ * de secuencia por inscripción y rol, y un {@link FenwickTree} por rol que
+ * marca con un 1 las secuencias que siguen en espera. Así, las personas por
+ * delante de un usuario son la suma del prefijo anterior a su secuencia y tanto
+ * las altas como las bajas cuestan O(log n).
+ * 
+ * La lista de un taller se construye desde la base de datos la primera vez que
+ * se consulta y después se mantiene de forma incremental desde
+ * TallerServiceImpl. Los cambios se aplican al confirmarse la transacción que
+ * los produce. La lista se construye fuera del mapa: antes de leer la base de
+ * datos se registra el taller como pendiente, y los cambios que llegan mientras
+ * tanto se encolan y se aplican sobre la lista recién construida, de modo que
+ * no se pierde ninguna inscripción confirmada después de leer la base de datos.
+ */
+@Service
+public class ListaEsperaServiceImpl implements ListaEsperaService {
+
+	private static final int CAPACIDAD_INICIAL = 64;
+
+	private final User_TallerRepository user_tallerRepository;
+	private final TallerRepository tallerRepository;
+
+	private final Map<Long, RegistroLista> listas = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor de la clase ListaEsperaServiceImpl.
+	 *
+	 * @param user_tallerRepository Repositorio de relaciones entre usuarios y
+	 *                              talleres.
+	 * @param tallerRepository      Repositorio de talleres.
+	 */
+	public ListaEsperaServiceImpl(User_TallerRepository user_tallerRepository, TallerRepository tallerRepository) {
+		this.user_tallerRepository = user_tallerRepository;
+		this.tallerRepository = tallerRepository;
+	}
+
+	/**
+	 * Registra una inscripción o actualiza su estado en la lista de espera cuando
+	 * se confirme la transacción en curso. Si la lista del taller aún no se ha
+	 * construido no hace nada, ya que se construirá con el estado de la base de
+	 * datos.
+	 *
+	 * @param userTaller la inscripción, ya guardada, con su estado actual
+	 */
+	@Override
+	public void actualizar(User_Taller userTaller) {
+		UserTallerEstado estado = userTaller.getUserTallerEstado();
+		boolean lider = userTaller.esLider();
+		Long userId = userTaller.getUser().getId();
+		trasConfirmar(userTaller.getTaller().getId(), lista -> lista.actualizar(userId, lider, estado));
+	}
+
+	/**
+	 * Elimina una inscripción de la lista de espera de su taller cuando se
+	 * confirme la transacción en curso.
+	 *
+	 * @param userTaller la inscripción que se ha anulado
+	 */
+	@Override
+	public void eliminar(User_Taller userTaller) {
+		Long userId = userTaller.getUser().getId();
+		trasConfirmar(userTaller.getTaller().getId(), lista -> lista.eliminar(userId));
+	}
+
+	/**
+	 * Descarta la lista de espera de un taller cuando se confirme la transacción
+	 * en curso, o inmediatamente si no hay ninguna.
+	 *
+	 * @param tallerId el ID del taller
+	 */
+	@Override
+	public void invalidar(Long tallerId) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					listas.remove(tallerId);
+				}
+			});
+		} else {
+			listas.remove(tallerId);
+		}
+	}
+
+	/**
+	 * Obtiene la posición de un usuario en la lista de espera de su rol.
+	 *
+	 * @param tallerId el ID del taller
+	 * @param userId   el ID del usuario
+	 * @return la posición del usuario y el total de personas en espera
+	 * @throws TallerNotFoundException si el taller no existe o ya está archivado
+	 * @throws UserNotFoundException   si el usuario no está inscrito en el taller
+	 */
+	@Override
+	public PosicionListaEsperaDto getPosicion(Long tallerId, Long userId)
+			throws TallerNotFoundException, UserNotFoundException {
+		RegistroLista registro = obtener(tallerId);
+		synchronized (registro) {
+			ListaEsperaTaller lista = registro.lista;
+			Entrada entrada = lista.entradas.get(userId);
+			if (entrada == null) {
+				throw new UserNotFoundException("No hay registro de este usuario en este taller");
+			}
+
+			FenwickTree arbol = lista.arbol(entrada.lider);
+			int personasDelante = entrada.enEspera ? arbol.sumaPrefijo(entrada.secuencia - 1) : 0;
+			int posicion = entrada.enEspera ? personasDelante + 1 : 0;
+
+			return new PosicionListaEsperaDto(tallerId, userId, entrada.lider ? "lider" : "follower",
+					entrada.enEspera, posicion, personasDelante, arbol.total());
+		}
+	}
+
+	/**
+	 * Aplica un cambio a la lista de espera de un taller cuando se confirme la
+	 * transacción en curso, o inmediatamente si no hay ninguna.
+	 *
+	 * @param tallerId el ID del taller
+	 * @param cambio   el cambio sobre la lista
+	 */
+	private void trasConfirmar(Long tallerId, Consumer<ListaEsperaTaller> cambio) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					aplicar(tallerId, cambio);
+				}
+			});
+		} else {
+			aplicar(tallerId, cambio);
+		}
+	}
+
+	/**
+	 * Aplica un cambio a la lista de espera de un taller si ya está construida, o
+	 * lo encola si se está construyendo para aplicarlo sobre la lista recién
+	 * construida aunque esta no lo incluyera.
+	 *
+	 * @param tallerId el ID del taller
+	 * @param cambio   el cambio sobre la lista
+	 */
+	private void aplicar(Long tallerId, Consumer<ListaEsperaTaller> cambio) {
+		RegistroLista registro = listas.get(tallerId);
+		if (registro == null) {
+			return;
+		}
+		synchronized (registro) {
+			if (registro.lista != null) {
+				cambio.accept(registro.lista);
+			} else if (registro.pendientes != null) {
+				registro.pendientes.add(cambio);
+			}
+		}
+	}
+
+	/**
+	 * Devuelve el registro con la lista de espera ya construida de un taller. Si
+	 * no existe, registra uno pendiente y construye la lista sin bloquear el mapa;
+	 * si otra petición la está construyendo, espera a que termine.
+	 *
+	 * @param tallerId el ID del taller
+	 * @return el registro con la lista construida
+	 * @throws TallerNotFoundException si el taller no existe
+	 */
+	private RegistroLista obtener(Long tallerId) throws TallerNotFoundException {
+		while (true) {
+			RegistroLista registro = listas.get(tallerId);
+			if (registro == null) {
+				RegistroLista nuevo = new RegistroLista();
+				registro = listas.putIfAbsent(tallerId, nuevo);
+				if (registro == null) {
+					construir(tallerId, nuevo);
+					return nuevo;
+				}
+			}
+			synchronized (registro) {
+				while (registro.lista == null && registro.pendientes != null) {
+					try {
+						registro.wait();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new IllegalStateException("Interrumpido esperando la lista de espera del taller", e);
+					}
+				}
+				if (registro.lista != null) {
+					return registro;
+				}
+			}
+			// La construcción ha fallado y se ha quitado del mapa: se vuelve a intentar
+		}
+	}
+
+	/**
+	 * Construye la lista de espera de un taller a partir de sus inscripciones en
+	 * orden de inscripción, le aplica los cambios encolados mientras tanto y la
+	 * publica en el registro. Si el taller no existe o la consulta falla, quita el
+	 * registro del mapa para que no se guarde ninguna lista suya.
+	 *
+	 * @param tallerId el ID del taller
+	 * @param registro el registro pendiente del taller
+	 * @throws TallerNotFoundException si el taller no existe
+	 */
+	private void construir(Long tallerId, RegistroLista registro) throws TallerNotFoundException {
+		ListaEsperaTaller lista = null;
+		try {
+			if (tallerRepository.existsById(tallerId)) {
+				List<User_Taller> usuariosTaller = user_tallerRepository.findByTallerIdOrderByIdAsc(tallerId);
+				lista = new ListaEsperaTaller(Math.max(usuariosTaller.size(), CAPACIDAD_INICIAL));
+				for (User_Taller userTaller : usuariosTaller) {
+					lista.actualizar(userTaller.getUser().getId(), userTaller.esLider(),
+							userTaller.getUserTallerEstado());
+				}
+			}
+		} finally {
+			if (lista == null) {
+				listas.remove(tallerId, registro);
+			}
+			synchronized (registro) {
+				if (lista != null) {
+					for (Consumer<ListaEsperaTaller> cambio : registro.pendientes) {
+						cambio.accept(lista);
+					}
+				}
+				registro.lista = lista;
+				registro.pendientes = null;
+				registro.notifyAll();
+			}
+		}
+		if (lista == null) {
+			throw new TallerNotFoundException("Taller no encontrado");
+		}
+	}
+
+	/**
+	 * Indica si el estado de una inscripción es de espera.
+	 *
+	 * @param estado el estado de la inscripción
+	 * @return true si el usuario sigue esperando pareja
+	 */
+	private static boolean isEnEspera(UserTallerEstado estado) {
+		return estado == UserTallerEstado.LIDERWAITING || estado == UserTallerEstado.FOLLOWERWAITING;
+	}
+
+	/**
+	 * Posición de una inscripción dentro de la lista de espera de su rol.
+	 */
+	private static class Entrada {
+		private final int secuencia;
+		private final boolean lider;
+		private boolean enEspera;
+
+		private Entrada(int secuencia, boolean lider) {
+			this.secuencia = secuencia;
+			this.lider = lider;
+		}
+	}
+
+	/**
+	 * Lista de espera de un taller en el mapa. Mientras se construye, la lista es
+	 * null y los cambios se encolan en pendientes; si la construcción falla, ambos
+	 * quedan a null. Se accede siempre con el monitor del registro.
+	 */
+	private static class RegistroLista {
+		private ListaEsperaTaller lista;
+		private List<Consumer<ListaEsperaTaller>> pendientes = new ArrayList<>();
+	}
+
+	/**
+	 * Listas de espera de líderes y followers de un taller.
+	 */
+	private static class ListaEsperaTaller {
+		private final Map<Long, Entrada> entradas = new HashMap<>();
+		private final FenwickTree lideres;
+		private final FenwickTree followers;
+		private int siguienteLider = 1;
+		private int siguienteFollower = 1;
+
+		private ListaEsperaTaller(int capacidad) {
+			this.lideres = new FenwickTree(capacidad);
+			this.followers = new FenwickTree(capacidad);
+		}
+
+		private FenwickTree arbol(boolean lider) {
+			return lider ? lideres : followers;
+		}
+
+		private void actualizar(Long userId, boolean lider, UserTallerEstado estado) {
+			Entrada entrada = entradas.get(userId);
+			if (entrada == null) {
+				entrada = new Entrada(lider ? siguienteLider++ : siguienteFollower++, lider);
+				entradas.put(userId, entrada);
+			}
+
+			boolean enEspera = isEnEspera(estado);
+			if (entrada.enEspera != enEspera) {
+				arbol(entrada.lider).sumar(entrada.secuencia, enEspera ? 1 : -1);
+				entrada.enEspera = enEspera;
+			}
+		}
+
+		private void eliminar(Long userId) {
+			Entrada entrada = entradas.remove(userId);
+			if (entrada != null && entrada.enEspera) {
+				arbol(entrada.lider).sumar(entrada.secuencia, -1);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,125 @@
+package com.bailaconsarabackend.service.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.stereotype.Service;
+
+import com.bailaconsarabackend.exception.PostNotFoundException;
+import com.bailaconsarabackend.model.Post;
+import com.bailaconsarabackend.repository.PostRepository;
+import com.bailaconsarabackend.service.PostSerializadoService;
+import com.bailaconsarabackend.util.TextoUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Implementación de la interfaz PostSerializadoService.
+ *
+ * Guarda por slug el JSON de cada publicación, su versión gzip y su ETag. Solo
+ * se guardan las publicaciones que existen, así que los slugs inventados no
+ * llenan la caché. Una generación que avanza en cada invalidación evita que
+ * una lectura iniciada antes de una modificación deje guardada la versión
+ * antigua.
+ */
+@Service
+public class PostSerializadoServiceImpl implements PostSerializadoService {
+
+	private final PostRepository postRepository;
+	private final ObjectMapper objectMapper;
+
+	private final Map<String, PostSerializado> porSlug = new ConcurrentHashMap<>();
+	private final AtomicLong generacion = new AtomicLong();
+
+	/**
+	 * Constructor de la clase PostSerializadoServiceImpl.
+	 *
+	 * @param postRepository Repositorio de publicaciones.
+	 * @param objectMapper   ObjectMapper con el que se serializan las respuestas.
+	 */
+	public PostSerializadoServiceImpl(PostRepository postRepository, ObjectMapper objectMapper) {
+		this.postRepository = postRepository;
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * Obtiene la respuesta de una publicación por su slug, serializándola y
+	 * comprimiéndola si aún no está guardada.
+	 *
+	 * @param slug el slug de la publicación
+	 * @return la publicación serializada
+	 * @throws PostNotFoundException si no hay ninguna publicación con ese slug
+	 */
+	@Override
+	public PostSerializado getPost(String slug) throws PostNotFoundException {
+		// Las variantes de mayúsculas y acentos de un mismo slug comparten entrada
+		String clave = TextoUtil.normalizar(slug);
+		PostSerializado guardado = porSlug.get(clave);
+		if (guardado != null) {
+			return guardado;
+		}
+
+		long leida = generacion.get();
+		Post post = postRepository.findBySlugnormalizado(clave)
+				.orElseThrow(() -> new PostNotFoundException("Post no encontrado"));
+		PostSerializado serializado = serializar(post);
+		porSlug.put(clave, serializado);
+		// Si se ha invalidado mientras tanto, lo guardado puede ser la versión antigua
+		if (generacion.get() != leida) {
+			porSlug.remove(clave, serializado);
+		}
+		return serializado;
+	}
+
+	/**
+	 * Descarta todas las respuestas guardadas.
+	 */
+	@Override
+	public void invalidar() {
+		generacion.incrementAndGet();
+		porSlug.clear();
+	}
+
+	/**
+	 * Serializa una publicación a JSON y calcula su versión gzip y su ETag.
+	 *
+	 * @param post la publicación
+	 * @return la publicación serializada
+	 */
+	private PostSerializado serializar(Post post) {
+		try {
+			byte[] json = objectMapper.writeValueAsBytes(post);
+			return new PostSerializado(post.getId(), json, comprimir(json), etag(json));
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("No se ha podido serializar el post " + post.getId(), e);
+		}
+	}
+
+	private static byte[] comprimir(byte[] datos) {
+		ByteArrayOutputStream salida = new ByteArrayOutputStream(datos.length / 3 + 64);
+		try (GZIPOutputStream gzip = new GZIPOutputStream(salida)) {
+			gzip.write(datos);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return salida.toByteArray();
+	}
+
+	private static String etag(byte[] datos) {
+		try {
+			byte[] resumen = MessageDigest.getInstance("SHA-256").digest(datos);
+			return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(resumen) + "\"";
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
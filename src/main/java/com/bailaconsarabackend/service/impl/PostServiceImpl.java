@@ -3,30 +3,51 @@ package com.bailaconsarabackend.service.impl;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Paths;
+import java.time.LocalDate;
 import java.util.List;
-
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.bailaconsarabackend.dto.BasicResponseDto;
 import com.bailaconsarabackend.dto.GeneralResponseDto;
+import com.bailaconsarabackend.dto.PaginaPostsDto;
 import com.bailaconsarabackend.dto.PostDto;
+import com.bailaconsarabackend.dto.PostResumenDto;
 import com.bailaconsarabackend.dto.UpdatePostDto;
+import com.bailaconsarabackend.dto.ViolacionSeoDto;
 import com.bailaconsarabackend.exception.PostNotFoundException;
 import com.bailaconsarabackend.exception.PostValidationFailedException;
 import com.bailaconsarabackend.model.Post;
 import com.bailaconsarabackend.repository.PostRepository;
+import com.bailaconsarabackend.service.BusquedaPostsService;
+import com.bailaconsarabackend.service.FeedPostsService;
+import com.bailaconsarabackend.service.ImagenesPostService;
+import com.bailaconsarabackend.service.ImagenesPostService.VariantesImagen;
+import com.bailaconsarabackend.service.PostSerializadoService;
 import com.bailaconsarabackend.service.PostService;
+import com.bailaconsarabackend.service.RelacionadosPostsService;
 import com.bailaconsarabackend.service.StorageService;
+import com.bailaconsarabackend.service.VisitasPostService;
+import com.bailaconsarabackend.util.TextoUtil;
+import com.bailaconsarabackend.util.ValidadorSeo;
 
 import jakarta.servlet.http.HttpServletRequest;
 
@@ -38,20 +59,146 @@ import jakarta.servlet.http.HttpServletRequest;
 @Service
 public class PostServiceImpl implements PostService {
 
+	/*
+	 * Número máximo de publicaciones por página del índice del blog
+	 */
+	private static final int TAMANO_MAXIMO_PAGINA = 50;
+
+	/*
+	 * Índices únicos sobre la frase clave con otro nombre que el de la
+	 * restricción, como el que creaba el antiguo @Column(unique = true), y
+	 * consultas cuyo plan se comprueba al arrancar
+	 */
+	private static final String INDICES_FRASE_CLAVE = "SELECT index_name FROM information_schema.statistics "
+			+ "WHERE table_schema = DATABASE() AND table_name = 'posts' AND non_unique = 0 "
+			+ "GROUP BY index_name HAVING COUNT(*) = 1 AND MAX(column_name) = 'fraseclave'";
+	private static final List<String> CONSULTAS_POR_CLAVE = List.of(
+			"EXPLAIN SELECT id FROM posts WHERE slugnormalizado = ?",
+			"EXPLAIN SELECT id FROM posts WHERE titulonormalizado = ?",
+			"EXPLAIN SELECT id FROM posts WHERE fraseclave = ?");
+
 	private final PostRepository postRepository;
 	private final StorageService storageService;
+	private final PostSerializadoService postSerializadoService;
+	private final BusquedaPostsService busquedaPostsService;
+	private final ImagenesPostService imagenesPostService;
+	private final FeedPostsService feedPostsService;
+	private final RelacionadosPostsService relacionadosPostsService;
+	private final VisitasPostService visitasPostService;
+	private final JdbcTemplate jdbcTemplate;
 
 	private static final Logger logger = LoggerFactory.getLogger(PostServiceImpl.class);
 
 	/**
 	 * Constructor para la clase PostServiceImpl.
 	 *
-	 * @param postRepository Repositorio de publicaciones.
-	 * @param storageService el servicio encargado del almacenamiento de archivos
+	 * @param postRepository           Repositorio de publicaciones.
+	 * @param storageService           el servicio encargado del almacenamiento de
+	 *                                 archivos
+	 * @param postSerializadoService   el servicio de las publicaciones
+	 *                                 serializadas por slug
+	 * @param busquedaPostsService     el servicio de búsqueda de publicaciones
+	 * @param imagenesPostService      el servicio de las versiones reducidas de
+	 *                                 las portadas
+	 * @param feedPostsService         el servicio del sitemap y el canal RSS
+	 * @param relacionadosPostsService el servicio de las publicaciones
+	 *                                 relacionadas
+	 * @param visitasPostService       el servicio de las visitas de las
+	 *                                 publicaciones
+	 * @param jdbcTemplate             el JdbcTemplate para revisar los índices
+	 *                                 de la tabla de posts al arrancar
 	 */
-	public PostServiceImpl(PostRepository postRepository, StorageService storageService) {
+	public PostServiceImpl(PostRepository postRepository, StorageService storageService,
+			PostSerializadoService postSerializadoService, BusquedaPostsService busquedaPostsService,
+			ImagenesPostService imagenesPostService, FeedPostsService feedPostsService,
+			RelacionadosPostsService relacionadosPostsService, VisitasPostService visitasPostService,
+			JdbcTemplate jdbcTemplate) {
 		this.postRepository = postRepository;
 		this.storageService = storageService;
+		this.postSerializadoService = postSerializadoService;
+		this.busquedaPostsService = busquedaPostsService;
+		this.imagenesPostService = imagenesPostService;
+		this.feedPostsService = feedPostsService;
+		this.relacionadosPostsService = relacionadosPostsService;
+		this.visitasPostService = visitasPostService;
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	/**
+	 * Sustituye al arrancar el índice único sobre la frase clave que creaba el
+	 * antiguo {@code @Column(unique = true)}. Su nombre lo generaba Hibernate, así
+	 * que un duplicado no se reconocía como conflicto. Si ya existe la restricción
+	 * con su nombre se borra el índice antiguo, y si no se renombra. Después se
+	 * comprueba que las búsquedas por slug, título y frase clave usan un índice.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	@Order(1)
+	public void revisarIndicesPosts() {
+		try {
+			List<String> indices = jdbcTemplate.queryForList(INDICES_FRASE_CLAVE, String.class);
+			boolean existe = indices.stream().anyMatch(Post.UNICO_FRASE_CLAVE::equalsIgnoreCase);
+			for (String indice : indices) {
+				if (indice.equalsIgnoreCase(Post.UNICO_FRASE_CLAVE) || indice.equalsIgnoreCase("PRIMARY")) {
+					continue;
+				}
+				String nombre = "`" + indice.replace("`", "``") + "`";
+				if (existe) {
+					jdbcTemplate.execute("ALTER TABLE posts DROP INDEX " + nombre);
+				} else {
+					jdbcTemplate.execute("ALTER TABLE posts RENAME INDEX " + nombre + " TO " + Post.UNICO_FRASE_CLAVE);
+					existe = true;
+				}
+				logger.info("Sustituido el índice único antiguo {} sobre la frase clave de los posts", indice);
+			}
+			for (String consulta : CONSULTAS_POR_CLAVE) {
+				comprobarPlan(consulta);
+			}
+		} catch (DataAccessException e) {
+			logger.warn("No se han podido revisar los índices de los posts al arrancar", e);
+		}
+	}
+
+	/**
+	 * Registra el plan de una búsqueda por clave y avisa si no usa ningún índice.
+	 * Si el valor buscado no existe, MySQL resuelve la búsqueda en el propio índice
+	 * único y lo indica como "no matching row in const table" sin nombrar la clave.
+	 *
+	 * @param consulta la consulta EXPLAIN de la búsqueda
+	 */
+	private void comprobarPlan(String consulta) {
+		for (Map<String, Object> paso : jdbcTemplate.queryForList(consulta, "")) {
+			boolean constante = String.valueOf(paso.get("Extra")).contains("const table");
+			if (paso.get("key") == null && !constante) {
+				logger.warn("La búsqueda no usa ningún índice: {} -> {}", consulta, paso);
+			} else {
+				logger.info("Plan de la búsqueda: {} -> {}", consulta, paso);
+			}
+		}
+	}
+
+	/**
+	 * Calcula al arrancar el slug y el título normalizados de los posts guardados
+	 * antes de que existieran. Un post cuyo título o slug normalizado coincide con
+	 * el de otro no se puede normalizar y se avisa en el log para corregirlo.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void normalizarPostsExistentes() {
+		List<Post> pendientes;
+		try {
+			pendientes = postRepository.findSinNormalizar();
+		} catch (DataAccessException e) {
+			logger.warn("No se han podido normalizar los posts existentes al arrancar", e);
+			return;
+		}
+		for (Post post : pendientes) {
+			post.normalizarClaves();
+			try {
+				postRepository.save(post);
+			} catch (DataIntegrityViolationException e) {
+				logger.warn("El post {} tiene el mismo título o slug que otro y no se puede buscar por ellos",
+						post.getId());
+			}
+		}
 	}
 
 	/**
@@ -68,6 +215,7 @@ public class PostServiceImpl implements PostService {
 			throws PostValidationFailedException, IOException {
 		BasicResponseDto response = new BasicResponseDto();
 		HttpStatus status = HttpStatus.BAD_REQUEST;
+		List<ViolacionSeoDto> violaciones = postDto != null ? ValidadorSeo.validar(postDto) : List.of();
 
 		// Log inicial indicando el inicio del proceso de creación de un nuevo post
 		logger.info("Iniciando la creación de un nuevo post: {}", postDto != null ? postDto.getTitle() : "Sin título");
@@ -76,14 +224,11 @@ public class PostServiceImpl implements PostService {
 			logger.warn("Datos inválidos: postDto o imagen de portada es nulo o vacío.");
 			response.setMessage("Los datos del post no son válidos o la imagen de portada no es válida");
 			response.setStatus(HttpStatus.EXPECTATION_FAILED);
-		} else if (postRepository.findByTitle(postDto.getTitle()).isPresent()) {
-			logger.warn("Ya existe un post con el título: {}", postDto.getTitle());
-			response.setMessage("Ya existe un post con este título: " + postDto.getTitle());
-			response.setStatus(HttpStatus.CONFLICT);
-		} else if (!validarDatosPost(postDto)) {
+		} else if (!violaciones.isEmpty()) {
 			logger.warn("Errores en la validación de los datos del post: {}", postDto.getTitle());
-			manejarErroresValidacion(postDto, response);
+			manejarErroresValidacion(violaciones, response);
 		} else {
+			Post post = mapPostDtoToPost(postDto, null);
 			try {
 				// Log antes de almacenar la imagen
 				logger.info("Guardando la imagen de portada para el post: {}", postDto.getTitle());
@@ -97,8 +242,13 @@ public class PostServiceImpl implements PostService {
 				logger.info("Creando y guardando el nuevo post: {}", postDto.getTitle());
 
 				// Crear y guardar el post en la base de datos
-				Post post = mapPostDtoToPost(postDto, urlImagenPortada);
+				post.setImagenportada(urlImagenPortada);
+				aplicarVariantes(post, imagenportada);
 				Post savedPost = postRepository.save(post);
+				postSerializadoService.invalidar();
+				busquedaPostsService.indexar(savedPost);
+				feedPostsService.actualizar(savedPost);
+				relacionadosPostsService.actualizar(savedPost);
 
 				logger.info("Post guardado correctamente: ID={}, Título={}", savedPost.getId(), savedPost.getTitle());
 
@@ -106,6 +256,13 @@ public class PostServiceImpl implements PostService {
 				response.setMessage("Post guardado con éxito");
 				response.setStatus(HttpStatus.CREATED);
 				response.setUrl(urlImagenPortada);
+			} catch (DataIntegrityViolationException e) {
+				// Un título, slug o frase clave repetidos los detectan las restricciones únicas
+				// sin consultarlo antes. Las imágenes tienen un nombre único, así que solo se
+				// borran las que ha subido esta petición
+				logger.warn("No se ha podido guardar el post: {}", postDto.getTitle());
+				eliminarImagenes(post);
+				manejarConflicto(e, response);
 			} catch (IOException e) {
 				// Log en caso de error al almacenar la imagen
 				logger.error("Error al subir la imagen de portada: {}", e.getMessage());
@@ -121,15 +278,20 @@ public class PostServiceImpl implements PostService {
 	}
 
 	/**
-	 * Sube la imagen de portada y genera la URL de acceso.
+	 * Sube la imagen de portada y genera la URL de acceso. El nombre del archivo
+	 * lleva un prefijo aleatorio para que una portada con el mismo nombre que la
+	 * de otro post no la sobrescriba, y para que al descartarla solo se borre lo
+	 * que ha subido esta petición.
 	 *
 	 * @param imagenportada La imagen de portada a subir.
-	 * @param request       La solicitud HTTP.
 	 * @return La URL de acceso a la imagen de portada subida.
 	 * @throws IOException Si ocurre un error al almacenar la imagen de portada.
 	 */
 	private String subirImagenPortada(MultipartFile imagenportada) throws IOException {
-		return storageService.store(imagenportada);
+		String nombre = imagenportada.getOriginalFilename() != null
+				? StringUtils.cleanPath(imagenportada.getOriginalFilename())
+				: "portada";
+		return storageService.store(UUID.randomUUID() + "-" + nombre, imagenportada.getBytes());
 	}
 
 	/**
@@ -140,55 +302,114 @@ public class PostServiceImpl implements PostService {
 	 */
 	@Override
 	public boolean validarDatosPost(PostDto postDto) {
-		boolean isValid;
-		if (contieneEnlaceExterno(postDto.getTextoinfo()) && contieneEnlaceInterno(postDto.getTextoinfo())
-				&& contieneTexto(postDto.getTituloseo(), postDto.getFraseclave())
-				&& contieneTexto(postDto.getSlug(), postDto.getFraseclave())
-				&& contieneTexto(postDto.getTitle(), postDto.getFraseclave())
-				&& contieneTexto(postDto.getAltportada(), postDto.getFraseclave())) {
-			isValid = true;
+		return ValidadorSeo.validar(postDto).isEmpty();
+	}
+
+	/**
+	 * Comprueba todas las reglas SEO de un post sin guardarlo, para que el editor
+	 * pueda validarlo mientras escribe.
+	 *
+	 * @param postDto Los datos del post a validar.
+	 * @return BasicResponseDto con la lista de reglas incumplidas, vacía si el
+	 *         post es válido.
+	 */
+	@Override
+	public BasicResponseDto validarPost(PostDto postDto) {
+		List<ViolacionSeoDto> violaciones = ValidadorSeo.validar(postDto);
+		String mensaje = violaciones.isEmpty() ? "El post cumple las reglas SEO"
+				: violaciones.size() + " reglas SEO sin cumplir";
+		return new BasicResponseDto(HttpStatus.OK, mensaje, violaciones);
+	}
+
+	/**
+	 * Establece en la respuesta todas las reglas SEO incumplidas: el mensaje las
+	 * enumera y los datos contienen la lista con el campo de cada una. El estado
+	 * de la respuesta se marca como `BAD_REQUEST`.
+	 *
+	 * @param violaciones Las reglas incumplidas, al menos una.
+	 * @param response    El objeto BasicResponseDto donde se establecen los
+	 *                    mensajes de error y el estado HTTP.
+	 */
+	private void manejarErroresValidacion(List<ViolacionSeoDto> violaciones, BasicResponseDto response) {
+		StringBuilder mensaje = new StringBuilder();
+		for (ViolacionSeoDto violacion : violaciones) {
+			if (mensaje.length() > 0) {
+				mensaje.append("; ");
+			}
+			mensaje.append(violacion.getMensaje());
+		}
+		response.setMessage(mensaje.toString());
+		response.setData(violaciones);
+		response.setStatus(HttpStatus.BAD_REQUEST);
+	}
+
+	/**
+	 * Establece en la respuesta el conflicto por un título, un slug o una frase
+	 * clave que ya existen, según la restricción de unicidad que ha fallado, y el
+	 * estado `CONFLICT`. Cualquier otro error de integridad se trata como datos
+	 * no válidos, con el estado `BAD_REQUEST`.
+	 *
+	 * @param e        La excepción lanzada al guardar.
+	 * @param response El objeto BasicResponseDto donde se establecen el mensaje y
+	 *                 el estado HTTP.
+	 */
+	private void manejarConflicto(DataIntegrityViolationException e, BasicResponseDto response) {
+		String causa = String.valueOf(e.getMostSpecificCause().getMessage());
+		if (causa.contains(Post.UNICO_TITULO)) {
+			response.setMessage("Ya existe otro post con este título");
+		} else if (causa.contains(Post.UNICO_SLUG)) {
+			response.setMessage("Ya existe otro post con este slug");
+		} else if (causa.contains(Post.UNICO_FRASE_CLAVE)) {
+			response.setMessage("Ya existe otro post con esta frase clave");
 		} else {
-			isValid = false;
+			// Cualquier otro error de integridad, como un título demasiado largo
+			logger.warn("Los datos del post no se pueden guardar: {}", causa);
+			response.setMessage("Los datos del post no son válidos");
+			response.setStatus(HttpStatus.BAD_REQUEST);
+			return;
 		}
-		return isValid;
+		response.setStatus(HttpStatus.CONFLICT);
 	}
 
 	/**
-	 * Maneja las validaciones de los datos del PostDto y establece los mensajes de
-	 * error y el estado correspondiente en la respuesta.
+	 * Elimina del almacenamiento la imagen de portada de un post y sus versiones
+	 * reducidas.
 	 *
-	 * Este método revisa si el contenido del PostDto cumple con ciertas
-	 * condiciones: - Debe contener al menos un enlace interno y uno externo. - La
-	 * frase clave debe estar presente en varios campos, como el título SEO, título
-	 * principal, slug, y alt de la imagen.
-	 * 
-	 * Si alguna de estas condiciones no se cumple, se configura un mensaje de error
-	 * en la respuesta y el estado de la respuesta se marca como `BAD_REQUEST`.
+	 * @param post El post.
+	 */
+	private void eliminarImagenes(Post post) {
+		String imageName = nombreArchivo(post.getImagenportada());
+		if (imageName != null && !imageName.isEmpty()) {
+			storageService.deleteImage(imageName);
+		}
+		imagenesPostService.eliminarVariantes(post);
+	}
+
+	/**
+	 * Extrae solo el nombre del archivo si la imagen está almacenada como URL.
 	 *
-	 * @param postDto  El objeto PostDto que contiene los datos del post a validar.
-	 * @param response El objeto BasicResponseDto donde se establecen los mensajes
-	 *                 de error y el estado HTTP.
-	 * @throws PostValidationFailedException Si ocurre algún error crítico durante
-	 *                                       la validación.
+	 * @param imagen La URL o el nombre de la imagen, o null.
+	 * @return El nombre del archivo, o null.
 	 */
-	private void manejarErroresValidacion(PostDto postDto, BasicResponseDto response)
-			throws PostValidationFailedException {
-		if (!contieneEnlaceInterno(postDto.getTextoinfo())) {
-			response.setMessage("Asegúrate de que existe algún enlace interno");
-		} else if (!contieneEnlaceExterno(postDto.getTextoinfo())) {
-			response.setMessage("Asegúrate de que existe algún enlace externo");
-		} else if (!contieneTexto(postDto.getTituloseo(), postDto.getFraseclave())) {
-			response.setMessage("Asegúrate de que la frase clave aparece en el título SEO: " + postDto.getTituloseo());
-		} else if (!contieneTexto(postDto.getTitle(), postDto.getFraseclave())) {
-			response.setMessage("Asegúrate de que la frase clave aparece en el título principal " + postDto.getTitle());
-		} else if (!contieneTexto(postDto.getSlug(), postDto.getFraseclave())) {
-			response.setMessage("Asegúrate de que la frase clave aparece en el slug");
-		} else if (!contieneTexto(postDto.getAltportada(), postDto.getFraseclave())) {
-			response.setMessage("Asegúrate de que la frase clave aparece en el alt de la imagen");
-		} else {
-			response.setMessage("Ha ocurrido un error en la validación de los datos del post");
+	private static String nombreArchivo(String imagen) {
+		if (imagen != null && imagen.startsWith("http")) {
+			return Paths.get(URI.create(imagen).getPath()).getFileName().toString();
 		}
-		response.setStatus(HttpStatus.BAD_REQUEST);
+		return imagen;
+	}
+
+	/**
+	 * Genera las versiones reducidas de la portada y guarda sus URLs en el post.
+	 * Si no se han podido generar, el post queda sin ellas y se usa el original.
+	 *
+	 * @param post          El post.
+	 * @param imagenportada La imagen de portada subida.
+	 */
+	private void aplicarVariantes(Post post, MultipartFile imagenportada) {
+		VariantesImagen variantes = imagenesPostService.generarVariantes(imagenportada,
+				nombreArchivo(post.getImagenportada()));
+		post.setSrcsetportada(variantes.srcset());
+		post.setMiniaturaportada(variantes.miniatura());
 	}
 
 	/**
@@ -239,8 +460,9 @@ public class PostServiceImpl implements PostService {
 
 			// Si se proporciona una nueva imagen de portada, subirla y actualizar la URL
 			if (imagenportada != null && !imagenportada.isEmpty()) {
-				String url = storageService.store(imagenportada);
+				String url = subirImagenPortada(imagenportada);
 				post.setImagenportada(url);
+				aplicarVariantes(post, imagenportada);
 			}
 
 			// Actualizar los demás campos del post con los datos proporcionados
@@ -248,6 +470,10 @@ public class PostServiceImpl implements PostService {
 
 			// Guardar los cambios en el repositorio
 			Post savedPost = postRepository.save(post);
+			postSerializadoService.invalidar();
+			busquedaPostsService.indexar(savedPost);
+			feedPostsService.actualizar(savedPost);
+			relacionadosPostsService.actualizar(savedPost);
 
 			response.setData(savedPost);
 			response.setMessage("Post actualizado con éxito");
@@ -256,6 +482,8 @@ public class PostServiceImpl implements PostService {
 		} catch (PostNotFoundException e) {
 			response.setMessage("¡Error: " + e.getMessage() + "!");
 			response.setStatus(HttpStatus.NOT_FOUND);
+		} catch (DataIntegrityViolationException e) {
+			manejarConflicto(e, response);
 		} catch (Exception e) {
 			response.setMessage("¡Error al actualizar el post!");
 			response.setStatus(HttpStatus.EXPECTATION_FAILED);
@@ -337,6 +565,44 @@ public class PostServiceImpl implements PostService {
 		return postRepository.findAll();
 	}
 
+	/**
+	 * Obtiene una página de resúmenes con paginación por cursor sobre
+	 * (created_at, id). Cada página se lee con una consulta sobre el índice de
+	 * esas columnas que solo proyecta los campos del resumen, así que su coste no
+	 * depende de cuántas publicaciones haya antes. Se pide una fila más de las
+	 * necesarias para saber si hay más páginas.
+	 *
+	 * @param fecha  la fecha de creación del último post de la página anterior, o
+	 *               null
+	 * @param id     el ID del último post de la página anterior, o null para la
+	 *               primera página
+	 * @param tamano el número de publicaciones por página, entre 1 y
+	 *               TAMANO_MAXIMO_PAGINA
+	 * @return la página con los resúmenes y el cursor de la siguiente
+	 */
+	@Override
+	public PaginaPostsDto listarResumenes(LocalDate fecha, Long id, int tamano) {
+		int limite = Math.max(1, Math.min(tamano, TAMANO_MAXIMO_PAGINA));
+		Pageable pageable = PageRequest.of(0, limite + 1);
+
+		List<PostResumenDto> resumenes;
+		if (id == null) {
+			resumenes = postRepository.findResumenes(pageable);
+		} else if (fecha == null) {
+			resumenes = postRepository.findResumenesSinFechaDespuesDe(id, pageable);
+		} else {
+			resumenes = postRepository.findResumenesDespuesDe(fecha, id, pageable);
+		}
+
+		boolean hayMas = resumenes.size() > limite;
+		if (hayMas) {
+			resumenes = resumenes.subList(0, limite);
+		}
+		PostResumenDto ultimo = resumenes.isEmpty() ? null : resumenes.get(resumenes.size() - 1);
+		return new PaginaPostsDto(resumenes, hayMas, hayMas ? ultimo.getCreated_at() : null,
+				hayMas ? ultimo.getId() : null);
+	}
+
 	/**
 	 * Implementación del servicio para buscar un post por su ID.
 	 *
@@ -362,7 +628,8 @@ public class PostServiceImpl implements PostService {
 	 */
 	@Override
 	public Post findByUrl(String slug) throws PostNotFoundException {
-		Post post = postRepository.findBySlug(slug).orElseThrow(() -> new PostNotFoundException("Post no encontrado"));
+		Post post = postRepository.findBySlugnormalizado(TextoUtil.normalizar(slug))
+				.orElseThrow(() -> new PostNotFoundException("Post no encontrado"));
 		return post;
 	}
 
@@ -379,62 +646,17 @@ public class PostServiceImpl implements PostService {
 		Optional<Post> optionalPost = postRepository.findById(id);
 		Post post = optionalPost.orElseThrow(() -> new PostNotFoundException("Post no encontrado"));
 
-		String imageName = post.getImagenportada();
-
-		// Extraer solo el nombre del archivo si la imagen está almacenada como URL
-		if (imageName != null && imageName.startsWith("http")) {
-			imageName = Paths.get(URI.create(imageName).getPath()).getFileName().toString();
-		}
-
-		if (imageName != null && !imageName.isEmpty()) {
-			storageService.deleteImage(imageName);
-		}
+		eliminarImagenes(post);
 		postRepository.delete(post);
+		postSerializadoService.invalidar();
+		busquedaPostsService.eliminar(post.getId());
+		feedPostsService.eliminar(post.getId());
+		relacionadosPostsService.eliminar(post.getId());
+		visitasPostService.eliminar(post.getId());
 		GeneralResponseDto response = new GeneralResponseDto(HttpStatus.OK, "Post eliminado.");
 		return new ResponseEntity<>(response, HttpStatus.OK);
 	}
 
-	/**
-	 * Comprueba si un texto contiene algún enlace externo.
-	 *
-	 * @param texto El texto a verificar.
-	 * @return true si el texto contiene un enlace externo, false de lo contrario.
-	 */
-	public boolean contieneEnlaceExterno(String texto) {
-		// Expresión regular para detectar enlaces HTTP o HTTPS
-		String regex = "\\b(https?|ftp|file)://[-a-zA-Z0-9+&@#/%?=~_|!:,.;]*[-a-zA-Z0-9+&@#/%=~_|]";
-		Pattern pattern = Pattern.compile(regex);
-		Matcher matcher = pattern.matcher(texto);
-		return matcher.find();
-	}
-
-	/**
-	 * Comprueba si un texto contiene algún enlace interno.
-	 *
-	 * @param texto El texto a verificar.
-	 * @return true si el texto contiene un enlace interno, false de lo contrario.
-	 */
-	public boolean contieneEnlaceInterno(String texto) {
-		String regex = "\\/[a-zA-Z0-9\\-._~:/?#@!$&'()*+,;=]+";
-		Pattern pattern = Pattern.compile(regex);
-		Matcher matcher = pattern.matcher(texto);
-		return matcher.find();
-	}
-
-	/**
-	 * Comprueba si un texto contiene otro texto buscado.
-	 *
-	 * @param texto        El texto en el que buscar.
-	 * @param textoBuscado El texto a buscar.
-	 * @return true si el texto contiene el texto buscado, false de lo contrario.
-	 */
-	public boolean contieneTexto(String texto, String textoBuscado) {
-		if (texto == null || textoBuscado == null) {
-			return false;
-		}
-		return texto.toLowerCase().contains(textoBuscado.toLowerCase());
-	}
-
 	/**
 	 * Busca un post por su título en el repositorio y lo retorna envuelto en un
 	 * ResponseEntity.
@@ -447,7 +669,7 @@ public class PostServiceImpl implements PostService {
 	@Override
 	public ResponseEntity<Post> findByTitle(String title) throws PostNotFoundException {
 
-		Post post = postRepository.findByTitle(title)
+		Post post = postRepository.findByTitulonormalizado(TextoUtil.normalizar(title))
 				.orElseThrow(() -> new PostNotFoundException("Post no encontrado"));
 
 		return ResponseEntity.ok(post);
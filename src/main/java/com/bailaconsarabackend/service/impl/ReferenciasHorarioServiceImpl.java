@@ -0,0 +1,148 @@
+package com.bailaconsarabackend.service.impl;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bailaconsarabackend.model.DiaApertura;
+import com.bailaconsarabackend.model.Dias;
+import com.bailaconsarabackend.model.GeneroMusical;
+import com.bailaconsarabackend.model.GenerosMusicales;
+import com.bailaconsarabackend.model.HorarioSala;
+import com.bailaconsarabackend.service.ReferenciasHorarioService;
+
+/**
+ * Implementación de la interfaz ReferenciasHorarioService.
+ *
+ * La primera llamada inserta con INSERT IGNORE los días y géneros que falten,
+ * de modo que las restricciones únicas evitan duplicados aunque varias
+ * instancias arranquen a la vez, y después lee todas las filas a dos EnumMap
+ * inmutables. A partir de ahí las consultas no acceden a la base de datos.
+ *
+ * La carga también prepara el generador de IDs de los horarios, que se reservan
+ * por bloques para poder insertarlos en lotes: si el generador es nuevo o está
+ * por detrás de los horarios existentes, se adelanta hasta el ID más alto.
+ */
+@Service
+public class ReferenciasHorarioServiceImpl implements ReferenciasHorarioService {
+
+	private static final Logger logger = LoggerFactory.getLogger(ReferenciasHorarioServiceImpl.class);
+
+	private static final String INSERT_DIA = "INSERT IGNORE INTO dia_apertura (dia) VALUES (?)";
+	private static final String INSERT_GENERO = "INSERT IGNORE INTO generos_musicales (genero) VALUES (?)";
+
+	private static final String AJUSTAR_GENERADOR_HORARIOS = "INSERT INTO generadores_id (nombre, siguiente_valor) "
+			+ "SELECT 'horarios_sala', COALESCE(MAX(id), 0) + ? FROM horarios_sala "
+			+ "ON DUPLICATE KEY UPDATE siguiente_valor = GREATEST(siguiente_valor, VALUES(siguiente_valor))";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+
+	/*
+	 * Referencias cargadas, o null si todavía no se han cargado
+	 */
+	private volatile Referencias referencias;
+
+	/**
+	 * Constructor de la clase ReferenciasHorarioServiceImpl.
+	 *
+	 * @param jdbcTemplate       Plantilla JDBC para crear y leer las filas de
+	 *                           referencia.
+	 * @param transactionManager Gestor de transacciones con el que la carga se
+	 *                           ejecuta en una transacción propia.
+	 */
+	public ReferenciasHorarioServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	/**
+	 * Obtiene el día de apertura desde el mapa en memoria. La instancia devuelta
+	 * es compartida y no está asociada a ninguna sesión, por lo que no debe
+	 * modificarse.
+	 *
+	 * @param dia el día de la semana
+	 * @return una referencia al {@link DiaApertura} persistido
+	 */
+	@Override
+	public DiaApertura getDiaApertura(Dias dia) {
+		return actuales().dias().get(dia);
+	}
+
+	/**
+	 * Obtiene el género musical desde el mapa en memoria. La instancia devuelta es
+	 * compartida y no está asociada a ninguna sesión, por lo que no debe
+	 * modificarse.
+	 *
+	 * @param genero el género musical
+	 * @return una referencia al {@link GeneroMusical} persistido
+	 */
+	@Override
+	public GeneroMusical getGeneroMusical(GenerosMusicales genero) {
+		return actuales().generos().get(genero);
+	}
+
+	/**
+	 * Devuelve las referencias cargadas, cargándolas si aún no existen.
+	 *
+	 * @return las referencias cargadas
+	 */
+	private Referencias actuales() {
+		Referencias actuales = referencias;
+		return actuales != null ? actuales : cargar();
+	}
+
+	/**
+	 * Crea las filas que falten y carga todas en memoria. Se ejecuta en una
+	 * transacción propia para que una transacción que llame al servicio y acabe
+	 * revirtiéndose no deshaga filas que ya se han publicado en los mapas.
+	 *
+	 * @return las referencias cargadas
+	 */
+	private synchronized Referencias cargar() {
+		if (referencias == null) {
+			referencias = transactionTemplate.execute(status -> {
+				jdbcTemplate.batchUpdate(INSERT_DIA, List.of(Dias.values()), Dias.values().length,
+						(ps, dia) -> ps.setString(1, dia.name()));
+				jdbcTemplate.batchUpdate(INSERT_GENERO, List.of(GenerosMusicales.values()),
+						GenerosMusicales.values().length, (ps, genero) -> ps.setString(1, genero.name()));
+				jdbcTemplate.update(AJUSTAR_GENERADOR_HORARIOS, HorarioSala.BLOQUE_IDS);
+
+				// Si quedan duplicados anteriores a la restricción única se usa el más antiguo
+				Map<Dias, DiaApertura> dias = new EnumMap<>(Dias.class);
+				jdbcTemplate.query("SELECT id, dia FROM dia_apertura ORDER BY id", rs -> {
+					Dias dia = Dias.valueOf(rs.getString("dia"));
+					dias.putIfAbsent(dia, new DiaApertura(rs.getLong("id"), dia, null));
+				});
+
+				Map<GenerosMusicales, GeneroMusical> generos = new EnumMap<>(GenerosMusicales.class);
+				jdbcTemplate.query("SELECT id, genero FROM generos_musicales ORDER BY id", rs -> {
+					GenerosMusicales genero = GenerosMusicales.valueOf(rs.getString("genero"));
+					generos.putIfAbsent(genero, new GeneroMusical(rs.getLong("id"), genero, null));
+				});
+
+				return new Referencias(Collections.unmodifiableMap(dias), Collections.unmodifiableMap(generos));
+			});
+			logger.info("Cargados {} días de apertura y {} géneros musicales", referencias.dias().size(),
+					referencias.generos().size());
+		}
+		return referencias;
+	}
+
+	/**
+	 * Mapas inmutables de los datos de referencia.
+	 */
+	private record Referencias(Map<Dias, DiaApertura> dias, Map<GenerosMusicales, GeneroMusical> generos) {
+	}
+
+}
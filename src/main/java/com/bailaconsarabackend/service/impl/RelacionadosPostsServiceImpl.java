@@ -0,0 +1,209 @@
+package com.bailaconsarabackend.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.bailaconsarabackend.dto.PostResumenDto;
+import com.bailaconsarabackend.model.Post;
+import com.bailaconsarabackend.repository.PostRepository;
+import com.bailaconsarabackend.service.RelacionadosPostsService;
+import com.bailaconsarabackend.util.VectoresTfIdf;
+
+/**
+ * Implementación de la interfaz RelacionadosPostsService.
+ *
+ * Guarda los {@link VectoresTfIdf} de la frase clave, el título, la meta
+ * descripción y los textos de cada publicación, y un mapa inmutable con las
+ * relacionadas de cada una ya resueltas a su resumen, de modo que una lectura
+ * es una sola consulta al mapa. Al guardar o eliminar una publicación solo se
+ * recalculan ella y las que comparten alguna palabra con ella, y se publica una
+ * copia del mapa con esas entradas cambiadas.
+ *
+ * El IDF de las palabras cambia un poco con cada publicación nueva, así que
+ * una tarea programada lo recalcula todo cada noche.
+ */
+@Service
+public class RelacionadosPostsServiceImpl implements RelacionadosPostsService {
+
+	private static final Logger logger = LoggerFactory.getLogger(RelacionadosPostsServiceImpl.class);
+
+	/*
+	 * Peso de cada campo: la frase clave y el título cuentan más que el cuerpo
+	 */
+	private static final float[] PESOS = { 3f, 2f, 1.5f, 1f, 1f, 1f, 1f, 1f };
+
+	private final PostRepository postRepository;
+	private final int numeroRelacionados;
+
+	private VectoresTfIdf vectores = new VectoresTfIdf();
+	private Map<Long, PostResumenDto> resumenes = new HashMap<>();
+
+	/*
+	 * Relacionadas de cada publicación, o null si aún no se han calculado
+	 */
+	private volatile Map<Long, List<PostResumenDto>> relacionados;
+
+	/**
+	 * Constructor de la clase RelacionadosPostsServiceImpl.
+	 *
+	 * @param postRepository     Repositorio de publicaciones.
+	 * @param numeroRelacionados el número de relacionadas que se guardan por
+	 *                           publicación
+	 */
+	public RelacionadosPostsServiceImpl(PostRepository postRepository,
+			@Value("${posts.relacionados.numero:4}") int numeroRelacionados) {
+		this.postRepository = postRepository;
+		this.numeroRelacionados = numeroRelacionados;
+	}
+
+	/**
+	 * Calcula las relacionadas al arrancar la aplicación. Si la base de datos no
+	 * está disponible se calcularán en la primera petición.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void construirAlArrancar() {
+		try {
+			construir();
+		} catch (DataAccessException e) {
+			logger.warn("No se han podido calcular los posts relacionados al arrancar", e);
+		}
+	}
+
+	/**
+	 * Obtiene las publicaciones relacionadas con una publicación.
+	 *
+	 * @param id el ID de la publicación
+	 * @return los resúmenes de las relacionadas, o una lista vacía
+	 */
+	@Override
+	public List<PostResumenDto> getRelacionados(Long id) {
+		return construir().getOrDefault(id, List.of());
+	}
+
+	/**
+	 * Actualiza el vector de una publicación y recalcula sus relacionadas y las
+	 * de las publicaciones con las que compartía o comparte alguna palabra. Si
+	 * aún no se han calculado no hace nada, ya que se calcularán con el estado
+	 * de la base de datos.
+	 *
+	 * @param post la publicación, ya guardada
+	 */
+	@Override
+	public synchronized void actualizar(Post post) {
+		if (relacionados == null) {
+			return;
+		}
+		Set<Long> afectados = vectores.vecinos(post.getId());
+		anadir(vectores, resumenes, post);
+		afectados.addAll(vectores.vecinos(post.getId()));
+		afectados.add(post.getId());
+		publicar(afectados, List.of());
+	}
+
+	/**
+	 * Retira una publicación y recalcula las relacionadas de las que compartían
+	 * alguna palabra con ella.
+	 *
+	 * @param id el ID de la publicación
+	 */
+	@Override
+	public synchronized void eliminar(Long id) {
+		if (relacionados == null) {
+			return;
+		}
+		Set<Long> afectados = vectores.vecinos(id);
+		vectores.eliminar(id);
+		resumenes.remove(id);
+		publicar(afectados, List.of(id));
+	}
+
+	/**
+	 * Vuelve a calcular todas las relacionadas desde la base de datos a la hora
+	 * indicada en la propiedad posts.relacionados.cron.
+	 */
+	@Override
+	@Scheduled(cron = "${posts.relacionados.cron:0 30 4 * * *}")
+	public synchronized void reconstruir() {
+		VectoresTfIdf nuevosVectores = new VectoresTfIdf();
+		Map<Long, PostResumenDto> nuevosResumenes = new HashMap<>();
+		for (Post post : postRepository.findAll()) {
+			anadir(nuevosVectores, nuevosResumenes, post);
+		}
+
+		Map<Long, List<PostResumenDto>> nuevos = new HashMap<>();
+		resolver(nuevosVectores.similares(nuevosResumenes.keySet(), numeroRelacionados), nuevosResumenes, nuevos);
+		vectores = nuevosVectores;
+		resumenes = nuevosResumenes;
+		relacionados = Map.copyOf(nuevos);
+		logger.info("Posts relacionados calculados para {} posts", nuevosVectores.size());
+	}
+
+	/**
+	 * Calcula las relacionadas de todas las publicaciones si aún no se ha hecho.
+	 *
+	 * @return las relacionadas de cada publicación
+	 */
+	private Map<Long, List<PostResumenDto>> construir() {
+		Map<Long, List<PostResumenDto>> actuales = relacionados;
+		if (actuales != null) {
+			return actuales;
+		}
+		synchronized (this) {
+			if (relacionados == null) {
+				reconstruir();
+			}
+			return relacionados;
+		}
+	}
+
+	/**
+	 * Recalcula las relacionadas de las publicaciones indicadas y publica una
+	 * copia del mapa con ellas.
+	 *
+	 * @param afectados  las publicaciones que se recalculan
+	 * @param eliminados las publicaciones que se retiran del mapa
+	 */
+	private void publicar(Collection<Long> afectados, Collection<Long> eliminados) {
+		Map<Long, List<PostResumenDto>> nuevos = new HashMap<>(relacionados);
+		nuevos.keySet().removeAll(eliminados);
+		resolver(vectores.similares(afectados, numeroRelacionados), resumenes, nuevos);
+		relacionados = Map.copyOf(nuevos);
+	}
+
+	/**
+	 * Sustituye los IDs de las similares por el resumen de cada publicación.
+	 */
+	private static void resolver(Map<Long, List<VectoresTfIdf.Similar>> similares,
+			Map<Long, PostResumenDto> resumenes, Map<Long, List<PostResumenDto>> destino) {
+		for (Map.Entry<Long, List<VectoresTfIdf.Similar>> entrada : similares.entrySet()) {
+			List<PostResumenDto> lista = new ArrayList<>(entrada.getValue().size());
+			for (VectoresTfIdf.Similar similar : entrada.getValue()) {
+				lista.add(resumenes.get(similar.id()));
+			}
+			destino.put(entrada.getKey(), List.copyOf(lista));
+		}
+	}
+
+	private static void anadir(VectoresTfIdf vectores, Map<Long, PostResumenDto> resumenes, Post post) {
+		String[] textos = { post.getFraseclave(), post.getTitle(), post.getMetadescripcion(), post.getTextoinfo(),
+				post.getTextoprograma1(), post.getTextoprograma2(), post.getTextoartistas(), post.getTextodjs() };
+		vectores.anadir(post.getId(), textos, PESOS);
+		resumenes.put(post.getId(), new PostResumenDto(post.getId(), post.getTitle(), post.getSlug(),
+				post.getImagenportada(), post.getAltportada(), post.getMiniaturaportada(), post.getMetadescripcion(),
+				post.getCreated_at()));
+	}
+
+}
@@ -1,35 +1,43 @@
 package com.bailaconsarabackend.service.impl;
 
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 import org.hibernate.service.spi.ServiceException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
 import org.springframework.data.crossstore.ChangeSetPersister.NotFoundException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import com.bailaconsarabackend.dto.ActualizacionSalaDto;
 import com.bailaconsarabackend.dto.DiaGeneroDTO;
 import com.bailaconsarabackend.dto.GeneralResponseDto;
 import com.bailaconsarabackend.dto.HorarioResponseDTO;
+import com.bailaconsarabackend.dto.SalaAbiertaDto;
 import com.bailaconsarabackend.dto.SalaBaileRequestDTO;
+import com.bailaconsarabackend.dto.SalaCercanaDto;
 import com.bailaconsarabackend.model.DiaApertura;
 import com.bailaconsarabackend.model.Dias;
-import com.bailaconsarabackend.model.GeneroMusical;
 import com.bailaconsarabackend.model.GenerosMusicales;
 import com.bailaconsarabackend.model.HorarioSala;
 import com.bailaconsarabackend.model.SalaBaile;
-import com.bailaconsarabackend.repository.DiaAperturaRepository;
-import com.bailaconsarabackend.repository.GeneroMusicalRepository;
 import com.bailaconsarabackend.repository.HorarioSalaRepository;
 import com.bailaconsarabackend.repository.SalaBaileRepository;
+import com.bailaconsarabackend.service.HorarioSemanalService;
+import com.bailaconsarabackend.service.ReferenciasHorarioService;
 import com.bailaconsarabackend.service.SalaBaileService;
+import com.bailaconsarabackend.util.HorarioMascara;
+import com.bailaconsarabackend.util.ValidadorSala;
 
 import jakarta.transaction.Transactional;
 
@@ -41,152 +49,174 @@ import jakarta.transaction.Transactional;
 @Service
 public class SalaBaileServiceImpl implements SalaBaileService {
 
+	/*
+	 * Radio máximo de las búsquedas por proximidad, en kilómetros
+	 */
+	private static final double RADIO_MAXIMO_KM = 100;
+
+	private static final int COMBINACIONES = Dias.values().length * GenerosMusicales.values().length;
+
 	private final SalaBaileRepository salaBaileRepository;
-	private final DiaAperturaRepository diaAperturaRepository;
-	private final GeneroMusicalRepository generoMusicalRepository;
 	private final HorarioSalaRepository horarioSalaRepository;
+	private final HorarioSemanalService horarioSemanalService;
+	private final ReferenciasHorarioService referenciasHorarioService;
+	private final ZoneId zonaHoraria;
 
 	/**
 	 * Constructor para la clase SalaBaileServiceImpl
 	 * 
-	 * @param salaBaileRepository     Repositorio de SalaBaile
-	 * @param diaAperturaRepository   Repositorio de DiasApertura
-	 * @param generoMusicalRepository Repositorio de GeneroMusical
-	 * @param horarioSalaRepository   Repositorio de HorarioSala
+	 * @param salaBaileRepository       Repositorio de SalaBaile
+	 * @param horarioSalaRepository     Repositorio de HorarioSala
+	 * @param horarioSemanalService     Servicio del horario semanal en memoria
+	 * @param referenciasHorarioService Servicio de los días y géneros en memoria
+	 * @param zonaHoraria               Zona horaria de las salas, con la que se
+	 *                                  calcula el momento actual
 	 */
-	public SalaBaileServiceImpl(SalaBaileRepository salaBaileRepository, DiaAperturaRepository diaAperturaRepository,
-			GeneroMusicalRepository generoMusicalRepository, HorarioSalaRepository horarioSalaRepository) {
+	public SalaBaileServiceImpl(SalaBaileRepository salaBaileRepository, HorarioSalaRepository horarioSalaRepository,
+			HorarioSemanalService horarioSemanalService, ReferenciasHorarioService referenciasHorarioService,
+			@Value("${salas.zona-horaria:Europe/Madrid}") String zonaHoraria) {
 		this.salaBaileRepository = salaBaileRepository;
-		this.diaAperturaRepository = diaAperturaRepository;
-		this.generoMusicalRepository = generoMusicalRepository;
 		this.horarioSalaRepository = horarioSalaRepository;
+		this.horarioSemanalService = horarioSemanalService;
+		this.referenciasHorarioService = referenciasHorarioService;
+		this.zonaHoraria = ZoneId.of(zonaHoraria);
 	}
 
 	/**
-	 * Crea una sala de baile con sus horarios asociados.
+	 * Crea una sala de baile con sus horarios asociados. Los días y géneros se
+	 * toman de los datos de referencia en memoria y los horarios se insertan en
+	 * lotes JDBC al confirmar la transacción.
 	 *
 	 * @param salaBaileDTO Datos de la sala de baile a crear.
 	 * @return La sala de baile creada.
 	 * @throws NotFoundException
 	 */
+	@Transactional
 	@Override
 	public SalaBaile createSalaConHorarios(SalaBaileRequestDTO salaBaileDTO) throws NotFoundException {
 		SalaBaile salaBaile = new SalaBaile();
 		salaBaile.setNombreSala(salaBaileDTO.getNombreSala());
 		salaBaile.setLocalidad(salaBaileDTO.getLocalidad());
 		salaBaile.setAddress(salaBaileDTO.getAddress());
+		ValidadorSala.validarCoordenadas(salaBaileDTO.getLatitud(), salaBaileDTO.getLongitud());
+		salaBaile.setLatitud(salaBaileDTO.getLatitud());
+		salaBaile.setLongitud(salaBaileDTO.getLongitud());
 
 		List<HorarioSala> horarios = new ArrayList<>();
 
-		for (DiaGeneroDTO diaGeneroDTO : salaBaileDTO.getDiasGeneros()) {
-
-			try {
-				DiaApertura diaApertura = getOrCreateDiaApertura(diaGeneroDTO.getDia());
+		try {
+			for (DiaGeneroDTO diaGeneroDTO : salaBaileDTO.getDiasGeneros()) {
+				ValidadorSala.validarDiaGenero(diaGeneroDTO);
+				DiaApertura diaApertura = referenciasHorarioService.getDiaApertura(diaGeneroDTO.getDia());
 
 				for (GenerosMusicales genero : diaGeneroDTO.getGeneros()) {
-
-					GeneroMusical generoMusical = getOrCreateGeneroMusical(genero);
-
 					HorarioSala horarioSala = new HorarioSala();
 					horarioSala.setSalaBaile(salaBaile);
 					horarioSala.setDiaApertura(diaApertura);
-					horarioSala.setGeneroMusical(generoMusical);
+					horarioSala.setGeneroMusical(referenciasHorarioService.getGeneroMusical(genero));
+					horarioSala.setHoraInicio(diaGeneroDTO.getHoraInicio());
+					horarioSala.setHoraFin(diaGeneroDTO.getHoraFin());
 					horarios.add(horarioSala);
 				}
-			} catch (NotFoundException e) {
-				throw new NotFoundException();
-			} catch (Exception e) {
-				throw new RuntimeException("Error al crear la sala de baile", e);
 			}
+		} catch (Exception e) {
+			throw new RuntimeException("Error al crear la sala de baile", e);
 		}
 
 		salaBaile.setHorariosSala(horarios);
-		return salaBaileRepository.save(salaBaile);
+		SalaBaile salaGuardada = salaBaileRepository.save(salaBaile);
+		horarioSemanalService.invalidar();
+		return salaGuardada;
 	}
 
 	/**
-	 * Obtiene un {@link DiaApertura} existente o lo crea si no está presente en el
-	 * repositorio.
-	 * 
-	 * @param dia El día de apertura que se está buscando.
-	 * @return Un objeto {@link DiaApertura} correspondiente al día proporcionado.
-	 * @throws NotFoundException Si no se puede encontrar o crear el
-	 *                           {@link DiaApertura}.
+	 * Obtiene los horarios de una sala de baile por día. Se sirven desde la
+	 * instantánea en memoria del horario semanal, sin consultar la base de datos.
+	 *
+	 * @param dia El día para filtrar los horarios.
+	 * @return Lista inmutable de horarios por día.
 	 */
-	private DiaApertura getOrCreateDiaApertura(Dias dia) throws NotFoundException {
-		return diaAperturaRepository.findByDia(dia).orElseGet(() -> {
-			DiaApertura nuevoDiaApertura = new DiaApertura();
-			nuevoDiaApertura.setDia(dia);
-			return diaAperturaRepository.save(nuevoDiaApertura);
-		});
+	@Override
+	public List<HorarioResponseDTO> getHorariosPorDia(Dias dia) {
+		if (dia == null) {
+			throw new IllegalArgumentException("El día no puede ser nulo.");
+		}
+
+		try {
+			return horarioSemanalService.getHorarios(dia);
+		} catch (DataAccessException e) {
+			throw new ServiceException("Error al acceder a la base de datos. Intente nuevamente más tarde.", e);
+		}
 	}
 
 	/**
-	 * Obtiene un {@link GeneroMusical} existente o lo crea si no está presente en
-	 * el repositorio.
-	 * 
-	 * @param genero El género musical que se está buscando.
-	 * @return Un objeto {@link GeneroMusical} correspondiente al género
-	 *         proporcionado.
+	 * Filtra las salas de baile por localidad, días y géneros. Se evalúa sobre las
+	 * máscaras de horario de la instantánea en memoria, sin consultar la base de
+	 * datos.
+	 *
+	 * @param localidad Localidad de las salas, o null para todas.
+	 * @param dias      Días buscados, o null o vacío para todos.
+	 * @param generos   Géneros buscados, o null o vacío para todos.
+	 * @return Lista de salas que cumplen el filtro.
 	 */
-	private GeneroMusical getOrCreateGeneroMusical(GenerosMusicales genero) {
-		GeneroMusical generoMusical = generoMusicalRepository.findByGenero(genero);
-		if (generoMusical == null) {
-			generoMusical = new GeneroMusical();
-			generoMusical.setGenero(genero);
-			generoMusical = generoMusicalRepository.save(generoMusical);
+	@Override
+	public List<SalaBaileRequestDTO> filtrarSalas(String localidad, List<Dias> dias, List<GenerosMusicales> generos) {
+		try {
+			return horarioSemanalService.filtrarSalas(localidad, dias, generos);
+		} catch (DataAccessException e) {
+			throw new ServiceException("Error al acceder a la base de datos. Intente nuevamente más tarde.", e);
 		}
-		return generoMusical;
 	}
 
 	/**
-	 * Obtiene los horarios de una sala de baile por día.
+	 * Busca las salas de baile que abren un día cerca de una posición. Se sirven
+	 * desde la rejilla geográfica de la instantánea en memoria.
 	 *
-	 * @param dia El día para filtrar los horarios.
-	 * @return Lista de horarios por día.
+	 * @param dia      El día de la semana.
+	 * @param latitud  Latitud de la posición, en grados.
+	 * @param longitud Longitud de la posición, en grados.
+	 * @param radioKm  Radio de búsqueda, en kilómetros.
+	 * @return Lista de salas encontradas, de la más cercana a la más lejana.
 	 */
 	@Override
-	public List<HorarioResponseDTO> getHorariosPorDia(Dias dia) {
-		List<HorarioResponseDTO> response = new ArrayList<>();
-
+	public List<SalaCercanaDto> buscarSalasCercanas(Dias dia, double latitud, double longitud, double radioKm) {
 		if (dia == null) {
 			throw new IllegalArgumentException("El día no puede ser nulo.");
 		}
+		ValidadorSala.validarCoordenadas(latitud, longitud);
+		if (!(radioKm > 0 && radioKm <= RADIO_MAXIMO_KM)) {
+			throw new IllegalArgumentException("El radio debe estar entre 0 y " + RADIO_MAXIMO_KM + " km.");
+		}
 
 		try {
-			// Obtener los horarios para el día especificado
-			List<HorarioSala> horarios = horarioSalaRepository.findByDiaApertura_Dia(dia);
-
-			if (horarios != null && !horarios.isEmpty()) {
-				// Agrupar por sala
-				Map<SalaBaile, List<HorarioSala>> groupedHorarios = horarios.stream()
-						.collect(Collectors.groupingBy(HorarioSala::getSalaBaile));
-
-				for (Map.Entry<SalaBaile, List<HorarioSala>> entry : groupedHorarios.entrySet()) {
-					SalaBaile sala = entry.getKey();
-					List<HorarioSala> salaHorarios = entry.getValue();
-
-					HorarioResponseDTO dto = new HorarioResponseDTO();
-					dto.setSalaId(sala.getId());
-					dto.setNombreSala(sala.getNombreSala());
-					dto.setLocalidad(sala.getLocalidad());
-					dto.setAddress(sala.getAddress());
-					dto.setDia(dia);
-					dto.setGeneros(salaHorarios.stream().map(horario -> horario.getGeneroMusical().getGenero())
-							.collect(Collectors.toList()));
-
-					response.add(dto);
-				}
-			}
+			return horarioSemanalService.buscarCercanas(dia, latitud, longitud, radioKm);
 		} catch (DataAccessException e) {
 			throw new ServiceException("Error al acceder a la base de datos. Intente nuevamente más tarde.", e);
-		} catch (NullPointerException e) {
-			throw new ServiceException("Ocurrió un error inesperado. Por favor, intente nuevamente.", e);
-		} catch (Exception e) {
-			throw new ServiceException("Error inesperado. Por favor, intente nuevamente.", e);
 		}
+	}
+
+	/**
+	 * Obtiene las sesiones de las salas que están en curso en un momento. Si no se
+	 * indica el día o la hora se toman los del momento actual en la zona horaria
+	 * de las salas. Se sirven desde los árboles de intervalos de la instantánea en
+	 * memoria.
+	 *
+	 * @param dia    El día de la semana, o null para el actual.
+	 * @param hora   La hora, o null para la actual.
+	 * @param genero El género musical, o null para todos.
+	 * @return Lista de sesiones en curso.
+	 */
+	@Override
+	public List<SalaAbiertaDto> getSalasAbiertas(Dias dia, LocalTime hora, GenerosMusicales genero) {
+		ZonedDateTime ahora = ZonedDateTime.now(zonaHoraria);
+		Dias diaConsulta = dia != null ? dia : Dias.values()[ahora.getDayOfWeek().ordinal()];
+		LocalTime horaConsulta = hora != null ? hora : ahora.toLocalTime();
 
-		return response;
+		try {
+			return horarioSemanalService.getAbiertas(diaConsulta, horaConsulta, genero);
+		} catch (DataAccessException e) {
+			throw new ServiceException("Error al acceder a la base de datos. Intente nuevamente más tarde.", e);
+		}
 	}
 
 	/**
@@ -205,95 +235,161 @@ public class SalaBaileServiceImpl implements SalaBaileService {
 		dto.setNombreSala(sala.getNombreSala());
 		dto.setLocalidad(sala.getLocalidad());
 		dto.setAddress(sala.getAddress());
+		dto.setLatitud(sala.getLatitud());
+		dto.setLongitud(sala.getLongitud());
 
-		// Mapa para agrupar los géneros musicales por día
-		Map<Dias, List<GenerosMusicales>> diasGenerosMap = new HashMap<>();
-
-		for (HorarioSala horario : sala.getHorariosSala()) {
-			Dias dia = horario.getDiaApertura().getDia();
-			GenerosMusicales generoMusical = horario.getGeneroMusical().getGenero();
+		dto.setDiasGeneros(agruparHorarios(sala.getHorariosSala()));
 
-			diasGenerosMap.computeIfAbsent(dia, diasGenerosList -> new ArrayList<>()).add(generoMusical);
-		}
-
-		// Convertir el mapa en una lista de DiaAperturaDTO
-		List<DiaGeneroDTO> diasApertura = diasGenerosMap.entrySet().stream()
-				.map(entry -> new DiaGeneroDTO(entry.getKey(), entry.getValue())).collect(Collectors.toList());
+		return dto;
+	}
 
-		dto.setDiasGeneros(diasApertura);
+	/**
+	 * Agrupa los horarios de una sala por día y horario, en el orden de los días.
+	 * Los géneros de un mismo día con horas distintas quedan en grupos distintos.
+	 *
+	 * @param horarios Los horarios de la sala.
+	 * @return Lista de días con sus géneros y su horario.
+	 */
+	private List<DiaGeneroDTO> agruparHorarios(List<HorarioSala> horarios) {
+		Map<String, DiaGeneroDTO> grupos = new LinkedHashMap<>();
+
+		horarios.stream().sorted(Comparator.comparing((HorarioSala horario) -> horario.getDiaApertura().getDia())
+				.thenComparing(horario -> horario.getGeneroMusical().getGenero())).forEach(horario -> {
+					Dias dia = horario.getDiaApertura().getDia();
+					String clave = dia + "|" + horario.getHoraInicio() + "|" + horario.getHoraFin();
+					DiaGeneroDTO grupo = grupos.computeIfAbsent(clave, k -> {
+						DiaGeneroDTO nuevo = new DiaGeneroDTO(dia, new ArrayList<>());
+						nuevo.setHoraInicio(horario.getHoraInicio());
+						nuevo.setHoraFin(horario.getHoraFin());
+						return nuevo;
+					});
+					if (!grupo.getGeneros().contains(horario.getGeneroMusical().getGenero())) {
+						grupo.getGeneros().add(horario.getGeneroMusical().getGenero());
+					}
+				});
 
-		return dto;
+		return new ArrayList<>(grupos.values());
 	}
 
 	/**
-	 * Actualiza una sala de baile con sus horarios asociados.
+	 * Actualiza una sala de baile con sus horarios asociados. Los horarios
+	 * guardados y los pedidos se codifican como máscaras de día y género, y solo
+	 * se eliminan los que sobran y se insertan los que faltan; los demás no se
+	 * tocan. Los días y géneros se toman de los datos de referencia en memoria.
 	 *
 	 * @param id           El ID de la sala de baile a actualizar.
 	 * @param salaBaileDTO Datos actualizados de la sala de baile.
-	 * @return La sala de baile actualizada.
+	 * @return La sala actualizada con el resumen de los cambios.
 	 * @throws NotFoundException Si no se encuentra la sala de baile.
 	 */
+	@Transactional
 	@Override
-	public SalaBaile updateSalaConHorarios(Long id, SalaBaileRequestDTO salaBaileDTO) throws NotFoundException {
+	public ActualizacionSalaDto updateSalaConHorarios(Long id, SalaBaileRequestDTO salaBaileDTO)
+			throws NotFoundException {
 		try {
 			SalaBaile sala = salaBaileRepository.findById(id).orElseThrow(() -> new NotFoundException());
+			List<String> camposActualizados = new ArrayList<>();
 
 			// Actualizar campos si son diferentes y no están vacíos
 			if (!Objects.equals(sala.getNombreSala(), salaBaileDTO.getNombreSala())
 					&& salaBaileDTO.getNombreSala() != null && !salaBaileDTO.getNombreSala().isBlank()) {
 				sala.setNombreSala(salaBaileDTO.getNombreSala());
+				camposActualizados.add("nombreSala");
 			}
 			if (!Objects.equals(sala.getLocalidad(), salaBaileDTO.getLocalidad()) && salaBaileDTO.getLocalidad() != null
 					&& !salaBaileDTO.getLocalidad().isBlank()) {
 				sala.setLocalidad(salaBaileDTO.getLocalidad());
+				camposActualizados.add("localidad");
 			}
 			if (!Objects.equals(sala.getAddress(), salaBaileDTO.getAddress()) && salaBaileDTO.getAddress() != null
 					&& !salaBaileDTO.getAddress().isBlank()) {
 				sala.setAddress(salaBaileDTO.getAddress());
+				camposActualizados.add("address");
+			}
+			ValidadorSala.validarCoordenadas(salaBaileDTO.getLatitud(), salaBaileDTO.getLongitud());
+			if (salaBaileDTO.getLatitud() != null && !salaBaileDTO.getLatitud().equals(sala.getLatitud())) {
+				sala.setLatitud(salaBaileDTO.getLatitud());
+				camposActualizados.add("latitud");
+			}
+			if (salaBaileDTO.getLongitud() != null && !salaBaileDTO.getLongitud().equals(sala.getLongitud())) {
+				sala.setLongitud(salaBaileDTO.getLongitud());
+				camposActualizados.add("longitud");
 			}
 
-			// Obtener la lista de horarios existentes
-			List<HorarioSala> horariosExistentes = sala.getHorariosSala();
-			List<HorarioSala> nuevosHorarios = new ArrayList<>();
-
-			// recorre los dias_Generos del request
-			for (DiaGeneroDTO diaGeneroDTO : salaBaileDTO.getDiasGeneros()) {
-
-				// Obtener o crear DiaApertura
-				DiaApertura diaApertura = diaAperturaRepository.findByDia(diaGeneroDTO.getDia()).orElse(null);
-				if (diaApertura == null) {
-					diaApertura = new DiaApertura();
-					diaApertura.setDia(diaGeneroDTO.getDia());
-					diaApertura = diaAperturaRepository.save(diaApertura);
+			// Sin días en la petición se conservan todos los horarios
+			boolean cambiarHorarios = salaBaileDTO.getDiasGeneros() != null;
+			int pedidos = cambiarHorarios ? HorarioMascara.codificar(salaBaileDTO.getDiasGeneros()) : -1;
+
+			// Horas pedidas para cada combinación de día y género
+			LocalTime[] inicios = new LocalTime[COMBINACIONES];
+			LocalTime[] fines = new LocalTime[COMBINACIONES];
+			if (cambiarHorarios) {
+				for (DiaGeneroDTO diaGeneroDTO : salaBaileDTO.getDiasGeneros()) {
+					ValidadorSala.validarDiaGenero(diaGeneroDTO);
+					for (GenerosMusicales genero : diaGeneroDTO.getGeneros()) {
+						int indice = HorarioMascara.indice(diaGeneroDTO.getDia(), genero);
+						inicios[indice] = diaGeneroDTO.getHoraInicio();
+						fines[indice] = diaGeneroDTO.getHoraFin();
+					}
 				}
+			}
 
-				for (GenerosMusicales genero : diaGeneroDTO.getGeneros()) {
-					// Obtener o crear GeneroMusical
-					GeneroMusical generoMusical = generoMusicalRepository.findByGenero(genero);
-					if (generoMusical == null) {
-						generoMusical = new GeneroMusical();
-						generoMusical.setGenero(genero);
-						generoMusical = generoMusicalRepository.save(generoMusical);
+			// Máscara de los horarios guardados; los duplicados se eliminan
+			List<HorarioSala> horariosExistentes = sala.getHorariosSala();
+			int guardados = 0;
+			int conservados = 0;
+			int horasModificadas = 0;
+			boolean filasEliminadas = false;
+
+			Iterator<HorarioSala> iterator = horariosExistentes.iterator();
+			while (iterator.hasNext()) {
+				HorarioSala horario = iterator.next();
+				int bit = HorarioMascara.bit(horario.getDiaApertura().getDia(), horario.getGeneroMusical().getGenero());
+				boolean duplicado = (conservados & bit) != 0;
+				guardados |= bit;
+				if (duplicado || (pedidos & bit) == 0) {
+					iterator.remove();
+					filasEliminadas = true;
+				} else {
+					conservados |= bit;
+					int indice = Integer.numberOfTrailingZeros(bit);
+					if (cambiarHorarios && (!Objects.equals(horario.getHoraInicio(), inicios[indice])
+							|| !Objects.equals(horario.getHoraFin(), fines[indice]))) {
+						horario.setHoraInicio(inicios[indice]);
+						horario.setHoraFin(fines[indice]);
+						horasModificadas++;
 					}
+				}
+			}
 
-					// Crear nuevo HorarioSala
+			// Insertar solo las combinaciones pedidas que no estaban guardadas
+			int nuevos = cambiarHorarios ? pedidos & ~guardados : 0;
+			List<DiaGeneroDTO> anadidos = HorarioMascara.decodificar(nuevos);
+			for (DiaGeneroDTO diaGenero : anadidos) {
+				DiaApertura diaApertura = referenciasHorarioService.getDiaApertura(diaGenero.getDia());
+				for (GenerosMusicales genero : diaGenero.getGeneros()) {
 					HorarioSala horarioSala = new HorarioSala();
 					horarioSala.setSalaBaile(sala);
 					horarioSala.setDiaApertura(diaApertura);
-					horarioSala.setGeneroMusical(generoMusical);
-					nuevosHorarios.add(horarioSala);
+					horarioSala.setGeneroMusical(referenciasHorarioService.getGeneroMusical(genero));
+					horarioSala.setHoraInicio(inicios[HorarioMascara.indice(diaGenero.getDia(), genero)]);
+					horarioSala.setHoraFin(fines[HorarioMascara.indice(diaGenero.getDia(), genero)]);
+					horariosExistentes.add(horarioSala);
 				}
 			}
+			List<DiaGeneroDTO> eliminados = HorarioMascara.decodificar(guardados & ~conservados);
 
-			// Eliminar los horarios antiguos que no están en la nueva lista
-			horariosExistentes.clear();
-
-			// Agregar los nuevos horarios
-			horariosExistentes.addAll(nuevosHorarios);
-
-			sala.setHorariosSala(horariosExistentes);
+			// La sala está gestionada: los cambios se escriben al confirmar la transacción
+			if (!camposActualizados.isEmpty() || nuevos != 0 || filasEliminadas || horasModificadas > 0) {
+				horarioSemanalService.invalidar();
+			}
 
-			return salaBaileRepository.save(sala);
+			SalaBaileRequestDTO salaActualizada = new SalaBaileRequestDTO(sala.getId(), sala.getNombreSala(),
+					sala.getLocalidad(), sala.getAddress(), agruparHorarios(horariosExistentes));
+			salaActualizada.setLatitud(sala.getLatitud());
+			salaActualizada.setLongitud(sala.getLongitud());
+			return new ActualizacionSalaDto(salaActualizada, camposActualizados, anadidos, eliminados,
+					Integer.bitCount(conservados), horasModificadas);
 
 		} catch (DataAccessException e) {
 			throw new ServiceException("Error al acceder a la base de datos.", e);
@@ -303,7 +399,10 @@ public class SalaBaileServiceImpl implements SalaBaileService {
 	}
 
 	/**
-	 * Elimina una sala de baile junto con sus horarios asociados.
+	 * Elimina una sala de baile junto con sus horarios asociados. Se ejecutan
+	 * siempre dos sentencias masivas, una para los horarios y otra para la sala,
+	 * sin cargar entidades. Los días y géneros son datos de referencia compartidos
+	 * y no se eliminan.
 	 *
 	 * @param id El ID de la sala de baile a eliminar.
 	 * @return Una respuesta con el estado de la operación.
@@ -313,52 +412,22 @@ public class SalaBaileServiceImpl implements SalaBaileService {
 	@Override
 	public ResponseEntity<GeneralResponseDto> deleteSalaConHorarios(Long id) throws NotFoundException {
 		GeneralResponseDto response = new GeneralResponseDto();
+		int salasEliminadas;
 
 		try {
-			SalaBaile sala = salaBaileRepository.findById(id).orElseThrow(() -> new NotFoundException());
-
-			// Eliminar horarios asociados a la sala
-			List<HorarioSala> horariosSala = sala.getHorariosSala();
-
-			// Eliminar de la lista mientras se itera
-			Iterator<HorarioSala> iterator = horariosSala.iterator();
-			while (iterator.hasNext()) {
-				HorarioSala horario = iterator.next();
-				horarioSalaRepository.delete(horario);
-				iterator.remove();
-			}
-
-			// Eliminar días de apertura asociados a la sala
-			for (HorarioSala horario : horariosSala) {
-				DiaApertura diaApertura = horario.getDiaApertura();
-				if (diaApertura != null) {
-					diaApertura.getHorariosSala().remove(horario);
-					if (diaApertura.getHorariosSala().isEmpty()) {
-						diaAperturaRepository.delete(diaApertura);
-					}
-				}
-			}
-
-			// Eliminar géneros musicales asociados a la sala
-			for (HorarioSala horario : horariosSala) {
-				GeneroMusical generoMusical = horario.getGeneroMusical();
-				if (generoMusical != null) {
-					generoMusical.getHorariosSala().remove(horario);
-					if (generoMusical.getHorariosSala().isEmpty()) {
-						generoMusicalRepository.delete(generoMusical);
-					}
-				}
-			}
-
-			// Finalmente, elimina la sala de baile
-			salaBaileRepository.delete(sala);
-
+			horarioSalaRepository.deleteBySalaBaileId(id);
+			salasEliminadas = salaBaileRepository.deleteSalaById(id);
 		} catch (DataAccessException e) {
 			throw new ServiceException("Error al acceder a la base de datos al eliminar la sala.", e);
 		} catch (Exception e) {
 			throw new ServiceException("Error inesperado al eliminar la sala de baile.", e);
 		}
 
+		if (salasEliminadas == 0) {
+			throw new NotFoundException();
+		}
+		horarioSemanalService.invalidar();
+
 		return new ResponseEntity<>(response, HttpStatus.OK);
 	}
 
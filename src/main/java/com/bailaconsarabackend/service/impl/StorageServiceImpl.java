@@ -78,10 +78,24 @@ public class StorageServiceImpl implements StorageService {
 	@Override
 	public String store(MultipartFile file) throws IOException {
 		String filename = StringUtils.cleanPath(file.getOriginalFilename());
+		if (file.isEmpty()) {
+			throw new RuntimeException("No se puede almacenar un archivo vacío " + filename);
+		}
+		return store(filename, file.getBytes());
+	}
+
+	/**
+	 * Almacena en el servidor FTP un contenido generado por la aplicación.
+	 *
+	 * @param filename  El nombre del archivo.
+	 * @param contenido El contenido del archivo.
+	 * @return La URL del archivo almacenado en el servidor frontend.
+	 * @throws IOException si ocurre un error al almacenar el archivo.
+	 */
+	@Override
+	public String store(String filename, byte[] contenido) throws IOException {
+		filename = StringUtils.cleanPath(filename);
 		try {
-			if (file.isEmpty()) {
-				throw new RuntimeException("No se puede almacenar un archivo vacío " + filename);
-			}
 			if (filename.contains("..")) {
 				logger.error("Fallo al almacenar archivo con ruta inválida: {}", filename);
 				throw new RuntimeException(
@@ -115,7 +129,7 @@ public class StorageServiceImpl implements StorageService {
 				logger.info("Modo pasivo y binario activados");
 
 				// Leemos el contenido del archivo a un InputStream
-				InputStream inputStream = new ByteArrayInputStream(file.getBytes());
+				InputStream inputStream = new ByteArrayInputStream(contenido);
 				boolean done = ftpClient.storeFile(ftpBaseDir + filename, inputStream);
 
 				inputStream.close();
@@ -1,20 +1,35 @@
 package com.bailaconsarabackend.service.impl;
 
+import java.sql.Date;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.crossstore.ChangeSetPersister.NotFoundException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
 import com.bailaconsarabackend.dto.BasicResponseDto;
 import com.bailaconsarabackend.dto.GeneralResponseDto;
+import com.bailaconsarabackend.dto.PosicionListaEsperaDto;
+import com.bailaconsarabackend.dto.SerieTallerDto;
 import com.bailaconsarabackend.dto.TallerDto;
 import com.bailaconsarabackend.dto.UserTallerDto;
 import com.bailaconsarabackend.event.NotificarNuevaParejaEvent;
@@ -24,13 +39,19 @@ import com.bailaconsarabackend.event.NotificarUpdatedEvent;
 import com.bailaconsarabackend.exception.TallerNotFoundException;
 import com.bailaconsarabackend.exception.UserAlreadyExistsException;
 import com.bailaconsarabackend.exception.UserNotFoundException;
+import com.bailaconsarabackend.model.Dias;
+import com.bailaconsarabackend.model.ParejaTaller;
 import com.bailaconsarabackend.model.Taller;
 import com.bailaconsarabackend.model.User;
 import com.bailaconsarabackend.model.UserTallerEstado;
 import com.bailaconsarabackend.model.User_Taller;
+import com.bailaconsarabackend.repository.ParejaTallerRepository;
 import com.bailaconsarabackend.repository.TallerRepository;
 import com.bailaconsarabackend.repository.UserRepository;
 import com.bailaconsarabackend.repository.User_TallerRepository;
+import com.bailaconsarabackend.service.CheckInService;
+import com.bailaconsarabackend.service.EventoInscripcionService;
+import com.bailaconsarabackend.service.ListaEsperaService;
 import com.bailaconsarabackend.service.TallerService;
 import com.bailaconsarabackend.util.ApplicationUrlUtil;
 
@@ -46,30 +67,106 @@ import jakarta.transaction.Transactional;
 @Service
 public class TallerServiceImpl implements TallerService {
 
+	private static final Logger logger = LoggerFactory.getLogger(TallerServiceImpl.class);
+
+	/*
+	 * Límite de talleres por serie, aproximadamente un año de talleres diarios
+	 */
+	private static final int MAX_TALLERES_SERIE = 366;
+	private static final int TAMANO_LOTE = 100;
+
+	private static final String INSERT_TALLER = "INSERT INTO talleres "
+			+ "(nombre, modalidad, profesores, fecha, hora, lugar, serie_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+	/*
+	 * Migración de las parejas guardadas en la antigua columna
+	 * user_taller.partner_id al registro de parejas_taller
+	 */
+	private static final String EXISTE_PARTNER_ID = "SELECT COUNT(*) FROM information_schema.columns "
+			+ "WHERE table_schema = DATABASE() AND table_name = 'user_taller' AND column_name = 'partner_id'";
+	private static final String MIGRAR_PAREJAS = "INSERT IGNORE INTO parejas_taller (taller_id, lider_id, follower_id) "
+			+ "SELECT ut.taller_id, ut.id, ut.partner_id FROM user_taller ut JOIN user_taller f "
+			+ "ON f.id = ut.partner_id AND f.taller_id = ut.taller_id WHERE ut.partner_id IS NOT NULL "
+			+ "AND ut.user_taller_estado IN (" + UserTallerEstado.LIDERWAITING.ordinal() + ", "
+			+ UserTallerEstado.LIDERCONFIRMED.ordinal() + ") ORDER BY ut.id";
+	private static final String NORMALIZAR_ESTADOS = "UPDATE user_taller SET user_taller_estado = CASE "
+			+ "user_taller_estado WHEN " + UserTallerEstado.LIDERCONFIRMED.ordinal() + " THEN "
+			+ UserTallerEstado.LIDERWAITING.ordinal() + " ELSE " + UserTallerEstado.FOLLOWERWAITING.ordinal()
+			+ " END WHERE user_taller_estado IN (" + UserTallerEstado.LIDERCONFIRMED.ordinal() + ", "
+			+ UserTallerEstado.FOLLOWERCONFIRMED.ordinal() + ")";
+	private static final String BORRAR_PARTNER_ID = "ALTER TABLE user_taller DROP COLUMN partner_id";
+
 	private final UserRepository userRepository;
 	private final TallerRepository tallerRepository;
 	private final User_TallerRepository user_tallerRepository;
+	private final ParejaTallerRepository parejaTallerRepository;
+	private final ListaEsperaService listaEsperaService;
+	private final EventoInscripcionService eventoInscripcionService;
+	private final CheckInService checkInService;
 	private final ApplicationEventPublisher eventPublisher;
 	private final ApplicationUrlUtil applicationUrlUtil;
+	private final JdbcTemplate jdbcTemplate;
 
 	/**
 	 * Constructor de la clase TallerServiceImpl.
 	 * 
-	 * @param userRepository        Repositorio de usuarios.
-	 * @param tallerRepository      Repositorio de talleres.
-	 * @param user_tallerRepository Repositorio de relaciones entre usuarios y
-	 *                              talleres.
-	 * @param eventPublisher        Publicador de eventos de la aplicación.
-	 * @param applicationUrlUtil    Utilidad para obtener la URL de la aplicación.
+	 * @param userRepository           Repositorio de usuarios.
+	 * @param tallerRepository         Repositorio de talleres.
+	 * @param user_tallerRepository    Repositorio de relaciones entre usuarios y
+	 *                                 talleres.
+	 * @param parejaTallerRepository   Repositorio de parejas formadas en los
+	 *                                 talleres.
+	 * @param listaEsperaService       Servicio de listas de espera de los
+	 *                                 talleres.
+	 * @param eventoInscripcionService Servicio del historial de inscripciones.
+	 * @param checkInService           Servicio de check-in, que revoca los tokens
+	 *                                 de los talleres borrados.
+	 * @param eventPublisher           Publicador de eventos de la aplicación.
+	 * @param applicationUrlUtil       Utilidad para obtener la URL de la
+	 *                                 aplicación.
+	 * @param jdbcTemplate             Plantilla JDBC para crear las series de
+	 *                                 talleres por lotes.
 	 */
 	public TallerServiceImpl(UserRepository userRepository, TallerRepository tallerRepository,
-			User_TallerRepository user_tallerRepository, ApplicationEventPublisher eventPublisher,
-			ApplicationUrlUtil applicationUrlUtil) {
+			User_TallerRepository user_tallerRepository, ParejaTallerRepository parejaTallerRepository,
+			ListaEsperaService listaEsperaService, EventoInscripcionService eventoInscripcionService,
+			CheckInService checkInService, ApplicationEventPublisher eventPublisher,
+			ApplicationUrlUtil applicationUrlUtil, JdbcTemplate jdbcTemplate) {
 		this.userRepository = userRepository;
 		this.tallerRepository = tallerRepository;
 		this.user_tallerRepository = user_tallerRepository;
+		this.parejaTallerRepository = parejaTallerRepository;
+		this.listaEsperaService = listaEsperaService;
+		this.eventoInscripcionService = eventoInscripcionService;
+		this.checkInService = checkInService;
 		this.eventPublisher = eventPublisher;
 		this.applicationUrlUtil = applicationUrlUtil;
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	/**
+	 * Pasa al arrancar las parejas guardadas en la antigua columna
+	 * user_taller.partner_id a parejas_taller, deja en user_taller solo el rol
+	 * (estado WAITING) y, cuando todo ha ido bien, borra la columna. Es
+	 * idempotente: las parejas ya migradas se ignoran y, sin la columna, no hace
+	 * nada. Se ejecuta antes de completar el historial de inscripciones para que
+	 * las parejas existentes queden registradas en él.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	@Order(1)
+	public void migrarParejasExistentes() {
+		try {
+			Integer columnas = jdbcTemplate.queryForObject(EXISTE_PARTNER_ID, Integer.class);
+			if (columnas == null || columnas == 0) {
+				return;
+			}
+			int parejas = jdbcTemplate.update(MIGRAR_PAREJAS);
+			jdbcTemplate.update(NORMALIZAR_ESTADOS);
+			jdbcTemplate.update(BORRAR_PARTNER_ID);
+			logger.info("Migradas {} parejas de user_taller.partner_id a parejas_taller", parejas);
+		} catch (DataAccessException e) {
+			logger.error("No se han podido migrar las parejas de user_taller.partner_id", e);
+		}
 	}
 
 	/**
@@ -209,6 +306,8 @@ public class TallerServiceImpl implements TallerService {
 			}
 
 			tallerRepository.deleteById(tallerId);
+			listaEsperaService.invalidar(tallerId);
+			checkInService.revocarTaller(tallerId, taller.getFecha());
 			response.setMessage("Taller eliminado con éxito.");
 			response.setStatus(HttpStatus.OK);
 
@@ -220,6 +319,246 @@ public class TallerServiceImpl implements TallerService {
 		return new ResponseEntity<>(response, response.getStatus());
 	}
 
+	/**
+	 * Crea todos los talleres de una serie recurrente. Las fechas se calculan a
+	 * partir de la regla de recurrencia y los talleres se insertan con lotes JDBC
+	 * dentro de una única transacción, de modo que la serie se crea completa o no
+	 * se crea.
+	 * 
+	 * @param serieTallerDto Objeto SerieTallerDto con los datos comunes y la regla
+	 *                       de recurrencia.
+	 * @return ResponseEntity que envía una respuesta con un objeto
+	 *         BasicResponseDto cuyo campo data es la serie creada.
+	 */
+	@Transactional
+	@Override
+	public ResponseEntity<BasicResponseDto> addSerieTalleres(SerieTallerDto serieTallerDto) {
+		BasicResponseDto response = new BasicResponseDto();
+		String error = validarSerie(serieTallerDto);
+
+		if (error != null) {
+			response.setMessage(error);
+			response.setStatus(HttpStatus.BAD_REQUEST);
+			return new ResponseEntity<>(response, response.getStatus());
+		}
+
+		List<LocalDate> fechas = calcularFechasSerie(serieTallerDto);
+		if (fechas.isEmpty()) {
+			response.setMessage("La regla de recurrencia no genera ningún taller");
+			response.setStatus(HttpStatus.BAD_REQUEST);
+			return new ResponseEntity<>(response, response.getStatus());
+		}
+
+		String serieId = UUID.randomUUID().toString();
+		try {
+			jdbcTemplate.batchUpdate(INSERT_TALLER, fechas, TAMANO_LOTE, (ps, fecha) -> {
+				ps.setString(1, serieTallerDto.getNombre());
+				ps.setString(2, serieTallerDto.getModalidad());
+				ps.setString(3, serieTallerDto.getProfesores());
+				ps.setDate(4, Date.valueOf(fecha));
+				ps.setString(5, serieTallerDto.getHora());
+				ps.setString(6, serieTallerDto.getLugar());
+				ps.setString(7, serieId);
+			});
+
+			serieTallerDto.setSerieId(serieId);
+			serieTallerDto.setFechas(fechas);
+			response.setData(serieTallerDto);
+			response.setMessage("Serie de " + fechas.size() + " eventos creada con éxito");
+			response.setStatus(HttpStatus.CREATED);
+		} catch (Exception e) {
+			TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+			response.setMessage("¡Error, no se ha podido crear la serie de eventos");
+			response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+
+		return new ResponseEntity<>(response, response.getStatus());
+	}
+
+	/**
+	 * Actualiza los talleres de una serie a partir de una fecha con una única
+	 * sentencia de actualización, y notifica el cambio a los usuarios inscritos en
+	 * los talleres afectados.
+	 * 
+	 * @param serieId ID de la serie que se va a actualizar.
+	 * @param request Objeto TallerDto con los datos a modificar. Los campos vacíos
+	 *                se mantienen y la fecha de cada taller no se modifica.
+	 * @param desde   Primera fecha de taller afectada.
+	 * @return ResponseEntity que envía una respuesta con un objeto
+	 *         BasicResponseDto con el número de talleres actualizados.
+	 */
+	@Transactional
+	@Override
+	public ResponseEntity<BasicResponseDto> updateSerieTalleres(String serieId, TallerDto request, LocalDate desde) {
+		BasicResponseDto response = new BasicResponseDto();
+		ArrayList<String> modificaciones = new ArrayList<>();
+		String nombre = valorSiNoVacio(request.getNombre());
+		String modalidad = valorSiNoVacio(request.getModalidad());
+		String profesores = valorSiNoVacio(request.getProfesores());
+		String hora = valorSiNoVacio(request.getHora());
+		String lugar = valorSiNoVacio(request.getLugar());
+
+		if (nombre != null) {
+			modificaciones.add("Se ha modificado el Nombre: " + nombre);
+		}
+		if (modalidad != null) {
+			modificaciones.add("Se ha modificado la Modalidad: " + modalidad);
+		}
+		if (profesores != null) {
+			modificaciones.add("Se han modificado los Profesores: " + profesores);
+		}
+		if (lugar != null) {
+			modificaciones.add("Se ha modificado la Ubicación: " + lugar);
+		}
+		if (hora != null) {
+			modificaciones.add("Se ha modificado la Hora: " + hora);
+		}
+
+		if (modificaciones.isEmpty()) {
+			response.setMessage("No hay cambios que aplicar a la serie");
+			response.setStatus(HttpStatus.BAD_REQUEST);
+			return new ResponseEntity<>(response, response.getStatus());
+		}
+
+		List<User_Taller> usuariosTaller = user_tallerRepository
+				.findByTaller_SerieIdAndTaller_FechaGreaterThanEqual(serieId, desde);
+		int actualizados = tallerRepository.updateSerie(serieId, desde, nombre, modalidad, profesores, hora, lugar);
+
+		if (actualizados == 0) {
+			response.setMessage("No hay eventos de la serie a partir de la fecha indicada");
+			response.setStatus(HttpStatus.NOT_FOUND);
+		} else {
+			for (User_Taller userTaller : usuariosTaller) {
+				eventPublisher.publishEvent(
+						new NotificarUpdatedEvent(userTaller.getTaller().getNombre(), userTaller, modificaciones));
+			}
+
+			response.setData(actualizados);
+			response.setMessage(modificaciones.toString());
+			response.setStatus(HttpStatus.OK);
+		}
+
+		return new ResponseEntity<>(response, response.getStatus());
+	}
+
+	/**
+	 * Cancela los talleres de una serie a partir de una fecha. Las inscripciones y
+	 * los talleres se eliminan con una sentencia de borrado cada uno, y se avisa a
+	 * los usuarios inscritos en talleres posteriores a hoy.
+	 * 
+	 * @param serieId ID de la serie que se va a cancelar.
+	 * @param desde   Primera fecha de taller cancelada.
+	 * @return ResponseEntity que envía una respuesta con un objeto
+	 *         BasicResponseDto con el número de talleres eliminados.
+	 */
+	@Transactional
+	@Override
+	public ResponseEntity<BasicResponseDto> deleteSerieTalleres(String serieId, LocalDate desde) {
+		BasicResponseDto response = new BasicResponseDto();
+		DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+		LocalDate currentDate = LocalDate.now();
+
+		List<Long> tallerIds = tallerRepository.findIdsBySerie(serieId, desde);
+		if (tallerIds.isEmpty()) {
+			response.setMessage("No hay eventos de la serie a partir de la fecha indicada");
+			response.setStatus(HttpStatus.NOT_FOUND);
+			return new ResponseEntity<>(response, response.getStatus());
+		}
+
+		List<User_Taller> usuariosTaller = user_tallerRepository
+				.findByTaller_SerieIdAndTaller_FechaGreaterThanEqual(serieId, desde);
+		for (User_Taller userTaller : usuariosTaller) {
+			Taller taller = userTaller.getTaller();
+			checkInService.revocarTaller(taller.getId(), taller.getFecha());
+			if (taller.getFecha().isAfter(currentDate)) {
+				List<String> modificaciones = List.of("Se ha anulado el evento: " + taller.getNombre() + " con fecha "
+						+ taller.getFecha().format(formatter) + " en " + taller.getLugar());
+				eventPublisher.publishEvent(new NotificarUpdatedEvent(taller.getNombre(), userTaller, modificaciones));
+			}
+		}
+
+		user_tallerRepository.deleteBySerie(serieId, desde);
+		int eliminados = tallerRepository.deleteSerie(serieId, desde);
+		tallerIds.forEach(listaEsperaService::invalidar);
+
+		response.setData(eliminados);
+		response.setMessage(eliminados + " eventos de la serie eliminados con éxito.");
+		response.setStatus(HttpStatus.OK);
+		return new ResponseEntity<>(response, response.getStatus());
+	}
+
+	/**
+	 * Comprueba que la regla de recurrencia de una serie es válida.
+	 * 
+	 * @param serie la serie a comprobar
+	 * @return el mensaje de error, o null si la serie es válida
+	 */
+	private String validarSerie(SerieTallerDto serie) {
+		if (serie.getFechaInicio() == null) {
+			return "La fecha de inicio de la serie es obligatoria";
+		}
+		if (serie.getDias() == null || serie.getDias().isEmpty()) {
+			return "Es necesario indicar al menos un día de la semana";
+		}
+		if (serie.getFechaFin() == null && serie.getRepeticiones() == null) {
+			return "Es necesario indicar la fecha de fin o el número de repeticiones de la serie";
+		}
+		if (serie.getFechaFin() != null && serie.getFechaFin().isBefore(serie.getFechaInicio())) {
+			return "La fecha de fin no puede ser anterior a la fecha de inicio";
+		}
+		if (serie.getRepeticiones() != null
+				&& (serie.getRepeticiones() < 1 || serie.getRepeticiones() > MAX_TALLERES_SERIE)) {
+			return "El número de repeticiones debe estar entre 1 y " + MAX_TALLERES_SERIE;
+		}
+		if (serie.getIntervaloSemanas() != null && serie.getIntervaloSemanas() < 1) {
+			return "El intervalo de semanas debe ser mayor que 0";
+		}
+		return null;
+	}
+
+	/**
+	 * Calcula las fechas de los talleres de una serie. Se recorren las semanas de
+	 * la serie según su intervalo y, en cada una, los días indicados en orden,
+	 * hasta llegar a la fecha de fin, al número de repeticiones o al límite de
+	 * talleres por serie.
+	 * 
+	 * @param serie la serie con una regla de recurrencia válida
+	 * @return las fechas de los talleres en orden cronológico
+	 */
+	private List<LocalDate> calcularFechasSerie(SerieTallerDto serie) {
+		EnumSet<Dias> dias = EnumSet.copyOf(serie.getDias());
+		int intervalo = serie.getIntervaloSemanas() != null ? serie.getIntervaloSemanas() : 1;
+		int limite = serie.getRepeticiones() != null ? serie.getRepeticiones() : MAX_TALLERES_SERIE;
+		LocalDate fechaFin = serie.getFechaFin();
+		List<LocalDate> fechas = new ArrayList<>();
+
+		LocalDate lunes = serie.getFechaInicio().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+		while (fechas.size() < limite && (fechaFin == null || !lunes.isAfter(fechaFin))) {
+			for (Dias dia : dias) {
+				LocalDate fecha = lunes.plusDays(dia.ordinal());
+				if (fechas.size() == limite || (fechaFin != null && fecha.isAfter(fechaFin))) {
+					break;
+				}
+				if (!fecha.isBefore(serie.getFechaInicio())) {
+					fechas.add(fecha);
+				}
+			}
+			lunes = lunes.plusWeeks(intervalo);
+		}
+
+		return fechas;
+	}
+
+	/**
+	 * Devuelve el valor recibido, o null si está vacío.
+	 * 
+	 * @param valor el valor a comprobar
+	 * @return el valor, o null si es nulo o está en blanco
+	 */
+	private String valorSiNoVacio(String valor) {
+		return valor == null || valor.isBlank() ? null : valor;
+	}
+
 	/**
 	 * Registra la participación de un usuario en un taller.
 	 * 
@@ -263,9 +602,12 @@ public class TallerServiceImpl implements TallerService {
 				userTaller.setUserTallerEstado(UserTallerEstado.FOLLOWERWAITING);
 			}
 			user_tallerRepository.save(userTaller);
+			eventoInscripcionService.registrarInscripcion(userTaller);
+			listaEsperaService.actualizar(userTaller);
 
 			response = emparejarUsuario(userTaller, tallerId, serverRequest);
 		} catch (Exception e) {
+			listaEsperaService.invalidar(tallerId);
 			response.setMessage("¡Error, no se te ha podido inscribier en el evento");
 			response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR);
 		}
@@ -307,8 +649,14 @@ public class TallerServiceImpl implements TallerService {
 			String url = applicationUrlUtil.applicationUrl(serverRequest);
 
 			try {
-				// Elimina la inscripción del usuario
+				// Deshace la pareja, si la tiene, y elimina la inscripción del usuario
+				if (userTaller.getPartnerId() != null) {
+					eventoInscripcionService.registrarSeparacion(userTaller, userTaller.getPartnerId());
+				}
+				eventoInscripcionService.registrarBaja(userTaller);
+				parejaTallerRepository.deleteByUserTallerId(userTaller.getId());
 				user_tallerRepository.delete(userTaller);
+				listaEsperaService.eliminar(userTaller);
 				message = userName + " tu inscripción para el evento " + userTaller.getTaller().getNombre()
 						+ " ha sido anulada con éxito";
 				status = HttpStatus.OK;
@@ -389,10 +737,10 @@ public class TallerServiceImpl implements TallerService {
 
 	/**
 	 * Actualiza el estado del taller del compañero después de que un usuario se
-	 * haya dado de baja del taller. Si el usuario dado de baja es un "líder", se
-	 * establece el estado del compañero como "FOLLOWERWAITING" (esperando
-	 * seguidor), de lo contrario, se establece como "LIDERWAITING" (esperando
-	 * líder). Además, se elimina la referencia a la pareja del compañero.
+	 * haya dado de baja del taller. El registro de la pareja ya se ha borrado con
+	 * la baja, por lo que no hace falta escribir nada: basta con quitar la
+	 * referencia a la pareja en memoria para que el compañero vuelva a su estado
+	 * WAITING ("FOLLOWERWAITING" o "LIDERWAITING" según su rol).
 	 *
 	 * @param userTaller    el objeto que representa al usuario que se ha dado de
 	 *                      baja del taller
@@ -401,14 +749,25 @@ public class TallerServiceImpl implements TallerService {
 	 */
 	@Override
 	public void updatePartnerStateAfterSignOut(User_Taller userTaller, User_Taller partnerTaller) {
-		if (userTaller.getUser().getBailerol().equalsIgnoreCase("lider")) {
-			partnerTaller.setUserTallerEstado(UserTallerEstado.FOLLOWERWAITING);
-		} else {
-			partnerTaller.setUserTallerEstado(UserTallerEstado.LIDERWAITING);
-		}
 		partnerTaller.setPartnerId(null);
-		user_tallerRepository.save(partnerTaller);
+		listaEsperaService.actualizar(partnerTaller);
+	}
 
+	/**
+	 * Registra una pareja entre un líder y un follower de un taller con una única
+	 * inserción, la añade al historial de inscripciones y refleja el
+	 * emparejamiento en memoria en ambas inscripciones.
+	 *
+	 * @param lider    la inscripción del líder, ya guardada
+	 * @param follower la inscripción del follower, ya guardada
+	 */
+	private void registrarPareja(User_Taller lider, User_Taller follower) {
+		parejaTallerRepository.save(new ParejaTaller(lider.getTaller(), lider, follower));
+		eventoInscripcionService.registrarPareja(lider, follower);
+		lider.setPartnerId(follower.getId());
+		follower.setPartnerId(lider.getId());
+		listaEsperaService.actualizar(lider);
+		listaEsperaService.actualizar(follower);
 	}
 
 	/**
@@ -442,7 +801,9 @@ public class TallerServiceImpl implements TallerService {
 	}
 
 	/**
-	 * Empareja a un usuario con otro usuario en un taller.
+	 * Empareja a un usuario con otro usuario en un taller. Las inscripciones se
+	 * recorren en orden de inscripción, así que se empareja con quien lleva más
+	 * tiempo esperando.
 	 * 
 	 * @param userTaller    Relación entre usuario y taller que se va a emparejar.
 	 * @param tallerId      ID del taller en el que se realizará el emparejamiento.
@@ -459,20 +820,14 @@ public class TallerServiceImpl implements TallerService {
 		User_Taller parejaTaller;
 		boolean emparejado = false;
 		HttpStatus status = HttpStatus.NOT_FOUND;
-		List<User_Taller> usuariosTaller = user_tallerRepository.findByTallerId(tallerId);
+		List<User_Taller> usuariosTaller = user_tallerRepository.findByTallerIdOrderByIdAsc(tallerId);
 		int i = 0;
 
 		if (userTaller.getUserTallerEstado().name().equals("LIDERWAITING")) {
 			do {
 				parejaTaller = usuariosTaller.get(i);
 				if (parejaTaller.getUserTallerEstado().name().equals("FOLLOWERWAITING")) {
-					userTaller.setUserTallerEstado(UserTallerEstado.LIDERCONFIRMED);
-					parejaTaller.setUserTallerEstado(UserTallerEstado.FOLLOWERCONFIRMED);
-
-					userTaller.setPartnerId(parejaTaller.getId());
-					parejaTaller.setPartnerId(userTaller.getId());
-					user_tallerRepository.save(userTaller);
-					user_tallerRepository.save(parejaTaller);
+					registrarPareja(userTaller, parejaTaller);
 
 					eventPublisher.publishEvent(new NotificarNuevaParejaEvent(parejaTaller, userTaller.getUser(),
 							applicationUrlUtil.applicationUrl(serverRequest)));
@@ -493,13 +848,7 @@ public class TallerServiceImpl implements TallerService {
 			do {
 				parejaTaller = usuariosTaller.get(i);
 				if (parejaTaller.getUserTallerEstado().name().equals("LIDERWAITING")) {
-					userTaller.setUserTallerEstado(UserTallerEstado.FOLLOWERCONFIRMED);
-					parejaTaller.setUserTallerEstado(UserTallerEstado.LIDERCONFIRMED);
-
-					userTaller.setPartnerId(parejaTaller.getId());
-					parejaTaller.setPartnerId(userTaller.getId());
-					user_tallerRepository.save(userTaller);
-					user_tallerRepository.save(parejaTaller);
+					registrarPareja(parejaTaller, userTaller);
 
 					eventPublisher.publishEvent(new NotificarNuevaParejaEvent(parejaTaller, userTaller.getUser(),
 							applicationUrlUtil.applicationUrl(serverRequest)));
@@ -610,39 +959,38 @@ public class TallerServiceImpl implements TallerService {
 
 		String url = applicationUrlUtil.applicationUrl(servletRequest);
 
+		// El estado CONFIRMED de ambos se deriva del registro de la pareja
 		if (userRol.equalsIgnoreCase("lider") && parejaRol.equalsIgnoreCase("follower")) {
 			userTaller.setUser(user);
 			userTaller.setTaller(taller);
-			userTaller.setUserTallerEstado(UserTallerEstado.LIDERCONFIRMED);
+			userTaller.setUserTallerEstado(UserTallerEstado.LIDERWAITING);
 			user_tallerRepository.save(userTaller);
+			eventoInscripcionService.registrarInscripcion(userTaller);
 
 			parejaTaller.setUser(pareja);
 			parejaTaller.setTaller(taller);
-			parejaTaller.setUserTallerEstado(UserTallerEstado.FOLLOWERCONFIRMED);
+			parejaTaller.setUserTallerEstado(UserTallerEstado.FOLLOWERWAITING);
 			user_tallerRepository.save(parejaTaller);
+			eventoInscripcionService.registrarInscripcion(parejaTaller);
 
-			parejaTaller.setPartnerId(userTaller.getId());
-			userTaller.setPartnerId(parejaTaller.getId());
-			user_tallerRepository.save(userTaller);
-			user_tallerRepository.save(parejaTaller);
+			registrarPareja(userTaller, parejaTaller);
 
 			mensaje = "Pareja inscrita con éxito en el evento";
 			status = HttpStatus.OK;
 		} else if (userRol.equalsIgnoreCase("follower") && parejaRol.equalsIgnoreCase("lider")) {
 			userTaller.setUser(user);
 			userTaller.setTaller(taller);
-			userTaller.setUserTallerEstado(UserTallerEstado.FOLLOWERCONFIRMED);
+			userTaller.setUserTallerEstado(UserTallerEstado.FOLLOWERWAITING);
 			user_tallerRepository.save(userTaller);
+			eventoInscripcionService.registrarInscripcion(userTaller);
 
 			parejaTaller.setUser(pareja);
 			parejaTaller.setTaller(taller);
-			parejaTaller.setUserTallerEstado(UserTallerEstado.LIDERCONFIRMED);
+			parejaTaller.setUserTallerEstado(UserTallerEstado.LIDERWAITING);
 			user_tallerRepository.save(parejaTaller);
+			eventoInscripcionService.registrarInscripcion(parejaTaller);
 
-			parejaTaller.setPartnerId(userTaller.getId());
-			userTaller.setPartnerId(parejaTaller.getId());
-			user_tallerRepository.save(userTaller);
-			user_tallerRepository.save(parejaTaller);
+			registrarPareja(parejaTaller, userTaller);
 
 			mensaje = "Pareja inscrita con éxito en el evento";
 			status = HttpStatus.OK;
@@ -702,32 +1050,26 @@ public class TallerServiceImpl implements TallerService {
 		String url = applicationUrlUtil.applicationUrl(servletRequest);
 
 		if (userTaller.getUserTallerEstado().name().equals("LIDERWAITING") && parejaRol.equalsIgnoreCase("follower")) {
-			userTaller.setUserTallerEstado(UserTallerEstado.LIDERCONFIRMED);
-
 			parejaTaller.setUser(pareja);
 			parejaTaller.setTaller(taller);
-			parejaTaller.setUserTallerEstado(UserTallerEstado.FOLLOWERCONFIRMED);
-			parejaTaller.setPartnerId(userTaller.getId());
+			parejaTaller.setUserTallerEstado(UserTallerEstado.FOLLOWERWAITING);
 			user_tallerRepository.save(parejaTaller);
+			eventoInscripcionService.registrarInscripcion(parejaTaller);
 
-			userTaller.setPartnerId(parejaTaller.getId());
-			user_tallerRepository.save(userTaller);
+			registrarPareja(userTaller, parejaTaller);
 
 			mensaje = "Pareja inscrita con éxito en el evento";
 			status = HttpStatus.OK;
 
 		} else if (userTaller.getUserTallerEstado().name().equals("FOLLOWERWAITING")
 				&& parejaRol.equalsIgnoreCase("lider")) {
-			userTaller.setUserTallerEstado(UserTallerEstado.FOLLOWERCONFIRMED);
-
 			parejaTaller.setUser(pareja);
 			parejaTaller.setTaller(taller);
-			parejaTaller.setUserTallerEstado(UserTallerEstado.LIDERCONFIRMED);
-			parejaTaller.setPartnerId(userTaller.getId());
+			parejaTaller.setUserTallerEstado(UserTallerEstado.LIDERWAITING);
 			user_tallerRepository.save(parejaTaller);
+			eventoInscripcionService.registrarInscripcion(parejaTaller);
 
-			userTaller.setPartnerId(parejaTaller.getId());
-			user_tallerRepository.save(userTaller);
+			registrarPareja(parejaTaller, userTaller);
 
 			mensaje = "Pareja inscrita con éxito en el evento";
 			status = HttpStatus.OK;
@@ -830,4 +1172,21 @@ public class TallerServiceImpl implements TallerService {
 		return isUserHasPartner;
 	}
 
+	/**
+	 * Obtiene la posición de un usuario en la lista de espera de su rol en un
+	 * taller. La consulta se resuelve en tiempo logarítmico sobre la lista de
+	 * espera en memoria, sin contar inscripciones en la base de datos.
+	 *
+	 * @param tallerId ID del taller.
+	 * @param userId   ID del usuario.
+	 * @return ResponseEntity con la posición del usuario en la lista de espera.
+	 * @throws TallerNotFoundException si el taller no existe o ya está archivado.
+	 * @throws UserNotFoundException   si el usuario no está inscrito en el taller.
+	 */
+	@Override
+	public ResponseEntity<PosicionListaEsperaDto> getPosicionListaEspera(Long tallerId, Long userId)
+			throws TallerNotFoundException, UserNotFoundException {
+		return new ResponseEntity<>(listaEsperaService.getPosicion(tallerId, userId), HttpStatus.OK);
+	}
+
 }
@@ -0,0 +1,220 @@
+package com.bailaconsarabackend.service.impl;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.bailaconsarabackend.dto.PostResumenDto;
+import com.bailaconsarabackend.model.VisitasPost;
+import com.bailaconsarabackend.repository.VisitasPostRepository;
+import com.bailaconsarabackend.service.VisitasPostService;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Implementación de la interfaz VisitasPostService.
+ *
+ * Cada visita solo incrementa en memoria un {@link LongAdder} por publicación,
+ * que reparte los incrementos concurrentes entre varias celdas para que las
+ * peticiones no compitan por el mismo contador. Una tarea programada suma lo
+ * acumulado a la tabla visitas_post con un único lote de upserts y después
+ * recalcula la lista de las más visitadas, que se sirve sin consultar la base
+ * de datos. Al cerrar la aplicación se hace un último volcado.
+ */
+@Service
+public class VisitasPostServiceImpl implements VisitasPostService {
+
+	private static final Logger logger = LoggerFactory.getLogger(VisitasPostServiceImpl.class);
+
+	private static final int TAMANO_LOTE = 500;
+
+	private static final String UPSERT_VISITAS = "INSERT INTO visitas_post (post_id, visitas) VALUES (?, ?) "
+			+ "ON DUPLICATE KEY UPDATE visitas = visitas + VALUES(visitas)";
+
+	private final VisitasPostRepository visitasPostRepository;
+	private final JdbcTemplate jdbcTemplate;
+	private final int numeroPopulares;
+
+	/*
+	 * Visitas de cada publicación aún no guardadas
+	 */
+	private final Map<Long, LongAdder> pendientes = new ConcurrentHashMap<>();
+
+	/*
+	 * Publicaciones más visitadas según el último volcado
+	 */
+	private volatile List<PostResumenDto> populares = List.of();
+
+	/**
+	 * Visitas de una publicación que se van a sumar en un volcado.
+	 */
+	private record Volcado(Long postId, LongAdder contador, long visitas) {
+	}
+
+	/**
+	 * Constructor de la clase VisitasPostServiceImpl.
+	 *
+	 * @param visitasPostRepository Repositorio de las visitas de las
+	 *                              publicaciones.
+	 * @param jdbcTemplate          Plantilla JDBC para sumar las visitas por
+	 *                              lotes.
+	 * @param numeroPopulares       el número de publicaciones más visitadas que
+	 *                              se guardan
+	 */
+	public VisitasPostServiceImpl(VisitasPostRepository visitasPostRepository, JdbcTemplate jdbcTemplate,
+			@Value("${posts.visitas.populares:10}") int numeroPopulares) {
+		this.visitasPostRepository = visitasPostRepository;
+		this.jdbcTemplate = jdbcTemplate;
+		this.numeroPopulares = numeroPopulares;
+	}
+
+	/**
+	 * Carga las publicaciones más visitadas al arrancar la aplicación.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void cargarPopulares() {
+		try {
+			actualizarPopulares();
+		} catch (DataAccessException e) {
+			logger.warn("No se han podido cargar los posts más visitados al arrancar", e);
+		}
+	}
+
+	/**
+	 * Cuenta una visita a una publicación.
+	 *
+	 * @param postId el ID de la publicación
+	 */
+	@Override
+	public void registrarVisita(Long postId) {
+		pendientes.computeIfAbsent(postId, id -> new LongAdder()).increment();
+	}
+
+	/**
+	 * Obtiene el número de visitas de una publicación: las guardadas más las
+	 * pendientes.
+	 *
+	 * @param postId el ID de la publicación
+	 * @return el número de visitas
+	 */
+	@Override
+	public long getVisitas(Long postId) {
+		long guardadas = visitasPostRepository.findById(postId).map(VisitasPost::getVisitas).orElse(0L);
+		LongAdder contador = pendientes.get(postId);
+		return guardadas + (contador != null ? contador.sum() : 0);
+	}
+
+	/**
+	 * Obtiene las publicaciones más visitadas según el último volcado.
+	 *
+	 * @param limite el número máximo de publicaciones
+	 * @return los resúmenes de las publicaciones, de más a menos visitas
+	 */
+	@Override
+	public List<PostResumenDto> getPopulares(int limite) {
+		List<PostResumenDto> actuales = populares;
+		return actuales.subList(0, Math.min(Math.max(limite, 0), actuales.size()));
+	}
+
+	/**
+	 * Descarta las visitas pendientes y guardadas de una publicación eliminada.
+	 * Comparte el cerrojo del volcado para que un volcado en curso no vuelva a
+	 * insertar la fila justo después de borrarla.
+	 *
+	 * @param postId el ID de la publicación
+	 */
+	@Override
+	public synchronized void eliminar(Long postId) {
+		pendientes.remove(postId);
+		visitasPostRepository.deleteById(postId);
+		populares = populares.stream().filter(post -> !post.getId().equals(postId)).toList();
+	}
+
+	/**
+	 * Suma las visitas pendientes a la base de datos en lotes JDBC y recalcula las
+	 * publicaciones más visitadas. A cada contador se le resta después solo lo que
+	 * se ha guardado, así que las visitas que llegan durante el volcado no se
+	 * pierden. Si un lote falla sus visitas siguen pendientes para el siguiente
+	 * intento.
+	 */
+	@Override
+	@Scheduled(fixedDelayString = "${posts.visitas.flush.delay:10000}")
+	@PreDestroy
+	public synchronized void guardarVisitasPendientes() {
+		List<Volcado> lote = new ArrayList<>(TAMANO_LOTE);
+		boolean guardadas = false;
+		for (Map.Entry<Long, LongAdder> entrada : pendientes.entrySet()) {
+			long visitas = entrada.getValue().sum();
+			if (visitas > 0) {
+				lote.add(new Volcado(entrada.getKey(), entrada.getValue(), visitas));
+				if (lote.size() == TAMANO_LOTE) {
+					guardadas |= guardarLote(lote);
+					lote = new ArrayList<>(TAMANO_LOTE);
+				}
+			}
+		}
+		if (!lote.isEmpty()) {
+			guardadas |= guardarLote(lote);
+		}
+		if (guardadas) {
+			try {
+				actualizarPopulares();
+			} catch (DataAccessException e) {
+				logger.warn("No se han podido actualizar los posts más visitados: {}", e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Suma un lote de visitas con una sola operación batch y las descuenta de sus
+	 * contadores.
+	 *
+	 * @param lote las visitas a sumar
+	 * @return true si se ha guardado el lote
+	 */
+	private boolean guardarLote(List<Volcado> lote) {
+		try {
+			jdbcTemplate.batchUpdate(UPSERT_VISITAS, new BatchPreparedStatementSetter() {
+				@Override
+				public void setValues(PreparedStatement ps, int i) throws SQLException {
+					Volcado volcado = lote.get(i);
+					ps.setLong(1, volcado.postId());
+					ps.setLong(2, volcado.visitas());
+				}
+
+				@Override
+				public int getBatchSize() {
+					return lote.size();
+				}
+			});
+		} catch (Exception e) {
+			logger.error("Error al guardar las visitas de {} posts, se reintentará: {}", lote.size(), e.getMessage());
+			return false;
+		}
+		for (Volcado volcado : lote) {
+			volcado.contador().add(-volcado.visitas());
+		}
+		return true;
+	}
+
+	private void actualizarPopulares() {
+		populares = List.copyOf(visitasPostRepository.findMasVisitados(PageRequest.of(0, numeroPopulares)));
+	}
+
+}
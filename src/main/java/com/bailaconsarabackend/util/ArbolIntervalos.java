@@ -0,0 +1,107 @@
+package com.bailaconsarabackend.util;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Árbol de intervalos estático sobre enteros. Los intervalos se ordenan por su
+ * inicio y forman un árbol binario de búsqueda implícito en el array: el nodo
+ * de cada rango es su elemento central, y guarda el fin máximo de su subárbol.
+ * Buscar los intervalos que contienen un punto descarta los subárboles que
+ * terminan antes del punto o empiezan después, así que cuesta O(log n + k),
+ * siendo k el número de intervalos encontrados.
+ *
+ * Los intervalos son semiabiertos: [inicio, fin). El árbol es inmutable una vez
+ * construido.
+ */
+public final class ArbolIntervalos {
+
+	private final int[] inicios;
+	private final int[] fines;
+	private final int[] valores;
+
+	/*
+	 * Fin máximo del subárbol de cada nodo
+	 */
+	private final int[] finesMaximos;
+
+	/**
+	 * Construye el árbol a partir de los intervalos.
+	 *
+	 * @param inicios el inicio de cada intervalo, incluido
+	 * @param fines   el fin de cada intervalo, excluido
+	 * @param valores el valor asociado a cada intervalo
+	 */
+	public ArbolIntervalos(int[] inicios, int[] fines, int[] valores) {
+		int n = inicios.length;
+		Integer[] orden = IntStream.range(0, n).boxed().toArray(Integer[]::new);
+		Arrays.sort(orden, Comparator.comparingInt(i -> inicios[i]));
+
+		this.inicios = new int[n];
+		this.fines = new int[n];
+		this.valores = new int[n];
+		for (int i = 0; i < n; i++) {
+			this.inicios[i] = inicios[orden[i]];
+			this.fines[i] = fines[orden[i]];
+			this.valores[i] = valores[orden[i]];
+		}
+		this.finesMaximos = new int[n];
+		calcularFinesMaximos(0, n);
+	}
+
+	/**
+	 * Recorre los valores de los intervalos que contienen un punto.
+	 *
+	 * @param punto  el punto buscado
+	 * @param accion la acción que recibe el valor de cada intervalo encontrado
+	 */
+	public void buscar(int punto, IntConsumer accion) {
+		buscar(0, inicios.length, punto, accion);
+	}
+
+	/**
+	 * Busca en el subárbol del rango [desde, hasta).
+	 *
+	 * @param desde  el primer índice del rango
+	 * @param hasta  el índice siguiente al último del rango
+	 * @param punto  el punto buscado
+	 * @param accion la acción que recibe el valor de cada intervalo encontrado
+	 */
+	private void buscar(int desde, int hasta, int punto, IntConsumer accion) {
+		if (desde >= hasta) {
+			return;
+		}
+		int medio = (desde + hasta) >>> 1;
+		if (finesMaximos[medio] <= punto) {
+			return;
+		}
+		buscar(desde, medio, punto, accion);
+		if (inicios[medio] <= punto) {
+			if (punto < fines[medio]) {
+				accion.accept(valores[medio]);
+			}
+			buscar(medio + 1, hasta, punto, accion);
+		}
+	}
+
+	/**
+	 * Calcula el fin máximo de cada nodo del subárbol del rango [desde, hasta).
+	 *
+	 * @param desde el primer índice del rango
+	 * @param hasta el índice siguiente al último del rango
+	 * @return el fin máximo del subárbol, o Integer.MIN_VALUE si está vacío
+	 */
+	private int calcularFinesMaximos(int desde, int hasta) {
+		if (desde >= hasta) {
+			return Integer.MIN_VALUE;
+		}
+		int medio = (desde + hasta) >>> 1;
+		int maximo = Math.max(fines[medio],
+				Math.max(calcularFinesMaximos(desde, medio), calcularFinesMaximos(medio + 1, hasta)));
+		finesMaximos[medio] = maximo;
+		return maximo;
+	}
+
+}
@@ -0,0 +1,164 @@
+package com.bailaconsarabackend.util;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Utilidades para generar versiones reducidas de una imagen con ImageIO y
+ * Java2D, sin dependencias nativas.
+ *
+ * Las imágenes grandes se decodifican ya submuestreadas cuando la versión más
+ * grande que se va a generar es mucho menor que el original, así que no hace
+ * falta tener en memoria la imagen completa. La reducción se hace a mitades
+ * sucesivas con interpolación bilineal, que da un resultado parecido al
+ * bicúbico con mucho menos coste.
+ */
+public final class EscaladorImagenes {
+
+	private EscaladorImagenes() {
+	}
+
+	/**
+	 * Decodifica una imagen. Si es más del doble de ancha que el ancho máximo que
+	 * se va a generar, se lee submuestreada para que quede entre una y dos veces
+	 * ese ancho.
+	 *
+	 * @param datos       el contenido del fichero
+	 * @param anchoMaximo el ancho de la mayor versión que se va a generar
+	 * @return la imagen, o null si ImageIO no reconoce el formato
+	 * @throws IOException si la imagen está dañada
+	 */
+	public static BufferedImage leer(byte[] datos, int anchoMaximo) throws IOException {
+		try (ImageInputStream entrada = ImageIO.createImageInputStream(new ByteArrayInputStream(datos))) {
+			Iterator<ImageReader> lectores = ImageIO.getImageReaders(entrada);
+			if (!lectores.hasNext()) {
+				return null;
+			}
+			ImageReader lector = lectores.next();
+			try {
+				lector.setInput(entrada, true, true);
+				ImageReadParam parametros = lector.getDefaultReadParam();
+				int submuestreo = Math.max(1, lector.getWidth(0) / (2 * anchoMaximo));
+				parametros.setSourceSubsampling(submuestreo, submuestreo, 0, 0);
+				return lector.read(0, parametros);
+			} finally {
+				lector.dispose();
+			}
+		}
+	}
+
+	/**
+	 * Reduce una imagen a un ancho conservando la proporción. Nunca la amplía.
+	 *
+	 * @param imagen la imagen original
+	 * @param ancho  el ancho buscado
+	 * @return la imagen reducida, o la original si ya es más estrecha
+	 */
+	public static BufferedImage escalar(BufferedImage imagen, int ancho) {
+		if (imagen.getWidth() <= ancho) {
+			return imagen;
+		}
+		int alto = Math.max(1, Math.round((float) imagen.getHeight() * ancho / imagen.getWidth()));
+		return reducir(imagen, ancho, alto);
+	}
+
+	/**
+	 * Genera una miniatura cuadrada recortando el centro de la imagen.
+	 *
+	 * @param imagen la imagen original
+	 * @param lado   el lado de la miniatura
+	 * @return la miniatura
+	 */
+	public static BufferedImage miniatura(BufferedImage imagen, int lado) {
+		int corte = Math.min(imagen.getWidth(), imagen.getHeight());
+		BufferedImage recorte = imagen.getSubimage((imagen.getWidth() - corte) / 2, (imagen.getHeight() - corte) / 2,
+				corte, corte);
+		return corte <= lado ? copiar(recorte, corte, corte) : reducir(recorte, lado, lado);
+	}
+
+	/**
+	 * Indica si la imagen tiene transparencia y debe guardarse en PNG.
+	 *
+	 * @param imagen la imagen
+	 * @return true si tiene canal alfa
+	 */
+	public static boolean tieneTransparencia(BufferedImage imagen) {
+		return imagen.getColorModel().hasAlpha();
+	}
+
+	/**
+	 * Codifica una imagen en JPEG, o en PNG si tiene transparencia.
+	 *
+	 * @param imagen  la imagen
+	 * @param calidad la calidad JPEG, entre 0 y 1
+	 * @return el contenido del fichero
+	 * @throws IOException si no se puede codificar
+	 */
+	public static byte[] codificar(BufferedImage imagen, float calidad) throws IOException {
+		ByteArrayOutputStream salida = new ByteArrayOutputStream();
+		if (tieneTransparencia(imagen)) {
+			ImageIO.write(imagen, "png", salida);
+			return salida.toByteArray();
+		}
+
+		ImageWriter escritor = ImageIO.getImageWritersByFormatName("jpeg").next();
+		try (ImageOutputStream destino = ImageIO.createImageOutputStream(salida)) {
+			escritor.setOutput(destino);
+			ImageWriteParam parametros = escritor.getDefaultWriteParam();
+			parametros.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+			parametros.setCompressionQuality(calidad);
+			escritor.write(null, new IIOImage(imagen, null, null), parametros);
+		} finally {
+			escritor.dispose();
+		}
+		return salida.toByteArray();
+	}
+
+	/**
+	 * Reduce una imagen a mitades sucesivas hasta el tamaño buscado.
+	 */
+	private static BufferedImage reducir(BufferedImage imagen, int ancho, int alto) {
+		BufferedImage actual = imagen;
+		int anchoActual = imagen.getWidth();
+		int altoActual = imagen.getHeight();
+		do {
+			anchoActual = Math.max(ancho, anchoActual / 2);
+			altoActual = Math.max(alto, altoActual / 2);
+			actual = copiar(actual, anchoActual, altoActual);
+		} while (anchoActual != ancho || altoActual != alto);
+		return actual;
+	}
+
+	/**
+	 * Dibuja una imagen en otra nueva del tamaño indicado, en RGB o ARGB según
+	 * tenga o no transparencia.
+	 */
+	private static BufferedImage copiar(BufferedImage imagen, int ancho, int alto) {
+		int tipo = tieneTransparencia(imagen) ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+		BufferedImage destino = new BufferedImage(ancho, alto, tipo);
+		Graphics2D grafico = destino.createGraphics();
+		try {
+			grafico.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			grafico.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+			grafico.drawImage(imagen, 0, 0, ancho, alto, null);
+		} finally {
+			grafico.dispose();
+		}
+		return destino;
+	}
+
+}
@@ -0,0 +1,91 @@
+package com.bailaconsarabackend.util;
+
+import java.util.Arrays;
+
+/**
+ * Árbol de Fenwick (Binary Indexed Tree) sobre posiciones 1..n. Permite sumar
+ * un valor en una posición y obtener la suma de un prefijo en tiempo
+ * logarítmico. La capacidad crece automáticamente al usar posiciones mayores.
+ *
+ * No es seguro para uso concurrente; la sincronización corresponde a quien lo
+ * utiliza.
+ */
+public class FenwickTree {
+
+	private int[] arbol;
+	private int[] valores;
+
+	/**
+	 * Constructor de la clase FenwickTree.
+	 *
+	 * @param capacidad número de posiciones iniciales
+	 */
+	public FenwickTree(int capacidad) {
+		this.arbol = new int[Math.max(capacidad, 1) + 1];
+		this.valores = new int[arbol.length];
+	}
+
+	/**
+	 * Suma un valor en una posición.
+	 *
+	 * @param posicion la posición, empezando en 1
+	 * @param delta    el valor a sumar
+	 */
+	public void sumar(int posicion, int delta) {
+		if (posicion < 1) {
+			throw new IllegalArgumentException("La posición debe ser mayor que 0: " + posicion);
+		}
+		if (posicion >= arbol.length) {
+			ampliar(posicion);
+		}
+		valores[posicion] += delta;
+		for (int i = posicion; i < arbol.length; i += i & -i) {
+			arbol[i] += delta;
+		}
+	}
+
+	/**
+	 * Devuelve la suma de las posiciones 1..posicion.
+	 *
+	 * @param posicion la última posición incluida
+	 * @return la suma del prefijo, 0 si la posición es menor que 1
+	 */
+	public int sumaPrefijo(int posicion) {
+		int suma = 0;
+		for (int i = Math.min(posicion, arbol.length - 1); i > 0; i -= i & -i) {
+			suma += arbol[i];
+		}
+		return suma;
+	}
+
+	/**
+	 * Devuelve la suma de todas las posiciones.
+	 *
+	 * @return la suma total
+	 */
+	public int total() {
+		return sumaPrefijo(arbol.length - 1);
+	}
+
+	/**
+	 * Duplica la capacidad hasta incluir la posición indicada y reconstruye el
+	 * árbol en tiempo lineal a partir de los valores.
+	 *
+	 * @param posicion la posición que debe caber en el árbol
+	 */
+	private void ampliar(int posicion) {
+		int longitud = arbol.length;
+		while (longitud <= posicion) {
+			longitud *= 2;
+		}
+		valores = Arrays.copyOf(valores, longitud);
+		arbol = Arrays.copyOf(valores, longitud);
+		for (int i = 1; i < longitud; i++) {
+			int padre = i + (i & -i);
+			if (padre < longitud) {
+				arbol[padre] += arbol[i];
+			}
+		}
+	}
+
+}
@@ -0,0 +1,109 @@
+package com.bailaconsarabackend.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import com.bailaconsarabackend.dto.DiaGeneroDTO;
+import com.bailaconsarabackend.model.Dias;
+import com.bailaconsarabackend.model.GenerosMusicales;
+
+/**
+ * Codificación del horario de una sala en un entero. Cada combinación de día y
+ * género musical ocupa un bit (7 días × 3 géneros = 21 bits), de modo que
+ * comprobar si una sala cumple un filtro es un AND entre dos enteros.
+ */
+public final class HorarioMascara {
+
+	private static final int GENEROS = GenerosMusicales.values().length;
+
+	private HorarioMascara() {
+	}
+
+	/**
+	 * Devuelve la posición del bit de una combinación de día y género.
+	 *
+	 * @param dia    el día de la semana
+	 * @param genero el género musical
+	 * @return la posición del bit, entre 0 y 20
+	 */
+	public static int indice(Dias dia, GenerosMusicales genero) {
+		return dia.ordinal() * GENEROS + genero.ordinal();
+	}
+
+	/**
+	 * Devuelve el bit de una combinación de día y género.
+	 *
+	 * @param dia    el día de la semana
+	 * @param genero el género musical
+	 * @return la máscara con solo ese bit activo
+	 */
+	public static int bit(Dias dia, GenerosMusicales genero) {
+		return 1 << indice(dia, genero);
+	}
+
+	/**
+	 * Codifica una lista de días con sus géneros. Las combinaciones repetidas
+	 * activan el mismo bit.
+	 *
+	 * @param diasGeneros los días con sus géneros
+	 * @return la máscara con un bit por combinación de día y género
+	 */
+	public static int codificar(Collection<DiaGeneroDTO> diasGeneros) {
+		int mascara = 0;
+		for (DiaGeneroDTO diaGenero : diasGeneros) {
+			for (GenerosMusicales genero : diaGenero.getGeneros()) {
+				mascara |= bit(diaGenero.getDia(), genero);
+			}
+		}
+		return mascara;
+	}
+
+	/**
+	 * Construye la máscara de búsqueda de un filtro. Una sala cumple el filtro si
+	 * abre alguno de los días con alguno de los géneros indicados. Si no se
+	 * indican días se consideran todos, y lo mismo con los géneros.
+	 *
+	 * @param dias    los días buscados, o null o vacío para todos
+	 * @param generos los géneros buscados, o null o vacío para todos
+	 * @return la máscara de búsqueda
+	 */
+	public static int filtro(Collection<Dias> dias, Collection<GenerosMusicales> generos) {
+		Collection<Dias> diasFiltro = dias == null || dias.isEmpty() ? List.of(Dias.values()) : dias;
+		Collection<GenerosMusicales> generosFiltro = generos == null || generos.isEmpty()
+				? List.of(GenerosMusicales.values())
+				: generos;
+
+		int mascara = 0;
+		for (Dias dia : diasFiltro) {
+			for (GenerosMusicales genero : generosFiltro) {
+				mascara |= bit(dia, genero);
+			}
+		}
+		return mascara;
+	}
+
+	/**
+	 * Decodifica una máscara en la lista de días con sus géneros, en el orden de
+	 * los enumerados.
+	 *
+	 * @param mascara la máscara de una sala
+	 * @return los días en los que abre la sala con sus géneros
+	 */
+	public static List<DiaGeneroDTO> decodificar(int mascara) {
+		List<DiaGeneroDTO> diasGeneros = new ArrayList<>();
+		for (Dias dia : Dias.values()) {
+			List<GenerosMusicales> generos = new ArrayList<>(GENEROS);
+			for (GenerosMusicales genero : GenerosMusicales.values()) {
+				if ((mascara & bit(dia, genero)) != 0) {
+					generos.add(genero);
+				}
+			}
+			if (!generos.isEmpty()) {
+				diasGeneros.add(new DiaGeneroDTO(dia, generos));
+			}
+		}
+		return diasGeneros;
+	}
+
+}
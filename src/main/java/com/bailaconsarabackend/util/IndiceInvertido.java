@@ -0,0 +1,261 @@
+package com.bailaconsarabackend.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido en memoria para buscar texto en español. Los textos se
+ * normalizan con {@link TextoUtil#normalizar(String)}, se parten en palabras,
+ * se descartan las palabras vacías y cada palabra se reduce a una raíz sin el
+ * plural, de modo que "Bachatas" y "bachata" o "festivales" y "festival"
+ * coinciden.
+ *
+ * Cada documento se indexa con varios campos, cada uno con su peso, y las
+ * búsquedas se ordenan por BM25 sobre las frecuencias ponderadas. Las
+ * palabras tal como aparecen se guardan además en un mapa ordenado para
+ * autocompletar por prefijo.
+ *
+ * No es seguro para hilos: quien lo use debe sincronizar las escrituras con las
+ * lecturas.
+ */
+public final class IndiceInvertido {
+
+	private static final double K1 = 1.2;
+	private static final double B = 0.75;
+
+	private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+	private static final Set<String> PALABRAS_VACIAS = Set.of("a", "al", "algo", "ante", "antes", "como", "con",
+			"contra", "cual", "cuando", "de", "del", "desde", "donde", "durante", "e", "el", "ella", "ellas", "ellos",
+			"en", "entre", "era", "es", "esa", "ese", "eso", "esta", "estan", "este", "esto", "fue", "ha", "han",
+			"hasta", "hay", "la", "las", "le", "les", "lo", "los", "mas", "me", "mi", "muy", "ni", "no", "nos", "o",
+			"os", "para", "pero", "por", "que", "se", "sea", "ser", "si", "sin", "sobre", "son", "su", "sus", "te",
+			"tu", "tus", "u", "un", "una", "unas", "uno", "unos", "y", "ya");
+
+	/*
+	 * Raíz -> ID del documento -> frecuencia ponderada
+	 */
+	private final Map<String, Map<Long, Float>> postings = new HashMap<>();
+
+	private final Map<Long, Documento> documentos = new HashMap<>();
+
+	/*
+	 * Palabra normalizada -> número de documentos en los que aparece
+	 */
+	private final NavigableMap<String, Integer> palabras = new TreeMap<>();
+
+	private double longitudTotal;
+
+	/**
+	 * Términos y longitud ponderada de un documento indexado, para poder
+	 * retirarlo después.
+	 */
+	private record Documento(Set<String> raices, Set<String> palabras, double longitud) {
+	}
+
+	/**
+	 * Resultado de una búsqueda.
+	 *
+	 * @param id         el ID del documento
+	 * @param puntuacion la relevancia BM25 del documento
+	 */
+	public record Resultado(long id, double puntuacion) {
+	}
+
+	/**
+	 * Indexa un documento, sustituyendo su versión anterior si ya estaba.
+	 *
+	 * @param id     el ID del documento
+	 * @param textos el texto de cada campo; los null se ignoran
+	 * @param pesos  el peso de cada campo, en el mismo orden
+	 */
+	public void anadir(long id, String[] textos, float[] pesos) {
+		eliminar(id);
+
+		Map<String, Float> frecuencias = new HashMap<>();
+		Set<String> palabrasDocumento = new LinkedHashSet<>();
+		double longitud = 0;
+		for (int i = 0; i < textos.length; i++) {
+			for (String palabra : tokenizar(textos[i])) {
+				palabrasDocumento.add(palabra);
+				frecuencias.merge(raiz(palabra), pesos[i], Float::sum);
+				longitud += pesos[i];
+			}
+		}
+
+		for (Map.Entry<String, Float> frecuencia : frecuencias.entrySet()) {
+			postings.computeIfAbsent(frecuencia.getKey(), raiz -> new HashMap<>()).put(id, frecuencia.getValue());
+		}
+		for (String palabra : palabrasDocumento) {
+			palabras.merge(palabra, 1, Integer::sum);
+		}
+		documentos.put(id, new Documento(frecuencias.keySet(), palabrasDocumento, longitud));
+		longitudTotal += longitud;
+	}
+
+	/**
+	 * Retira un documento del índice. No hace nada si no estaba indexado.
+	 *
+	 * @param id el ID del documento
+	 */
+	public void eliminar(long id) {
+		Documento documento = documentos.remove(id);
+		if (documento == null) {
+			return;
+		}
+		for (String raiz : documento.raices()) {
+			Map<Long, Float> lista = postings.get(raiz);
+			lista.remove(id);
+			if (lista.isEmpty()) {
+				postings.remove(raiz);
+			}
+		}
+		for (String palabra : documento.palabras()) {
+			palabras.computeIfPresent(palabra, (clave, documentosConPalabra) -> documentosConPalabra > 1
+					? documentosConPalabra - 1
+					: null);
+		}
+		longitudTotal -= documento.longitud();
+	}
+
+	/**
+	 * Busca los documentos que contienen alguna palabra de la consulta, de más a
+	 * menos relevante.
+	 *
+	 * @param consulta el texto buscado
+	 * @param limite   el número máximo de resultados
+	 * @return los resultados ordenados por relevancia
+	 */
+	public List<Resultado> buscar(String consulta, int limite) {
+		Set<String> raices = new LinkedHashSet<>();
+		for (String palabra : tokenizar(consulta)) {
+			raices.add(raiz(palabra));
+		}
+		if (raices.isEmpty() || documentos.isEmpty()) {
+			return List.of();
+		}
+
+		int n = documentos.size();
+		double longitudMedia = longitudTotal / n;
+		Map<Long, Double> puntuaciones = new HashMap<>();
+		for (String raiz : raices) {
+			Map<Long, Float> lista = postings.get(raiz);
+			if (lista == null) {
+				continue;
+			}
+			double idf = Math.log(1 + (n - lista.size() + 0.5) / (lista.size() + 0.5));
+			for (Map.Entry<Long, Float> entrada : lista.entrySet()) {
+				double tf = entrada.getValue();
+				double longitud = documentos.get(entrada.getKey()).longitud();
+				double puntuacion = idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * longitud / longitudMedia));
+				puntuaciones.merge(entrada.getKey(), puntuacion, Double::sum);
+			}
+		}
+
+		// Montículo de los mejores resultados: la raíz es el peor de los guardados
+		Comparator<Resultado> orden = Comparator.comparingDouble(Resultado::puntuacion)
+				.thenComparing(Resultado::id, Comparator.reverseOrder());
+		PriorityQueue<Resultado> mejores = new PriorityQueue<>(orden);
+		for (Map.Entry<Long, Double> entrada : puntuaciones.entrySet()) {
+			mejores.add(new Resultado(entrada.getKey(), entrada.getValue()));
+			if (mejores.size() > limite) {
+				mejores.poll();
+			}
+		}
+		List<Resultado> resultado = new ArrayList<>(mejores);
+		resultado.sort(orden.reversed());
+		return resultado;
+	}
+
+	/**
+	 * Sugiere las palabras indexadas que empiezan por un prefijo, de las que
+	 * aparecen en más documentos a las que aparecen en menos.
+	 *
+	 * @param prefijo el prefijo, sin normalizar
+	 * @param limite  el número máximo de sugerencias
+	 * @return las palabras normalizadas que empiezan por el prefijo
+	 */
+	public List<String> autocompletar(String prefijo, int limite) {
+		String normalizado = TextoUtil.normalizar(prefijo);
+		if (normalizado.isEmpty()) {
+			return List.of();
+		}
+
+		Comparator<Map.Entry<String, Integer>> orden = Map.Entry.<String, Integer>comparingByValue()
+				.thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder()));
+		PriorityQueue<Map.Entry<String, Integer>> mejores = new PriorityQueue<>(orden);
+		for (Map.Entry<String, Integer> entrada : palabras.subMap(normalizado, true, normalizado + Character.MAX_VALUE,
+				false).entrySet()) {
+			mejores.add(entrada);
+			if (mejores.size() > limite) {
+				mejores.poll();
+			}
+		}
+		List<Map.Entry<String, Integer>> ordenadas = new ArrayList<>(mejores);
+		ordenadas.sort(Collections.reverseOrder(orden));
+		List<String> sugerencias = new ArrayList<>(ordenadas.size());
+		for (Map.Entry<String, Integer> entrada : ordenadas) {
+			sugerencias.add(entrada.getKey());
+		}
+		return sugerencias;
+	}
+
+	/**
+	 * Devuelve el número de documentos indexados.
+	 *
+	 * @return el número de documentos
+	 */
+	public int size() {
+		return documentos.size();
+	}
+
+	/**
+	 * Parte un texto en palabras normalizadas, sin las palabras vacías.
+	 *
+	 * @param texto el texto, o null
+	 * @return las palabras en el orden en que aparecen
+	 */
+	public static List<String> tokenizar(String texto) {
+		String normalizado = TextoUtil.normalizar(texto);
+		if (normalizado.isEmpty()) {
+			return List.of();
+		}
+		List<String> palabras = new ArrayList<>();
+		for (String palabra : SEPARADORES.split(normalizado)) {
+			if (!palabra.isEmpty() && !PALABRAS_VACIAS.contains(palabra)) {
+				palabras.add(palabra);
+			}
+		}
+		return palabras;
+	}
+
+	/**
+	 * Reduce una palabra normalizada a su raíz quitando la s y la e finales, así
+	 * que el singular y el plural comparten raíz: "bailes" y "baile" dan "bail",
+	 * "festivales" y "festival" dan "festival".
+	 *
+	 * @param palabra la palabra normalizada
+	 * @return la raíz
+	 */
+	public static String raiz(String palabra) {
+		int fin = palabra.length();
+		if (fin > 3 && palabra.charAt(fin - 1) == 's') {
+			fin--;
+		}
+		if (fin > 3 && palabra.charAt(fin - 1) == 'e') {
+			fin--;
+		}
+		return palabra.substring(0, fin);
+	}
+
+}
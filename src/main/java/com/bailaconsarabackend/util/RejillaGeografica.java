@@ -0,0 +1,166 @@
+package com.bailaconsarabackend.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índice espacial de rejilla uniforme sobre latitud y longitud. Cada punto se
+ * guarda en la celda que lo contiene, de modo que una búsqueda por radio solo
+ * recorre las celdas que cubren el círculo y calcula la distancia de los
+ * puntos que hay en ellas, en lugar de la de todos los puntos.
+ *
+ * La rejilla es inmutable una vez construida.
+ */
+public final class RejillaGeografica {
+
+	/*
+	 * Radio medio de la Tierra en kilómetros
+	 */
+	public static final double RADIO_TIERRA_KM = 6371.0088;
+
+	private static final double KM_POR_GRADO = Math.PI * RADIO_TIERRA_KM / 180;
+
+	private final double tamanoCelda;
+	private final int columnas;
+	private final double[] latitudes;
+	private final double[] longitudes;
+
+	/*
+	 * Índices de los puntos de cada celda, por clave de celda
+	 */
+	private final Map<Long, int[]> celdas;
+
+	/**
+	 * Construye la rejilla a partir de las coordenadas de los puntos. Los puntos
+	 * con alguna coordenada NaN no se indexan.
+	 *
+	 * @param latitudes   la latitud de cada punto, en grados
+	 * @param longitudes  la longitud de cada punto, en grados
+	 * @param tamanoCelda el lado de cada celda, en grados
+	 */
+	public RejillaGeografica(double[] latitudes, double[] longitudes, double tamanoCelda) {
+		this.tamanoCelda = tamanoCelda;
+		this.columnas = (int) Math.ceil(360 / tamanoCelda);
+		this.latitudes = latitudes.clone();
+		this.longitudes = longitudes.clone();
+
+		Map<Long, List<Integer>> porCelda = new HashMap<>();
+		for (int i = 0; i < latitudes.length; i++) {
+			if (!Double.isNaN(latitudes[i]) && !Double.isNaN(longitudes[i])) {
+				porCelda.computeIfAbsent(clave(fila(latitudes[i]), columna(longitudes[i])), k -> new ArrayList<>())
+						.add(i);
+			}
+		}
+
+		Map<Long, int[]> celdas = new HashMap<>(porCelda.size() * 2);
+		for (Map.Entry<Long, List<Integer>> entry : porCelda.entrySet()) {
+			celdas.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+		}
+		this.celdas = celdas;
+	}
+
+	/**
+	 * Recorre los puntos que están a una distancia menor o igual que el radio de
+	 * una posición. Solo se visitan las celdas que cubren el círculo.
+	 *
+	 * @param latitud   la latitud de la posición, en grados
+	 * @param longitud  la longitud de la posición, en grados
+	 * @param radioKm   el radio de búsqueda, en kilómetros
+	 * @param visitante la acción que recibe cada punto encontrado con su distancia
+	 */
+	public void buscar(double latitud, double longitud, double radioKm, Visitante visitante) {
+		double margenLatitud = radioKm / KM_POR_GRADO;
+		double coseno = Math.cos(Math.toRadians(latitud));
+		double margenLongitud = coseno > 0 ? Math.min(180, margenLatitud / coseno) : 180;
+
+		int filaMinima = fila(Math.max(-90, latitud - margenLatitud));
+		int filaMaxima = fila(Math.min(90, latitud + margenLatitud));
+		int columnaMinima = (int) Math.floor((longitud - margenLongitud) / tamanoCelda);
+		int columnaMaxima = (int) Math.floor((longitud + margenLongitud) / tamanoCelda);
+		if (columnaMaxima - columnaMinima >= columnas) {
+			columnaMaxima = columnaMinima + columnas - 1;
+		}
+
+		for (int f = filaMinima; f <= filaMaxima; f++) {
+			for (int c = columnaMinima; c <= columnaMaxima; c++) {
+				int[] puntos = celdas.get(clave(f, Math.floorMod(c, columnas)));
+				if (puntos == null) {
+					continue;
+				}
+				for (int i : puntos) {
+					double distancia = distanciaKm(latitud, longitud, latitudes[i], longitudes[i]);
+					if (distancia <= radioKm) {
+						visitante.visitar(i, distancia);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Calcula la distancia entre dos posiciones con la fórmula del haversine.
+	 *
+	 * @param latitud1  la latitud de la primera posición, en grados
+	 * @param longitud1 la longitud de la primera posición, en grados
+	 * @param latitud2  la latitud de la segunda posición, en grados
+	 * @param longitud2 la longitud de la segunda posición, en grados
+	 * @return la distancia en kilómetros
+	 */
+	public static double distanciaKm(double latitud1, double longitud1, double latitud2, double longitud2) {
+		double dLatitud = Math.toRadians(latitud2 - latitud1);
+		double dLongitud = Math.toRadians(longitud2 - longitud1);
+		double a = Math.sin(dLatitud / 2) * Math.sin(dLatitud / 2) + Math.cos(Math.toRadians(latitud1))
+				* Math.cos(Math.toRadians(latitud2)) * Math.sin(dLongitud / 2) * Math.sin(dLongitud / 2);
+		return 2 * RADIO_TIERRA_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+	}
+
+	/**
+	 * Calcula la fila de la rejilla de una latitud.
+	 *
+	 * @param latitud la latitud, en grados
+	 * @return la fila de la celda
+	 */
+	private int fila(double latitud) {
+		return (int) Math.floor(latitud / tamanoCelda);
+	}
+
+	/**
+	 * Calcula la columna de la rejilla de una longitud, dando la vuelta en el
+	 * antimeridiano.
+	 *
+	 * @param longitud la longitud, en grados
+	 * @return la columna de la celda
+	 */
+	private int columna(double longitud) {
+		return Math.floorMod((int) Math.floor(longitud / tamanoCelda), columnas);
+	}
+
+	/**
+	 * Combina la fila y la columna de una celda en una sola clave.
+	 *
+	 * @param fila    la fila de la celda
+	 * @param columna la columna de la celda
+	 * @return la clave de la celda
+	 */
+	private static long clave(int fila, int columna) {
+		return ((long) fila << 32) | (columna & 0xffffffffL);
+	}
+
+	/**
+	 * Acción que recibe cada punto encontrado en una búsqueda.
+	 */
+	@FunctionalInterface
+	public interface Visitante {
+
+		/**
+		 * Recibe un punto encontrado.
+		 *
+		 * @param indice      la posición del punto en los arrays de coordenadas
+		 * @param distanciaKm la distancia a la posición buscada, en kilómetros
+		 */
+		void visitar(int indice, double distanciaKm);
+	}
+
+}
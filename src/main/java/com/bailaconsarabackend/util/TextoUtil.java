@@ -0,0 +1,35 @@
+package com.bailaconsarabackend.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Utilidades para comparar textos en español sin tener en cuenta mayúsculas ni
+ * acentos.
+ */
+public final class TextoUtil {
+
+	private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+
+	private TextoUtil() {
+	}
+
+	/**
+	 * Normaliza un texto para compararlo: quita los espacios de los extremos, los
+	 * acentos y la diéresis, y lo pasa a minúsculas. La ñ se conserva.
+	 *
+	 * @param texto el texto a normalizar
+	 * @return el texto normalizado, o una cadena vacía si es null
+	 */
+	public static String normalizar(String texto) {
+		if (texto == null) {
+			return "";
+		}
+		String descompuesto = Normalizer.normalize(texto.trim().toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+		// La tilde de la ñ también es una marca: se recompone antes de quitar el resto
+		descompuesto = descompuesto.replace("n\u0303", "\u00f1");
+		return MARCAS.matcher(descompuesto).replaceAll("");
+	}
+
+}
@@ -0,0 +1,70 @@
+package com.bailaconsarabackend.util;
+
+import java.time.LocalTime;
+
+import com.bailaconsarabackend.dto.DiaGeneroDTO;
+
+/**
+ * Validaciones de los datos de una sala de baile comunes al alta individual, a
+ * la actualización y a la importación masiva. Cada comprobación lanza una
+ * IllegalArgumentException con un mensaje apto para el usuario.
+ */
+public final class ValidadorSala {
+
+	private ValidadorSala() {
+	}
+
+	/**
+	 * Comprueba que las coordenadas, si se indican, estén dentro de su rango.
+	 *
+	 * @param latitud  la latitud en grados, o null
+	 * @param longitud la longitud en grados, o null
+	 * @throws IllegalArgumentException si alguna coordenada está fuera de rango
+	 */
+	public static void validarCoordenadas(Double latitud, Double longitud) {
+		if (latitud != null && !(latitud >= -90 && latitud <= 90)) {
+			throw new IllegalArgumentException("La latitud debe estar entre -90 y 90 grados.");
+		}
+		if (longitud != null && !(longitud >= -180 && longitud <= 180)) {
+			throw new IllegalArgumentException("La longitud debe estar entre -180 y 180 grados.");
+		}
+	}
+
+	/**
+	 * Comprueba que el horario de un día se indique completo y que la hora de fin
+	 * no coincida con la de inicio. Una hora de fin anterior a la de inicio indica
+	 * que la sesión termina al día siguiente.
+	 *
+	 * @param diaGeneroDTO el día con sus géneros y su horario
+	 * @throws IllegalArgumentException si el horario no es válido
+	 */
+	public static void validarHoras(DiaGeneroDTO diaGeneroDTO) {
+		LocalTime inicio = diaGeneroDTO.getHoraInicio();
+		LocalTime fin = diaGeneroDTO.getHoraFin();
+		if ((inicio == null) != (fin == null)) {
+			throw new IllegalArgumentException("Deben indicarse la hora de inicio y la de fin, o ninguna.");
+		}
+		if (inicio != null && inicio.equals(fin)) {
+			throw new IllegalArgumentException("La hora de fin no puede coincidir con la de inicio.");
+		}
+	}
+
+	/**
+	 * Comprueba que un día de apertura indique el día y al menos un género.
+	 *
+	 * @param diaGeneroDTO el día con sus géneros y su horario
+	 * @throws IllegalArgumentException si falta el día o los géneros, o si el
+	 *                                  horario no es válido
+	 */
+	public static void validarDiaGenero(DiaGeneroDTO diaGeneroDTO) {
+		if (diaGeneroDTO.getDia() == null) {
+			throw new IllegalArgumentException("Falta el día de apertura.");
+		}
+		if (diaGeneroDTO.getGeneros() == null || diaGeneroDTO.getGeneros().isEmpty()
+				|| diaGeneroDTO.getGeneros().contains(null)) {
+			throw new IllegalArgumentException("Debe indicarse al menos un género musical válido.");
+		}
+		validarHoras(diaGeneroDTO);
+	}
+
+}
@@ -0,0 +1,152 @@
+package com.bailaconsarabackend.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.bailaconsarabackend.dto.PostDto;
+import com.bailaconsarabackend.dto.ViolacionSeoDto;
+
+/**
+ * Reglas SEO que debe cumplir una publicación antes de guardarse. Se evalúan
+ * todas de una vez y se devuelven todas las que fallan, en el orden en que el
+ * editor suele corregirlas.
+ *
+ * El texto informativo se recorre una sola vez saltando con indexOf de barra en
+ * barra: un enlace interno es una barra seguida de un carácter de ruta, y el
+ * patrón de enlace externo, compilado una sola vez, solo se evalúa donde
+ * aparece "://". La frase clave se pasa a minúsculas una sola vez para
+ * compararla con cada campo.
+ */
+public final class ValidadorSeo {
+
+	private static final Pattern ENLACE_EXTERNO = Pattern
+			.compile("\\b(?:https?|ftp|file)://[-a-zA-Z0-9+&@#/%?=~_|!:,.;]*[-a-zA-Z0-9+&@#/%=~_|]");
+	private static final String[] ESQUEMAS = { "http", "https", "ftp", "file" };
+
+	/*
+	 * Caracteres que pueden seguir a la barra de un enlace interno
+	 */
+	private static final boolean[] CARACTERES_RUTA = new boolean[128];
+
+	static {
+		for (char c : "-._~:/?#@!$&'()*+,;=".toCharArray()) {
+			CARACTERES_RUTA[c] = true;
+		}
+		for (char c = '0'; c <= '9'; c++) {
+			CARACTERES_RUTA[c] = true;
+		}
+		for (char c = 'a'; c <= 'z'; c++) {
+			CARACTERES_RUTA[c] = true;
+			CARACTERES_RUTA[Character.toUpperCase(c)] = true;
+		}
+	}
+
+	private ValidadorSeo() {
+	}
+
+	/**
+	 * Comprueba todas las reglas SEO de una publicación.
+	 *
+	 * @param postDto los datos de la publicación
+	 * @return las reglas incumplidas, o una lista vacía si es válida
+	 */
+	public static List<ViolacionSeoDto> validar(PostDto postDto) {
+		List<ViolacionSeoDto> violaciones = new ArrayList<>();
+
+		comprobarEnlaces(postDto.getTextoinfo(), violaciones);
+
+		String fraseClave = minusculas(postDto.getFraseclave());
+		if (fraseClave == null || fraseClave.isBlank()) {
+			violaciones.add(new ViolacionSeoDto("fraseclave", "Asegúrate de que existe una frase clave"));
+			return violaciones;
+		}
+		if (!contiene(postDto.getTituloseo(), fraseClave)) {
+			violaciones.add(new ViolacionSeoDto("tituloseo",
+					"Asegúrate de que la frase clave aparece en el título SEO: " + postDto.getTituloseo()));
+		}
+		if (!contiene(postDto.getTitle(), fraseClave)) {
+			violaciones.add(new ViolacionSeoDto("title",
+					"Asegúrate de que la frase clave aparece en el título principal " + postDto.getTitle()));
+		}
+		if (!contiene(postDto.getSlug(), fraseClave)) {
+			violaciones.add(new ViolacionSeoDto("slug", "Asegúrate de que la frase clave aparece en el slug"));
+		}
+		if (!contiene(postDto.getAltportada(), fraseClave)) {
+			violaciones.add(
+					new ViolacionSeoDto("altportada", "Asegúrate de que la frase clave aparece en el alt de la imagen"));
+		}
+		return violaciones;
+	}
+
+	/**
+	 * Busca en una sola pasada un enlace interno y uno externo. Solo se miran las
+	 * barras del texto: un enlace interno es una barra seguida de un carácter de
+	 * ruta, y un enlace externo empieza por un esquema justo antes de "://". Un
+	 * enlace externo también cuenta como interno, así que la búsqueda termina en
+	 * cuanto aparece el primero.
+	 *
+	 * @param texto       el texto informativo
+	 * @param violaciones la lista donde se añaden los enlaces que faltan
+	 */
+	private static void comprobarEnlaces(String texto, List<ViolacionSeoDto> violaciones) {
+		boolean interno = false;
+		boolean externo = false;
+		if (texto != null) {
+			Matcher matcher = null;
+			for (int i = texto.indexOf('/'); i >= 0 && !externo; i = texto.indexOf('/', i + 1)) {
+				if (!interno && i + 1 < texto.length() && esCaracterRuta(texto.charAt(i + 1))) {
+					interno = true;
+				}
+				if (i > 0 && texto.charAt(i - 1) == ':' && i + 1 < texto.length() && texto.charAt(i + 1) == '/') {
+					if (matcher == null) {
+						matcher = ENLACE_EXTERNO.matcher(texto).useTransparentBounds(true).useAnchoringBounds(false);
+					}
+					externo = empiezaEnlaceExterno(matcher, texto, i - 1);
+				}
+			}
+		}
+		if (!interno) {
+			violaciones.add(new ViolacionSeoDto("textoinfo", "Asegúrate de que existe algún enlace interno"));
+		}
+		if (!externo) {
+			violaciones.add(new ViolacionSeoDto("textoinfo", "Asegúrate de que existe algún enlace externo"));
+		}
+	}
+
+	/**
+	 * Comprueba si un enlace externo empieza en alguno de los esquemas que acaban
+	 * justo antes de un "://". Los límites transparentes permiten que \b mire el
+	 * carácter anterior al esquema.
+	 *
+	 * @param matcher   el matcher del patrón de enlace externo sobre el texto
+	 * @param texto     el texto informativo
+	 * @param dosPuntos la posición de los dos puntos de "://"
+	 * @return true si hay un enlace externo que empieza antes de esa posición
+	 */
+	private static boolean empiezaEnlaceExterno(Matcher matcher, String texto, int dosPuntos) {
+		for (String esquema : ESQUEMAS) {
+			int inicio = dosPuntos - esquema.length();
+			if (inicio >= 0 && texto.startsWith(esquema, inicio)
+					&& matcher.region(inicio, texto.length()).lookingAt()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean esCaracterRuta(char c) {
+		return c < CARACTERES_RUTA.length && CARACTERES_RUTA[c];
+	}
+
+	private static boolean contiene(String texto, String fraseClave) {
+		return texto != null && texto.toLowerCase(Locale.ROOT).contains(fraseClave);
+	}
+
+	private static String minusculas(String texto) {
+		return texto == null ? null : texto.toLowerCase(Locale.ROOT);
+	}
+
+}
@@ -0,0 +1,193 @@
+package com.bailaconsarabackend.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Vectores TF-IDF de un conjunto de documentos en español para encontrar los
+ * más parecidos entre sí por similitud del coseno. Las palabras se obtienen con
+ * {@link IndiceInvertido#tokenizar(String)} y se reducen con
+ * {@link IndiceInvertido#raiz(String)}, igual que en la búsqueda.
+ *
+ * Solo se guardan las frecuencias ponderadas de cada documento y los
+ * documentos que contienen cada raíz. El IDF y la norma de cada vector se
+ * calculan al pedir los parecidos, así que añadir o retirar un documento no
+ * obliga a recalcular los demás.
+ *
+ * No es seguro para hilos: quien lo use debe sincronizar las escrituras con las
+ * lecturas.
+ */
+public final class VectoresTfIdf {
+
+	/*
+	 * ID del documento -> raíz -> frecuencia ponderada
+	 */
+	private final Map<Long, Map<String, Float>> frecuencias = new HashMap<>();
+
+	/*
+	 * Raíz -> IDs de los documentos que la contienen
+	 */
+	private final Map<String, Set<Long>> documentosPorRaiz = new HashMap<>();
+
+	/**
+	 * Documento parecido a otro.
+	 *
+	 * @param id        el ID del documento
+	 * @param similitud la similitud del coseno, entre 0 y 1
+	 */
+	public record Similar(long id, double similitud) {
+	}
+
+	/**
+	 * Añade un documento, sustituyendo su versión anterior si ya estaba.
+	 *
+	 * @param id     el ID del documento
+	 * @param textos el texto de cada campo; los null se ignoran
+	 * @param pesos  el peso de cada campo, en el mismo orden
+	 */
+	public void anadir(long id, String[] textos, float[] pesos) {
+		eliminar(id);
+		Map<String, Float> documento = new HashMap<>();
+		for (int i = 0; i < textos.length; i++) {
+			for (String palabra : IndiceInvertido.tokenizar(textos[i])) {
+				documento.merge(IndiceInvertido.raiz(palabra), pesos[i], Float::sum);
+			}
+		}
+		for (String raiz : documento.keySet()) {
+			documentosPorRaiz.computeIfAbsent(raiz, clave -> new HashSet<>()).add(id);
+		}
+		frecuencias.put(id, documento);
+	}
+
+	/**
+	 * Retira un documento. No hace nada si no estaba.
+	 *
+	 * @param id el ID del documento
+	 */
+	public void eliminar(long id) {
+		Map<String, Float> documento = frecuencias.remove(id);
+		if (documento == null) {
+			return;
+		}
+		for (String raiz : documento.keySet()) {
+			Set<Long> documentos = documentosPorRaiz.get(raiz);
+			documentos.remove(id);
+			if (documentos.isEmpty()) {
+				documentosPorRaiz.remove(raiz);
+			}
+		}
+	}
+
+	/**
+	 * Obtiene los documentos que comparten alguna raíz con uno dado, que son los
+	 * únicos cuya similitud con él puede ser mayor que cero.
+	 *
+	 * @param id el ID del documento
+	 * @return los IDs de los documentos, sin incluirlo a él
+	 */
+	public Set<Long> vecinos(long id) {
+		Set<Long> vecinos = new HashSet<>();
+		Map<String, Float> documento = frecuencias.get(id);
+		if (documento != null) {
+			for (String raiz : documento.keySet()) {
+				vecinos.addAll(documentosPorRaiz.get(raiz));
+			}
+			vecinos.remove(id);
+		}
+		return vecinos;
+	}
+
+	/**
+	 * Calcula los documentos más parecidos a cada uno de los indicados. Solo se
+	 * comparan con los documentos que comparten alguna raíz, y la norma de cada
+	 * vector se calcula una sola vez por llamada.
+	 *
+	 * @param ids    los IDs de los documentos
+	 * @param limite el número máximo de parecidos por documento
+	 * @return por cada ID indexado, sus parecidos de más a menos similar
+	 */
+	public Map<Long, List<Similar>> similares(Collection<Long> ids, int limite) {
+		Map<String, Double> idfs = new HashMap<>();
+		Map<Long, Double> normas = new HashMap<>();
+		Comparator<Similar> orden = Comparator.comparingDouble(Similar::similitud)
+				.thenComparing(Similar::id, Comparator.reverseOrder());
+
+		Map<Long, List<Similar>> resultado = new HashMap<>();
+		for (Long id : ids) {
+			Map<String, Float> documento = frecuencias.get(id);
+			if (documento == null) {
+				continue;
+			}
+			double norma = norma(id, idfs, normas);
+
+			// Producto escalar con cada documento que comparte alguna raíz
+			Map<Long, Double> productos = new HashMap<>();
+			for (Map.Entry<String, Float> frecuencia : documento.entrySet()) {
+				double idf = idf(frecuencia.getKey(), idfs);
+				for (Long otro : documentosPorRaiz.get(frecuencia.getKey())) {
+					if (!otro.equals(id)) {
+						double peso = frecuencia.getValue() * frecuencias.get(otro).get(frecuencia.getKey());
+						productos.merge(otro, peso * idf * idf, Double::sum);
+					}
+				}
+			}
+
+			PriorityQueue<Similar> mejores = new PriorityQueue<>(orden);
+			for (Map.Entry<Long, Double> producto : productos.entrySet()) {
+				double denominador = norma * norma(producto.getKey(), idfs, normas);
+				if (producto.getValue() <= 0 || denominador == 0) {
+					continue;
+				}
+				mejores.add(new Similar(producto.getKey(), producto.getValue() / denominador));
+				if (mejores.size() > limite) {
+					mejores.poll();
+				}
+			}
+			List<Similar> lista = new ArrayList<>(mejores);
+			lista.sort(orden.reversed());
+			resultado.put(id, lista);
+		}
+		return resultado;
+	}
+
+	/**
+	 * Devuelve el número de documentos.
+	 *
+	 * @return el número de documentos
+	 */
+	public int size() {
+		return frecuencias.size();
+	}
+
+	/**
+	 * IDF suavizado de una raíz: una raíz presente en todos los documentos aún
+	 * cuenta algo, para que dos publicaciones muy parecidas de un blog pequeño
+	 * sigan relacionándose.
+	 */
+	private double idf(String raiz, Map<String, Double> idfs) {
+		return idfs.computeIfAbsent(raiz,
+				clave -> Math.log(1 + (double) frecuencias.size() / documentosPorRaiz.get(clave).size()));
+	}
+
+	private double norma(long id, Map<String, Double> idfs, Map<Long, Double> normas) {
+		Double norma = normas.get(id);
+		if (norma == null) {
+			double suma = 0;
+			for (Map.Entry<String, Float> frecuencia : frecuencias.get(id).entrySet()) {
+				double peso = frecuencia.getValue() * idf(frecuencia.getKey(), idfs);
+				suma += peso * peso;
+			}
+			norma = Math.sqrt(suma);
+			normas.put(id, norma);
+		}
+		return norma;
+	}
+
+}
@@ -0,0 +1,68 @@
+package com.bailaconsarabackend.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import com.bailaconsarabackend.dto.PostDto;
+import com.bailaconsarabackend.dto.ViolacionSeoDto;
+
+/**
+ * Comprueba que la detección de enlaces de {@link ValidadorSeo} da el mismo
+ * resultado que las expresiones regulares que se usaban antes por separado para
+ * los enlaces internos y externos.
+ */
+class ValidadorSeoTest {
+
+	private static final Pattern EXTERNO_ANTERIOR = Pattern
+			.compile("\\b(https?|ftp|file)://[-a-zA-Z0-9+&@#/%?=~_|!:,.;]*[-a-zA-Z0-9+&@#/%=~_|]");
+	private static final Pattern INTERNO_ANTERIOR = Pattern.compile("\\/[a-zA-Z0-9\\-._~:/?#@!$&'()*+,;=]+");
+
+	private static final String MENSAJE_INTERNO = "Asegúrate de que existe algún enlace interno";
+	private static final String MENSAJE_EXTERNO = "Asegúrate de que existe algún enlace externo";
+
+	private static final String[] FRAGMENTOS = { "http://", "https://", "ftp://", "file://", "://", "/", "//", "a",
+			"Z", "9", " ", ".", ",", ";", ":", "?", "#", "=", "-", "_", "~", "|", "!", "(", ")", "'", "<a href=\"",
+			"\">", "ñ", "é", "\n", "http", "s", "www.bailaconsara.com", "/blog/salsa" };
+
+	@Test
+	void detectaLosMismosEnlacesQueLasExpresionesAnterioresEnTextosDeEjemplo() {
+		List<String> textos = List.of("", " ", "Sin enlaces en este texto", "Visita /blog/salsa para más",
+				"Visita https://www.bailaconsara.com", "Ver http://a.es y /talleres", "ftp://servidor/fichero",
+				"file:///tmp/a", "texto/https://ejemplo.com", "/https://ejemplo.com", "a/b", "http://", "https://.",
+				"<a href=\"https://ejemplo.com/a?b=c\">enlace</a> y <a href=\"/blog\">blog</a>", "xhttp://ejemplo.com",
+				"ñhttp://ejemplo.com", "/ñ", "fecha 12/05", "http:/ejemplo.com", "mailto:hola@ejemplo.com");
+		for (String texto : textos) {
+			comprobarEquivalencia(texto);
+		}
+	}
+
+	@Test
+	void detectaLosMismosEnlacesQueLasExpresionesAnterioresEnTextosAleatorios() {
+		Random random = new Random(45);
+		for (int i = 0; i < 20_000; i++) {
+			StringBuilder texto = new StringBuilder();
+			int fragmentos = random.nextInt(12);
+			for (int j = 0; j < fragmentos; j++) {
+				texto.append(FRAGMENTOS[random.nextInt(FRAGMENTOS.length)]);
+			}
+			comprobarEquivalencia(texto.toString());
+		}
+	}
+
+	private static void comprobarEquivalencia(String texto) {
+		PostDto postDto = new PostDto();
+		postDto.setTextoinfo(texto);
+		List<String> mensajes = ValidadorSeo.validar(postDto).stream().map(ViolacionSeoDto::getMensaje).toList();
+
+		assertEquals(INTERNO_ANTERIOR.matcher(texto).find(), !mensajes.contains(MENSAJE_INTERNO),
+				() -> "Enlace interno en: " + texto);
+		assertEquals(EXTERNO_ANTERIOR.matcher(texto).find(), !mensajes.contains(MENSAJE_EXTERNO),
+				() -> "Enlace externo en: " + texto);
+	}
+
+}